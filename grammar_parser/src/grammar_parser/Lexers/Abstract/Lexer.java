@@ -1,5 +1,6 @@
 package grammar_parser.Lexers.Abstract;
 
+import grammar_parser.Models.CharacterSet;
 import grammar_parser.Utils.Guard;
 
 import java.util.ArrayList;
@@ -11,6 +12,8 @@ public abstract class Lexer<T>
 
 	protected String _source;
 
+	protected CharacterSet _spaceCharacterSet;
+
 	protected List<Character> _spaceCharacters;
 
 	public Lexer()
@@ -25,6 +28,8 @@ public abstract class Lexer<T>
 				this.add('\t');
 			}
 		};
+
+		this._spaceCharacterSet = new CharacterSet(this._spaceCharacters);
 	}
 
 	public String getSource()
@@ -56,6 +61,8 @@ public abstract class Lexer<T>
 		{
 			this._spaceCharacters.add(spaceCharacter);
 		}
+
+		this._spaceCharacterSet = new CharacterSet(this._spaceCharacters);
 	}
 
 	protected boolean isInBounds()
@@ -65,11 +72,8 @@ public abstract class Lexer<T>
 
 	protected void skipSpaces()
 	{
-		while (this.isInBounds()
-			&& this._spaceCharacters
-					.contains(this._source.charAt(this._offset)))
-		{
-			this._offset++;
-		}
+		this._offset =
+			this._spaceCharacterSet.skip(this._source, this._offset,
+				this._source.length());
 	}
 }
\ No newline at end of file
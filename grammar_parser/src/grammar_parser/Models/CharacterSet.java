@@ -0,0 +1,109 @@
+package grammar_parser.Models;
+
+import grammar_parser.Utils.Guard;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * The immutable set of characters. The first 128 characters are kept in a
+ * bit mask, so checking them doesn't need boxing or searching; the other
+ * characters are found with the binary search.
+ */
+public class CharacterSet
+{
+	private final long _highMask;
+
+	private final long _lowMask;
+
+	private final char[] _otherCharacters;
+
+	/**
+	 * Instantiates a new character set.
+	 *
+	 * @param characters
+	 *            the characters
+	 */
+	public CharacterSet(Iterable<Character> characters)
+	{
+		Guard.listAndElementsNotNull(characters, "characters");
+
+		long lowMask = 0;
+		long highMask = 0;
+
+		TreeSet<Character> otherCharacters = new TreeSet<Character>();
+
+		for (char c : characters)
+		{
+			if (c < 64)
+			{
+				lowMask |= 1L << c;
+			}
+			else if (c < 128)
+			{
+				highMask |= 1L << c;
+			}
+			else
+			{
+				otherCharacters.add(c);
+			}
+		}
+
+		this._lowMask = lowMask;
+		this._highMask = highMask;
+
+		this._otherCharacters = new char[otherCharacters.size()];
+
+		int i = 0;
+
+		for (char c : otherCharacters)
+		{
+			this._otherCharacters[i++] = c;
+		}
+	}
+
+	/**
+	 * Checks if the set contains the specified character.
+	 *
+	 * @param c
+	 *            the character
+	 * @return true, if the set contains the character, false - otherwise
+	 */
+	public boolean contains(char c)
+	{
+		if (c < 64)
+		{
+			return (this._lowMask & (1L << c)) != 0;
+		}
+
+		if (c < 128)
+		{
+			return (this._highMask & (1L << c)) != 0;
+		}
+
+		return this._otherCharacters.length > 0
+			&& Arrays.binarySearch(this._otherCharacters, c) >= 0;
+	}
+
+	/**
+	 * Skips the run of the characters of the set, that starts at the
+	 * specified offset.
+	 *
+	 * @param source
+	 *            the source
+	 * @param offset
+	 *            the offset of the run
+	 * @param end
+	 *            the end of the part of the source, that can be skipped
+	 * @return the offset of the first character after the run
+	 */
+	public int skip(CharSequence source, int offset, int end)
+	{
+		while (offset < end && this.contains(source.charAt(offset)))
+		{
+			offset++;
+		}
+
+		return offset;
+	}
+}
@@ -0,0 +1,332 @@
+package grammar_parser.Models;
+
+import grammar_parser.Utils.Guard;
+
+import java.util.Arrays;
+
+public class Dfa
+{
+	private final int[] _acceptIds;
+
+	private final long[] _acceptMasks;
+
+	private final int[] _asciiCharClasses;
+
+	private final int _charClassesCount;
+
+	private final boolean[] _keywordStates;
+
+	private final int[] _rangeCharClasses;
+
+	private final int[] _rangeStarts;
+
+	private final long[] _reachableAcceptMasks;
+
+	private final long[] _selfLoopMasks;
+
+	private final int[] _transitions;
+
+	/**
+	 * Instantiates a new dfa. The start state is always 0, the missing
+	 * transition is denoted by -1.
+	 *
+	 * @param asciiCharClasses
+	 *            the character classes of the first 128 characters
+	 * @param rangeStarts
+	 *            the ascending first characters of the ranges, that cover
+	 *            all the other characters (the first range starts from 128)
+	 * @param rangeCharClasses
+	 *            the character classes of the ranges
+	 * @param transitions
+	 *            the transitions table: [state * charClassesCount +
+	 *            charClass] -> next state
+	 * @param acceptIds
+	 *            the accept ids of the states (-1, if the state is not
+	 *            accepting)
+	 * @param keywordStates
+	 *            the marks of the states, reached by the keywords
+	 */
+	public Dfa(int[] asciiCharClasses, int[] rangeStarts,
+		int[] rangeCharClasses, int[] transitions, int[] acceptIds,
+		boolean[] keywordStates)
+	{
+		this(asciiCharClasses, rangeStarts, rangeCharClasses, transitions,
+			acceptIds, Dfa.getAcceptMasks(acceptIds), keywordStates);
+	}
+
+	/**
+	 * Instantiates a new dfa. The start state is always 0, the missing
+	 * transition is denoted by -1.
+	 *
+	 * @param asciiCharClasses
+	 *            the character classes of the first 128 characters
+	 * @param rangeStarts
+	 *            the ascending first characters of the ranges, that cover
+	 *            all the other characters (the first range starts from 128)
+	 * @param rangeCharClasses
+	 *            the character classes of the ranges
+	 * @param transitions
+	 *            the transitions table: [state * charClassesCount +
+	 *            charClass] -> next state
+	 * @param acceptIds
+	 *            the accept ids of the states (-1, if the state is not
+	 *            accepting)
+	 * @param acceptMasks
+	 *            the masks of all the accept ids (less than 64) of the
+	 *            states
+	 * @param keywordStates
+	 *            the marks of the states, reached by the keywords
+	 */
+	public Dfa(int[] asciiCharClasses, int[] rangeStarts,
+		int[] rangeCharClasses, int[] transitions, int[] acceptIds,
+		long[] acceptMasks, boolean[] keywordStates)
+	{
+		Guard.notNull(asciiCharClasses, "asciiCharClasses");
+		Guard.notNull(rangeStarts, "rangeStarts");
+		Guard.notNull(rangeCharClasses, "rangeCharClasses");
+		Guard.notNull(transitions, "transitions");
+		Guard.notNull(acceptIds, "acceptIds");
+		Guard.notNull(acceptMasks, "acceptMasks");
+		Guard.notNull(keywordStates, "keywordStates");
+		Guard.moreThanZero(acceptIds.length, "acceptIds.length");
+
+		if (asciiCharClasses.length != 128)
+		{
+			throw new IllegalArgumentException(
+				"Argument 'asciiCharClasses' must contain 128 elements.");
+		}
+
+		if (rangeStarts.length == 0 || rangeStarts[0] != 128
+			|| rangeStarts.length != rangeCharClasses.length)
+		{
+			throw new IllegalArgumentException(
+				"Arguments 'rangeStarts' and 'rangeCharClasses' are inconsistent.");
+		}
+
+		if (keywordStates.length != acceptIds.length
+			|| acceptMasks.length != acceptIds.length
+			|| transitions.length % acceptIds.length != 0)
+		{
+			throw new IllegalArgumentException(
+				"Arguments 'transitions', 'acceptIds', 'acceptMasks' and 'keywordStates' are inconsistent.");
+		}
+
+		this._asciiCharClasses = asciiCharClasses.clone();
+		this._rangeStarts = rangeStarts.clone();
+		this._rangeCharClasses = rangeCharClasses.clone();
+		this._transitions = transitions.clone();
+		this._acceptIds = acceptIds.clone();
+		this._acceptMasks = acceptMasks.clone();
+		this._keywordStates = keywordStates.clone();
+
+		this._charClassesCount = transitions.length / acceptIds.length;
+
+		// The masks of the ASCII characters, that don't change the state.
+		this._selfLoopMasks = new long[2 * acceptIds.length];
+
+		for (int state = 0; state < acceptIds.length; state++)
+		{
+			for (char c = 0; c < 128; c++)
+			{
+				if (this.getNextState(state, c) == state)
+				{
+					this._selfLoopMasks[2 * state + c / 64] |= 1L << c;
+				}
+			}
+		}
+
+		// The masks of the accept ids, that can be reached from the states.
+		this._reachableAcceptMasks = this._acceptMasks.clone();
+
+		boolean isChanged = true;
+
+		while (isChanged)
+		{
+			isChanged = false;
+
+			for (int state = 0; state < acceptIds.length; state++)
+			{
+				long mask = this._reachableAcceptMasks[state];
+
+				for (int charClass = 0; charClass < this._charClassesCount; charClass++)
+				{
+					int nextState =
+						this._transitions[state * this._charClassesCount
+							+ charClass];
+
+					if (nextState >= 0)
+					{
+						mask |= this._reachableAcceptMasks[nextState];
+					}
+				}
+
+				if (mask != this._reachableAcceptMasks[state])
+				{
+					this._reachableAcceptMasks[state] = mask;
+
+					isChanged = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the accept id of the specified state.
+	 *
+	 * @param state
+	 *            the state
+	 * @return the accept id, or -1, if the state is not accepting
+	 */
+	public int getAcceptId(int state)
+	{
+		return this._acceptIds[state];
+	}
+
+	/**
+	 * Gets the mask of all the accept ids of the specified state. The state
+	 * can be accepting for several patterns, the accept id is only the first
+	 * of them.
+	 *
+	 * @param state
+	 *            the state
+	 * @return the mask, that has the bit of each accept id (less than 64) of
+	 *         the state
+	 */
+	public long getAcceptMask(int state)
+	{
+		return this._acceptMasks[state];
+	}
+
+	public int getCharClass(char c)
+	{
+		if (c < 128)
+		{
+			return this._asciiCharClasses[c];
+		}
+
+		int index = Arrays.binarySearch(this._rangeStarts, c);
+
+		if (index < 0)
+		{
+			index = -index - 2;
+		}
+
+		return this._rangeCharClasses[index];
+	}
+
+	public int getCharClassesCount()
+	{
+		return this._charClassesCount;
+	}
+
+	/**
+	 * Gets the next state.
+	 *
+	 * @param state
+	 *            the current state
+	 * @param c
+	 *            the next character
+	 * @return the next state, or -1, if there is no transition
+	 */
+	public int getNextState(int state, char c)
+	{
+		return this._transitions[state * this._charClassesCount
+			+ this.getCharClass(c)];
+	}
+
+	/**
+	 * Gets the mask of the accept ids of the states, that can be reached from
+	 * the specified state (including the state itself).
+	 *
+	 * @param state
+	 *            the state
+	 * @return the mask, that has the bit of each reachable accept id (less
+	 *         than 64)
+	 */
+	public long getReachableAcceptMask(int state)
+	{
+		return this._reachableAcceptMasks[state];
+	}
+
+	public int getStartState()
+	{
+		return 0;
+	}
+
+	public int getStatesCount()
+	{
+		return this._acceptIds.length;
+	}
+
+	/**
+	 * Checks if the specified accepting state is reached by one of the
+	 * keywords.
+	 *
+	 * @param state
+	 *            the state
+	 * @return true, if the state is reached by one of the keywords, false -
+	 *         otherwise
+	 */
+	public boolean isKeywordState(int state)
+	{
+		return this._keywordStates[state];
+	}
+
+	/**
+	 * Skips the run of the ASCII characters, that don't change the specified
+	 * state, like the rest of an identifier or a number. The run is checked
+	 * with the bit mask without looking up the transitions.
+	 *
+	 * @param state
+	 *            the state
+	 * @param source
+	 *            the source
+	 * @param offset
+	 *            the offset of the run
+	 * @param end
+	 *            the end of the part of the source, that can be skipped
+	 * @return the offset of the first character after the run
+	 */
+	public int skipSelfLoop(int state, CharSequence source, int offset,
+		int end)
+	{
+		long lowMask = this._selfLoopMasks[2 * state];
+		long highMask = this._selfLoopMasks[2 * state + 1];
+
+		if ((lowMask | highMask) == 0)
+		{
+			return offset;
+		}
+
+		while (offset < end)
+		{
+			char c = source.charAt(offset);
+
+			if (c >= 128 || ((c < 64 ? lowMask : highMask) & (1L << c)) == 0)
+			{
+				break;
+			}
+
+			offset++;
+		}
+
+		return offset;
+	}
+
+	private static long[] getAcceptMasks(int[] acceptIds)
+	{
+		Guard.notNull(acceptIds, "acceptIds");
+
+		long[] acceptMasks = new long[acceptIds.length];
+
+		for (int state = 0; state < acceptIds.length; state++)
+		{
+			if (acceptIds[state] >= 0 && acceptIds[state] < 64)
+			{
+				acceptMasks[state] = 1L << acceptIds[state];
+			}
+		}
+
+		return acceptMasks;
+	}
+}
@@ -0,0 +1,163 @@
+package grammar_parser.Models;
+
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Nfa
+{
+	private final List<Integer> _acceptIds;
+
+	private final List<List<Integer>> _epsilonTransitions;
+
+	private int _startState;
+
+	private final List<List<int[]>> _transitions;
+
+	public Nfa()
+	{
+		this._acceptIds = new ArrayList<Integer>();
+		this._epsilonTransitions = new ArrayList<List<Integer>>();
+		this._transitions = new ArrayList<List<int[]>>();
+
+		this._startState = -1;
+	}
+
+	public void addEpsilonTransition(int fromState, int toState)
+	{
+		this.checkState(fromState, "fromState");
+		this.checkState(toState, "toState");
+
+		this._epsilonTransitions.get(fromState).add(toState);
+	}
+
+	public int addState()
+	{
+		this._acceptIds.add(-1);
+		this._epsilonTransitions.add(new ArrayList<Integer>());
+		this._transitions.add(new ArrayList<int[]>());
+
+		return this._acceptIds.size() - 1;
+	}
+
+	public void addTransition(int fromState, int firstChar, int lastChar,
+		int toState)
+	{
+		this.checkState(fromState, "fromState");
+		this.checkState(toState, "toState");
+
+		if (firstChar < Character.MIN_VALUE || lastChar > Character.MAX_VALUE
+			|| firstChar > lastChar)
+		{
+			throw new IllegalArgumentException(String.format(
+				"Characters range [%1$s, %2$s] is invalid.", firstChar,
+				lastChar));
+		}
+
+		this._transitions.get(fromState).add(new int[] {
+			firstChar, lastChar, toState
+		});
+	}
+
+	/**
+	 * Appends all the states of the specified nfa to this nfa.
+	 *
+	 * @param nfa
+	 *            the nfa to append
+	 * @return the offset, that has to be added to the state of the appended
+	 *         nfa to get the same state in this nfa
+	 */
+	public int append(Nfa nfa)
+	{
+		Guard.notNull(nfa, "nfa");
+
+		int offset = this.getStatesCount();
+
+		for (int state = 0, count = nfa.getStatesCount(); state < count; state++)
+		{
+			this.addState();
+
+			this._acceptIds.set(offset + state, nfa.getAcceptId(state));
+		}
+
+		for (int state = 0, count = nfa.getStatesCount(); state < count; state++)
+		{
+			for (int toState : nfa.getEpsilonTransitions(state))
+			{
+				this.addEpsilonTransition(offset + state, offset + toState);
+			}
+
+			for (int[] transition : nfa.getTransitions(state))
+			{
+				this.addTransition(offset + state, transition[0],
+					transition[1], offset + transition[2]);
+			}
+		}
+
+		return offset;
+	}
+
+	public int getAcceptId(int state)
+	{
+		this.checkState(state, "state");
+
+		return this._acceptIds.get(state);
+	}
+
+	public List<Integer> getEpsilonTransitions(int state)
+	{
+		this.checkState(state, "state");
+
+		return new ArrayList<Integer>(this._epsilonTransitions.get(state));
+	}
+
+	public int getStartState()
+	{
+		return this._startState;
+	}
+
+	public int getStatesCount()
+	{
+		return this._acceptIds.size();
+	}
+
+	/**
+	 * Gets the transitions of the specified state. Each transition is the
+	 * array of three elements: the first and the last characters of the
+	 * characters range and the target state.
+	 *
+	 * @param state
+	 *            the state
+	 * @return the transitions
+	 */
+	public List<int[]> getTransitions(int state)
+	{
+		this.checkState(state, "state");
+
+		return new ArrayList<int[]>(this._transitions.get(state));
+	}
+
+	public void setAcceptId(int state, int acceptId)
+	{
+		this.checkState(state, "state");
+
+		this._acceptIds.set(state, acceptId);
+	}
+
+	public void setStartState(int startState)
+	{
+		this.checkState(startState, "startState");
+
+		this._startState = startState;
+	}
+
+	private void checkState(int state, String stateName)
+	{
+		if (state < 0 || state >= this.getStatesCount())
+		{
+			throw new IllegalArgumentException(String.format(
+				"State '%1$s' doesn't exist.", stateName));
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package grammar_parser.Parsers.Abstract;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Models.Nfa;
+
+public interface IRegexParser
+{
+	/**
+	 * Gets the pattern.
+	 *
+	 * @return the pattern
+	 */
+	String getPattern();
+
+	/**
+	 * Parses the pattern into the nfa. The only accepting state of the nfa
+	 * has the accept id 0.
+	 *
+	 * @return the nfa parsed from the pattern
+	 * @throws PatternIsNotSupportedException
+	 *             if the pattern contains constructs, that can't be expressed
+	 *             by the finite automaton (anchors, lookarounds,
+	 *             back-references, lazy or possessive quantifiers, etc.)
+	 */
+	Nfa parse() throws PatternIsNotSupportedException;
+
+	/**
+	 * Sets the pattern.
+	 *
+	 * @param pattern
+	 *            the new pattern in the java.util.regex syntax
+	 */
+	void setPattern(String pattern);
+}
@@ -0,0 +1,973 @@
+package grammar_parser.Parsers.Concrete;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Models.Nfa;
+import grammar_parser.Parsers.Abstract.IRegexParser;
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class RegexParser implements IRegexParser
+{
+	private Nfa _nfa;
+
+	private int _offset;
+
+	private String _pattern;
+
+	public RegexParser()
+	{
+		this._pattern = "";
+
+		this._offset = 0;
+	}
+
+	@Override
+	public String getPattern()
+	{
+		return this._pattern;
+	}
+
+	@Override
+	public Nfa parse() throws PatternIsNotSupportedException
+	{
+		this._nfa = new Nfa();
+
+		this._offset = 0;
+
+		int[] fragment = this.parseAlternation();
+
+		if (this.isInBounds())
+		{
+			// Only the unbalanced ')' can stop the top-level alternation.
+			throw this.createException("unbalanced parenthesis");
+		}
+
+		this._nfa.setStartState(fragment[0]);
+		this._nfa.setAcceptId(fragment[1], 0);
+
+		return this._nfa;
+	}
+
+	@Override
+	public void setPattern(String pattern)
+	{
+		Guard.notNull(pattern, "pattern");
+
+		this._pattern = pattern;
+
+		this._offset = 0;
+	}
+
+	private int[] addCharSet(List<int[]> ranges)
+		throws PatternIsNotSupportedException
+	{
+		int start = this._nfa.addState();
+		int end = this._nfa.addState();
+
+		int surrogatesCount = 0;
+
+		for (int[] range : ranges)
+		{
+			int first = Math.max(range[0], Character.MIN_SURROGATE);
+			int last = Math.min(range[1], Character.MAX_SURROGATE);
+
+			if (first <= last)
+			{
+				surrogatesCount += last - first + 1;
+			}
+		}
+
+		if (surrogatesCount == 0)
+		{
+			for (int[] range : ranges)
+			{
+				this._nfa.addTransition(start, range[0], range[1], end);
+			}
+
+			return new int[] {
+				start, end
+			};
+		}
+
+		if (surrogatesCount != Character.MAX_SURROGATE
+			- Character.MIN_SURROGATE + 1)
+		{
+			throw this.createException("surrogate characters in the class");
+		}
+
+		// The set matches the whole code points: either the surrogate pair or
+		// the single unpaired surrogate, as java.util.regex does.
+		for (int[] range : this.subtract(ranges, Character.MIN_SURROGATE,
+			Character.MAX_SURROGATE))
+		{
+			this._nfa.addTransition(start, range[0], range[1], end);
+		}
+
+		int highSurrogate = this._nfa.addState();
+
+		this._nfa.addTransition(start, Character.MIN_HIGH_SURROGATE,
+			Character.MAX_HIGH_SURROGATE, highSurrogate);
+		this._nfa.addTransition(highSurrogate, Character.MIN_LOW_SURROGATE,
+			Character.MAX_LOW_SURROGATE, end);
+		this._nfa.addTransition(start, Character.MIN_SURROGATE,
+			Character.MAX_SURROGATE, end);
+
+		return new int[] {
+			start, end
+		};
+	}
+
+	private int[] addLiteral(int c)
+	{
+		int start = this._nfa.addState();
+		int end = this._nfa.addState();
+
+		this._nfa.addTransition(start, c, c, end);
+
+		return new int[] {
+			start, end
+		};
+	}
+
+	private List<int[]> complement(List<int[]> ranges)
+	{
+		List<int[]> complement = new ArrayList<int[]>();
+
+		int first = Character.MIN_VALUE;
+
+		for (int[] range : this.normalize(ranges))
+		{
+			if (range[0] > first)
+			{
+				complement.add(new int[] {
+					first, range[0] - 1
+				});
+			}
+
+			first = range[1] + 1;
+		}
+
+		if (first <= Character.MAX_VALUE)
+		{
+			complement.add(new int[] {
+				first, Character.MAX_VALUE
+			});
+		}
+
+		return complement;
+	}
+
+	private int[] concatenate(int[] fragmentOne, int[] fragmentTwo)
+	{
+		this._nfa.addEpsilonTransition(fragmentOne[1], fragmentTwo[0]);
+
+		return new int[] {
+			fragmentOne[0], fragmentTwo[1]
+		};
+	}
+
+	private PatternIsNotSupportedException createException(String construct)
+	{
+		return new PatternIsNotSupportedException(String.format(
+			"Pattern '%1$s' contains unsupported construct (%2$s) at offset %3$s.",
+			this._pattern, construct, this._offset));
+	}
+
+	private List<int[]> getPredefinedCharSet(char c)
+	{
+		List<int[]> ranges = new ArrayList<int[]>();
+
+		switch (Character.toLowerCase(c))
+		{
+			case 'd':
+				ranges.add(new int[] {
+					'0', '9'
+				});
+				break;
+
+			case 's':
+				ranges.add(new int[] {
+					'\t', '\r'
+				});
+				ranges.add(new int[] {
+					' ', ' '
+				});
+				break;
+
+			case 'w':
+				ranges.add(new int[] {
+					'0', '9'
+				});
+				ranges.add(new int[] {
+					'A', 'Z'
+				});
+				ranges.add(new int[] {
+					'_', '_'
+				});
+				ranges.add(new int[] {
+					'a', 'z'
+				});
+				break;
+
+			default:
+				return null;
+		}
+
+		if (Character.isUpperCase(c))
+		{
+			ranges = this.complement(ranges);
+		}
+
+		return ranges;
+	}
+
+	private boolean isInBounds()
+	{
+		return this._offset < this._pattern.length();
+	}
+
+	private boolean matchesEmptyString(int[] fragment)
+	{
+		boolean[] isVisited = new boolean[this._nfa.getStatesCount()];
+
+		List<Integer> statesToProcess = new ArrayList<Integer>();
+
+		statesToProcess.add(fragment[0]);
+
+		isVisited[fragment[0]] = true;
+
+		while (!statesToProcess.isEmpty())
+		{
+			int state = statesToProcess.remove(statesToProcess.size() - 1);
+
+			if (state == fragment[1])
+			{
+				return true;
+			}
+
+			for (int nextState : this._nfa.getEpsilonTransitions(state))
+			{
+				if (!isVisited[nextState])
+				{
+					isVisited[nextState] = true;
+
+					statesToProcess.add(nextState);
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private List<int[]> normalize(List<int[]> ranges)
+	{
+		List<int[]> sortedRanges = new ArrayList<int[]>(ranges);
+
+		Collections.sort(sortedRanges, (r1, r2) -> Integer.compare(r1[0],
+			r2[0]));
+
+		List<int[]> normalizedRanges = new ArrayList<int[]>();
+
+		for (int[] range : sortedRanges)
+		{
+			int[] lastRange =
+				normalizedRanges.isEmpty() ? null : normalizedRanges
+						.get(normalizedRanges.size() - 1);
+
+			if (lastRange != null && range[0] <= lastRange[1] + 1)
+			{
+				lastRange[1] = Math.max(lastRange[1], range[1]);
+			}
+			else
+			{
+				normalizedRanges.add(Arrays.copyOf(range, 2));
+			}
+		}
+
+		return normalizedRanges;
+	}
+
+	private int[] parseAlternation() throws PatternIsNotSupportedException
+	{
+		int[] fragment = this.parseConcatenation();
+
+		if (!this.isInBounds() || this.peek() != '|')
+		{
+			return fragment;
+		}
+
+		int start = this._nfa.addState();
+		int end = this._nfa.addState();
+
+		this._nfa.addEpsilonTransition(start, fragment[0]);
+		this._nfa.addEpsilonTransition(fragment[1], end);
+
+		while (this.isInBounds() && this.peek() == '|')
+		{
+			this._offset++;
+
+			fragment = this.parseConcatenation();
+
+			this._nfa.addEpsilonTransition(start, fragment[0]);
+			this._nfa.addEpsilonTransition(fragment[1], end);
+		}
+
+		return new int[] {
+			start, end
+		};
+	}
+
+	private int[] parseAtom() throws PatternIsNotSupportedException
+	{
+		char c = this.peek();
+
+		switch (c)
+		{
+			case '(':
+			{
+				this._offset++;
+
+				if (this.isInBounds() && this.peek() == '?')
+				{
+					if (this._offset + 1 >= this._pattern.length()
+						|| this._pattern.charAt(this._offset + 1) != ':')
+					{
+						throw this.createException("special group");
+					}
+
+					this._offset += 2;
+				}
+
+				int[] fragment = this.parseAlternation();
+
+				if (!this.isInBounds() || this.peek() != ')')
+				{
+					throw this.createException("unbalanced parenthesis");
+				}
+
+				this._offset++;
+
+				return fragment;
+			}
+
+			case '[':
+				return this.addCharSet(this.parseCharClass());
+
+			case '.':
+			{
+				this._offset++;
+
+				List<int[]> lineTerminators = new ArrayList<int[]>();
+
+				for (int lineTerminator : new int[] {
+					'\n', '\r', '\u0085', '\u2028', '\u2029'
+				})
+				{
+					lineTerminators.add(new int[] {
+						lineTerminator, lineTerminator
+					});
+				}
+
+				return this.addCharSet(this.complement(lineTerminators));
+			}
+
+			case '\\':
+				return this.parseEscape();
+
+			case '^':
+			case '$':
+				throw this.createException("boundary matcher");
+
+			case '*':
+			case '+':
+			case '?':
+			case '{':
+				throw this.createException("dangling quantifier");
+
+			default:
+				this._offset++;
+
+				return this.addLiteral(c);
+		}
+	}
+
+	private int[] parseAtomCopy(int atomOffset)
+		throws PatternIsNotSupportedException
+	{
+		// Each repetition needs its own copy of the atom, so the atom is parsed
+		// once again. The last copy stays unused and unreachable.
+		this._offset = atomOffset;
+
+		return this.parseAtom();
+	}
+
+	private List<int[]> parseCharClass() throws PatternIsNotSupportedException
+	{
+		// Skip '['.
+		this._offset++;
+
+		boolean isNegated = false;
+
+		if (this.isInBounds() && this.peek() == '^')
+		{
+			isNegated = true;
+
+			this._offset++;
+		}
+
+		List<int[]> ranges = new ArrayList<int[]>();
+
+		boolean isEmpty = true;
+
+		while (true)
+		{
+			if (!this.isInBounds())
+			{
+				throw this.createException("unclosed character class");
+			}
+
+			char c = this.peek();
+
+			if (c == ']')
+			{
+				if (isEmpty)
+				{
+					throw this.createException("empty character class");
+				}
+
+				this._offset++;
+
+				break;
+			}
+
+			isEmpty = false;
+
+			if (c == '[')
+			{
+				if (isNegated)
+				{
+					// The meaning of this construct differs between the java
+					// versions.
+					throw this.createException("nested class in negated class");
+				}
+
+				ranges.addAll(this.parseCharClass());
+
+				continue;
+			}
+
+			if (c == '&' && this._offset + 1 < this._pattern.length()
+				&& this._pattern.charAt(this._offset + 1) == '&')
+			{
+				throw this.createException("character class intersection");
+			}
+
+			int firstChar;
+
+			if (c == '\\')
+			{
+				this._offset++;
+
+				if (!this.isInBounds())
+				{
+					throw this.createException("incomplete escape sequence");
+				}
+
+				char escapedChar = this.peek();
+
+				if (escapedChar == 'Q')
+				{
+					this._offset++;
+
+					for (char quotedChar : this.parseQuotation().toCharArray())
+					{
+						ranges.add(new int[] {
+							quotedChar, quotedChar
+						});
+					}
+
+					continue;
+				}
+
+				List<int[]> predefinedCharSet =
+					this.getPredefinedCharSet(escapedChar);
+
+				if (predefinedCharSet != null)
+				{
+					this._offset++;
+
+					ranges.addAll(predefinedCharSet);
+
+					continue;
+				}
+
+				firstChar = this.parseEscapedChar();
+			}
+			else
+			{
+				firstChar = c;
+
+				this._offset++;
+			}
+
+			int lastChar = firstChar;
+
+			if (this._offset + 1 < this._pattern.length() && this.peek() == '-'
+				&& this._pattern.charAt(this._offset + 1) != ']')
+			{
+				this._offset++;
+
+				char rangeEnd = this.peek();
+
+				if (rangeEnd == '[')
+				{
+					throw this.createException("invalid range");
+				}
+
+				if (rangeEnd == '\\')
+				{
+					this._offset++;
+
+					if (!this.isInBounds()
+						|| this.peek() == 'Q'
+						|| this.getPredefinedCharSet(this.peek()) != null)
+					{
+						throw this.createException("invalid range");
+					}
+
+					lastChar = this.parseEscapedChar();
+				}
+				else
+				{
+					lastChar = rangeEnd;
+
+					this._offset++;
+				}
+
+				if (lastChar < firstChar)
+				{
+					throw this.createException("invalid range");
+				}
+			}
+
+			ranges.add(new int[] {
+				firstChar, lastChar
+			});
+		}
+
+		if (isNegated)
+		{
+			return this.complement(ranges);
+		}
+
+		return this.normalize(ranges);
+	}
+
+	private int[] parseConcatenation() throws PatternIsNotSupportedException
+	{
+		int start = this._nfa.addState();
+
+		int[] fragment = new int[] {
+			start, start
+		};
+
+		while (this.isInBounds() && this.peek() != '|' && this.peek() != ')')
+		{
+			fragment = this.concatenate(fragment, this.parseRepetition());
+		}
+
+		return fragment;
+	}
+
+	private int[] parseEscape() throws PatternIsNotSupportedException
+	{
+		// Skip '\'.
+		this._offset++;
+
+		if (!this.isInBounds())
+		{
+			throw this.createException("incomplete escape sequence");
+		}
+
+		char c = this.peek();
+
+		if (c == 'Q')
+		{
+			this._offset++;
+
+			int start = this._nfa.addState();
+
+			int[] fragment = new int[] {
+				start, start
+			};
+
+			for (char quotedChar : this.parseQuotation().toCharArray())
+			{
+				fragment =
+					this.concatenate(fragment, this.addLiteral(quotedChar));
+			}
+
+			return fragment;
+		}
+
+		List<int[]> predefinedCharSet = this.getPredefinedCharSet(c);
+
+		if (predefinedCharSet != null)
+		{
+			this._offset++;
+
+			return this.addCharSet(predefinedCharSet);
+		}
+
+		return this.addLiteral(this.parseEscapedChar());
+	}
+
+	private int parseEscapedChar() throws PatternIsNotSupportedException
+	{
+		char c = this.peek();
+
+		this._offset++;
+
+		switch (c)
+		{
+			case 't':
+				return '\t';
+
+			case 'n':
+				return '\n';
+
+			case 'r':
+				return '\r';
+
+			case 'f':
+				return '\f';
+
+			case 'a':
+				return '\u0007';
+
+			case 'e':
+				return '\u001B';
+
+			case 'c':
+			{
+				if (!this.isInBounds())
+				{
+					throw this.createException("incomplete escape sequence");
+				}
+
+				char controlChar = this.peek();
+
+				this._offset++;
+
+				return controlChar ^ 64;
+			}
+
+			case '0':
+			{
+				int value = 0;
+				int digitsCount = 0;
+
+				while (digitsCount < 3 && this.isInBounds()
+					&& this.peek() >= '0' && this.peek() <= '7')
+				{
+					int nextValue = value * 8 + (this.peek() - '0');
+
+					if (nextValue > 0377)
+					{
+						break;
+					}
+
+					value = nextValue;
+					digitsCount++;
+
+					this._offset++;
+				}
+
+				if (digitsCount == 0)
+				{
+					throw this.createException("invalid octal escape sequence");
+				}
+
+				return value;
+			}
+
+			case 'x':
+			{
+				if (this.isInBounds() && this.peek() == '{')
+				{
+					int end = this._pattern.indexOf('}', this._offset);
+
+					if (end < 0)
+					{
+						throw this.createException("invalid hexadecimal escape sequence");
+					}
+
+					int value =
+						this.parseHexNumber(this._pattern.substring(
+							this._offset + 1, end));
+
+					this._offset = end + 1;
+
+					if (value > Character.MAX_VALUE)
+					{
+						throw this.createException("supplementary code point");
+					}
+
+					return value;
+				}
+
+				return this.parseHexDigits(2);
+			}
+
+			case 'u':
+				return this.parseHexDigits(4);
+
+			default:
+				if (Character.isLetterOrDigit(c))
+				{
+					// Back-references, boundary matchers, property classes,
+					// etc.
+					throw this.createException("escape sequence '\\" + c
+						+ "'");
+				}
+
+				return c;
+		}
+	}
+
+	private int parseHexDigits(int digitsCount)
+		throws PatternIsNotSupportedException
+	{
+		if (this._offset + digitsCount > this._pattern.length())
+		{
+			throw this.createException("invalid hexadecimal escape sequence");
+		}
+
+		int value =
+			this.parseHexNumber(this._pattern.substring(this._offset,
+				this._offset + digitsCount));
+
+		this._offset += digitsCount;
+
+		return value;
+	}
+
+	private int parseHexNumber(String digits)
+		throws PatternIsNotSupportedException
+	{
+		if (digits.isEmpty() || digits.length() > 6)
+		{
+			throw this.createException("invalid hexadecimal escape sequence");
+		}
+
+		try
+		{
+			return Integer.parseInt(digits, 16);
+		}
+		catch (NumberFormatException e)
+		{
+			throw this.createException("invalid hexadecimal escape sequence");
+		}
+	}
+
+	private String parseQuotation()
+	{
+		int end = this._pattern.indexOf("\\E", this._offset);
+
+		if (end < 0)
+		{
+			end = this._pattern.length();
+		}
+
+		String quotation = this._pattern.substring(this._offset, end);
+
+		this._offset = Math.min(end + 2, this._pattern.length());
+
+		return quotation;
+	}
+
+	private int[] parseRepetition() throws PatternIsNotSupportedException
+	{
+		int atomOffset = this._offset;
+
+		int[] fragment = this.parseAtom();
+
+		if (!this.isInBounds())
+		{
+			return fragment;
+		}
+
+		int minCount;
+		int maxCount;
+
+		char c = this.peek();
+
+		switch (c)
+		{
+			case '*':
+				minCount = 0;
+				maxCount = -1;
+				this._offset++;
+				break;
+
+			case '+':
+				minCount = 1;
+				maxCount = -1;
+				this._offset++;
+				break;
+
+			case '?':
+				minCount = 0;
+				maxCount = 1;
+				this._offset++;
+				break;
+
+			case '{':
+			{
+				int end = this._pattern.indexOf('}', this._offset);
+
+				if (end < 0)
+				{
+					throw this.createException("invalid repetition");
+				}
+
+				String[] bounds =
+					this._pattern.substring(this._offset + 1, end).split(",",
+						-1);
+
+				try
+				{
+					minCount = Integer.parseInt(bounds[0]);
+
+					if (bounds.length == 1)
+					{
+						maxCount = minCount;
+					}
+					else if (bounds.length == 2 && bounds[1].isEmpty())
+					{
+						maxCount = -1;
+					}
+					else if (bounds.length == 2)
+					{
+						maxCount = Integer.parseInt(bounds[1]);
+					}
+					else
+					{
+						throw this.createException("invalid repetition");
+					}
+				}
+				catch (NumberFormatException e)
+				{
+					throw this.createException("invalid repetition");
+				}
+
+				if (minCount < 0 || (maxCount >= 0 && maxCount < minCount))
+				{
+					throw this.createException("invalid repetition");
+				}
+
+				this._offset = end + 1;
+				break;
+			}
+
+			default:
+				return fragment;
+		}
+
+		if (this.isInBounds() && (this.peek() == '?' || this.peek() == '+'))
+		{
+			throw this.createException("lazy or possessive quantifier");
+		}
+
+		// The matcher stops repeating the atom after the iteration, that
+		// matches the empty string, and the nfa can't stop there.
+		if (this.matchesEmptyString(fragment))
+		{
+			throw this.createException("repetition of the empty string");
+		}
+
+		int quantifierEnd = this._offset;
+
+		int start = this._nfa.addState();
+
+		int[] result = new int[] {
+			start, start
+		};
+
+		for (int i = 0; i < minCount; i++)
+		{
+			result = this.concatenate(result, fragment);
+
+			fragment = this.parseAtomCopy(atomOffset);
+		}
+
+		if (maxCount < 0)
+		{
+			int end = this._nfa.addState();
+
+			this._nfa.addEpsilonTransition(result[1], fragment[0]);
+			this._nfa.addEpsilonTransition(fragment[1], fragment[0]);
+			this._nfa.addEpsilonTransition(fragment[1], end);
+			this._nfa.addEpsilonTransition(result[1], end);
+
+			result = new int[] {
+				result[0], end
+			};
+		}
+		else
+		{
+			for (int i = minCount; i < maxCount; i++)
+			{
+				int end = this._nfa.addState();
+
+				this._nfa.addEpsilonTransition(result[1], fragment[0]);
+				this._nfa.addEpsilonTransition(fragment[1], end);
+				this._nfa.addEpsilonTransition(result[1], end);
+
+				result = new int[] {
+					result[0], end
+				};
+
+				fragment = this.parseAtomCopy(atomOffset);
+			}
+		}
+
+		this._offset = quantifierEnd;
+
+		return result;
+	}
+
+	private char peek()
+	{
+		return this._pattern.charAt(this._offset);
+	}
+
+	private List<int[]> subtract(List<int[]> ranges, int firstChar,
+		int lastChar)
+	{
+		List<int[]> result = new ArrayList<int[]>();
+
+		for (int[] range : ranges)
+		{
+			if (range[0] < firstChar)
+			{
+				result.add(new int[] {
+					range[0], Math.min(range[1], firstChar - 1)
+				});
+			}
+
+			if (range[1] > lastChar)
+			{
+				result.add(new int[] {
+					Math.max(range[0], lastChar + 1), range[1]
+				});
+			}
+		}
+
+		return result;
+	}
+}
@@ -6,6 +6,7 @@ import grammar_parser.Models.Grammar;
 import grammar_parser.Models.Rule;
 
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 public interface IControlTableBuildingService
 {
@@ -21,4 +22,39 @@ public interface IControlTableBuildingService
 	 */
 	Map<ControlTableItem, Rule> buildControlTable(Grammar grammar)
 			 throws Exception;
+
+	/**
+	 * Builds the control table for the specified grammar in the specified
+	 * pool. The First and Follow sets are computed first, then the rules are
+	 * split into chunks, which partial tables are built in parallel and
+	 * merged. The grammar is not checked beforehand: two rules, that get the
+	 * same cell of the table, are detected while the tables are merged.
+	 *
+	 * @param grammar
+	 *            the grammar
+	 * @param pool
+	 *            the pool
+	 * @return the control table
+	 * @throws GrammarIsNotLLOneGrammarException
+	 *             if two rules get the same cell of the control table
+	 */
+	Map<ControlTableItem, Rule> buildControlTable(Grammar grammar,
+		ForkJoinPool pool) throws Exception;
+
+	/**
+	 * Gets the count of the rules in the chunk, that is processed by one task
+	 * of the parallel building.
+	 *
+	 * @return the count of the rules in the chunk
+	 */
+	int getParallelChunkSize();
+
+	/**
+	 * Sets the count of the rules in the chunk, that is processed by one task
+	 * of the parallel building.
+	 *
+	 * @param parallelChunkSize
+	 *            the count of the rules in the chunk
+	 */
+	void setParallelChunkSize(int parallelChunkSize);
 }
@@ -0,0 +1,31 @@
+package grammar_parser.Services.Abstract;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Models.Dfa;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+public interface IDfaBuildingService
+{
+	/**
+	 * Builds the minimized dfa, that recognizes all the specified patterns.
+	 * The accept id of the accepting state is the index of the first pattern,
+	 * that matches the input read so far. The state is marked as the keyword
+	 * state, if it is accepting and the input read so far is equal to one of
+	 * the keywords, ignoring case. Each pattern matches the same input, as
+	 * the lookingAt method of java.util.regex matcher: the alternatives and
+	 * the greedy repetitions are tried in their order, so "a|ab" matches only
+	 * "a" of "ab".
+	 *
+	 * @param patterns
+	 *            the patterns
+	 * @param keywords
+	 *            the keywords in lower case
+	 * @return the dfa
+	 * @throws PatternIsNotSupportedException
+	 *             if one of the patterns can't be compiled into the dfa
+	 */
+	Dfa buildDfa(List<Pattern> patterns, Iterable<String> keywords)
+		throws PatternIsNotSupportedException;
+}
@@ -0,0 +1,30 @@
+package grammar_parser.Services.Abstract;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Models.NodeDefinition;
+
+public interface IGrammarLexerGeneratingService
+{
+	/**
+	 * Generates the source code of the grammar lexer, that is specialized for
+	 * the specified node definitions and space characters. The generated
+	 * class extends Lexer and implements ILexer, so it can be used instead of
+	 * the GrammarLexer with the same node definitions.
+	 *
+	 * @param packageName
+	 *            the package name of the lexer (can be empty)
+	 * @param className
+	 *            the class name of the lexer
+	 * @param nodeDefinitions
+	 *            the node definitions
+	 * @param spaceCharacters
+	 *            the space characters
+	 * @return the source code of the lexer
+	 * @throws PatternIsNotSupportedException
+	 *             if one of the patterns can't be compiled into the dfa
+	 */
+	String generateLexer(String packageName, String className,
+		Iterable<NodeDefinition> nodeDefinitions,
+		Iterable<Character> spaceCharacters)
+		throws PatternIsNotSupportedException;
+}
@@ -0,0 +1,386 @@
+package grammar_parser.Services.Abstract;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Models.Dfa;
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * The base of the services, that generate the source code of the lexers. The
+ * generated lexer scans the source with the minimized dfa, that is compiled
+ * into switch statements, so it doesn't depend on regular expressions.
+ */
+public abstract class LexerGeneratingService<T, K extends Enum<K>>
+{
+	private final IDfaBuildingService _dfaBuildingService;
+
+	public LexerGeneratingService(IDfaBuildingService dfaBuildingService)
+	{
+		Guard.notNull(dfaBuildingService, "dfaBuildingService");
+
+		this._dfaBuildingService = dfaBuildingService;
+	}
+
+	/**
+	 * Appends the statements, that add the element to the list of the
+	 * elements. The statements can use the local variables: 'source',
+	 * 'offset', 'tokenLength', 'kind' and 'elements'.
+	 *
+	 * @param code
+	 *            the code
+	 */
+	protected abstract void appendElementCreation(StringBuilder code);
+
+	/**
+	 * Generates the source code of the lexer.
+	 *
+	 * @param packageName
+	 *            the package name of the lexer (can be empty)
+	 * @param className
+	 *            the class name of the lexer
+	 * @param patterns
+	 *            the patterns of the definitions
+	 * @param kinds
+	 *            the kinds of the definitions
+	 * @param keywords
+	 *            the keywords
+	 * @param spaceCharacters
+	 *            the space characters
+	 * @return the source code of the lexer
+	 * @throws PatternIsNotSupportedException
+	 *             if one of the patterns can't be compiled into the dfa
+	 */
+	protected String generateLexer(String packageName, String className,
+		List<Pattern> patterns, List<K> kinds, Iterable<String> keywords,
+		Iterable<Character> spaceCharacters)
+		throws PatternIsNotSupportedException
+	{
+		Guard.notNull(packageName, "packageName");
+		Guard.notNull(className, "className");
+		Guard.listAndElementsNotNull(patterns, "patterns");
+		Guard.listAndElementsNotNull(kinds, "kinds");
+		Guard.listAndElementsNotNull(spaceCharacters, "spaceCharacters");
+
+		if (kinds.size() != patterns.size())
+		{
+			throw new IllegalArgumentException(
+				"Each pattern must have its kind.");
+		}
+
+		if (!className.matches("[A-Za-z_][A-Za-z0-9_]*"))
+		{
+			throw new IllegalArgumentException(String.format(
+				"Class name '%1$s' is invalid.", className));
+		}
+
+		Dfa dfa = this._dfaBuildingService.buildDfa(patterns, keywords);
+
+		String elementTypeName = this.getElementClass().getSimpleName();
+		String kindTypeName =
+			this.getUnknownKind().getDeclaringClass().getSimpleName();
+
+		StringBuilder code = new StringBuilder();
+
+		if (!packageName.isEmpty())
+		{
+			code.append(String.format("package %1$s;%n%n", packageName));
+		}
+
+		code.append(String.format("import grammar_parser.Lexers.Abstract.ILexer;%n"));
+		code.append(String.format("import grammar_parser.Lexers.Abstract.Lexer;%n%n"));
+		code.append(String.format("import java.util.ArrayList;%n"));
+		code.append(String.format("import java.util.Arrays;%n"));
+		code.append(String.format("import java.util.List;%n%n"));
+
+		code.append(String.format("import %1$s;%n", this.getUnknownKind()
+				.getDeclaringClass().getName()));
+		code.append(String.format("import %1$s;%n", this.getElementClass()
+				.getName()));
+
+		code.append(String.format("%n/**%n"));
+		code.append(String.format(" * The generated lexer. Don't edit it manually.%n"));
+		code.append(String.format(" */%n"));
+		code.append(String.format(
+			"public class %1$s extends Lexer<%2$s> implements ILexer<%2$s>%n{%n",
+			className, elementTypeName));
+		code.append(String.format("\tprivate int _acceptState;%n%n"));
+		code.append(String.format("\tprivate boolean _spaceCharactersAreChanged;%n%n"));
+
+		// Constructor.
+		code.append(String.format("\tpublic %1$s()%n\t{%n", className));
+		code.append(String.format("\t\tsuper();%n%n"));
+		code.append("\t\tsuper.setSpaceCharacters(Arrays.<Character> asList(");
+
+		boolean isFirstCharacter = true;
+
+		for (char spaceCharacter : spaceCharacters)
+		{
+			if (!isFirstCharacter)
+			{
+				code.append(", ");
+			}
+
+			code.append(String.format("(char) %1$s", (int) spaceCharacter));
+
+			isFirstCharacter = false;
+		}
+
+		code.append(String.format("));%n%n"));
+		code.append(String.format("\t\tthis._spaceCharactersAreChanged = false;%n"));
+		code.append(String.format("\t}%n%n"));
+
+		this.appendParseMethod(code, elementTypeName, kindTypeName);
+		this.appendSetSpaceCharactersMethod(code);
+		this.appendGetKindMethod(code, dfa, kinds, kindTypeName);
+		this.appendIsSpaceMethod(code, spaceCharacters);
+		this.appendScanMethod(code, dfa);
+
+		code.append(String.format("}%n"));
+
+		return code.toString();
+	}
+
+	/**
+	 * Gets the class of the elements, that are produced by the lexer.
+	 *
+	 * @return the class of the elements
+	 */
+	protected abstract Class<T> getElementClass();
+
+	/**
+	 * Gets the kind of the keywords.
+	 *
+	 * @return the kind of the keywords, or null, if the lexer doesn't have
+	 *         keywords
+	 */
+	protected abstract K getKeywordKind();
+
+	/**
+	 * Gets the kind of the unknown elements.
+	 *
+	 * @return the kind of the unknown elements
+	 */
+	protected abstract K getUnknownKind();
+
+	private void appendCaseLabel(StringBuilder code, int c, String indent)
+	{
+		if (Character.isLetterOrDigit(c) && c < 128)
+		{
+			code.append(String.format("%1$scase '%2$s':%n", indent, (char) c));
+		}
+		else
+		{
+			code.append(String.format("%1$scase 0x%2$04X:%n", indent, c));
+		}
+	}
+
+	private void appendGetKindMethod(StringBuilder code, Dfa dfa,
+		List<K> kinds, String kindTypeName)
+	{
+		code.append(String.format("\tprivate static %1$s getKind(int state)%n\t{%n",
+			kindTypeName));
+		code.append(String.format("\t\tswitch (state)%n\t\t{%n"));
+
+		for (int state = 0, count = dfa.getStatesCount(); state < count; state++)
+		{
+			int acceptId = dfa.getAcceptId(state);
+
+			if (acceptId < 0)
+			{
+				continue;
+			}
+
+			K kind =
+				dfa.isKeywordState(state) ? this.getKeywordKind() : kinds
+						.get(acceptId);
+
+			code.append(String.format("\t\t\tcase %1$s:%n", state));
+			code.append(String.format("\t\t\t\treturn %1$s.%2$s;%n",
+				kindTypeName, kind.name()));
+		}
+
+		code.append(String.format("\t\t\tdefault:%n"));
+		code.append(String.format("\t\t\t\treturn null;%n"));
+		code.append(String.format("\t\t}%n\t}%n%n"));
+	}
+
+	private void appendIsSpaceMethod(StringBuilder code,
+		Iterable<Character> spaceCharacters)
+	{
+		code.append(String.format("\tprivate boolean isSpace(char c)%n\t{%n"));
+		code.append(String.format("\t\tif (this._spaceCharactersAreChanged)%n\t\t{%n"));
+		code.append(String.format("\t\t\treturn this._spaceCharacterSet.contains(c);%n"));
+		code.append(String.format("\t\t}%n%n"));
+		code.append(String.format("\t\tswitch (c)%n\t\t{%n"));
+
+		for (int c : new TreeSet<Character>(this.toList(spaceCharacters)))
+		{
+			this.appendCaseLabel(code, c, "\t\t\t");
+		}
+
+		code.append(String.format("\t\t\t\treturn true;%n"));
+		code.append(String.format("\t\t\tdefault:%n"));
+		code.append(String.format("\t\t\t\treturn false;%n"));
+		code.append(String.format("\t\t}%n\t}%n%n"));
+	}
+
+	private void appendParseMethod(StringBuilder code, String elementTypeName,
+		String kindTypeName)
+	{
+		code.append(String.format("\t@Override%n"));
+		code.append(String.format("\tpublic List<%1$s> parse()%n\t{%n",
+			elementTypeName));
+		code.append(String.format(
+			"\t\tList<%1$s> elements = new ArrayList<%1$s>();%n%n",
+			elementTypeName));
+		code.append(String.format("\t\tString source = this._source;%n%n"));
+		code.append(String.format("\t\tint length = source.length();%n"));
+		code.append(String.format("\t\tint offset = 0;%n%n"));
+		code.append(String.format("\t\twhile (true)%n\t\t{%n"));
+		code.append(String.format(
+			"\t\t\twhile (offset < length && this.isSpace(source.charAt(offset)))%n"));
+		code.append(String.format("\t\t\t{%n\t\t\t\toffset++;%n\t\t\t}%n%n"));
+		code.append(String.format("\t\t\tif (offset == length)%n"));
+		code.append(String.format("\t\t\t{%n\t\t\t\tbreak;%n\t\t\t}%n%n"));
+		code.append(String.format(
+			"\t\t\tint tokenLength = this.scan(source, offset, length);%n%n"));
+		code.append(String.format("\t\t\t%1$s kind;%n%n", kindTypeName));
+		code.append(String.format("\t\t\tif (tokenLength == 0)%n\t\t\t{%n"));
+		code.append(String.format("\t\t\t\tkind = %1$s.%2$s;%n",
+			kindTypeName, this.getUnknownKind().name()));
+		code.append(String.format("\t\t\t\ttokenLength = 1;%n\t\t\t}%n"));
+		code.append(String.format("\t\t\telse%n\t\t\t{%n"));
+		code.append(String.format("\t\t\t\tkind = getKind(this._acceptState);%n"));
+		code.append(String.format("\t\t\t}%n%n"));
+
+		this.appendElementCreation(code);
+
+		code.append(String.format("%n\t\t\toffset += tokenLength;%n\t\t}%n%n"));
+		code.append(String.format("\t\tthis._offset = length;%n%n"));
+		code.append(String.format("\t\treturn elements;%n\t}%n%n"));
+	}
+
+	private void appendScanMethod(StringBuilder code, Dfa dfa)
+	{
+		// Split all the characters into the intervals of the same class.
+		List<int[]> intervals = new ArrayList<int[]>();
+
+		int intervalStart = 0;
+
+		for (int c = 1; c <= Character.MAX_VALUE + 1; c++)
+		{
+			if (c > Character.MAX_VALUE
+				|| dfa.getCharClass((char) c) != dfa
+						.getCharClass((char) intervalStart))
+			{
+				intervals.add(new int[] {
+					intervalStart, c - 1, dfa.getCharClass((char) intervalStart)
+				});
+
+				intervalStart = c;
+			}
+		}
+
+		code.append(String.format(
+			"\tprivate int scan(String source, int start, int end)%n\t{%n"));
+		code.append(String.format("\t\tint state = 0;%n"));
+		code.append(String.format("\t\tint tokenLength = 0;%n%n"));
+		code.append(String.format(
+			"\t\tfor (int offset = start; offset < end; offset++)%n\t\t{%n"));
+		code.append(String.format("\t\t\tchar c = source.charAt(offset);%n%n"));
+		code.append(String.format("\t\t\tswitch (state)%n\t\t\t{%n"));
+
+		for (int state = 0, count = dfa.getStatesCount(); state < count; state++)
+		{
+			code.append(String.format("\t\t\t\tcase %1$s:%n", state));
+			code.append(String.format("\t\t\t\t\tswitch (c)%n\t\t\t\t\t{%n"));
+
+			StringBuilder rangeConditions = new StringBuilder();
+
+			for (int nextState = 0; nextState < count; nextState++)
+			{
+				boolean hasLabels = false;
+
+				for (int[] interval : intervals)
+				{
+					if (dfa.getNextState(state, (char) interval[0]) != nextState)
+					{
+						continue;
+					}
+
+					// The characters are compared directly, if there are not
+					// too many of them.
+					if (interval[1] - interval[0] < 64)
+					{
+						for (int c = interval[0]; c <= interval[1]; c++)
+						{
+							this.appendCaseLabel(code, c, "\t\t\t\t\t\t");
+						}
+
+						hasLabels = true;
+					}
+					else
+					{
+						rangeConditions.append(String.format(
+							"\t\t\t\t\t\t\tif (c >= 0x%1$04X && c <= 0x%2$04X)%n",
+							interval[0], interval[1]));
+						rangeConditions.append(String.format(
+							"\t\t\t\t\t\t\t{%n\t\t\t\t\t\t\t\tstate = %1$s;%n",
+							nextState));
+						rangeConditions.append(String.format(
+							"\t\t\t\t\t\t\t\tbreak;%n\t\t\t\t\t\t\t}%n%n"));
+					}
+				}
+
+				if (hasLabels)
+				{
+					code.append(String.format("\t\t\t\t\t\t\tstate = %1$s;%n",
+						nextState));
+					code.append(String.format("\t\t\t\t\t\t\tbreak;%n"));
+				}
+			}
+
+			code.append(String.format("\t\t\t\t\t\tdefault:%n"));
+			code.append(rangeConditions);
+			code.append(String.format("\t\t\t\t\t\t\tstate = -1;%n"));
+			code.append(String.format("\t\t\t\t\t}%n"));
+			code.append(String.format("\t\t\t\t\tbreak;%n"));
+		}
+
+		code.append(String.format("\t\t\t}%n%n"));
+		code.append(String.format("\t\t\tif (state < 0)%n\t\t\t{%n"));
+		code.append(String.format("\t\t\t\tbreak;%n\t\t\t}%n%n"));
+		code.append(String.format("\t\t\tif (getKind(state) != null)%n\t\t\t{%n"));
+		code.append(String.format("\t\t\t\tthis._acceptState = state;%n"));
+		code.append(String.format("\t\t\t\ttokenLength = offset - start + 1;%n"));
+		code.append(String.format("\t\t\t}%n\t\t}%n%n"));
+		code.append(String.format("\t\treturn tokenLength;%n\t}%n"));
+	}
+
+	private void appendSetSpaceCharactersMethod(StringBuilder code)
+	{
+		code.append(String.format("\t@Override%n"));
+		code.append(String.format(
+			"\tpublic void setSpaceCharacters(Iterable<Character> spaceCharacters)%n\t{%n"));
+		code.append(String.format(
+			"\t\tsuper.setSpaceCharacters(spaceCharacters);%n%n"));
+		code.append(String.format(
+			"\t\tthis._spaceCharactersAreChanged = true;%n\t}%n%n"));
+	}
+
+	private List<Character> toList(Iterable<Character> characters)
+	{
+		List<Character> list = new ArrayList<Character>();
+
+		for (Character c : characters)
+		{
+			list.add(c);
+		}
+
+		return list;
+	}
+}
@@ -10,22 +10,31 @@ import grammar_parser.Services.Abstract.IControlTableBuildingService;
 import grammar_parser.Services.Abstract.IGrammarService;
 import grammar_parser.Utils.Guard;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public class ControlTableBuildingService implements
 		IControlTableBuildingService
 {
 	private final IGrammarService _grammarService;
 
+	private int _parallelChunkSize;
+
 	public ControlTableBuildingService(IGrammarService grammarService)
 	{
 		Guard.notNull(grammarService, "grammarService");
 
 		this._grammarService = grammarService;
+
+		this._parallelChunkSize = 1 << 10;
 	}
 
 	@Override
@@ -54,42 +63,160 @@ public class ControlTableBuildingService implements
 					String.format("Grammar does not satisfy the conditions of the LL(1)-grammar."));
 			}
 
-			for (Rule rule : rules)
+			controlTable =
+				this.buildPartialControlTable(rules, firstSetDictionary,
+					followSetDictionary);
+		}
+
+		return controlTable;
+	}
+
+	@Override
+	public Map<ControlTableItem, Rule> buildControlTable(Grammar grammar,
+		ForkJoinPool pool) throws Exception
+	{
+		Guard.notNull(grammar, "grammar");
+		Guard.notNull(pool, "pool");
+
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		List<Rule> rules = this._grammarService.getAllRulesFromGrammar(grammar);
+
+		if (rules.size() > 0)
+		{
+			Map<Node, Set<Word>> firstSetDictionary =
+				this._grammarService.getFirstSetDictionary(grammar);
+
+			Map<Node, Set<Word>> followSetDictionary =
+				this._grammarService.getFollowSetDictionary(grammar);
+
+			List<ForkJoinTask<Map<ControlTableItem, Rule>>> tasks =
+				new ArrayList<ForkJoinTask<Map<ControlTableItem, Rule>>>();
+
+			int start = 0;
+
+			while (start < rules.size())
 			{
-				Node headNode = rule.getHeadNode();
-				List<Node> nodes = rule.getNodes();
+				int end =
+					Math.min(start + this._parallelChunkSize, rules.size());
+
+				List<Rule> chunkRules = rules.subList(start, end);
 
-				Set<Word> firstSet;
+				// The dictionaries are only read by the tasks.
+				tasks.add(pool.submit(() -> this.buildPartialControlTable(
+					chunkRules, firstSetDictionary, followSetDictionary)));
 
-				if (nodes.size() > 0)
+				start = end;
+			}
+
+			for (ForkJoinTask<Map<ControlTableItem, Rule>> task : tasks)
+			{
+				Map<ControlTableItem, Rule> partialControlTable;
+
+				try
 				{
-					firstSet =
-						this._grammarService.getFirstSetForNodesList(nodes,
-							firstSetDictionary);
+					partialControlTable = task.get();
 				}
-				else
+				catch (ExecutionException e)
 				{
-					firstSet = new HashSet<Word>();
+					if (e.getCause() instanceof Exception)
+					{
+						throw (Exception) e.getCause();
+					}
 
-					firstSet.add(Word.getEmptyWord());
+					throw e;
 				}
 
-				Set<Word> followSet = followSetDictionary.get(headNode);
+				for (Entry<ControlTableItem, Rule> entry : partialControlTable
+						.entrySet())
+				{
+					this.putRule(controlTable, entry.getKey(),
+						entry.getValue());
+				}
+			}
+		}
+
+		return controlTable;
+	}
 
-				Set<Word> firstPlusFollowSet =
-					this._grammarService.getFirstPlusFollowSet(firstSet,
-						followSet);
+	@Override
+	public int getParallelChunkSize()
+	{
+		return this._parallelChunkSize;
+	}
 
-				for (Word word : firstPlusFollowSet)
-				{
-					ControlTableItem controlTableItem =
-						new ControlTableItem(headNode, word);
+	@Override
+	public void setParallelChunkSize(int parallelChunkSize)
+	{
+		Guard.moreThanZero(parallelChunkSize, "parallelChunkSize");
 
-					controlTable.put(controlTableItem, rule);
-				}
+		this._parallelChunkSize = parallelChunkSize;
+	}
+
+	/**
+	 * Builds the control table of the specified rules.
+	 *
+	 * @return the control table
+	 * @throws GrammarIsNotLLOneGrammarException
+	 *             if two rules get the same cell of the control table
+	 */
+	private Map<ControlTableItem, Rule> buildPartialControlTable(
+		List<Rule> rules, Map<Node, Set<Word>> firstSetDictionary,
+		Map<Node, Set<Word>> followSetDictionary) throws Exception
+	{
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		for (Rule rule : rules)
+		{
+			Node headNode = rule.getHeadNode();
+			List<Node> nodes = rule.getNodes();
+
+			Set<Word> firstSet;
+
+			if (nodes.size() > 0)
+			{
+				firstSet =
+					this._grammarService.getFirstSetForNodesList(nodes,
+						firstSetDictionary);
+			}
+			else
+			{
+				firstSet = new HashSet<Word>();
+
+				firstSet.add(Word.getEmptyWord());
+			}
+
+			Set<Word> followSet = followSetDictionary.get(headNode);
+
+			Set<Word> firstPlusFollowSet =
+				this._grammarService.getFirstPlusFollowSet(firstSet, followSet);
+
+			for (Word word : firstPlusFollowSet)
+			{
+				ControlTableItem controlTableItem =
+					new ControlTableItem(headNode, word);
+
+				this.putRule(controlTable, controlTableItem, rule);
 			}
 		}
 
 		return controlTable;
 	}
+
+	private void putRule(Map<ControlTableItem, Rule> controlTable,
+		ControlTableItem controlTableItem, Rule rule)
+		throws GrammarIsNotLLOneGrammarException
+	{
+		Rule otherRule = controlTable.putIfAbsent(controlTableItem, rule);
+
+		if (otherRule != null && !otherRule.equals(rule))
+		{
+			throw new GrammarIsNotLLOneGrammarException(
+				String.format(
+					"Rules of the nonterminal '%1$s' get the same cell of the control table.",
+					controlTableItem.getNode().getText()));
+		}
+	}
 }
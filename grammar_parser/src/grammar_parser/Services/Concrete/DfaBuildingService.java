@@ -0,0 +1,662 @@
+package grammar_parser.Services.Concrete;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Models.Dfa;
+import grammar_parser.Models.Nfa;
+import grammar_parser.Parsers.Abstract.IRegexParser;
+import grammar_parser.Parsers.Concrete.RegexParser;
+import grammar_parser.Services.Abstract.IDfaBuildingService;
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+public class DfaBuildingService implements IDfaBuildingService
+{
+	@Override
+	public Dfa buildDfa(List<Pattern> patterns, Iterable<String> keywords)
+		throws PatternIsNotSupportedException
+	{
+		Guard.listAndElementsNotNull(patterns, "patterns");
+		Guard.listAndElementsNotNull(keywords, "keywords");
+
+		Nfa nfa = this.buildNfa(patterns, keywords);
+
+		int[] intervalStarts = this.getIntervalStarts(nfa);
+
+		int[] patternIds = this.getPatternIds(nfa, patterns.size());
+
+		// Subset construction over the lists of the nfa states, that are
+		// ordered by their priority, like the threads of the backtracking
+		// matcher. The states of the pattern, that have the lower priority
+		// than its matched accepting state, are dropped, so the pattern
+		// matches where the first matching alternative ends.
+		List<List<Integer>> statesSets = new ArrayList<List<Integer>>();
+		List<int[]> transitions = new ArrayList<int[]>();
+
+		Map<List<Integer>, Integer> statesSetsMap =
+			new HashMap<List<Integer>, Integer>();
+
+		int[][][] nfaTransitions = this.getTransitionsArrays(nfa);
+
+		List<Integer> startStatesSet =
+			this.getEpsilonClosure(nfa, nfaTransitions, patternIds,
+				Arrays.asList(nfa.getStartState()));
+
+		statesSets.add(startStatesSet);
+		statesSetsMap.put(startStatesSet, 0);
+
+		for (int state = 0; state < statesSets.size(); state++)
+		{
+			List<Integer> statesSet = statesSets.get(state);
+
+			int[] row = new int[intervalStarts.length - 1];
+
+			for (int interval = 0; interval < row.length; interval++)
+			{
+				int c = intervalStarts[interval];
+
+				List<Integer> nextStatesSet = new ArrayList<Integer>();
+
+				for (int nfaState : statesSet)
+				{
+					for (int[] transition : nfaTransitions[nfaState])
+					{
+						if (transition[0] <= c && c <= transition[1])
+						{
+							nextStatesSet.add(transition[2]);
+						}
+					}
+				}
+
+				if (nextStatesSet.isEmpty())
+				{
+					row[interval] = -1;
+
+					continue;
+				}
+
+				nextStatesSet =
+					this.getEpsilonClosure(nfa, nfaTransitions, patternIds,
+						nextStatesSet);
+
+				Integer nextState = statesSetsMap.get(nextStatesSet);
+
+				if (nextState == null)
+				{
+					nextState = statesSets.size();
+
+					statesSets.add(nextStatesSet);
+					statesSetsMap.put(nextStatesSet, nextState);
+				}
+
+				row[interval] = nextState;
+			}
+
+			transitions.add(row);
+		}
+
+		int statesCount = statesSets.size();
+
+		int keywordAcceptId = patterns.size();
+
+		int[] acceptIds = new int[statesCount];
+		long[] acceptMasks = new long[statesCount];
+		boolean[] keywordStates = new boolean[statesCount];
+
+		for (int state = 0; state < statesCount; state++)
+		{
+			int acceptId = -1;
+			long acceptMask = 0;
+			boolean isKeyword = false;
+
+			for (int nfaState : statesSets.get(state))
+			{
+				int nfaAcceptId = nfa.getAcceptId(nfaState);
+
+				if (nfaAcceptId == keywordAcceptId)
+				{
+					isKeyword = true;
+				}
+				else if (nfaAcceptId >= 0)
+				{
+					if (acceptId < 0 || nfaAcceptId < acceptId)
+					{
+						acceptId = nfaAcceptId;
+					}
+
+					if (nfaAcceptId < 64)
+					{
+						acceptMask |= 1L << nfaAcceptId;
+					}
+				}
+			}
+
+			acceptIds[state] = acceptId;
+			acceptMasks[state] = acceptMask;
+
+			// The keyword is recognized only if it's matched by the pattern.
+			keywordStates[state] = isKeyword && acceptId >= 0;
+		}
+
+		return this.minimize(intervalStarts, transitions, acceptIds,
+			acceptMasks, keywordStates);
+	}
+
+	private Nfa buildNfa(List<Pattern> patterns, Iterable<String> keywords)
+		throws PatternIsNotSupportedException
+	{
+		Nfa nfa = new Nfa();
+
+		int startState = nfa.addState();
+
+		nfa.setStartState(startState);
+
+		IRegexParser regexParser = new RegexParser();
+
+		for (int i = 0, count = patterns.size(); i < count; i++)
+		{
+			Pattern pattern = patterns.get(i);
+
+			if (pattern.flags() != 0)
+			{
+				throw new PatternIsNotSupportedException(String.format(
+					"Pattern '%1$s' has flags, that are not supported.",
+					pattern.pattern()));
+			}
+
+			regexParser.setPattern(pattern.pattern());
+
+			Nfa patternNfa = regexParser.parse();
+
+			int offset = nfa.append(patternNfa);
+
+			for (int state = 0, statesCount = patternNfa.getStatesCount(); state < statesCount; state++)
+			{
+				if (patternNfa.getAcceptId(state) >= 0)
+				{
+					nfa.setAcceptId(offset + state, i);
+				}
+			}
+
+			nfa.addEpsilonTransition(startState,
+				offset + patternNfa.getStartState());
+		}
+
+		List<List<Character>> caseVariants = this.getCaseVariants(keywords);
+
+		for (String keyword : keywords)
+		{
+			int state = nfa.addState();
+
+			nfa.addEpsilonTransition(startState, state);
+
+			for (int i = 0, length = keyword.length(); i < length; i++)
+			{
+				int nextState = nfa.addState();
+
+				for (char caseVariant : caseVariants.get(keyword.charAt(i)))
+				{
+					nfa.addTransition(state, caseVariant, caseVariant,
+						nextState);
+				}
+
+				state = nextState;
+			}
+
+			nfa.setAcceptId(state, patterns.size());
+		}
+
+		return nfa;
+	}
+
+	private List<List<Character>> getCaseVariants(Iterable<String> keywords)
+	{
+		List<List<Character>> caseVariants =
+			new ArrayList<List<Character>>(Character.MAX_VALUE + 1);
+
+		for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++)
+		{
+			caseVariants.add(null);
+		}
+
+		boolean hasKeywords = false;
+
+		for (String keyword : keywords)
+		{
+			for (char c : keyword.toCharArray())
+			{
+				caseVariants.set(c, new ArrayList<Character>());
+
+				hasKeywords = true;
+			}
+		}
+
+		if (!hasKeywords)
+		{
+			return caseVariants;
+		}
+
+		// The character is a case variant of the keyword's character, if it
+		// turns into it after the conversion to lower case.
+		for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++)
+		{
+			if (Character.isSurrogate((char) c))
+			{
+				continue;
+			}
+
+			String lowerCase = String.valueOf((char) c).toLowerCase();
+
+			if (lowerCase.length() != 1)
+			{
+				continue;
+			}
+
+			List<Character> variants = caseVariants.get(lowerCase.charAt(0));
+
+			if (variants != null)
+			{
+				variants.add((char) c);
+			}
+		}
+
+		return caseVariants;
+	}
+
+	/**
+	 * Gets the epsilon closure of the specified states, that are ordered by
+	 * their priority. The closure keeps only the states, that have the
+	 * transitions or accept, in the order, in which the backtracking matcher
+	 * tries them.
+	 */
+	private List<Integer> getEpsilonClosure(Nfa nfa, int[][][] nfaTransitions,
+		int[] patternIds, List<Integer> states)
+	{
+		List<Integer> closure = new ArrayList<Integer>();
+
+		BitSet visitedStates = new BitSet();
+		BitSet matchedPatterns = new BitSet();
+
+		Deque<Integer> statesToProcess = new ArrayDeque<Integer>();
+
+		for (int i = states.size() - 1; i >= 0; i--)
+		{
+			statesToProcess.push(states.get(i));
+		}
+
+		while (!statesToProcess.isEmpty())
+		{
+			int state = statesToProcess.pop();
+
+			int patternId = patternIds[state];
+
+			if (visitedStates.get(state)
+				|| (patternId >= 0 && matchedPatterns.get(patternId)))
+			{
+				continue;
+			}
+
+			visitedStates.set(state);
+
+			int acceptId = nfa.getAcceptId(state);
+
+			if (acceptId >= 0 || nfaTransitions[state].length > 0)
+			{
+				closure.add(state);
+			}
+
+			if (acceptId >= 0 && acceptId == patternId)
+			{
+				matchedPatterns.set(patternId);
+			}
+
+			List<Integer> nextStates = nfa.getEpsilonTransitions(state);
+
+			for (int i = nextStates.size() - 1; i >= 0; i--)
+			{
+				statesToProcess.push(nextStates.get(i));
+			}
+		}
+
+		return closure;
+	}
+
+	private int[] getIntervalStarts(Nfa nfa)
+	{
+		// The characters between two neighboring bounds are not distinguished
+		// by any transition.
+		TreeSet<Integer> bounds = new TreeSet<Integer>();
+
+		bounds.add((int) Character.MIN_VALUE);
+		bounds.add(128);
+		bounds.add(Character.MAX_VALUE + 1);
+
+		for (int state = 0, count = nfa.getStatesCount(); state < count; state++)
+		{
+			for (int[] transition : nfa.getTransitions(state))
+			{
+				bounds.add(transition[0]);
+				bounds.add(transition[1] + 1);
+			}
+		}
+
+		int[] intervalStarts = new int[bounds.size()];
+
+		int i = 0;
+
+		for (int bound : bounds)
+		{
+			intervalStarts[i++] = bound;
+		}
+
+		return intervalStarts;
+	}
+
+	/**
+	 * Gets the index of the pattern, that each state of the nfa belongs to,
+	 * or -1, if the state doesn't belong to any pattern.
+	 */
+	private int[] getPatternIds(Nfa nfa, int patternsCount)
+	{
+		int[] patternIds = new int[nfa.getStatesCount()];
+
+		Arrays.fill(patternIds, -1);
+
+		// The patterns are appended in their order and are reached from the
+		// start state by the first epsilon transitions.
+		List<Integer> patternStartStates =
+			nfa.getEpsilonTransitions(nfa.getStartState());
+
+		for (int patternId = 0; patternId < patternsCount; patternId++)
+		{
+			Deque<Integer> statesToProcess = new ArrayDeque<Integer>();
+
+			statesToProcess.push(patternStartStates.get(patternId));
+
+			while (!statesToProcess.isEmpty())
+			{
+				int state = statesToProcess.pop();
+
+				if (patternIds[state] >= 0)
+				{
+					continue;
+				}
+
+				patternIds[state] = patternId;
+
+				for (int nextState : nfa.getEpsilonTransitions(state))
+				{
+					statesToProcess.push(nextState);
+				}
+
+				for (int[] transition : nfa.getTransitions(state))
+				{
+					statesToProcess.push(transition[2]);
+				}
+			}
+		}
+
+		return patternIds;
+	}
+
+	private int[][][] getTransitionsArrays(Nfa nfa)
+	{
+		int[][][] transitions = new int[nfa.getStatesCount()][][];
+
+		for (int state = 0; state < transitions.length; state++)
+		{
+			transitions[state] = nfa.getTransitions(state).toArray(new int[0][]);
+		}
+
+		return transitions;
+	}
+
+	private Dfa minimize(int[] intervalStarts, List<int[]> transitions,
+		int[] acceptIds, long[] acceptMasks, boolean[] keywordStates)
+	{
+		int statesCount = acceptIds.length;
+		int intervalsCount = intervalStarts.length - 1;
+
+		// Remove the states, from which no accepting state can be reached.
+		boolean[] isUseful = new boolean[statesCount];
+
+		boolean isChanged = true;
+
+		while (isChanged)
+		{
+			isChanged = false;
+
+			for (int state = 0; state < statesCount; state++)
+			{
+				if (isUseful[state])
+				{
+					continue;
+				}
+
+				boolean isStateUseful = acceptIds[state] >= 0;
+
+				for (int nextState : transitions.get(state))
+				{
+					if (nextState >= 0 && isUseful[nextState])
+					{
+						isStateUseful = true;
+					}
+				}
+
+				if (isStateUseful)
+				{
+					isUseful[state] = true;
+
+					isChanged = true;
+				}
+			}
+		}
+
+		// The start state is kept even if it is useless.
+		isUseful[0] = true;
+
+		// Partition refinement: the states stay in the same block until some
+		// character leads them into different blocks.
+		int[] blocks = new int[statesCount];
+		int blocksCount = 0;
+
+		Map<List<Long>, Integer> initialBlocks =
+			new HashMap<List<Long>, Integer>();
+
+		for (int state = 0; state < statesCount; state++)
+		{
+			if (!isUseful[state])
+			{
+				blocks[state] = -1;
+
+				continue;
+			}
+
+			// The states, that accept different sets of patterns, are kept
+			// apart, so the patterns can be matched selectively.
+			List<Long> key =
+				Arrays.asList((long) acceptIds[state], acceptMasks[state],
+					keywordStates[state] ? 1L : 0L);
+
+			Integer block = initialBlocks.get(key);
+
+			if (block == null)
+			{
+				block = initialBlocks.size();
+
+				initialBlocks.put(key, block);
+			}
+
+			blocks[state] = block;
+		}
+
+		blocksCount = initialBlocks.size();
+
+		while (true)
+		{
+			Map<List<Integer>, Integer> signatures =
+				new HashMap<List<Integer>, Integer>();
+
+			int[] newBlocks = new int[statesCount];
+
+			for (int state = 0; state < statesCount; state++)
+			{
+				if (blocks[state] < 0)
+				{
+					newBlocks[state] = -1;
+
+					continue;
+				}
+
+				List<Integer> signature =
+					new ArrayList<Integer>(intervalsCount + 1);
+
+				signature.add(blocks[state]);
+
+				for (int nextState : transitions.get(state))
+				{
+					signature.add(nextState < 0 ? -1 : blocks[nextState]);
+				}
+
+				Integer block = signatures.get(signature);
+
+				if (block == null)
+				{
+					block = signatures.size();
+
+					signatures.put(signature, block);
+				}
+
+				newBlocks[state] = block;
+			}
+
+			blocks = newBlocks;
+
+			if (signatures.size() == blocksCount)
+			{
+				break;
+			}
+
+			blocksCount = signatures.size();
+		}
+
+		int[][] minimizedTransitions = new int[blocksCount][];
+		int[] minimizedAcceptIds = new int[blocksCount];
+		long[] minimizedAcceptMasks = new long[blocksCount];
+		boolean[] minimizedKeywordStates = new boolean[blocksCount];
+
+		for (int state = 0; state < statesCount; state++)
+		{
+			int block = blocks[state];
+
+			if (block < 0 || minimizedTransitions[block] != null)
+			{
+				continue;
+			}
+
+			int[] row = new int[intervalsCount];
+
+			for (int interval = 0; interval < intervalsCount; interval++)
+			{
+				int nextState = transitions.get(state)[interval];
+
+				row[interval] = nextState < 0 ? -1 : blocks[nextState];
+			}
+
+			minimizedTransitions[block] = row;
+			minimizedAcceptIds[block] = acceptIds[state];
+			minimizedAcceptMasks[block] = acceptMasks[state];
+			minimizedKeywordStates[block] = keywordStates[state];
+		}
+
+		// Merge the intervals with the same transitions into char classes.
+		Map<List<Integer>, Integer> charClassesMap =
+			new HashMap<List<Integer>, Integer>();
+
+		int[] intervalCharClasses = new int[intervalsCount];
+
+		for (int interval = 0; interval < intervalsCount; interval++)
+		{
+			List<Integer> column = new ArrayList<Integer>(blocksCount);
+
+			for (int block = 0; block < blocksCount; block++)
+			{
+				column.add(minimizedTransitions[block][interval]);
+			}
+
+			Integer charClass = charClassesMap.get(column);
+
+			if (charClass == null)
+			{
+				charClass = charClassesMap.size();
+
+				charClassesMap.put(column, charClass);
+			}
+
+			intervalCharClasses[interval] = charClass;
+		}
+
+		int charClassesCount = charClassesMap.size();
+
+		int[] dfaTransitions = new int[blocksCount * charClassesCount];
+
+		for (int block = 0; block < blocksCount; block++)
+		{
+			for (int interval = 0; interval < intervalsCount; interval++)
+			{
+				dfaTransitions[block * charClassesCount
+					+ intervalCharClasses[interval]] =
+					minimizedTransitions[block][interval];
+			}
+		}
+
+		int[] asciiCharClasses = new int[128];
+
+		List<Integer> rangeStarts = new ArrayList<Integer>();
+		List<Integer> rangeCharClasses = new ArrayList<Integer>();
+
+		for (int interval = 0; interval < intervalsCount; interval++)
+		{
+			int charClass = intervalCharClasses[interval];
+
+			if (intervalStarts[interval] < 128)
+			{
+				for (int c = intervalStarts[interval]; c < intervalStarts[interval + 1]; c++)
+				{
+					asciiCharClasses[c] = charClass;
+				}
+			}
+			else if (rangeCharClasses.isEmpty()
+				|| rangeCharClasses.get(rangeCharClasses.size() - 1) != charClass)
+			{
+				rangeStarts.add(intervalStarts[interval]);
+				rangeCharClasses.add(charClass);
+			}
+		}
+
+		return new Dfa(asciiCharClasses, this.toArray(rangeStarts),
+			this.toArray(rangeCharClasses), dfaTransitions,
+			minimizedAcceptIds, minimizedAcceptMasks, minimizedKeywordStates);
+	}
+
+	private int[] toArray(List<Integer> list)
+	{
+		int[] array = new int[list.size()];
+
+		for (int i = 0; i < array.length; i++)
+		{
+			array[i] = list.get(i);
+		}
+
+		return array;
+	}
+}
@@ -0,0 +1,89 @@
+package grammar_parser.Services.Concrete;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Models.Node;
+import grammar_parser.Models.NodeDefinition;
+import grammar_parser.Services.Abstract.IDfaBuildingService;
+import grammar_parser.Services.Abstract.IGrammarLexerGeneratingService;
+import grammar_parser.Services.Abstract.LexerGeneratingService;
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class GrammarLexerGeneratingService extends
+		LexerGeneratingService<Node, NodeKind> implements
+		IGrammarLexerGeneratingService
+{
+	public GrammarLexerGeneratingService()
+	{
+		this(new DfaBuildingService());
+	}
+
+	public GrammarLexerGeneratingService(
+		IDfaBuildingService dfaBuildingService)
+	{
+		super(dfaBuildingService);
+	}
+
+	@Override
+	public String generateLexer(String packageName, String className,
+		Iterable<NodeDefinition> nodeDefinitions,
+		Iterable<Character> spaceCharacters)
+		throws PatternIsNotSupportedException
+	{
+		Guard.listAndElementsNotNull(nodeDefinitions, "nodeDefinitions");
+
+		List<Pattern> patterns = new ArrayList<Pattern>();
+		List<NodeKind> kinds = new ArrayList<NodeKind>();
+
+		for (NodeDefinition nodeDefinition : nodeDefinitions)
+		{
+			patterns.add(nodeDefinition.getRepresentation());
+			kinds.add(nodeDefinition.getKind());
+		}
+
+		return this.generateLexer(packageName, className, patterns, kinds,
+			new ArrayList<String>(), spaceCharacters);
+	}
+
+	@Override
+	protected void appendElementCreation(StringBuilder code)
+	{
+		code.append(String.format("\t\t\tif (kind == NodeKind.Terminal)%n"));
+		code.append(String.format("\t\t\t{%n"));
+		code.append(String.format(
+			"\t\t\t\t// Remove quotes around the text.%n"));
+		code.append(String.format(
+			"\t\t\t\telements.add(new Node(kind, source.substring(offset + 1,%n"));
+		code.append(String.format(
+			"\t\t\t\t\toffset + tokenLength - 1)));%n"));
+		code.append(String.format("\t\t\t}%n"));
+		code.append(String.format("\t\t\telse%n"));
+		code.append(String.format("\t\t\t{%n"));
+		code.append(String.format(
+			"\t\t\t\telements.add(new Node(kind, source.substring(offset,%n"));
+		code.append(String.format("\t\t\t\t\toffset + tokenLength)));%n"));
+		code.append(String.format("\t\t\t}%n"));
+	}
+
+	@Override
+	protected Class<Node> getElementClass()
+	{
+		return Node.class;
+	}
+
+	@Override
+	protected NodeKind getKeywordKind()
+	{
+		return null;
+	}
+
+	@Override
+	protected NodeKind getUnknownKind()
+	{
+		return NodeKind.Unknown;
+	}
+}
@@ -0,0 +1,54 @@
+package grammar_parser.Models;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CharacterSetTests
+{
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_CharactersListContainsNull_ThrowsIllegalArgumentException()
+	{
+		// Act & Assert
+		new CharacterSet(Arrays.asList(' ', null));
+	}
+
+	@Test
+	public void contains_ReturnsTrueOnlyForCharactersOfSet() throws Exception
+	{
+		// Arrange
+		CharacterSet target =
+			new CharacterSet(Arrays.asList(' ', '\t', '~', '\u00a0', '\u3000'));
+
+		// Act & Assert
+		Assert.assertTrue(target.contains(' '));
+		Assert.assertTrue(target.contains('\t'));
+		Assert.assertTrue(target.contains('~'));
+		Assert.assertTrue(target.contains('\u00a0'));
+		Assert.assertTrue(target.contains('\u3000'));
+
+		Assert.assertFalse(target.contains('\n'));
+		Assert.assertFalse(target.contains('^'));
+		Assert.assertFalse(target.contains((char) ('~' + 64)));
+		Assert.assertFalse(target.contains('\u00a1'));
+	}
+
+	@Test
+	public void skip_SourceStartsWithRunOfCharacters_ReturnsOffsetAfterRun()
+		throws Exception
+	{
+		// Arrange
+		CharacterSet target = new CharacterSet(Arrays.asList(' ', '\n'));
+
+		// Act
+		int offsetOne = target.skip("x  \n y", 1, 6);
+		int offsetTwo = target.skip("x  \n y", 1, 3);
+		int offsetThree = target.skip("x  \n y", 0, 6);
+
+		// Assert
+		Assert.assertEquals(5, offsetOne);
+		Assert.assertEquals(3, offsetTwo);
+		Assert.assertEquals(0, offsetThree);
+	}
+}
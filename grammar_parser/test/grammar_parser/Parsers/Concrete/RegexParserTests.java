@@ -0,0 +1,84 @@
+package grammar_parser.Parsers.Concrete;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Models.Nfa;
+import grammar_parser.Parsers.Abstract.IRegexParser;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RegexParserTests
+{
+	private IRegexParser _regexParser;
+
+	@Test
+	public void parse_PatternContainsUnsupportedConstructs_ThrowsPatternIsNotSupportedException()
+	{
+		// Arrange
+		String[] patterns =
+			new String[] {
+				"^a", "a$", "a(?=b)", "a(?!b)", "(a)\\1", "a*?", "a++", "\\bab",
+				"\\p{Alpha}", "[a&&b]", "[^a[b]]", "(?:a*)*", "(?:a|)+",
+				"(?:a?){2}"
+			};
+
+		for (String pattern : patterns)
+		{
+			this._regexParser.setPattern(pattern);
+
+			boolean exceptionIsThrown = false;
+
+			// Act
+			try
+			{
+				this._regexParser.parse();
+			}
+			catch (PatternIsNotSupportedException e)
+			{
+				exceptionIsThrown = true;
+			}
+
+			// Assert
+			Assert.assertEquals(pattern, true, exceptionIsThrown);
+		}
+	}
+
+	@Test
+	public void parse_PatternIsValid_ReturnsNfaWithOneAcceptingState()
+		throws Exception
+	{
+		// Arrange
+		this._regexParser.setPattern("(?:a|[b-d\\Q-]\\E])+x{1,2}\\.");
+
+		// Act
+		Nfa nfa = this._regexParser.parse();
+
+		// Assert
+		int acceptingStatesCount = 0;
+
+		for (int state = 0, count = nfa.getStatesCount(); state < count; state++)
+		{
+			if (nfa.getAcceptId(state) == 0)
+			{
+				acceptingStatesCount++;
+			}
+		}
+
+		Assert.assertEquals(1, acceptingStatesCount);
+		Assert.assertEquals(true, nfa.getStartState() >= 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setPattern_PatternIsNull_ThrowsIllegalArgumentException()
+	{
+		// Act & Assert
+		this._regexParser.setPattern(null);
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this._regexParser = new RegexParser();
+	}
+}
@@ -2,11 +2,15 @@ package grammar_parser.Services.Concrete;
 
 import grammar_parser.Enums.NodeKind;
 import grammar_parser.Exceptions.GrammarIsNotLLOneGrammarException;
+import grammar_parser.Lexers.Abstract.IGrammarLexer;
+import grammar_parser.Lexers.Concrete.GrammarLexer;
 import grammar_parser.Models.ControlTableItem;
 import grammar_parser.Models.Grammar;
 import grammar_parser.Models.Node;
 import grammar_parser.Models.Rule;
 import grammar_parser.Models.Word;
+import grammar_parser.Parsers.Abstract.IGrammarParser;
+import grammar_parser.Parsers.Concrete.GrammarParser;
 import grammar_parser.Services.Abstract.IControlTableBuildingService;
 import grammar_parser.Services.Abstract.IGrammarService;
 
@@ -17,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -251,6 +256,123 @@ public class ControlTableBuildingServiceTests
 					.getHeadNode())));
 	}
 
+	@Test(expected = IllegalArgumentException.class)
+	public void buildControlTable_PoolIsNull_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		IControlTableBuildingService target =
+			new ControlTableBuildingService(this._mockedGrammarService);
+
+		// Act & Assert
+		target.buildControlTable(this._grammar, null);
+	}
+
+	@Test
+	public void buildControlTable_PoolIsSpecifiedAndRulesGetSameCell_ThrowsGrammarIsNotLLOneGrammarException()
+		throws Exception
+	{
+		// Arrange - mock grammarService
+		Set<Word> firstSet = new HashSet<Word>();
+
+		Mockito.when(
+			this._mockedGrammarService.getFirstSetForNodesList(
+				Matchers.anyListOf(Node.class),
+				Matchers.same(this._firstSetDictionary))).thenReturn(firstSet);
+
+		Set<Word> firstPlusFollowSet =
+			new HashSet<Word>(Arrays.asList(new Word(new Node(
+				NodeKind.Terminal, "a"))));
+
+		Mockito.when(
+			this._mockedGrammarService.getFirstPlusFollowSet(
+				Matchers.anySetOf(Word.class), Matchers.anySetOf(Word.class)))
+				.thenReturn(firstPlusFollowSet);
+
+		// Arrange - create target
+		IControlTableBuildingService target =
+			new ControlTableBuildingService(this._mockedGrammarService);
+
+		// The rules of the nonterminal A are in the different chunks.
+		target.setParallelChunkSize(1);
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		boolean exceptionIsThrown = false;
+
+		// Act
+		try
+		{
+			target.buildControlTable(this._grammar, pool);
+		}
+		catch (GrammarIsNotLLOneGrammarException e)
+		{
+			exceptionIsThrown = true;
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		// Assert
+		Assert.assertEquals(true, exceptionIsThrown);
+
+		Mockito.verify(this._mockedGrammarService, Mockito.never())
+				.isLLOneGrammar(Matchers.same(this._grammar),
+					Matchers.same(this._firstSetDictionary),
+					Matchers.same(this._followSetDictionary));
+	}
+
+	@Test
+	public void buildControlTable_PoolIsSpecified_ReturnsTheSameControlTableAsSequential()
+		throws Exception
+	{
+		// Arrange - create grammar: the chain of the nonterminals with the
+		// optional parts.
+		StringBuilder source = new StringBuilder("S = A0 .");
+
+		for (int i = 0; i < 50; i++)
+		{
+			source.append(String.format(
+				" A%1$s = \"a%1$s\", A%2$s | \"b%1$s\" | .", i, i + 1));
+		}
+
+		source.append(" A50 = \"c\" .");
+
+		IGrammarLexer grammarLexer = new GrammarLexer();
+
+		grammarLexer.setSource(source.toString());
+
+		IGrammarParser grammarParser = new GrammarParser();
+
+		grammarParser.setNodes(grammarLexer.parse());
+
+		Grammar grammar = grammarParser.parse();
+
+		// Arrange - create target
+		IControlTableBuildingService target =
+			new ControlTableBuildingService(new GrammarService());
+
+		target.setParallelChunkSize(3);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		// Act
+		Map<ControlTableItem, Rule> controlTable;
+
+		try
+		{
+			controlTable = target.buildControlTable(grammar, pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		// Assert
+		Assert.assertEquals(target.buildControlTable(grammar), controlTable);
+	}
+
 	@Before
 	public void setUp() throws Exception
 	{
@@ -263,6 +385,17 @@ public class ControlTableBuildingServiceTests
 		this.mockGrammarService();
 	}
 
+	@Test(expected = IllegalArgumentException.class)
+	public void setParallelChunkSize_ChunkSizeIsZero_ThrowsIllegalArgumentException()
+	{
+		// Arrange
+		IControlTableBuildingService target =
+			new ControlTableBuildingService(this._mockedGrammarService);
+
+		// Act & Assert
+		target.setParallelChunkSize(0);
+	}
+
 	private void initFirstAndFollowSetDictionaries()
 	{
 		this._firstSetDictionary = new HashMap<Node, Set<Word>>();
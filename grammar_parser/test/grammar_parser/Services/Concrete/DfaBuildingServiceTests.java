@@ -0,0 +1,362 @@
+package grammar_parser.Services.Concrete;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Models.Dfa;
+import grammar_parser.Services.Abstract.IDfaBuildingService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DfaBuildingServiceTests
+{
+	private IDfaBuildingService _dfaBuildingService;
+
+	@Test(expected = PatternIsNotSupportedException.class)
+	public void buildDfa_PatternHasFlags_ThrowsPatternIsNotSupportedException()
+		throws Exception
+	{
+		// Arrange
+		List<Pattern> patterns =
+			Arrays.asList(Pattern.compile("a", Pattern.CASE_INSENSITIVE));
+
+		// Act & Assert
+		this._dfaBuildingService.buildDfa(patterns, new ArrayList<String>());
+	}
+
+	@Test
+	public void buildDfa_PatternHasRepetition_ReturnsDfaThatSkipsRunOfRepeatedCharacters()
+		throws Exception
+	{
+		// Arrange
+		List<Pattern> patterns =
+			Arrays.asList(Pattern.compile("[a-z][a-z0-9]*"),
+				Pattern.compile("[0-9]+"));
+
+		// Act
+		Dfa dfa =
+			this._dfaBuildingService.buildDfa(patterns,
+				new ArrayList<String>());
+
+		int identifierState = dfa.getNextState(dfa.getStartState(), 'x');
+		int numberState = dfa.getNextState(dfa.getStartState(), '1');
+
+		// Assert
+		Assert.assertEquals(6,
+			dfa.skipSelfLoop(identifierState, "xab12c+d", 1, 8));
+		Assert.assertEquals(3,
+			dfa.skipSelfLoop(identifierState, "xab12c+d", 1, 3));
+		Assert.assertEquals(3, dfa.skipSelfLoop(numberState, "123a", 1, 4));
+		Assert.assertEquals(1,
+			dfa.skipSelfLoop(identifierState, "x\u00e9", 1, 2));
+		Assert.assertEquals(0,
+			dfa.skipSelfLoop(dfa.getStartState(), "xab", 0, 3));
+	}
+
+	@Test
+	public void buildDfa_PatternsAreValid_ReturnsDfaThatFindsTheSameMatchesAsMatcher()
+		throws Exception
+	{
+		// Arrange
+		String[] patterns =
+			new String[] {
+				"[a-zA-Z_][a-zA-Z0-9_]*", "[0-9]+",
+				">=|<=|:=|>|<|=|#|\\?|!|\\+|-|\\*|/", "[\\Q().,;\\E]",
+				"\"(?:\\\\[\'\"\\\\0abfnrtuUxv]|[^\\\\\"\n])*\"",
+				"a(?:bc){2,3}d?", "\\d+\\.\\d*", ".\\s\\W"
+			};
+
+		String[] inputs =
+			new String[] {
+				"", "x", "_x1 y", "019a", ">==", ":=", "(.", "\"a\\\"b\" c",
+				"\"\n\"", "abcbcd", "abcbcbcbc", "1.5.", "\u00e9 !", "\n \n"
+			};
+
+		for (String pattern : patterns)
+		{
+			// Act
+			Dfa dfa =
+				this._dfaBuildingService.buildDfa(
+					Arrays.asList(Pattern.compile(pattern)),
+					new ArrayList<String>());
+
+			// Assert
+			for (String input : inputs)
+			{
+				Matcher matcher = Pattern.compile(pattern).matcher(input);
+
+				int expectedLength = matcher.lookingAt() ? matcher.end() : -1;
+
+				Assert.assertEquals(pattern + " on " + input, expectedLength,
+					this.getMatchLength(dfa, input));
+			}
+		}
+	}
+
+	@Test
+	public void buildDfa_PatternsAreGenerated_ReturnsDfaThatFindsTheSameMatchesAsMatcher()
+		throws Exception
+	{
+		// Arrange
+		Random random = new Random(1);
+
+		String[] patterns = new String[3000];
+
+		patterns[0] = "a|ab";
+		patterns[1] = "x|xy|xyz";
+		patterns[2] = "a*(?:ab)?";
+
+		for (int i = 3; i < patterns.length; i++)
+		{
+			patterns[i] = this.generatePattern(random, 0);
+		}
+
+		for (String pattern : patterns)
+		{
+			// Act
+			Dfa dfa;
+
+			try
+			{
+				dfa =
+					this._dfaBuildingService.buildDfa(
+						Arrays.asList(Pattern.compile(pattern)),
+						new ArrayList<String>());
+			}
+			catch (PatternIsNotSupportedException e)
+			{
+				continue;
+			}
+
+			// Assert
+			for (int i = 0; i < 20; i++)
+			{
+				StringBuilder input = new StringBuilder();
+
+				for (int length = random.nextInt(7); length > 0; length--)
+				{
+					input.append("abcxyz".charAt(random.nextInt(6)));
+				}
+
+				Matcher matcher =
+					Pattern.compile(pattern).matcher(input.toString());
+
+				int expectedLength = matcher.lookingAt() ? matcher.end() : -1;
+
+				Assert.assertEquals(pattern + " on " + input, expectedLength,
+					this.getMatchLength(dfa, input.toString()));
+			}
+		}
+	}
+
+	@Test
+	public void buildDfa_PatternsAreValid_ReturnsMinimizedDfa() throws Exception
+	{
+		// Arrange
+		List<Pattern> patterns =
+			Arrays.asList(Pattern.compile("[a-zA-Z_](?:[a-zA-Z_]|[0-9])*"));
+
+		// Act
+		Dfa dfa =
+			this._dfaBuildingService.buildDfa(patterns,
+				new ArrayList<String>());
+
+		// Assert
+		Assert.assertEquals(2, dfa.getStatesCount());
+		Assert.assertEquals(3, dfa.getCharClassesCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void buildDfa_PatternsListIsNull_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Act & Assert
+		this._dfaBuildingService.buildDfa(null, new ArrayList<String>());
+	}
+
+	@Test
+	public void buildDfa_PatternsMatchTheSameInput_ReturnsDfaWithAcceptIdOfTheFirstPattern()
+		throws Exception
+	{
+		// Arrange
+		List<Pattern> patterns =
+			Arrays.asList(Pattern.compile("[0-9]+"),
+				Pattern.compile("[a-z0-9]+"), Pattern.compile("12"));
+
+		// Act
+		Dfa dfa =
+			this._dfaBuildingService.buildDfa(patterns,
+				new ArrayList<String>());
+
+		// Assert
+		Assert.assertEquals(0, this.getAcceptId(dfa, "12"));
+		Assert.assertEquals(1, this.getAcceptId(dfa, "12a"));
+		Assert.assertEquals(-1, this.getAcceptId(dfa, "A"));
+	}
+
+	@Test
+	public void buildDfa_PatternsMatchTheSameInput_ReturnsDfaWithAcceptMaskOfAllPatterns()
+		throws Exception
+	{
+		// Arrange
+		List<Pattern> patterns =
+			Arrays.asList(Pattern.compile("[0-9]+"),
+				Pattern.compile("[a-z0-9]+"), Pattern.compile("12"));
+
+		// Act
+		Dfa dfa =
+			this._dfaBuildingService.buildDfa(patterns,
+				new ArrayList<String>());
+
+		int state = dfa.getStartState();
+
+		state = dfa.getNextState(state, '1');
+		state = dfa.getNextState(state, '2');
+
+		int nextState = dfa.getNextState(state, '3');
+
+		// Assert
+		Assert.assertEquals(7L, dfa.getAcceptMask(state));
+		Assert.assertEquals(3L, dfa.getAcceptMask(nextState));
+		Assert.assertEquals(3L, dfa.getReachableAcceptMask(nextState));
+		Assert.assertEquals(7L, dfa.getReachableAcceptMask(dfa
+			.getStartState()));
+		Assert.assertEquals(2L, dfa.getAcceptMask(dfa.getNextState(state,
+			'a')));
+	}
+
+	@Test
+	public void buildDfa_WithKeywords_ReturnsDfaWithKeywordStatesMatchedByPatterns()
+		throws Exception
+	{
+		// Arrange
+		List<Pattern> patterns =
+			Arrays.asList(Pattern.compile("[a-zA-Z]+"));
+
+		List<String> keywords = Arrays.asList("begin", "end", "a-b");
+
+		// Act
+		Dfa dfa = this._dfaBuildingService.buildDfa(patterns, keywords);
+
+		// Assert
+		Assert.assertEquals(true, this.isKeyword(dfa, "begin"));
+		Assert.assertEquals(true, this.isKeyword(dfa, "BeGiN"));
+		Assert.assertEquals(true, this.isKeyword(dfa, "END"));
+		Assert.assertEquals(false, this.isKeyword(dfa, "beginx"));
+		Assert.assertEquals(false, this.isKeyword(dfa, "beg"));
+		Assert.assertEquals(false, this.isKeyword(dfa, "a-b"));
+		Assert.assertEquals(1, this.getMatchLength(dfa, "a-b"));
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this._dfaBuildingService = new DfaBuildingService();
+	}
+
+	private String generatePattern(Random random, int depth)
+	{
+		switch (depth < 3 ? random.nextInt(7) : 3 + random.nextInt(4))
+		{
+			case 0:
+			{
+				String pattern =
+					this.generatePattern(random, depth + 1) + "|"
+						+ this.generatePattern(random, depth + 1);
+
+				return depth == 0 ? pattern : "(?:" + pattern + ")";
+			}
+
+			case 1:
+				return this.generatePattern(random, depth + 1)
+					+ this.generatePattern(random, depth + 1);
+
+			case 2:
+			{
+				String[] quantifiers =
+					new String[] {
+						"*", "+", "?", "{1,2}", "{0,2}", "{2}"
+					};
+
+				return "(?:" + this.generatePattern(random, depth + 1) + ")"
+					+ quantifiers[random.nextInt(quantifiers.length)];
+			}
+
+			case 3:
+				return "[ab]";
+
+			default:
+				return String.valueOf("abcxyz".charAt(random.nextInt(6)));
+		}
+	}
+
+	private int getAcceptId(Dfa dfa, String input)
+	{
+		int state = this.getLongestMatchState(dfa, input);
+
+		return state < 0 ? -1 : dfa.getAcceptId(state);
+	}
+
+	private int getLongestMatchState(Dfa dfa, String input)
+	{
+		int state = dfa.getStartState();
+
+		int matchState = dfa.getAcceptId(state) >= 0 ? state : -1;
+
+		for (int i = 0; i < input.length(); i++)
+		{
+			state = dfa.getNextState(state, input.charAt(i));
+
+			if (state < 0)
+			{
+				break;
+			}
+
+			if (dfa.getAcceptId(state) >= 0)
+			{
+				matchState = state;
+			}
+		}
+
+		return matchState;
+	}
+
+	private int getMatchLength(Dfa dfa, String input)
+	{
+		int state = dfa.getStartState();
+
+		int matchLength = dfa.getAcceptId(state) >= 0 ? 0 : -1;
+
+		for (int i = 0; i < input.length(); i++)
+		{
+			state = dfa.getNextState(state, input.charAt(i));
+
+			if (state < 0)
+			{
+				break;
+			}
+
+			if (dfa.getAcceptId(state) >= 0)
+			{
+				matchLength = i + 1;
+			}
+		}
+
+		return matchLength;
+	}
+
+	private boolean isKeyword(Dfa dfa, String input)
+	{
+		int state = this.getLongestMatchState(dfa, input);
+
+		return state >= 0 && this.getMatchLength(dfa, input) == input.length()
+			&& dfa.isKeywordState(state);
+	}
+}
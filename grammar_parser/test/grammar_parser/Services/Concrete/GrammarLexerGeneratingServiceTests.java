@@ -0,0 +1,141 @@
+package grammar_parser.Services.Concrete;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Lexers.Abstract.IGrammarLexer;
+import grammar_parser.Lexers.Abstract.ILexer;
+import grammar_parser.Lexers.Concrete.GrammarLexer;
+import grammar_parser.Models.Node;
+import grammar_parser.Models.NodeDefinition;
+import grammar_parser.Services.Abstract.IGrammarLexerGeneratingService;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GrammarLexerGeneratingServiceTests
+{
+	private IGrammarLexerGeneratingService _grammarLexerGeneratingService;
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_DfaBuildingServiceIsNull_ThrowsIllegalArgumentException()
+	{
+		// Act & Assert
+		new GrammarLexerGeneratingService(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void generateLexer_ClassNameIsInvalid_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		IGrammarLexer grammarLexer = new GrammarLexer();
+
+		// Act & Assert
+		this._grammarLexerGeneratingService.generateLexer("", "1Lexer",
+			grammarLexer.getNodeDefinitions(),
+			grammarLexer.getSpaceCharacters());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void generateLexer_NodeDefinitionsListIsNull_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Act & Assert
+		this._grammarLexerGeneratingService.generateLexer("", "Lexer", null,
+			Arrays.asList(' '));
+	}
+
+	@Test(expected = PatternIsNotSupportedException.class)
+	public void generateLexer_PatternIsNotSupported_ThrowsPatternIsNotSupportedException()
+		throws Exception
+	{
+		// Arrange
+		NodeDefinition nodeDefinition =
+			new NodeDefinition("a(?=b)", NodeKind.Nonterminal);
+
+		// Act & Assert
+		this._grammarLexerGeneratingService.generateLexer("", "Lexer",
+			Arrays.asList(nodeDefinition), Arrays.asList(' '));
+	}
+
+	@Test
+	public void generateLexer_ValidArguments_ReturnsLexerThatParsesTheSameNodesAsGrammarLexer()
+		throws Exception
+	{
+		// Arrange
+		String source =
+			"program = block \".\" ;\n\tblock = [ \"const\" ident \"=\" number ] ;\r\n"
+				+ "esc = \"\\\"\" | \"a\\\\\" ; bad = ? \"unclosed\n";
+
+		IGrammarLexer grammarLexer = new GrammarLexer();
+
+		grammarLexer.setSource(source);
+
+		// Act
+		String code =
+			this._grammarLexerGeneratingService.generateLexer(
+				"generated.grammar", "GeneratedGrammarLexer",
+				grammarLexer.getNodeDefinitions(),
+				grammarLexer.getSpaceCharacters());
+
+		ILexer<Node> generatedLexer =
+			this.compileLexer(code, "generated.grammar.GeneratedGrammarLexer");
+
+		generatedLexer.setSource(source);
+
+		// Assert
+		Assert.assertEquals(grammarLexer.parse(), generatedLexer.parse());
+		Assert.assertEquals(source, generatedLexer.getSource());
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this._grammarLexerGeneratingService =
+			new GrammarLexerGeneratingService();
+	}
+
+	@SuppressWarnings("unchecked")
+	private ILexer<Node> compileLexer(String code, String className)
+		throws Exception
+	{
+		Path directory = Files.createTempDirectory("lexer");
+
+		Path sourceFile =
+			directory.resolve(className.replace('.', File.separatorChar)
+				+ ".java");
+
+		Files.createDirectories(sourceFile.getParent());
+
+		Files.write(sourceFile, code.getBytes(StandardCharsets.UTF_8));
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		int result =
+			compiler.run(null, null, null, "-classpath",
+				System.getProperty("java.class.path"), "-d",
+				directory.toString(), sourceFile.toString());
+
+		Assert.assertEquals(0, result);
+
+		URLClassLoader classLoader =
+			new URLClassLoader(new URL[] {
+				directory.toUri().toURL()
+			}, this.getClass().getClassLoader());
+
+		return (ILexer<Node>) classLoader.loadClass(className)
+				.getDeclaredConstructor().newInstance();
+	}
+}
@@ -0,0 +1,87 @@
+package syntax_analyzer.Analyzers.Abstract;
+
+import java.util.List;
+
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.CompiledControlTable;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
+import syntax_analyzer.Models.SyntaxAnalyzerResult;
+import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
+
+/**
+ * The immutable parser of the compiled grammar. The tokens are passed to each
+ * call and the state of the call is kept in its own stack, so one parser can
+ * be shared by the threads, that parse the different tokens concurrently.
+ */
+public interface ICompiledParser
+{
+	/**
+	 * Gets the compiled control table.
+	 *
+	 * @return the compiled control table
+	 */
+	CompiledControlTable getCompiledControlTable();
+
+	/**
+	 * Gets the terminals of the grammar, that the tokens should be tagged
+	 * with.
+	 *
+	 * @return the grammar terminals
+	 */
+	GrammarTerminals getGrammarTerminals();
+
+	/**
+	 * Checks if the control table is compiled into the code, that is
+	 * specialized for the grammar.
+	 *
+	 * @return true, if the parser is specialized, false - otherwise
+	 */
+	boolean isSpecialized();
+
+	/**
+	 * Parses the tokens, that are pulled from the specified cursor. The
+	 * cursor is used only by the call and is parsed by the control table,
+	 * even if the parser is specialized.
+	 *
+	 * @param tokenCursor
+	 *            the token cursor
+	 * @return the syntax analyzer result
+	 * @throws Exception
+	 */
+	SyntaxAnalyzerResult parse(ITokenCursor tokenCursor) throws Exception;
+
+	/**
+	 * Parses the tokens.
+	 *
+	 * @param tokens
+	 *            the tokens
+	 * @return the syntax analyzer result
+	 * @throws Exception
+	 */
+	SyntaxAnalyzerResult parse(List<Token> tokens) throws Exception;
+
+	/**
+	 * Parses the tokens of the off-heap token buffer. The buffer is only
+	 * read.
+	 *
+	 * @param offHeapTokenBuffer
+	 *            the off-heap token buffer
+	 * @return the syntax analyzer result
+	 * @throws Exception
+	 */
+	SyntaxAnalyzerResult parse(OffHeapTokenBuffer offHeapTokenBuffer)
+		throws Exception;
+
+	/**
+	 * Parses the tokens of the token buffer. The buffer is only read, so it
+	 * can be parsed concurrently, if its line index is built beforehand.
+	 *
+	 * @param tokenBuffer
+	 *            the token buffer
+	 * @return the syntax analyzer result
+	 * @throws Exception
+	 */
+	SyntaxAnalyzerResult parse(TokenBuffer tokenBuffer) throws Exception;
+}
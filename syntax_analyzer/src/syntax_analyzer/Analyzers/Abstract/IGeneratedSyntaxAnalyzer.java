@@ -0,0 +1,73 @@
+package syntax_analyzer.Analyzers.Abstract;
+
+import java.util.List;
+
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
+import syntax_analyzer.Models.SyntaxAnalyzerResult;
+import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
+
+/**
+ * The syntax analyzer, that is generated for one grammar. The grammar is
+ * compiled into its code, so only the tokens can be set. It's selected as the
+ * backend of the syntax analyzer by ISyntaxAnalyzer.setGeneratedSyntaxAnalyzer.
+ */
+public interface IGeneratedSyntaxAnalyzer
+{
+	/**
+	 * Gets the numbered terminals of the grammar, including the special
+	 * nodes. The lexer can tag the tokens with their ids, so the syntax
+	 * analyzer doesn't have to match the values of the tokens.
+	 *
+	 * @return the grammar terminals
+	 */
+	GrammarTerminals getGrammarTerminals();
+
+	/**
+	 * Runs the syntax analyzer.
+	 *
+	 * @return the syntax analyzer result
+	 * @throws Exception
+	 */
+	SyntaxAnalyzerResult run() throws Exception;
+
+	/**
+	 * Runs the syntax analyzer on the tokens, that are pulled from the
+	 * specified cursor on demand. No more tokens are pulled after the syntax
+	 * error is found. The tokens, that are set to the syntax analyzer, are
+	 * ignored.
+	 *
+	 * @param tokenCursor
+	 *            the token cursor
+	 * @return the syntax analyzer result
+	 * @throws Exception
+	 */
+	SyntaxAnalyzerResult run(ITokenCursor tokenCursor) throws Exception;
+
+	/**
+	 * Sets the off-heap token buffer. The buffer is used until the other
+	 * tokens are set.
+	 *
+	 * @param offHeapTokenBuffer
+	 *            the new off-heap token buffer
+	 */
+	void setOffHeapTokenBuffer(OffHeapTokenBuffer offHeapTokenBuffer);
+
+	/**
+	 * Sets the token buffer. The buffer is used without copying.
+	 *
+	 * @param tokenBuffer
+	 *            the new token buffer
+	 */
+	void setTokenBuffer(TokenBuffer tokenBuffer);
+
+	/**
+	 * Sets the tokens.
+	 *
+	 * @param tokens
+	 *            the new tokens
+	 */
+	void setTokens(List<Token> tokens);
+}
@@ -1,5 +1,6 @@
 package syntax_analyzer.Analyzers.Abstract;
 
+import grammar_parser.Exceptions.GrammarIsNotLLOneGrammarException;
 import grammar_parser.Models.Grammar;
 import grammar_parser.Models.Node;
 
@@ -8,11 +9,50 @@ import java.util.Map;
 
 import syntax_analyzer.Enums.TokenKind;
 import syntax_analyzer.Exceptions.GrammarIsInvalidException;
+import syntax_analyzer.Exceptions.GrammarIsNotSetException;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.CompiledControlTable;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
 import syntax_analyzer.Models.SyntaxAnalyzerResult;
 import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
 
 public interface ISyntaxAnalyzer
 {
+	/**
+	 * Compiles the grammar into the immutable parser, that can be shared by
+	 * the threads. The parser is built once with the current grammar, special
+	 * nodes map and specialization, and is reused by the runs, until any of
+	 * them is changed.
+	 *
+	 * @return the compiled parser
+	 * @throws GrammarIsNotSetException
+	 *             if neither the grammar nor the compiled control table is
+	 *             set (the generated syntax analyzer can't be compiled)
+	 * @throws GrammarIsNotLLOneGrammarException
+	 *             if the control table can't be built for the grammar
+	 */
+	ICompiledParser compile() throws Exception;
+
+	/**
+	 * Gets the compiled control table, that is used instead of the grammar.
+	 * The table of the grammar is compiled on the first run and is reused,
+	 * until the grammar or the special nodes map is changed.
+	 *
+	 * @return the compiled control table, or null, if it's neither set nor
+	 *         compiled yet
+	 */
+	CompiledControlTable getCompiledControlTable();
+
+	/**
+	 * Gets the generated syntax analyzer, that runs the tokens instead of the
+	 * control table.
+	 *
+	 * @return the generated syntax analyzer, or null, if it's not set
+	 */
+	IGeneratedSyntaxAnalyzer getGeneratedSyntaxAnalyzer();
+
 	/**
 	 * Gets the grammar.
 	 *
@@ -20,6 +60,24 @@ public interface ISyntaxAnalyzer
 	 */
 	Grammar getGrammar();
 
+	/**
+	 * Gets the numbered terminals of the grammar, including the special
+	 * nodes. The lexer can tag the tokens with their ids, so the syntax
+	 * analyzer doesn't have to match the values of the tokens.
+	 *
+	 * @return the grammar terminals, or null, if neither the grammar nor the
+	 *         compiled control table nor the generated syntax analyzer is set
+	 */
+	GrammarTerminals getGrammarTerminals();
+
+	/**
+	 * Gets the off-heap token buffer.
+	 *
+	 * @return the off-heap token buffer, or null, if the tokens are not set
+	 *         as the off-heap token buffer
+	 */
+	OffHeapTokenBuffer getOffHeapTokenBuffer();
+
 	/**
 	 * Gets the special nodes map.
 	 *
@@ -27,6 +85,13 @@ public interface ISyntaxAnalyzer
 	 */
 	Map<Node, TokenKind> getSpecialNodesMap();
 
+	/**
+	 * Gets the token buffer.
+	 *
+	 * @return the token buffer
+	 */
+	TokenBuffer getTokenBuffer();
+
 	/**
 	 * Gets the tokens.
 	 *
@@ -34,6 +99,14 @@ public interface ISyntaxAnalyzer
 	 */
 	List<Token> getTokens();
 
+	/**
+	 * Checks if the control table is compiled into the code, that is
+	 * specialized for the grammar, at run time.
+	 *
+	 * @return true, if the syntax analyzer is specialized, false - otherwise
+	 */
+	boolean isSpecialized();
+
 	/**
 	 * Runs the syntax analyzer.
 	 *
@@ -43,7 +116,49 @@ public interface ISyntaxAnalyzer
 	SyntaxAnalyzerResult run() throws Exception;
 
 	/**
-	 * Sets the grammar.
+	 * Runs the syntax analyzer on the tokens, that are pulled from the
+	 * specified cursor on demand. The tokens are not collected into the list
+	 * and no more tokens are pulled after the syntax error is found. The
+	 * tokens, that are set to the syntax analyzer, are ignored.
+	 *
+	 * @param tokenCursor
+	 *            the token cursor
+	 * @return the syntax analyzer result
+	 * @throws Exception
+	 */
+	SyntaxAnalyzerResult run(ITokenCursor tokenCursor) throws Exception;
+
+	/**
+	 * Sets the compiled control table, that is used instead of the grammar,
+	 * so the control table is not built. The grammar and the generated syntax
+	 * analyzer are reset.
+	 *
+	 * @param compiledControlTable
+	 *            the new compiled control table
+	 */
+	void setCompiledControlTable(CompiledControlTable compiledControlTable);
+
+	/**
+	 * Sets the generated syntax analyzer, that runs the tokens instead of the
+	 * control table: the grammar is compiled into its code, so the table is
+	 * not interpreted. The tokens, that are set, are passed to it on each
+	 * run, and the lexer should tag them with its grammar terminals. The
+	 * grammar and the compiled control table are reset. The generated syntax
+	 * analyzer keeps the state of the run, so it shouldn't be shared with the
+	 * other syntax analyzers.
+	 *
+	 * @param generatedSyntaxAnalyzer
+	 *            the new generated syntax analyzer
+	 */
+	void setGeneratedSyntaxAnalyzer(
+		IGeneratedSyntaxAnalyzer generatedSyntaxAnalyzer);
+
+	/**
+	 * Sets the grammar. The compiled control table and the generated syntax
+	 * analyzer are reset. The grammar is
+	 * used without copying, and its table is compiled on the first run and
+	 * is reused by the next runs, so the grammar must not be changed after
+	 * it's set: the changes are not seen, until the grammar is set again.
 	 *
 	 * @param grammar
 	 *            the new grammar
@@ -51,6 +166,16 @@ public interface ISyntaxAnalyzer
 	 */
 	void setGrammar(Grammar grammar) throws GrammarIsInvalidException;
 
+	/**
+	 * Sets the off-heap token buffer. The tokens are read from the buffer in
+	 * place, only the wrong token is created as the object. The buffer is
+	 * used until the other tokens are set.
+	 *
+	 * @param offHeapTokenBuffer
+	 *            the new off-heap token buffer
+	 */
+	void setOffHeapTokenBuffer(OffHeapTokenBuffer offHeapTokenBuffer);
+
 	/**
 	 * Sets the special nodes map.
 	 *
@@ -59,6 +184,31 @@ public interface ISyntaxAnalyzer
 	 */
 	void setSpecialNodesMap(Map<Node, TokenKind> specialNodesMap);
 
+	/**
+	 * Sets whether the control table is compiled into the hidden class, that
+	 * is specialized for the grammar. The class is defined, when the grammar
+	 * is compiled on the first run, and is used, until the grammar is
+	 * changed; the JIT compiles it like the hand-written parser, so it pays
+	 * off on the large or repeated inputs. The methods of the class call each
+	 * other, so the source, that is nested too deeply for the stack of the
+	 * thread, is analyzed again by the control table. The tokens, that are
+	 * pulled from the cursor, can't be analyzed again, so the cursors are
+	 * analyzed without the specialization.
+	 *
+	 * @param isSpecialized
+	 *            true, if the syntax analyzer should be specialized, false -
+	 *            otherwise
+	 */
+	void setSpecialized(boolean isSpecialized);
+
+	/**
+	 * Sets the token buffer. The buffer is used without copying.
+	 *
+	 * @param tokenBuffer
+	 *            the new token buffer
+	 */
+	void setTokenBuffer(TokenBuffer tokenBuffer);
+
 	/**
 	 * Sets the tokens.
 	 *
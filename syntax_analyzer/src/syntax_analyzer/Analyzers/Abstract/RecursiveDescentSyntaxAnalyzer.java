@@ -0,0 +1,258 @@
+package syntax_analyzer.Analyzers.Abstract;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Models.Node;
+import grammar_parser.Utils.Guard;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Exceptions.SyntaxAnalyzerErrorException;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Lexers.Concrete.OffHeapTokenCursor;
+import syntax_analyzer.Lexers.Concrete.TokenBufferCursor;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.LineIndex;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
+import syntax_analyzer.Models.SyntaxAnalyzerResult;
+import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
+
+/**
+ * The base of the generated syntax analyzers, that parse the tokens by the
+ * recursive descent. The grammar is compiled into one method per
+ * nonterminal, so the analyzer doesn't interpret the control table and the
+ * grammar can't be changed. The contextual cursors are not narrowed to the
+ * expected terminals. The state of the run is kept in the fields, so unlike
+ * the compiled parser the analyzer can't be shared by the threads.
+ */
+public abstract class RecursiveDescentSyntaxAnalyzer implements
+		IGeneratedSyntaxAnalyzer
+{
+	private final GrammarTerminals _grammarTerminals;
+
+	private boolean _hasCurrentToken;
+
+	private OffHeapTokenBuffer _offHeapTokens;
+
+	private int _terminalId;
+
+	private ITokenCursor _tokenCursor;
+
+	private TokenBuffer _tokens;
+
+	/**
+	 * Instantiates a new recursive descent syntax analyzer.
+	 *
+	 * @param terminals
+	 *            the texts of the terminals of the grammar in the order of
+	 *            their ids
+	 * @param specialKinds
+	 *            the kinds of the tokens, that match the special terminals,
+	 *            or nulls for the other terminals
+	 */
+	protected RecursiveDescentSyntaxAnalyzer(String[] terminals,
+		TokenKind[] specialKinds)
+	{
+		Guard.notNull(terminals, "terminals");
+		Guard.notNull(specialKinds, "specialKinds");
+
+		if (specialKinds.length != terminals.length)
+		{
+			throw new IllegalArgumentException(
+				"Each terminal must have its special kind.");
+		}
+
+		List<Node> terminalNodes = new ArrayList<Node>();
+
+		Map<Node, TokenKind> specialNodesMap = new HashMap<Node, TokenKind>();
+
+		for (int id = 0; id < terminals.length; id++)
+		{
+			Node terminal = new Node(NodeKind.Terminal, terminals[id]);
+
+			terminalNodes.add(terminal);
+
+			if (specialKinds[id] != null)
+			{
+				specialNodesMap.put(terminal, specialKinds[id]);
+			}
+		}
+
+		this._grammarTerminals =
+			new GrammarTerminals(terminalNodes, specialNodesMap);
+
+		// The ids of the terminals are compiled into the methods.
+		for (int id = 0; id < terminals.length; id++)
+		{
+			if (!this._grammarTerminals.getTerminal(id).equals(
+				terminalNodes.get(id)))
+			{
+				throw new IllegalArgumentException(String.format(
+					"Terminal '%1$s' doesn't have id '%2$s'.", terminals[id],
+					id));
+			}
+		}
+
+		this._tokens = new TokenBuffer();
+		this._offHeapTokens = null;
+		this._tokenCursor = null;
+	}
+
+	@Override
+	public GrammarTerminals getGrammarTerminals()
+	{
+		return this._grammarTerminals;
+	}
+
+	@Override
+	public SyntaxAnalyzerResult run() throws Exception
+	{
+		if (this._offHeapTokens != null)
+		{
+			return this.analyze(new OffHeapTokenCursor(this._offHeapTokens),
+				this._offHeapTokens.getLineIndex());
+		}
+
+		return this.analyze(new TokenBufferCursor(this._tokens),
+			this._tokens.getLineIndex());
+	}
+
+	@Override
+	public SyntaxAnalyzerResult run(ITokenCursor tokenCursor)
+		throws Exception
+	{
+		Guard.notNull(tokenCursor, "tokenCursor");
+
+		return this.analyze(tokenCursor, null);
+	}
+
+	@Override
+	public void setOffHeapTokenBuffer(OffHeapTokenBuffer offHeapTokenBuffer)
+	{
+		Guard.notNull(offHeapTokenBuffer, "offHeapTokenBuffer");
+
+		this._offHeapTokens = offHeapTokenBuffer;
+	}
+
+	@Override
+	public void setTokenBuffer(TokenBuffer tokenBuffer)
+	{
+		Guard.notNull(tokenBuffer, "tokenBuffer");
+
+		this._tokens = tokenBuffer;
+		this._offHeapTokens = null;
+	}
+
+	@Override
+	public void setTokens(List<Token> tokens)
+	{
+		Guard.notNull(tokens, "tokens");
+
+		this._tokens = new TokenBuffer(tokens);
+		this._offHeapTokens = null;
+	}
+
+	/**
+	 * Gets the id of the terminal, that matches the current token.
+	 *
+	 * @return the id of the terminal, or -1, if the token doesn't match any
+	 *         terminal or there are no more tokens
+	 */
+	protected final int getTerminalId()
+	{
+		return this._terminalId;
+	}
+
+	/**
+	 * Moves to the next token, if the current one matches the specified
+	 * terminal.
+	 *
+	 * @param terminalId
+	 *            the id of the terminal
+	 * @return true, if the current token matches the terminal, false -
+	 *         otherwise
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	protected final boolean match(int terminalId) throws IOException
+	{
+		if (terminalId < 0 || this._terminalId != terminalId)
+		{
+			return false;
+		}
+
+		this.moveNext();
+
+		return true;
+	}
+
+	/**
+	 * Parses the tokens from the head nonterminal of the grammar.
+	 *
+	 * @return true, if the tokens, that are consumed, match the head
+	 *         nonterminal, false - otherwise
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	protected abstract boolean parse() throws IOException;
+
+	private SyntaxAnalyzerResult analyze(ITokenCursor tokenCursor,
+		LineIndex lineIndex) throws Exception
+	{
+		this._tokenCursor = tokenCursor;
+
+		boolean hasTokens;
+		boolean isParsed;
+
+		try
+		{
+			hasTokens = this.moveNext();
+
+			isParsed = this.parse();
+		}
+		catch (StackOverflowError e)
+		{
+			throw new SyntaxAnalyzerErrorException(
+				"Source is nested too deeply.", e);
+		}
+		finally
+		{
+			this._tokenCursor = null;
+		}
+
+		if (isParsed && !this._hasCurrentToken)
+		{
+			return new SyntaxAnalyzerResult(true, null);
+		}
+
+		Token wrongToken = null;
+
+		// The cursor stays on the last token, when there are no more tokens.
+		if (hasTokens)
+		{
+			wrongToken = tokenCursor.getToken();
+		}
+
+		return new SyntaxAnalyzerResult(false, wrongToken, lineIndex);
+	}
+
+	private boolean moveNext() throws IOException
+	{
+		this._hasCurrentToken = this._tokenCursor.moveNext();
+
+		this._terminalId = -1;
+
+		if (this._hasCurrentToken)
+		{
+			this._terminalId =
+				this._tokenCursor.getTerminalId(this._grammarTerminals);
+		}
+
+		return this._hasCurrentToken;
+	}
+}
@@ -0,0 +1,299 @@
+package syntax_analyzer.Analyzers.Concrete;
+
+import grammar_parser.Utils.Guard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The writer of the minimal class file, that has no fields and only the
+ * static methods. The class file has the version 49, so the methods don't
+ * need the stack map frames and are verified by the type inference.
+ */
+final class ClassFileWriter
+{
+	private static final int _classTag = 7;
+
+	private static final int _integerTag = 3;
+
+	private static final int _methodrefTag = 10;
+
+	private static final int _nameAndTypeTag = 12;
+
+	private static final int _utf8Tag = 1;
+
+	private final ByteArrayOutputStream _constantPool;
+
+	private final DataOutputStream _constantPoolOutput;
+
+	private int _constantsCount;
+
+	private final Map<String, Integer> _constantsMap;
+
+	private final List<byte[]> _methods;
+
+	private final int _superClassIndex;
+
+	private final int _thisClassIndex;
+
+	/**
+	 * Instantiates a new class file writer.
+	 *
+	 * @param className
+	 *            the internal name of the class
+	 */
+	public ClassFileWriter(String className)
+	{
+		Guard.notNull(className, "className");
+
+		this._constantPool = new ByteArrayOutputStream();
+		this._constantPoolOutput = new DataOutputStream(this._constantPool);
+		this._constantsCount = 0;
+		this._constantsMap = new HashMap<String, Integer>();
+		this._methods = new ArrayList<byte[]>();
+
+		this._thisClassIndex = this.addClass(className);
+		this._superClassIndex = this.addClass("java/lang/Object");
+	}
+
+	/**
+	 * Adds the class constant.
+	 *
+	 * @param className
+	 *            the internal name of the class
+	 * @return the index of the constant
+	 */
+	public int addClass(String className)
+	{
+		int nameIndex = this.addUtf8(className);
+
+		return this.addConstant("C" + className, ClassFileWriter._classTag,
+			nameIndex);
+	}
+
+	/**
+	 * Adds the integer constant.
+	 *
+	 * @param value
+	 *            the value
+	 * @return the index of the constant
+	 */
+	public int addInteger(int value)
+	{
+		String key = "I" + value;
+
+		Integer index = this._constantsMap.get(key);
+
+		if (index != null)
+		{
+			return index;
+		}
+
+		try
+		{
+			this._constantPoolOutput.writeByte(ClassFileWriter._integerTag);
+			this._constantPoolOutput.writeInt(value);
+		}
+		catch (IOException e)
+		{
+			throw new IllegalStateException(e);
+		}
+
+		return this.registerConstant(key);
+	}
+
+	/**
+	 * Adds the static method without the exception handlers.
+	 *
+	 * @param accessFlags
+	 *            the access flags of the method
+	 * @param name
+	 *            the name of the method
+	 * @param descriptor
+	 *            the descriptor of the method
+	 * @param maxStack
+	 *            the maximum depth of the operand stack
+	 * @param maxLocals
+	 *            the count of the local variables, including the arguments
+	 * @param code
+	 *            the bytecode of the method
+	 */
+	public void addMethod(int accessFlags, String name, String descriptor,
+		int maxStack, int maxLocals, byte[] code)
+	{
+		Guard.notNull(name, "name");
+		Guard.notNull(descriptor, "descriptor");
+		Guard.notNull(code, "code");
+
+		if (code.length == 0 || code.length > 65535)
+		{
+			throw new IllegalArgumentException(String.format(
+				"Code of the method '%1$s' is too large.", name));
+		}
+
+		ByteArrayOutputStream method = new ByteArrayOutputStream();
+
+		try (DataOutputStream output = new DataOutputStream(method))
+		{
+			output.writeShort(accessFlags);
+			output.writeShort(this.addUtf8(name));
+			output.writeShort(this.addUtf8(descriptor));
+
+			output.writeShort(1);
+			output.writeShort(this.addUtf8("Code"));
+			output.writeInt(12 + code.length);
+			output.writeShort(maxStack);
+			output.writeShort(maxLocals);
+			output.writeInt(code.length);
+			output.write(code);
+
+			// No exception handlers and attributes.
+			output.writeShort(0);
+			output.writeShort(0);
+		}
+		catch (IOException e)
+		{
+			throw new IllegalStateException(e);
+		}
+
+		this._methods.add(method.toByteArray());
+	}
+
+	/**
+	 * Adds the method reference constant.
+	 *
+	 * @param className
+	 *            the internal name of the class of the method
+	 * @param name
+	 *            the name of the method
+	 * @param descriptor
+	 *            the descriptor of the method
+	 * @return the index of the constant
+	 */
+	public int addMethodref(String className, String name, String descriptor)
+	{
+		int classIndex = this.addClass(className);
+
+		int nameAndTypeIndex =
+			this.addConstant("T" + name + descriptor,
+				ClassFileWriter._nameAndTypeTag, this.addUtf8(name),
+				this.addUtf8(descriptor));
+
+		return this.addConstant("M" + className + "." + name + descriptor,
+			ClassFileWriter._methodrefTag, classIndex, nameAndTypeIndex);
+	}
+
+	/**
+	 * Gets the bytes of the class file.
+	 *
+	 * @return the bytes of the class file
+	 */
+	public byte[] toByteArray()
+	{
+		ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+
+		try (DataOutputStream output = new DataOutputStream(classFile))
+		{
+			output.writeInt(0xCAFEBABE);
+			output.writeShort(0);
+			output.writeShort(49);
+
+			output.writeShort(this._constantsCount + 1);
+			this._constantPool.writeTo(output);
+
+			// ACC_FINAL | ACC_SUPER
+			output.writeShort(0x0030);
+			output.writeShort(this._thisClassIndex);
+			output.writeShort(this._superClassIndex);
+
+			// No interfaces and fields.
+			output.writeShort(0);
+			output.writeShort(0);
+
+			output.writeShort(this._methods.size());
+
+			for (byte[] method : this._methods)
+			{
+				output.write(method);
+			}
+
+			// No attributes.
+			output.writeShort(0);
+		}
+		catch (IOException e)
+		{
+			throw new IllegalStateException(e);
+		}
+
+		return classFile.toByteArray();
+	}
+
+	private int addConstant(String key, int tag, int... indices)
+	{
+		Integer index = this._constantsMap.get(key);
+
+		if (index != null)
+		{
+			return index;
+		}
+
+		try
+		{
+			this._constantPoolOutput.writeByte(tag);
+
+			for (int i : indices)
+			{
+				this._constantPoolOutput.writeShort(i);
+			}
+		}
+		catch (IOException e)
+		{
+			throw new IllegalStateException(e);
+		}
+
+		return this.registerConstant(key);
+	}
+
+	private int addUtf8(String value)
+	{
+		String key = "U" + value;
+
+		Integer index = this._constantsMap.get(key);
+
+		if (index != null)
+		{
+			return index;
+		}
+
+		try
+		{
+			this._constantPoolOutput.writeByte(ClassFileWriter._utf8Tag);
+			this._constantPoolOutput.writeUTF(value);
+		}
+		catch (IOException e)
+		{
+			throw new IllegalStateException(e);
+		}
+
+		return this.registerConstant(key);
+	}
+
+	private int registerConstant(String key)
+	{
+		if (this._constantsCount == 65534)
+		{
+			throw new IllegalStateException("Constant pool is full.");
+		}
+
+		this._constantsCount++;
+
+		this._constantsMap.put(key, this._constantsCount);
+
+		return this._constantsCount;
+	}
+}
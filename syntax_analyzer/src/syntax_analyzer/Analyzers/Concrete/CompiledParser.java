@@ -0,0 +1,360 @@
+package syntax_analyzer.Analyzers.Concrete;
+
+import grammar_parser.Utils.Guard;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+import syntax_analyzer.Analyzers.Abstract.ICompiledParser;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Lexers.Concrete.OffHeapTokenCursor;
+import syntax_analyzer.Lexers.Concrete.TokenBufferCursor;
+import syntax_analyzer.Models.CompiledControlTable;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.LineIndex;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
+import syntax_analyzer.Models.SyntaxAnalyzerResult;
+import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
+
+/**
+ * The immutable parser of the compiled control table. The tables are only
+ * read, and each call keeps its symbols stack in the local array, so the
+ * parser can be shared by the threads without the locks.
+ */
+public class CompiledParser implements ICompiledParser
+{
+	private final CompiledControlTable _compiledControlTable;
+
+	private final SpecializedParser _specializedParser;
+
+	/**
+	 * Instantiates a new compiled parser.
+	 *
+	 * @param compiledControlTable
+	 *            the compiled control table
+	 * @param isSpecialized
+	 *            true, if the control table should be compiled into the
+	 *            hidden class, that is specialized for the grammar, false -
+	 *            otherwise
+	 */
+	public CompiledParser(CompiledControlTable compiledControlTable,
+		boolean isSpecialized)
+	{
+		Guard.notNull(compiledControlTable, "compiledControlTable");
+
+		this._compiledControlTable = compiledControlTable;
+
+		if (isSpecialized)
+		{
+			this._specializedParser =
+				new SpecializedParser(compiledControlTable);
+		}
+		else
+		{
+			this._specializedParser = null;
+		}
+	}
+
+	@Override
+	public CompiledControlTable getCompiledControlTable()
+	{
+		return this._compiledControlTable;
+	}
+
+	@Override
+	public GrammarTerminals getGrammarTerminals()
+	{
+		return this._compiledControlTable.getGrammarTerminals();
+	}
+
+	@Override
+	public boolean isSpecialized()
+	{
+		return this._specializedParser != null;
+	}
+
+	@Override
+	public SyntaxAnalyzerResult parse(ITokenCursor tokenCursor)
+		throws Exception
+	{
+		Guard.notNull(tokenCursor, "tokenCursor");
+
+		return this.parse(tokenCursor, null);
+	}
+
+	@Override
+	public SyntaxAnalyzerResult parse(List<Token> tokens) throws Exception
+	{
+		Guard.notNull(tokens, "tokens");
+
+		return this.parse(new TokenBuffer(tokens));
+	}
+
+	@Override
+	public SyntaxAnalyzerResult parse(OffHeapTokenBuffer offHeapTokenBuffer)
+		throws Exception
+	{
+		Guard.notNull(offHeapTokenBuffer, "offHeapTokenBuffer");
+
+		return this.parse(() -> new OffHeapTokenCursor(offHeapTokenBuffer),
+			offHeapTokenBuffer.getLineIndex());
+	}
+
+	@Override
+	public SyntaxAnalyzerResult parse(TokenBuffer tokenBuffer)
+		throws Exception
+	{
+		Guard.notNull(tokenBuffer, "tokenBuffer");
+
+		return this.parse(() -> new TokenBufferCursor(tokenBuffer),
+			tokenBuffer.getLineIndex());
+	}
+
+	/**
+	 * Parses the tokens of the buffer, that are read by the cursors of the
+	 * specified supplier. The specialized parser reads them first; if the
+	 * source is nested too deeply for the stack of the thread, the tokens are
+	 * read again by the table-driven parser, which stack is on the heap.
+	 *
+	 * @param tokenCursorSupplier
+	 *            the supplier of the new cursors of the buffer
+	 * @param lineIndex
+	 *            the line index of the source
+	 * @return the syntax analyzer result
+	 * @throws Exception
+	 */
+	SyntaxAnalyzerResult parse(Supplier<ITokenCursor> tokenCursorSupplier,
+		LineIndex lineIndex) throws Exception
+	{
+		if (this._specializedParser != null)
+		{
+			SyntaxAnalyzerResult result =
+				this._specializedParser.parse(tokenCursorSupplier.get(),
+					lineIndex);
+
+			if (result != null)
+			{
+				return result;
+			}
+		}
+
+		return this.parse(tokenCursorSupplier.get(), lineIndex);
+	}
+
+	/**
+	 * Parses the tokens, that are pulled from the specified cursor one by
+	 * one, by the control table. No more tokens are pulled after the syntax
+	 * error is found. The pulled tokens can't be read again, so the cursor is
+	 * never parsed by the specialized parser, which can run out of the stack.
+	 *
+	 * @param tokenCursor
+	 *            the token cursor
+	 * @param lineIndex
+	 *            the line index of the source, or null, if the source is
+	 *            unknown
+	 * @return the syntax analyzer result
+	 * @throws Exception
+	 */
+	SyntaxAnalyzerResult parse(ITokenCursor tokenCursor, LineIndex lineIndex)
+		throws Exception
+	{
+		SyntaxAnalyzerResult result = new SyntaxAnalyzerResult(true, null);
+
+		CompiledControlTable compiledControlTable = this._compiledControlTable;
+
+		GrammarTerminals grammarTerminals =
+			compiledControlTable.getGrammarTerminals();
+
+		int[] bases = compiledControlTable.getBases();
+		int[] entries = compiledControlTable.getEntries();
+
+		// The symbols of the nonterminals start at the id of the empty word.
+		int emptyWordId = compiledControlTable.getEmptyWordId();
+
+		boolean isContextual = tokenCursor.isContextual();
+
+		// The stack is the state of the call. Nothing is allocated per token:
+		// the expected terminals are needed only by the contextual cursors,
+		// and the stack grows by doubling.
+		BitSet expectedTerminalIds = null;
+
+		int[] symbolsStack = new int[16];
+		int stackSize = 0;
+
+		symbolsStack[stackSize++] = compiledControlTable.getStartSymbol();
+
+		if (isContextual)
+		{
+			expectedTerminalIds = new BitSet();
+
+			tokenCursor.setExpectedTerminals(grammarTerminals, CompiledParser
+				.getExpectedTerminalIds(symbolsStack, stackSize,
+					compiledControlTable, expectedTerminalIds));
+		}
+
+		boolean hasTokens = tokenCursor.moveNext();
+
+		// The cursor stays on the last token, when there are no more tokens.
+		boolean hasCurrentToken = hasTokens;
+
+		while (stackSize > 0)
+		{
+			int topSymbol = symbolsStack[stackSize - 1];
+
+			if (topSymbol >= emptyWordId)
+			{
+				int nonterminalId = topSymbol - emptyWordId;
+
+				int base = bases[nonterminalId];
+
+				int ruleId = -1;
+
+				if (hasCurrentToken)
+				{
+					// Try to get the rule based on current token.
+					int terminalId =
+						tokenCursor.getTerminalId(grammarTerminals);
+
+					if (terminalId >= 0)
+					{
+						int index = 2 * (base + terminalId);
+
+						if (entries[index] == nonterminalId)
+						{
+							ruleId = entries[index + 1];
+						}
+					}
+				}
+
+				if (ruleId < 0)
+				{
+					// Try to get the rule based on empty token.
+					int index = 2 * (base + emptyWordId);
+
+					if (entries[index] == nonterminalId)
+					{
+						ruleId = entries[index + 1];
+					}
+				}
+
+				if (ruleId < 0)
+				{
+					break;
+				}
+
+				int[] ruleBody =
+					compiledControlTable.getReversedRuleBody(ruleId);
+
+				stackSize--;
+
+				if (stackSize + ruleBody.length > symbolsStack.length)
+				{
+					symbolsStack =
+						Arrays.copyOf(symbolsStack, Math.max(
+							2 * symbolsStack.length, stackSize
+								+ ruleBody.length));
+				}
+
+				System.arraycopy(ruleBody, 0, symbolsStack, stackSize,
+					ruleBody.length);
+
+				stackSize += ruleBody.length;
+			}
+			else
+			{
+				if (hasCurrentToken && topSymbol >= 0
+					&& tokenCursor.getTerminalId(grammarTerminals) == topSymbol)
+				{
+					stackSize--;
+
+					if (isContextual)
+					{
+						tokenCursor.setExpectedTerminals(grammarTerminals, CompiledParser
+							.getExpectedTerminalIds(symbolsStack, stackSize,
+								compiledControlTable, expectedTerminalIds));
+					}
+
+					hasCurrentToken = tokenCursor.moveNext();
+
+					continue;
+				}
+
+				break;
+			}
+		}
+
+		if (hasCurrentToken)
+		{
+			Token wrongToken = tokenCursor.getToken();
+
+			result = new SyntaxAnalyzerResult(false, wrongToken, lineIndex);
+		}
+		else if (stackSize > 0)
+		{
+			Token wrongToken = null;
+
+			if (hasTokens)
+			{
+				wrongToken = tokenCursor.getToken();
+			}
+
+			result = new SyntaxAnalyzerResult(false, wrongToken, lineIndex);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Gets the ids of the terminals, that can be matched by the next token.
+	 * The symbols of the stack are taken from the top, while they can derive
+	 * the empty word.
+	 *
+	 * @param symbolsStack
+	 *            the symbols stack
+	 * @param stackSize
+	 *            the count of the symbols in the stack
+	 * @param compiledControlTable
+	 *            the compiled control table
+	 * @param expectedTerminalIds
+	 *            the set, that is filled with the ids
+	 * @return the ids of the terminals, or null, if the end of the tokens can
+	 *         be expected
+	 */
+	private static BitSet getExpectedTerminalIds(int[] symbolsStack, int stackSize,
+		CompiledControlTable compiledControlTable, BitSet expectedTerminalIds)
+	{
+		expectedTerminalIds.clear();
+
+		int emptyWordId = compiledControlTable.getEmptyWordId();
+
+		for (int i = stackSize - 1; i >= 0; i--)
+		{
+			int symbol = symbolsStack[i];
+
+			if (symbol < emptyWordId)
+			{
+				if (symbol >= 0)
+				{
+					expectedTerminalIds.set(symbol);
+				}
+
+				return expectedTerminalIds;
+			}
+
+			int nonterminalId = symbol - emptyWordId;
+
+			compiledControlTable.addRowTerminalIds(nonterminalId,
+				expectedTerminalIds);
+
+			if (compiledControlTable.getRuleId(nonterminalId, emptyWordId) < 0)
+			{
+				return expectedTerminalIds;
+			}
+		}
+
+		return null;
+	}
+}
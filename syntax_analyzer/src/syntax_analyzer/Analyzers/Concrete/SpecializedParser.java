@@ -0,0 +1,567 @@
+package syntax_analyzer.Analyzers.Concrete;
+
+import grammar_parser.Utils.Guard;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import syntax_analyzer.Exceptions.SyntaxAnalyzerErrorException;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.CompiledControlTable;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.LineIndex;
+import syntax_analyzer.Models.SyntaxAnalyzerResult;
+
+/**
+ * The parser, that is specialized for the compiled control table at run
+ * time. The table is compiled into the hidden class, that has one static
+ * method per nonterminal, like the generated recursive descent syntax
+ * analyzer: the method switches on the id of the terminal of the current
+ * token and matches the body of the chosen rule, the rules, that end with
+ * their own nonterminal, jump back to the switch. The JIT compiles the
+ * methods like the hand-written parser, and the hidden class is unloaded
+ * together with the parser.
+ *
+ * The parser keeps no state between the calls, so it can be shared by the
+ * threads.
+ */
+public class SpecializedParser
+{
+	private static final String _stateDescriptor;
+
+	private static final String _stateName;
+
+	private final CompiledControlTable _compiledControlTable;
+
+	private final MethodHandle _parseHandle;
+
+	static
+	{
+		_stateName = State.class.getName().replace('.', '/');
+		_stateDescriptor = "(L" + _stateName + ";)Z";
+	}
+
+	/**
+	 * Instantiates a new specialized parser.
+	 *
+	 * @param compiledControlTable
+	 *            the compiled control table
+	 * @throws IllegalArgumentException
+	 *             if the rules of any nonterminal are too large to be
+	 *             compiled into one method
+	 */
+	public SpecializedParser(CompiledControlTable compiledControlTable)
+	{
+		Guard.notNull(compiledControlTable, "compiledControlTable");
+
+		this._compiledControlTable = compiledControlTable;
+
+		String className =
+			SpecializedParser.class.getPackage().getName().replace('.', '/')
+				+ "/SpecializedParserCode";
+
+		ClassFileWriter classFileWriter = new ClassFileWriter(className);
+
+		for (int id = 0; id < compiledControlTable.getNonterminalsCount(); id++)
+		{
+			// ACC_STATIC
+			classFileWriter.addMethod(0x0008, "parse" + id,
+				SpecializedParser._stateDescriptor, 2, 1,
+				this.compileNonterminal(id, className, classFileWriter));
+		}
+
+		try
+		{
+			MethodHandles.Lookup lookup =
+				MethodHandles.lookup().defineHiddenClass(
+					classFileWriter.toByteArray(), true);
+
+			this._parseHandle =
+				lookup.findStatic(lookup.lookupClass(), "parse0",
+					MethodType.methodType(boolean.class, State.class));
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new IllegalStateException(
+				"Hidden class of the parser can't be defined.", e);
+		}
+	}
+
+	public CompiledControlTable getCompiledControlTable()
+	{
+		return this._compiledControlTable;
+	}
+
+	/**
+	 * Parses the tokens, that are pulled from the specified cursor, from the
+	 * head nonterminal of the grammar. No more tokens are pulled after the
+	 * syntax error is found. The methods of the nonterminals call each other,
+	 * so the nesting of the source is limited by the stack of the thread.
+	 *
+	 * @param tokenCursor
+	 *            the token cursor
+	 * @param lineIndex
+	 *            the line index of the source, or null, if the source is
+	 *            unknown
+	 * @return the syntax analyzer result, or null, if the source is nested
+	 *         too deeply for the stack of the thread
+	 * @throws Exception
+	 */
+	public SyntaxAnalyzerResult parse(ITokenCursor tokenCursor,
+		LineIndex lineIndex) throws Exception
+	{
+		Guard.notNull(tokenCursor, "tokenCursor");
+
+		State state =
+			new State(tokenCursor,
+				this._compiledControlTable.getGrammarTerminals());
+
+		boolean hasTokens = state.moveNext();
+
+		boolean isParsed;
+
+		try
+		{
+			isParsed = (boolean) this._parseHandle.invokeExact(state);
+		}
+		catch (StackOverflowError e)
+		{
+			return null;
+		}
+		catch (Exception | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable e)
+		{
+			throw new SyntaxAnalyzerErrorException(e);
+		}
+
+		if (isParsed && !state._hasCurrentToken)
+		{
+			return new SyntaxAnalyzerResult(true, null);
+		}
+
+		// The cursor stays on the last token, when there are no more tokens.
+		return new SyntaxAnalyzerResult(false,
+			hasTokens ? tokenCursor.getToken() : null, lineIndex);
+	}
+
+	/**
+	 * Compiles the row of the nonterminal into the bytecode of its method.
+	 *
+	 * @return the bytecode of the method
+	 */
+	private byte[] compileNonterminal(int nonterminalId, String className,
+		ClassFileWriter classFileWriter)
+	{
+		CompiledControlTable compiledControlTable = this._compiledControlTable;
+
+		int emptyWordId = compiledControlTable.getEmptyWordId();
+
+		int defaultRuleId =
+			compiledControlTable.getRuleId(nonterminalId, emptyWordId);
+
+		MethodCode code = new MethodCode();
+
+		int startLabel = code.newLabel();
+		int defaultLabel = code.newLabel();
+		int falseLabel = code.newLabel();
+
+		code.mark(startLabel);
+
+		List<Integer> keys = new ArrayList<Integer>();
+		List<Integer> caseLabels = new ArrayList<Integer>();
+		List<Integer> caseRuleIds = new ArrayList<Integer>();
+
+		int[] ruleLabels = new int[compiledControlTable.getRulesCount()];
+
+		Arrays.fill(ruleLabels, -1);
+
+		for (int terminalId = 0; terminalId < emptyWordId; terminalId++)
+		{
+			int ruleId =
+				compiledControlTable.getRuleId(nonterminalId, terminalId);
+
+			if (ruleId < 0 || ruleId == defaultRuleId)
+			{
+				continue;
+			}
+
+			// The terminals, that choose the same rule, share its code.
+			if (ruleLabels[ruleId] < 0)
+			{
+				ruleLabels[ruleId] = code.newLabel();
+
+				caseRuleIds.add(ruleId);
+			}
+
+			keys.add(terminalId);
+			caseLabels.add(ruleLabels[ruleId]);
+		}
+
+		if (!keys.isEmpty())
+		{
+			code.write(MethodCode._aload0);
+			code.write(MethodCode._invokevirtual);
+			code.writeShort(classFileWriter.addMethodref(
+				SpecializedParser._stateName, "getTerminalId", "()I"));
+
+			code.writeLookupSwitch(defaultLabel, keys, caseLabels);
+		}
+
+		for (int ruleId : caseRuleIds)
+		{
+			code.mark(ruleLabels[ruleId]);
+
+			this.compileRule(nonterminalId, ruleId, code, startLabel,
+				falseLabel, className, classFileWriter);
+		}
+
+		code.mark(defaultLabel);
+
+		if (defaultRuleId >= 0)
+		{
+			this.compileRule(nonterminalId, defaultRuleId, code, startLabel,
+				falseLabel, className, classFileWriter);
+		}
+
+		code.mark(falseLabel);
+		code.write(MethodCode._iconst0);
+		code.write(MethodCode._ireturn);
+
+		try
+		{
+			return code.toByteArray();
+		}
+		catch (IllegalStateException e)
+		{
+			throw new IllegalArgumentException(String.format(
+				"Rules of the nonterminal '%1$s' are too large.",
+				compiledControlTable.getNonterminal(nonterminalId)
+						.getText()), e);
+		}
+	}
+
+	/**
+	 * Compiles the body of the rule, that returns true, if all its symbols
+	 * are matched, or jumps to the specified false label. The rule, that ends
+	 * with its own nonterminal, jumps to the specified start label instead of
+	 * calling it.
+	 */
+	private void compileRule(int nonterminalId, int ruleId, MethodCode code,
+		int startLabel, int falseLabel, String className,
+		ClassFileWriter classFileWriter)
+	{
+		int emptyWordId = this._compiledControlTable.getEmptyWordId();
+
+		int[] reversedRuleBody =
+			this._compiledControlTable.getReversedRuleBody(ruleId);
+
+		for (int i = reversedRuleBody.length - 1; i >= 0; i--)
+		{
+			int symbol = reversedRuleBody[i];
+
+			if (i == 0 && symbol == emptyWordId + nonterminalId)
+			{
+				code.writeBranch(MethodCode._goto, startLabel);
+
+				return;
+			}
+
+			code.write(MethodCode._aload0);
+
+			if (symbol >= emptyWordId)
+			{
+				code.write(MethodCode._invokestatic);
+				code.writeShort(classFileWriter.addMethodref(className,
+					"parse" + (symbol - emptyWordId),
+					SpecializedParser._stateDescriptor));
+			}
+			else
+			{
+				code.writeInt(symbol, classFileWriter);
+				code.write(MethodCode._invokevirtual);
+				code.writeShort(classFileWriter.addMethodref(
+					SpecializedParser._stateName, "match", "(I)Z"));
+			}
+
+			code.writeBranch(MethodCode._ifeq, falseLabel);
+		}
+
+		code.write(MethodCode._iconst1);
+		code.write(MethodCode._ireturn);
+	}
+
+	/**
+	 * The bytecode of one method, that is written with the labels, which
+	 * offsets are resolved at the end.
+	 */
+	private static class MethodCode
+	{
+		private static final int _aload0 = 0x2a;
+
+		private static final int _bipush = 0x10;
+
+		private static final int _goto = 0xa7;
+
+		private static final int _iconst0 = 0x03;
+
+		private static final int _iconst1 = 0x04;
+
+		private static final int _iconstM1 = 0x02;
+
+		private static final int _ifeq = 0x99;
+
+		private static final int _invokestatic = 0xb8;
+
+		private static final int _invokevirtual = 0xb6;
+
+		private static final int _ireturn = 0xac;
+
+		private static final int _ldcW = 0x13;
+
+		private static final int _lookupswitch = 0xab;
+
+		private static final int _sipush = 0x11;
+
+		private byte[] _bytes;
+
+		private final List<int[]> _fixups;
+
+		private final List<Integer> _labelOffsets;
+
+		private int _length;
+
+		public MethodCode()
+		{
+			this._bytes = new byte[64];
+			this._length = 0;
+			this._fixups = new ArrayList<int[]>();
+			this._labelOffsets = new ArrayList<Integer>();
+		}
+
+		public void mark(int label)
+		{
+			this._labelOffsets.set(label, this._length);
+		}
+
+		public int newLabel()
+		{
+			this._labelOffsets.add(-1);
+
+			return this._labelOffsets.size() - 1;
+		}
+
+		/**
+		 * Gets the bytecode with the resolved offsets of the labels.
+		 *
+		 * @return the bytecode
+		 * @throws IllegalStateException
+		 *             if any offset doesn't fit into its branch
+		 */
+		public byte[] toByteArray()
+		{
+			// Each fixup is the offset of the instruction, the position and
+			// the width of the operand, and the label.
+			for (int[] fixup : this._fixups)
+			{
+				int offset = this._labelOffsets.get(fixup[3]) - fixup[0];
+
+				if (fixup[2] == 2)
+				{
+					if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE)
+					{
+						throw new IllegalStateException(
+							"Branch offset is too large.");
+					}
+
+					this._bytes[fixup[1]] = (byte) (offset >> 8);
+					this._bytes[fixup[1] + 1] = (byte) offset;
+				}
+				else
+				{
+					this._bytes[fixup[1]] = (byte) (offset >> 24);
+					this._bytes[fixup[1] + 1] = (byte) (offset >> 16);
+					this._bytes[fixup[1] + 2] = (byte) (offset >> 8);
+					this._bytes[fixup[1] + 3] = (byte) offset;
+				}
+			}
+
+			return Arrays.copyOf(this._bytes, this._length);
+		}
+
+		public void write(int value)
+		{
+			if (this._length == this._bytes.length)
+			{
+				this._bytes = Arrays.copyOf(this._bytes, 2 * this._length);
+			}
+
+			this._bytes[this._length++] = (byte) value;
+		}
+
+		public void writeBranch(int opcode, int label)
+		{
+			this._fixups.add(new int[] {
+				this._length, this._length + 1, 2, label
+			});
+
+			this.write(opcode);
+			this.writeShort(0);
+		}
+
+		/**
+		 * Writes the instruction, that pushes the specified int constant.
+		 */
+		public void writeInt(int value, ClassFileWriter classFileWriter)
+		{
+			if (value == -1)
+			{
+				this.write(MethodCode._iconstM1);
+			}
+			else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE)
+			{
+				this.write(MethodCode._bipush);
+				this.write(value);
+			}
+			else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE)
+			{
+				this.write(MethodCode._sipush);
+				this.writeShort(value);
+			}
+			else
+			{
+				this.write(MethodCode._ldcW);
+				this.writeShort(classFileWriter.addInteger(value));
+			}
+		}
+
+		/**
+		 * Writes the lookup switch, which keys are sorted.
+		 */
+		public void writeLookupSwitch(int defaultLabel, List<Integer> keys,
+			List<Integer> labels)
+		{
+			int instructionOffset = this._length;
+
+			this.write(MethodCode._lookupswitch);
+
+			// The operands are aligned by 4 bytes from the start of the code.
+			while (this._length % 4 != 0)
+			{
+				this.write(0);
+			}
+
+			this.writeLabelOffset(instructionOffset, defaultLabel);
+			this.writeInt32(keys.size());
+
+			for (int i = 0; i < keys.size(); i++)
+			{
+				this.writeInt32(keys.get(i));
+				this.writeLabelOffset(instructionOffset, labels.get(i));
+			}
+		}
+
+		public void writeShort(int value)
+		{
+			this.write(value >> 8);
+			this.write(value);
+		}
+
+		private void writeInt32(int value)
+		{
+			this.writeShort(value >> 16);
+			this.writeShort(value);
+		}
+
+		private void writeLabelOffset(int instructionOffset, int label)
+		{
+			this._fixups.add(new int[] {
+				instructionOffset, this._length, 4, label
+			});
+
+			this.writeInt32(0);
+		}
+	}
+
+	/**
+	 * The state of one call of the parser: the cursor and the id of the
+	 * terminal of its current token. The methods are called by the hidden
+	 * class.
+	 */
+	static class State
+	{
+		private final GrammarTerminals _grammarTerminals;
+
+		private boolean _hasCurrentToken;
+
+		private int _terminalId;
+
+		private final ITokenCursor _tokenCursor;
+
+		public State(ITokenCursor tokenCursor,
+			GrammarTerminals grammarTerminals)
+		{
+			this._tokenCursor = tokenCursor;
+			this._grammarTerminals = grammarTerminals;
+
+			this._hasCurrentToken = false;
+			this._terminalId = -1;
+		}
+
+		/**
+		 * Gets the id of the terminal, that matches the current token.
+		 *
+		 * @return the id of the terminal, or -1, if the token doesn't match
+		 *         any terminal or there are no more tokens
+		 */
+		int getTerminalId()
+		{
+			return this._terminalId;
+		}
+
+		/**
+		 * Moves to the next token, if the current one matches the specified
+		 * terminal.
+		 *
+		 * @param terminalId
+		 *            the id of the terminal
+		 * @return true, if the current token matches the terminal, false -
+		 *         otherwise
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred.
+		 */
+		boolean match(int terminalId) throws IOException
+		{
+			if (terminalId < 0 || this._terminalId != terminalId)
+			{
+				return false;
+			}
+
+			this.moveNext();
+
+			return true;
+		}
+
+		boolean moveNext() throws IOException
+		{
+			this._hasCurrentToken = this._tokenCursor.moveNext();
+
+			this._terminalId = -1;
+
+			if (this._hasCurrentToken)
+			{
+				this._terminalId =
+					this._tokenCursor.getTerminalId(this._grammarTerminals);
+			}
+
+			return this._hasCurrentToken;
+		}
+	}
+}
@@ -2,52 +2,83 @@ package syntax_analyzer.Analyzers.Concrete;
 
 import grammar_parser.Enums.NodeKind;
 import grammar_parser.Exceptions.GrammarIsNotLLOneGrammarException;
-import grammar_parser.Exceptions.NodeIsNotNonterminalException;
-import grammar_parser.Exceptions.NodeIsNotTerminalException;
 import grammar_parser.Models.ControlTableItem;
 import grammar_parser.Models.Grammar;
 import grammar_parser.Models.Node;
 import grammar_parser.Models.Rule;
-import grammar_parser.Models.Word;
 import grammar_parser.Services.Abstract.IControlTableBuildingService;
+import grammar_parser.Services.Abstract.IGrammarService;
+import grammar_parser.Services.Concrete.GrammarService;
 import grammar_parser.Utils.Guard;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Stack;
 
+import syntax_analyzer.Analyzers.Abstract.IGeneratedSyntaxAnalyzer;
 import syntax_analyzer.Analyzers.Abstract.ISyntaxAnalyzer;
 import syntax_analyzer.Enums.TokenKind;
 import syntax_analyzer.Exceptions.GrammarIsInvalidException;
 import syntax_analyzer.Exceptions.GrammarIsNotSetException;
 import syntax_analyzer.Exceptions.SyntaxAnalyzerErrorException;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.CompiledControlTable;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
 import syntax_analyzer.Models.SyntaxAnalyzerResult;
 import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
 
 public class SyntaxAnalyzer implements ISyntaxAnalyzer
 {
+	private CompiledControlTable _compiledControlTable;
+
+	private CompiledParser _compiledParser;
+
 	private final IControlTableBuildingService _controlTableBuildingService;
 
+	private IGeneratedSyntaxAnalyzer _generatedSyntaxAnalyzer;
+
 	private Grammar _grammar;
 
+	private final IGrammarService _grammarService;
+
+	private GrammarTerminals _grammarTerminals;
+
+	private boolean _isSpecialized;
+
+	private OffHeapTokenBuffer _offHeapTokens;
+
 	private Map<Node, TokenKind> _specialNodesMap;
 
-	private List<Token> _tokens;
+	private TokenBuffer _tokens;
 
 	public SyntaxAnalyzer(
 		IControlTableBuildingService controlTableBuildingService)
+	{
+		this(controlTableBuildingService, new GrammarService());
+	}
+
+	public SyntaxAnalyzer(
+		IControlTableBuildingService controlTableBuildingService,
+		IGrammarService grammarService)
 	{
 		Guard.notNull(controlTableBuildingService,
 			"controlTableBuildingService");
+		Guard.notNull(grammarService, "grammarService");
 
 		this._controlTableBuildingService = controlTableBuildingService;
+		this._grammarService = grammarService;
 
 		this._grammar = null;
-		this._tokens = new ArrayList<Token>();
+		this._grammarTerminals = null;
+		this._compiledControlTable = null;
+		this._generatedSyntaxAnalyzer = null;
+		this._tokens = new TokenBuffer();
+		this._offHeapTokens = null;
+
+		this._isSpecialized = false;
+		this._compiledParser = null;
 
 		this._specialNodesMap = new HashMap<Node, TokenKind>();
 
@@ -59,121 +90,165 @@ public class SyntaxAnalyzer implements ISyntaxAnalyzer
 	}
 
 	@Override
-	public Grammar getGrammar()
+	public CompiledParser compile() throws Exception
 	{
-		return this._grammar;
+		this.checkGrammar();
+
+		if (this._compiledParser == null)
+		{
+			this._compiledParser =
+				new CompiledParser(this.buildCompiledControlTable(),
+					this._isSpecialized);
+		}
+
+		return this._compiledParser;
 	}
 
 	@Override
-	public Map<Node, TokenKind> getSpecialNodesMap()
+	public CompiledControlTable getCompiledControlTable()
 	{
-		return new HashMap<Node, TokenKind>(this._specialNodesMap);
+		return this._compiledControlTable;
 	}
 
 	@Override
-	public List<Token> getTokens()
+	public IGeneratedSyntaxAnalyzer getGeneratedSyntaxAnalyzer()
 	{
-		return this._tokens;
+		return this._generatedSyntaxAnalyzer;
 	}
 
 	@Override
-	public SyntaxAnalyzerResult run() throws Exception
+	public Grammar getGrammar()
 	{
-		this.checkGrammar();
+		return this._grammar;
+	}
+
+	@Override
+	public GrammarTerminals getGrammarTerminals()
+	{
+		if (this._generatedSyntaxAnalyzer != null)
+		{
+			return this._generatedSyntaxAnalyzer.getGrammarTerminals();
+		}
+
+		if (this._compiledControlTable != null)
+		{
+			return this._compiledControlTable.getGrammarTerminals();
+		}
 
-		SyntaxAnalyzerResult result = new SyntaxAnalyzerResult(true, null);
+		if (this._grammar == null)
+		{
+			return null;
+		}
 
-		int tokensCount = this._tokens.size();
+		if (this._grammarTerminals == null)
+		{
+			this._grammarTerminals =
+				new GrammarTerminals(
+					this._grammarService.getTerminalNodes(this._grammar),
+					this._specialNodesMap);
+		}
 
-		int currentTokenId = 0;
+		return this._grammarTerminals;
+	}
 
-		Map<ControlTableItem, Rule> controlTable = this.getControlTable();
+	@Override
+	public OffHeapTokenBuffer getOffHeapTokenBuffer()
+	{
+		return this._offHeapTokens;
+	}
 
-		Stack<Node> nodesStack = new Stack<Node>();
+	@Override
+	public Map<Node, TokenKind> getSpecialNodesMap()
+	{
+		return new HashMap<Node, TokenKind>(this._specialNodesMap);
+	}
 
-		nodesStack.push(this._grammar.getHeadRule().getHeadNode());
+	@Override
+	public TokenBuffer getTokenBuffer()
+	{
+		return this._tokens;
+	}
 
-		while (!nodesStack.isEmpty())
-		{
-			Node topNode = nodesStack.peek();
+	@Override
+	public List<Token> getTokens()
+	{
+		return this._tokens.toList();
+	}
 
-			NodeKind topNodeKind = topNode.getKind();
+	@Override
+	public boolean isSpecialized()
+	{
+		return this._isSpecialized;
+	}
 
-			if (topNodeKind == NodeKind.Nonterminal)
+	@Override
+	public SyntaxAnalyzerResult run() throws Exception
+	{
+		if (this._generatedSyntaxAnalyzer != null)
+		{
+			if (this._offHeapTokens != null)
 			{
-				Rule nextRule = null;
-
-				if (currentTokenId < tokensCount)
-				{
-					// Try to get nextRule based on current token.
-					nextRule =
-						this.getNextRule(topNode, this
-								.getWordFromToken(this._tokens
-										.get(currentTokenId)), controlTable);
-				}
-
-				if (nextRule == null)
-				{
-					// Try to get nextRule based on empty token.
-					nextRule =
-						this.getNextRule(topNode, Word.getEmptyWord(),
-							controlTable);
-				}
-
-				if (nextRule != null)
-				{
-					nodesStack.pop();
-
-					nodesStack.addAll(this.getNodesToStack(nextRule));
-				}
-				else
-				{
-					break;
-				}
+				this._generatedSyntaxAnalyzer
+						.setOffHeapTokenBuffer(this._offHeapTokens);
 			}
-			else if (topNodeKind == NodeKind.Terminal)
+			else
 			{
-				if (currentTokenId < tokensCount)
-				{
-					Token currentToken = this._tokens.get(currentTokenId);
-
-					if (topNode.getText().equals(
-						currentToken.getValue().toLowerCase())
-						|| currentToken.getKind().equals(
-							this._specialNodesMap.get(topNode)))
-					{
-						nodesStack.pop();
+				this._generatedSyntaxAnalyzer.setTokenBuffer(this._tokens);
+			}
 
-						currentTokenId++;
+			return this._generatedSyntaxAnalyzer.run();
+		}
 
-						continue;
-					}
-				}
+		this.checkGrammar();
 
-				break;
-			}
+		if (this._offHeapTokens != null)
+		{
+			return this.compile().parse(this._offHeapTokens);
 		}
 
-		if (currentTokenId < tokensCount)
-		{
-			Token wrongToken = this._tokens.get(currentTokenId);
+		return this.compile().parse(this._tokens);
+	}
 
-			result =
-				new SyntaxAnalyzerResult(false, wrongToken);
-		}
-		else if (!nodesStack.isEmpty())
+	@Override
+	public SyntaxAnalyzerResult run(ITokenCursor tokenCursor)
+		throws Exception
+	{
+		Guard.notNull(tokenCursor, "tokenCursor");
+
+		if (this._generatedSyntaxAnalyzer != null)
 		{
-			Token wrongToken = null;
+			return this._generatedSyntaxAnalyzer.run(tokenCursor);
+		}
 
-			if (tokensCount > 0)
-			{
-				wrongToken = this._tokens.get(tokensCount - 1);
-			}
+		this.checkGrammar();
 
-			result = new SyntaxAnalyzerResult(false, wrongToken);
-		}
+		return this.compile().parse(tokenCursor, null);
+	}
+
+	@Override
+	public void setCompiledControlTable(
+		CompiledControlTable compiledControlTable)
+	{
+		Guard.notNull(compiledControlTable, "compiledControlTable");
+
+		this._compiledControlTable = compiledControlTable;
+		this._generatedSyntaxAnalyzer = null;
+		this._grammar = null;
+		this._grammarTerminals = null;
+		this._compiledParser = null;
+	}
 
-		return result;
+	@Override
+	public void setGeneratedSyntaxAnalyzer(
+		IGeneratedSyntaxAnalyzer generatedSyntaxAnalyzer)
+	{
+		Guard.notNull(generatedSyntaxAnalyzer, "generatedSyntaxAnalyzer");
+
+		this._generatedSyntaxAnalyzer = generatedSyntaxAnalyzer;
+		this._compiledControlTable = null;
+		this._grammar = null;
+		this._grammarTerminals = null;
+		this._compiledParser = null;
 	}
 
 	@Override
@@ -193,6 +268,18 @@ public class SyntaxAnalyzer implements ISyntaxAnalyzer
 		}
 
 		this._grammar = grammar;
+		this._grammarTerminals = null;
+		this._compiledControlTable = null;
+		this._generatedSyntaxAnalyzer = null;
+		this._compiledParser = null;
+	}
+
+	@Override
+	public void setOffHeapTokenBuffer(OffHeapTokenBuffer offHeapTokenBuffer)
+	{
+		Guard.notNull(offHeapTokenBuffer, "offHeapTokenBuffer");
+
+		this._offHeapTokens = offHeapTokenBuffer;
 	}
 
 	@Override
@@ -201,6 +288,34 @@ public class SyntaxAnalyzer implements ISyntaxAnalyzer
 		Guard.notNull(specialNodesMap, "specialNodesMap");
 
 		this._specialNodesMap = new HashMap<Node, TokenKind>(specialNodesMap);
+		this._grammarTerminals = null;
+		this._compiledParser = null;
+
+		// The compiled control table of the grammar is built with the special
+		// nodes, the table, that is set, keeps its own terminals.
+		if (this._grammar != null)
+		{
+			this._compiledControlTable = null;
+		}
+	}
+
+	@Override
+	public void setSpecialized(boolean isSpecialized)
+	{
+		if (this._isSpecialized != isSpecialized)
+		{
+			this._isSpecialized = isSpecialized;
+			this._compiledParser = null;
+		}
+	}
+
+	@Override
+	public void setTokenBuffer(TokenBuffer tokenBuffer)
+	{
+		Guard.notNull(tokenBuffer, "tokenBuffer");
+
+		this._tokens = tokenBuffer;
+		this._offHeapTokens = null;
 	}
 
 	@Override
@@ -208,12 +323,33 @@ public class SyntaxAnalyzer implements ISyntaxAnalyzer
 	{
 		Guard.notNull(tokens, "tokens");
 
-		this._tokens = new ArrayList<Token>(tokens);
+		this._tokens = new TokenBuffer(tokens);
+		this._offHeapTokens = null;
+	}
+
+	/**
+	 * Builds the compiled control table of the grammar, if the compiled
+	 * control table is not set. The table is built once and is reused by the
+	 * next runs, until the grammar or the special nodes map is changed.
+	 *
+	 * @return the compiled control table
+	 * @throws Exception
+	 */
+	private CompiledControlTable buildCompiledControlTable() throws Exception
+	{
+		if (this._compiledControlTable == null)
+		{
+			this._compiledControlTable =
+				new CompiledControlTable(this._grammar,
+					this.getControlTable(), this.getGrammarTerminals());
+		}
+
+		return this._compiledControlTable;
 	}
 
 	private void checkGrammar() throws GrammarIsNotSetException
 	{
-		if (this._grammar == null)
+		if (this._grammar == null && this._compiledControlTable == null)
 		{
 			throw new GrammarIsNotSetException("Grammar can't be null.");
 		}
@@ -241,47 +377,4 @@ public class SyntaxAnalyzer implements ISyntaxAnalyzer
 
 		return controlTable;
 	}
-
-	private Rule getNextRule(Node node, Word word,
-		Map<ControlTableItem, Rule> controlTable)
-		throws NodeIsNotNonterminalException
-	{
-		ControlTableItem controlTableItem = new ControlTableItem(node, word);
-
-		Rule nextRule = controlTable.get(controlTableItem);
-
-		return nextRule;
-	}
-
-	private List<Node> getNodesToStack(Rule rule)
-	{
-		List<Node> nodes = rule.getNodes();
-
-		Collections.reverse(nodes);
-
-		return nodes;
-	}
-
-	private Word getWordFromToken(Token token)
-		throws NodeIsNotTerminalException
-	{
-		Node node = null;
-
-		for (Entry<Node, TokenKind> entry : this._specialNodesMap.entrySet())
-		{
-			if (entry.getValue().equals(token.getKind()))
-			{
-				node = entry.getKey();
-			}
-		}
-
-		if (node == null)
-		{
-			node = new Node(NodeKind.Terminal, token.getValue().toLowerCase());
-		}
-
-		Word word = new Word(node);
-
-		return word;
-	}
 }
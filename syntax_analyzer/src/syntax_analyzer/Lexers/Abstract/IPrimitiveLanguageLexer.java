@@ -1,11 +1,33 @@
 package syntax_analyzer.Lexers.Abstract;
 
 import grammar_parser.Lexers.Abstract.ILexer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.LexerSpecification;
+import syntax_analyzer.Models.LineIndex;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
+import syntax_analyzer.Models.SymbolTable;
+import syntax_analyzer.Models.TextEdit;
 import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
 import syntax_analyzer.Models.TokenDefinition;
 
 public interface IPrimitiveLanguageLexer extends ILexer<Token>
 {
+	/**
+	 * Gets the initial size of the buffer of the token cursor.
+	 *
+	 * @return the initial size of the buffer of the token cursor
+	 */
+	int getBufferSize();
+
 	/**
 	 * Gets the keywords.
 	 *
@@ -13,6 +35,30 @@ public interface IPrimitiveLanguageLexer extends ILexer<Token>
 	 */
 	Iterable<String> getKeywords();
 
+	/**
+	 * Gets the grammar terminals, which ids the tokens are tagged with.
+	 *
+	 * @return the grammar terminals, or null, if the tokens are not tagged
+	 */
+	GrammarTerminals getGrammarTerminals();
+
+	/**
+	 * Gets the symbol table, that the values of the identifiers and numbers
+	 * are interned into.
+	 *
+	 * @return the symbol table, or null, if the values are not interned
+	 */
+	SymbolTable getSymbolTable();
+
+	/**
+	 * Gets the line index of the source. The index is created once for each
+	 * source. After the file is parsed, the index is built for the file, until
+	 * the new source is set.
+	 *
+	 * @return the line index
+	 */
+	LineIndex getLineIndex();
+
 	/**
 	 * Gets the token definitions.
 	 *
@@ -20,6 +66,151 @@ public interface IPrimitiveLanguageLexer extends ILexer<Token>
 	 */
 	Iterable<TokenDefinition> getTokenDefinitions();
 
+	/**
+	 * Gets the approximate size of the chunks, that the source is split into
+	 * for the parallel parsing.
+	 *
+	 * @return the size of the chunks
+	 */
+	int getParallelChunkSize();
+
+	/**
+	 * Gets the specification, that contains the compiled rules of the lexer.
+	 * The specification is immutable, so it can be shared by the threads, and
+	 * each of them creates its own lexer from it.
+	 *
+	 * @return the lexer specification
+	 */
+	LexerSpecification getSpecification();
+
+	/**
+	 * Gets the token cursor over the source, that is read from the specified
+	 * channel. The source is not loaded into memory entirely.
+	 *
+	 * @param channel
+	 *            the channel
+	 * @param charset
+	 *            the charset of the source
+	 * @return the token cursor
+	 */
+	ITokenCursor getTokenCursor(ReadableByteChannel channel, Charset charset);
+
+	/**
+	 * Gets the token cursor over the source, that is read from the specified
+	 * reader. The source is not loaded into memory entirely.
+	 *
+	 * @param reader
+	 *            the reader
+	 * @return the token cursor
+	 */
+	ITokenCursor getTokenCursor(Reader reader);
+
+	/**
+	 * Checks if the token cursors are contextual: the parser passes them the
+	 * terminals, that it expects at the next token, and only the token
+	 * definitions, that can produce these terminals, are tried.
+	 *
+	 * @return true, if the token cursors are contextual, false - otherwise
+	 */
+	boolean isContextualLexing();
+
+	/**
+	 * Parses the tokens from the specified file. The file is mapped into
+	 * memory and the values of the tokens are read from it only when they are
+	 * requested. The source, that is set, is kept, but the line index is built
+	 * for the file.
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @param charset
+	 *            the charset of the file
+	 * @return the token buffer
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	TokenBuffer parse(Path path, Charset charset) throws IOException;
+
+	/**
+	 * Parses the tokens of the edited source. Only the tokens around the
+	 * edit are parsed again: the parsing starts at the first token, which
+	 * scan could have read the edited text (the buffer keeps the length of
+	 * its longest scan), and stops as soon as a new token starts at the same
+	 * place as one of the old tokens after the edit. The other tokens are
+	 * copied from the previous tokens. The token definitions, that are not
+	 * supported by the DFA, can read the source up to its end, so the tokens
+	 * before the edit are parsed again too.
+	 *
+	 * @param tokens
+	 *            the tokens of the source before the edit (the buffer must
+	 *            have the source)
+	 * @param edit
+	 *            the edit
+	 * @return the tokens of the edited source
+	 */
+	TokenBuffer parseIncrementally(TokenBuffer tokens, TextEdit edit);
+
+	/**
+	 * Parses the tokens from the source into the off-heap token buffer. The
+	 * tokens are parsed in portions of the size of the chunk of the buffer,
+	 * so the heap use doesn't depend on the count of the tokens. The tokens
+	 * are tagged with the ids of the grammar terminals, if they are set; the
+	 * values are not interned.
+	 *
+	 * @return the off-heap token buffer, that has to be closed, when the
+	 *         tokens are not needed anymore
+	 */
+	OffHeapTokenBuffer parseToOffHeapTokenBuffer();
+
+	/**
+	 * Parses the tokens from the source into the token buffer.
+	 *
+	 * @return the token buffer
+	 */
+	TokenBuffer parseToTokenBuffer();
+
+	/**
+	 * Parses the tokens from the source into the token buffer. The source is
+	 * split into chunks at the spaces and the chunks are parsed in the
+	 * specified pool. The result is the same as the result of the sequential
+	 * parsing; if no safe split is possible, the source is parsed
+	 * sequentially.
+	 *
+	 * @param pool
+	 *            the pool
+	 * @return the token buffer
+	 */
+	TokenBuffer parseToTokenBuffer(ForkJoinPool pool);
+
+	/**
+	 * Sets the initial size of the buffer of the token cursor.
+	 *
+	 * @param bufferSize
+	 *            the new initial size of the buffer of the token cursor
+	 */
+	void setBufferSize(int bufferSize);
+
+	/**
+	 * Sets if the token cursors are contextual. The contextual cursors
+	 * resolve the tokens, that match several token definitions, in favor of
+	 * the terminals, that the parser expects.
+	 *
+	 * @param isContextualLexing
+	 *            true, if the token cursors have to be contextual, false -
+	 *            otherwise
+	 */
+	void setContextualLexing(boolean isContextualLexing);
+
+	/**
+	 * Sets the grammar terminals, which ids the tokens are tagged with while
+	 * parsing, so the syntax analyzer doesn't have to match the values of the
+	 * tokens against the terminals.
+	 *
+	 * @param grammarTerminals
+	 *            the new grammar terminals, or null, if the tokens should not
+	 *            be tagged
+	 */
+	void setGrammarTerminals(GrammarTerminals grammarTerminals);
+
 	/**
 	 * Sets the keywords.
 	 *
@@ -28,6 +219,26 @@ public interface IPrimitiveLanguageLexer extends ILexer<Token>
 	 */
 	void setKeywords(Iterable<String> keywords);
 
+	/**
+	 * Sets the approximate size of the chunks, that the source is split into
+	 * for the parallel parsing.
+	 *
+	 * @param parallelChunkSize
+	 *            the new size of the chunks
+	 */
+	void setParallelChunkSize(int parallelChunkSize);
+
+	/**
+	 * Sets the symbol table, that the values of the identifiers and numbers
+	 * are interned into. The table is shared by all the parsings, so the same
+	 * value gets the same symbol id in all of them.
+	 *
+	 * @param symbolTable
+	 *            the new symbol table, or null, if the values should not be
+	 *            interned
+	 */
+	void setSymbolTable(SymbolTable symbolTable);
+
 	/**
 	 * Sets the token definitions.
 	 *
@@ -0,0 +1,111 @@
+package syntax_analyzer.Lexers.Abstract;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.BitSet;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.KeywordClassifier;
+import syntax_analyzer.Models.Token;
+
+public interface ITokenCursor extends Closeable
+{
+	/**
+	 * Gets the id of the keyword, that matches the value of the current
+	 * token. The value is not materialized.
+	 *
+	 * @param keywordClassifier
+	 *            the keyword classifier
+	 * @return the id of the keyword, or -1, if the value is not a keyword
+	 */
+	int classify(KeywordClassifier keywordClassifier);
+
+	/**
+	 * Gets the kind of the current token.
+	 *
+	 * @return the kind of the current token
+	 */
+	TokenKind getKind();
+
+	/**
+	 * Gets the length of the current token.
+	 *
+	 * @return the length of the current token
+	 */
+	int getLength();
+
+	/**
+	 * Gets the offset of the current token.
+	 *
+	 * @return the offset of the current token
+	 */
+	int getOffset();
+
+	/**
+	 * Gets the id of the interned value of the current token.
+	 *
+	 * @return the id of the value in the symbol table, or -1, if the value
+	 *         is not interned
+	 */
+	int getSymbolId();
+
+	/**
+	 * Gets the id of the terminal, that matches the current token.
+	 *
+	 * @param grammarTerminals
+	 *            the grammar terminals
+	 * @return the id of the terminal, or -1, if the token doesn't match any
+	 *         terminal
+	 */
+	int getTerminalId(GrammarTerminals grammarTerminals);
+
+	/**
+	 * Gets the current token.
+	 *
+	 * @return the current token
+	 */
+	Token getToken();
+
+	/**
+	 * Gets the value of the current token.
+	 *
+	 * @return the value of the current token
+	 */
+	String getValue();
+
+	/**
+	 * Checks if the cursor lexes the tokens on demand and can use the
+	 * terminals, that are expected by the parser.
+	 *
+	 * @return true, if the cursor is contextual, false - otherwise
+	 */
+	boolean isContextual();
+
+	/**
+	 * Moves the cursor to the next token. If there are no more tokens, the
+	 * cursor stays on the last token.
+	 *
+	 * @return true, if the cursor is moved to the next token, false -
+	 *         otherwise
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	boolean moveNext() throws IOException;
+
+	/**
+	 * Sets the terminals, that the parser expects at the next token. The
+	 * contextual cursor tries only the token definitions, that can produce
+	 * these terminals; if none of them matches, all the token definitions
+	 * are tried. The set is not kept by the cursor. The cursor, that is not
+	 * contextual, ignores the expected terminals.
+	 *
+	 * @param grammarTerminals
+	 *            the grammar terminals
+	 * @param terminalIds
+	 *            the ids of the expected terminals, or null, if any terminal
+	 *            is expected
+	 */
+	void setExpectedTerminals(GrammarTerminals grammarTerminals,
+		BitSet terminalIds);
+}
@@ -0,0 +1,144 @@
+package syntax_analyzer.Lexers.Concrete;
+
+import grammar_parser.Utils.Guard;
+
+import java.util.BitSet;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.KeywordClassifier;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
+import syntax_analyzer.Models.Token;
+
+/**
+ * The token cursor over the tokens, that are already parsed into the
+ * off-heap token buffer. The tokens are read from the buffer in place.
+ */
+public class OffHeapTokenCursor implements ITokenCursor
+{
+	private int _index;
+
+	private final OffHeapTokenBuffer _tokens;
+
+	/**
+	 * Instantiates a new off-heap token cursor.
+	 *
+	 * @param tokens
+	 *            the tokens
+	 */
+	public OffHeapTokenCursor(OffHeapTokenBuffer tokens)
+	{
+		Guard.notNull(tokens, "tokens");
+
+		this._tokens = tokens;
+
+		this._index = -1;
+	}
+
+	@Override
+	public int classify(KeywordClassifier keywordClassifier)
+	{
+		this.checkToken();
+
+		return this._tokens.classify(this._index, keywordClassifier);
+	}
+
+	@Override
+	public void close()
+	{
+	}
+
+	@Override
+	public TokenKind getKind()
+	{
+		this.checkToken();
+
+		return this._tokens.getKind(this._index);
+	}
+
+	@Override
+	public int getLength()
+	{
+		this.checkToken();
+
+		return this._tokens.getLength(this._index);
+	}
+
+	@Override
+	public int getOffset()
+	{
+		this.checkToken();
+
+		return this._tokens.getOffset(this._index);
+	}
+
+	@Override
+	public int getSymbolId()
+	{
+		this.checkToken();
+
+		// The values of the off-heap tokens are not interned.
+		return -1;
+	}
+
+	@Override
+	public int getTerminalId(GrammarTerminals grammarTerminals)
+	{
+		this.checkToken();
+
+		return this._tokens.getTerminalId(this._index, grammarTerminals);
+	}
+
+	@Override
+	public Token getToken()
+	{
+		this.checkToken();
+
+		return this._tokens.getToken(this._index);
+	}
+
+	@Override
+	public String getValue()
+	{
+		this.checkToken();
+
+		return this._tokens.getValue(this._index);
+	}
+
+	@Override
+	public boolean isContextual()
+	{
+		// The tokens are already parsed.
+		return false;
+	}
+
+	@Override
+	public boolean moveNext()
+	{
+		if (this._index + 1 >= this._tokens.getCount())
+		{
+			return false;
+		}
+
+		this._index++;
+
+		return true;
+	}
+
+	@Override
+	public void setExpectedTerminals(GrammarTerminals grammarTerminals,
+		BitSet terminalIds)
+	{
+		Guard.notNull(grammarTerminals, "grammarTerminals");
+	}
+
+	private void checkToken()
+	{
+		if (this._index < 0)
+		{
+			throw new IllegalStateException(
+				"Cursor is not positioned on a token.");
+		}
+	}
+}
@@ -1,37 +1,112 @@
 package syntax_analyzer.Lexers.Concrete;
 
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
 import grammar_parser.Lexers.Abstract.Lexer;
+import grammar_parser.Models.Dfa;
+import grammar_parser.Services.Abstract.IDfaBuildingService;
+import grammar_parser.Services.Concrete.DfaBuildingService;
 import grammar_parser.Utils.Guard;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import syntax_analyzer.Enums.TokenKind;
 import syntax_analyzer.Lexers.Abstract.IPrimitiveLanguageLexer;
-import syntax_analyzer.Models.Location;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.AsciiCharSequence;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.KeywordClassifier;
+import syntax_analyzer.Models.LexerSpecification;
+import syntax_analyzer.Models.LineIndex;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
+import syntax_analyzer.Models.SymbolTable;
+import syntax_analyzer.Models.TextEdit;
 import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
 import syntax_analyzer.Models.TokenDefinition;
 
 public class PrimitiveLanguageLexer extends Lexer<Token> implements
 		IPrimitiveLanguageLexer
 {
+	// The service is stateless, so it's shared by the lexers, that are not
+	// given their own one; it's used only when the rules are compiled.
+	private static final IDfaBuildingService _defaultDfaBuildingService =
+		new DfaBuildingService();
+
+	private int _bufferSize;
+
+	private Dfa _dfa;
+
+	private final IDfaBuildingService _dfaBuildingService;
+
+	private boolean _dfaIsBuilt;
+
+	private CharSequence _fileSource;
+
+	private GrammarTerminals _grammarTerminals;
+
+	private boolean _isContextualLexing;
+
+	private KeywordClassifier _keywordClassifier;
+
 	private Set<String> _keywords;
 
+	private LineIndex _lineIndex;
+
+	private int _parallelChunkSize;
+
+	private SymbolTable _symbolTable;
+
 	private List<TokenDefinition> _tokenDefinitions;
 
 	public PrimitiveLanguageLexer()
+	{
+		this(PrimitiveLanguageLexer._defaultDfaBuildingService);
+	}
+
+	public PrimitiveLanguageLexer(IDfaBuildingService dfaBuildingService)
 	{
 		super();
 
+		Guard.notNull(dfaBuildingService, "dfaBuildingService");
+
+		this._dfaBuildingService = dfaBuildingService;
+
+		this._dfa = null;
+		this._dfaIsBuilt = false;
+
+		this._bufferSize = 65536;
+		this._parallelChunkSize = 1 << 20;
+		this._isContextualLexing = false;
+
+		this._symbolTable = null;
+
+		this._fileSource = null;
+		this._lineIndex = null;
+
 		this._keywords =
 			new HashSet<String>(Arrays.asList("begin", "call", "const", "do",
 				"end", "if", "odd", "procedure", "then", "var", "while"));
 
+		this._keywordClassifier = new KeywordClassifier(this._keywords);
+
 		this._tokenDefinitions = new ArrayList<TokenDefinition>() {
 			{
 				this.add(new TokenDefinition("[a-zA-Z_][a-zA-Z0-9_]*",
@@ -45,54 +120,431 @@ public class PrimitiveLanguageLexer extends Lexer<Token> implements
 		};
 	}
 
+	/**
+	 * Instantiates a new primitive language lexer, that shares the compiled
+	 * rules of the specified specification, so nothing is compiled again.
+	 *
+	 * @param specification
+	 *            the lexer specification
+	 */
+	public PrimitiveLanguageLexer(LexerSpecification specification)
+	{
+		super();
+
+		Guard.notNull(specification, "specification");
+
+		this._dfaBuildingService =
+			PrimitiveLanguageLexer._defaultDfaBuildingService;
+
+		this._dfa = specification.getDfa();
+		this._dfaIsBuilt = true;
+
+		this._bufferSize = 65536;
+		this._parallelChunkSize = 1 << 20;
+		this._isContextualLexing = false;
+
+		this._symbolTable = null;
+
+		this._fileSource = null;
+		this._lineIndex = null;
+
+		this._grammarTerminals = specification.getGrammarTerminals();
+
+		this._keywords = specification.getKeywords();
+		this._keywordClassifier = specification.getKeywordClassifier();
+
+		this._spaceCharacters = specification.getSpaceCharacters();
+		this._spaceCharacterSet = specification.getSpaceCharacterSet();
+
+		this._tokenDefinitions = specification.getTokenDefinitions();
+	}
+
+	@Override
+	public int getBufferSize()
+	{
+		return this._bufferSize;
+	}
+
+	@Override
+	public GrammarTerminals getGrammarTerminals()
+	{
+		return this._grammarTerminals;
+	}
+
 	@Override
 	public Set<String> getKeywords()
 	{
-		return this._keywords;
+		return new HashSet<String>(this._keywords);
+	}
+
+	@Override
+	public LineIndex getLineIndex()
+	{
+		CharSequence source =
+			this._fileSource != null ? this._fileSource : this._source;
+
+		if (this._lineIndex == null || this._lineIndex.getSource() != source)
+		{
+			this._lineIndex = new LineIndex(source);
+		}
+
+		return this._lineIndex;
+	}
+
+	@Override
+	public int getParallelChunkSize()
+	{
+		return this._parallelChunkSize;
+	}
+
+	@Override
+	public LexerSpecification getSpecification()
+	{
+		return new LexerSpecification(this._tokenDefinitions, this._keywords,
+			this._spaceCharacters, this.getDfa(), this._grammarTerminals);
+	}
+
+	@Override
+	public SymbolTable getSymbolTable()
+	{
+		return this._symbolTable;
 	}
 
 	@Override
 	public List<TokenDefinition> getTokenDefinitions()
 	{
-		return this._tokenDefinitions;
+		return new ArrayList<TokenDefinition>(this._tokenDefinitions);
+	}
+
+	@Override
+	public ITokenCursor getTokenCursor(ReadableByteChannel channel,
+		Charset charset)
+	{
+		Guard.notNull(channel, "channel");
+		Guard.notNull(charset, "charset");
+
+		return this.getTokenCursor(Channels.newReader(channel,
+			charset.newDecoder(), this._bufferSize));
+	}
+
+	@Override
+	public ITokenCursor getTokenCursor(Reader reader)
+	{
+		Guard.notNull(reader, "reader");
+
+		return new StreamingTokenCursor(reader, this._bufferSize,
+			this.getDfa(), this._tokenDefinitions, this._keywordClassifier,
+			this._spaceCharacters, this._symbolTable, this._isContextualLexing);
+	}
+
+	@Override
+	public boolean isContextualLexing()
+	{
+		return this._isContextualLexing;
 	}
 
 	@Override
 	public List<Token> parse()
 	{
-		List<Token> tokens = new ArrayList<Token>();
+		this._offset = this._source.length();
+
+		return this.parse(this._source).toList();
+	}
+
+	@Override
+	public TokenBuffer parse(Path path, Charset charset) throws IOException
+	{
+		Guard.notNull(path, "path");
+		Guard.notNull(charset, "charset");
+
+		CharSequence source;
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			MappedByteBuffer bytes =
+				channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			if (PrimitiveLanguageLexer.isAsciiCompatible(charset)
+				&& AsciiCharSequence.isAscii(bytes))
+			{
+				source = new AsciiCharSequence(bytes);
+			}
+			else
+			{
+				source = charset.newDecoder().decode(bytes);
+			}
+		}
+
+		// The file is not copied into the string source, so the line index is
+		// built for the file itself.
+		this._fileSource = source;
+
+		return this.parse(source);
+	}
+
+	@Override
+	public TokenBuffer parseIncrementally(TokenBuffer tokens, TextEdit edit)
+	{
+		Guard.notNull(tokens, "tokens");
+		Guard.notNull(edit, "edit");
+
+		if (tokens.getSource() == null)
+		{
+			throw new IllegalArgumentException(
+				"Argument 'tokens' must have the source.");
+		}
+
+		String source = edit.applyTo(tokens.getSource());
+
+		int length = source.length();
+		int count = tokens.getCount();
+
+		int lengthDelta = edit.getLengthDelta();
+		int editEnd = edit.getOffset() + edit.getInsertedText().length();
+
+		// Each token, which scan could have read the edited text, has to be
+		// parsed again; the scan of the token can't be longer than the
+		// longest scan of the buffer.
+		int firstTokenId = 0;
+
+		if (tokens.getScanLength() >= 0)
+		{
+			firstTokenId =
+				this.getFirstTokenIdStartingAfter(tokens, edit.getOffset()
+					- tokens.getScanLength());
+		}
+
+		TokenBuffer newTokens = new TokenBuffer(source);
+
+		// The symbol ids of the old tokens are valid only in their table.
+		SymbolTable symbolTable =
+			tokens.getSymbolTable() != null ? tokens.getSymbolTable()
+				: this._symbolTable;
 
-		this._offset = 0;
+		if (symbolTable != null)
+		{
+			newTokens.setSymbolTable(symbolTable);
+		}
+
+		GrammarTerminals grammarTerminals =
+			tokens.getGrammarTerminals() != null ? tokens
+				.getGrammarTerminals() : this._grammarTerminals;
+
+		if (grammarTerminals != null)
+		{
+			newTokens.setGrammarTerminals(grammarTerminals);
+		}
+
+		newTokens.addRange(tokens, 0, firstTokenId, 0);
+
+		int firstNewTokenId = newTokens.getCount();
+
+		int offset = 0;
+
+		if (firstTokenId > 0)
+		{
+			offset =
+				tokens.getOffset(firstTokenId - 1)
+					+ tokens.getLength(firstTokenId - 1);
+		}
+
+		int oldTokenId = firstTokenId;
 
-		while (this.isInBounds())
+		while (true)
 		{
-			this.skipSpaces();
+			// Skip spaces.
+			offset = this._spaceCharacterSet.skip(source, offset, length);
 
-			if (!this.isInBounds())
+			if (offset == length)
 			{
+				oldTokenId = count;
+
 				break;
 			}
 
-			Token token = this.processToken();
+			if (offset >= editEnd)
+			{
+				// The rest of the source is not changed, so the tokens are the
+				// same since the old token starts at the same place.
+				while (oldTokenId < count
+					&& tokens.getOffset(oldTokenId) < offset - lengthDelta)
+				{
+					oldTokenId++;
+				}
+
+				if (oldTokenId < count
+					&& tokens.getOffset(oldTokenId) == offset - lengthDelta)
+				{
+					break;
+				}
+			}
+
+			int tokenLength =
+				this.processToken(source, offset, length, newTokens);
 
-			if (token == null)
+			if (tokenLength == 0)
 			{
-				String tokenValue =
-					this._source.substring(this._offset, this._offset + 1);
+				newTokens.add(TokenKind.Unknown, offset, 1);
+
+				tokenLength = 1;
+			}
+
+			offset += tokenLength;
+		}
+
+		this.internSymbols(newTokens, firstNewTokenId, newTokens.getCount());
+		this.tagTerminals(newTokens, firstNewTokenId, newTokens.getCount());
 
-				token =
-					new Token(TokenKind.Unknown, tokenValue, new Location(
-						this._offset, tokenValue.length()));
+		newTokens.addRange(tokens, oldTokenId, count, lengthDelta);
 
-				this._offset += tokenValue.length();
+		return newTokens;
+	}
+
+	@Override
+	public OffHeapTokenBuffer parseToOffHeapTokenBuffer()
+	{
+		CharSequence source = this._source;
+
+		int length = source.length();
+
+		OffHeapTokenBuffer tokens = new OffHeapTokenBuffer(source);
+
+		tokens.setGrammarTerminals(this._grammarTerminals);
+
+		// The tokens are parsed in portions into the small heap buffer, so
+		// the heap use doesn't grow with the source.
+		TokenBuffer portion = new TokenBuffer(source);
+
+		int offset = 0;
+
+		while (offset < length)
+		{
+			portion.clear();
+
+			offset =
+				this.parse(source, offset, length, portion,
+					tokens.getChunkCapacity());
+
+			tokens.addAll(portion);
+		}
+
+		this._offset = length;
+
+		return tokens;
+	}
+
+	@Override
+	public TokenBuffer parseToTokenBuffer()
+	{
+		this._offset = this._source.length();
+
+		return this.parse(this._source);
+	}
+
+	@Override
+	public TokenBuffer parseToTokenBuffer(ForkJoinPool pool)
+	{
+		Guard.notNull(pool, "pool");
+
+		CharSequence source = this._source;
+
+		int length = source.length();
+
+		if (length < 2 * this._parallelChunkSize
+			|| !this.canBeSplitAtSpaces(this.getDfa()))
+		{
+			this._offset = length;
+
+			return this.parse(source);
+		}
+
+		// Split the source at the spaces, that can't be a part of a token.
+		List<ForkJoinTask<TokenBuffer>> tasks =
+			new ArrayList<ForkJoinTask<TokenBuffer>>();
+
+		GrammarTerminals grammarTerminals = this._grammarTerminals;
+
+		int start = 0;
+
+		while (start < length)
+		{
+			int end = Math.min(start + this._parallelChunkSize, length);
+
+			while (end < length
+				&& !this._spaceCharacterSet.contains(source.charAt(end)))
+			{
+				end++;
 			}
 
-			tokens.add(token);
+			int chunkStart = start;
+			int chunkEnd = end;
+
+			tasks.add(pool.submit(() -> {
+				TokenBuffer chunkTokens = new TokenBuffer(source);
+
+				this.parse(source, chunkStart, chunkEnd, chunkTokens);
+
+				// The terminal ids don't depend on the other tokens, so the
+				// chunks are tagged in parallel.
+				if (grammarTerminals != null)
+				{
+					chunkTokens.setGrammarTerminals(grammarTerminals);
+
+					this.tagTerminals(chunkTokens, 0, chunkTokens.getCount());
+				}
+
+				return chunkTokens;
+			}));
+
+			start = end;
+		}
+
+		TokenBuffer tokens = new TokenBuffer(source);
+
+		if (grammarTerminals != null)
+		{
+			tokens.setGrammarTerminals(grammarTerminals);
+		}
+
+		for (ForkJoinTask<TokenBuffer> task : tasks)
+		{
+			tokens.addAll(task.join());
+		}
+
+		// The symbols are interned in the order of the tokens, so the ids are
+		// the same as after the sequential parsing.
+		if (this._symbolTable != null)
+		{
+			tokens.setSymbolTable(this._symbolTable);
+
+			this.internSymbols(tokens, 0, tokens.getCount());
 		}
 
+		this._offset = length;
+
 		return tokens;
 	}
 
+	@Override
+	public void setBufferSize(int bufferSize)
+	{
+		Guard.moreThanZero(bufferSize, "bufferSize");
+
+		this._bufferSize = bufferSize;
+	}
+
+	@Override
+	public void setContextualLexing(boolean isContextualLexing)
+	{
+		this._isContextualLexing = isContextualLexing;
+	}
+
+	@Override
+	public void setGrammarTerminals(GrammarTerminals grammarTerminals)
+	{
+		this._grammarTerminals = grammarTerminals;
+	}
+
 	@Override
 	public void setKeywords(Iterable<String> keywords)
 	{
@@ -104,6 +556,32 @@ public class PrimitiveLanguageLexer extends Lexer<Token> implements
 		{
 			this._keywords.add(keyword);
 		}
+
+		this._keywordClassifier = new KeywordClassifier(this._keywords);
+
+		this._dfaIsBuilt = false;
+	}
+
+	@Override
+	public void setParallelChunkSize(int parallelChunkSize)
+	{
+		Guard.moreThanZero(parallelChunkSize, "parallelChunkSize");
+
+		this._parallelChunkSize = parallelChunkSize;
+	}
+
+	@Override
+	public void setSource(String source)
+	{
+		super.setSource(source);
+
+		this._fileSource = null;
+	}
+
+	@Override
+	public void setSymbolTable(SymbolTable symbolTable)
+	{
+		this._symbolTable = symbolTable;
 	}
 
 	@Override
@@ -117,51 +595,318 @@ public class PrimitiveLanguageLexer extends Lexer<Token> implements
 		{
 			this._tokenDefinitions.add(tokenDefinition);
 		}
+
+		this._dfaIsBuilt = false;
 	}
 
-	private Token processToken()
+	/**
+	 * Checks if no token can contain a space character, so the source can be
+	 * split at any space.
+	 */
+	private boolean canBeSplitAtSpaces(Dfa dfa)
 	{
-		List<Token> foundTokens = new ArrayList<Token>();
+		if (dfa == null)
+		{
+			// Patterns may contain lookarounds, that see through the spaces.
+			return false;
+		}
 
-		for (TokenDefinition definition : this._tokenDefinitions)
+		for (int state = 0, count = dfa.getStatesCount(); state < count; state++)
 		{
-			String matchString = this._source.substring(this._offset);
+			for (char spaceCharacter : this._spaceCharacters)
+			{
+				if (dfa.getNextState(state, spaceCharacter) >= 0)
+				{
+					return false;
+				}
+			}
+		}
 
-			Matcher matcher =
-				definition.getRepresentation().matcher(matchString);
+		return true;
+	}
 
-			if (!matcher.lookingAt())
+	private Dfa getDfa()
+	{
+		if (!this._dfaIsBuilt)
+		{
+			List<Pattern> patterns = new ArrayList<Pattern>();
+
+			for (TokenDefinition tokenDefinition : this._tokenDefinitions)
 			{
-				continue;
+				patterns.add(tokenDefinition.getRepresentation());
 			}
 
-			Location location = new Location(this._offset, matcher.end());
+			try
+			{
+				this._dfa =
+					this._dfaBuildingService.buildDfa(patterns, this._keywords);
+			}
+			catch (PatternIsNotSupportedException e)
+			{
+				// Token definitions will be matched one by one.
+				this._dfa = null;
+			}
 
-			TokenKind tokenKind = definition.getKind();
+			this._dfaIsBuilt = true;
+		}
 
-			String tokenValue = matchString.substring(0, matcher.end());
+		return this._dfa;
+	}
 
-			if (this._keywords.contains(tokenValue.toLowerCase()))
+	/**
+	 * Gets the id of the first token, that starts after the specified offset.
+	 *
+	 * @return the id of the token, or the count of the tokens, if there is no
+	 *         such token
+	 */
+	private int getFirstTokenIdStartingAfter(TokenBuffer tokens, int offset)
+	{
+		int low = 0;
+		int high = tokens.getCount();
+
+		while (low < high)
+		{
+			int middle = (low + high) >>> 1;
+
+			if (tokens.getOffset(middle) <= offset)
+			{
+				low = middle + 1;
+			}
+			else
 			{
-				tokenKind = TokenKind.Keyword;
+				high = middle;
 			}
+		}
+
+		return low;
+	}
 
-			Token token = new Token(tokenKind, tokenValue, location);
+	/**
+	 * Interns the values of the identifiers and numbers from the specified
+	 * range into the symbol table of the buffer.
+	 */
+	private void internSymbols(TokenBuffer tokens, int fromIndex, int toIndex)
+	{
+		SymbolTable symbolTable = tokens.getSymbolTable();
 
-			foundTokens.add(token);
+		if (symbolTable == null)
+		{
+			return;
 		}
 
-		if (foundTokens.size() == 0)
+		CharSequence source = tokens.getSource();
+
+		for (int i = fromIndex; i < toIndex; i++)
 		{
-			return null;
+			TokenKind kind = tokens.getKind(i);
+
+			if (kind == TokenKind.Identifier || kind == TokenKind.Number)
+			{
+				tokens.setSymbolId(i, symbolTable.intern(source,
+					tokens.getOffset(i), tokens.getLength(i)));
+			}
 		}
+	}
 
-		Token longestToken =
-			Collections.max(foundTokens, (n1, n2) -> Integer.compare(n1
-					.getValue().length(), n2.getValue().length()));
+	private static boolean isAsciiCompatible(Charset charset)
+	{
+		return charset.equals(StandardCharsets.US_ASCII)
+			|| charset.equals(StandardCharsets.UTF_8)
+			|| charset.equals(StandardCharsets.ISO_8859_1);
+	}
+
+	private TokenBuffer parse(CharSequence source)
+	{
+		TokenBuffer tokens = new TokenBuffer(source);
+
+		this.parse(source, 0, source.length(), tokens);
 
-		this._offset += longestToken.getValue().length();
+		if (this._symbolTable != null)
+		{
+			tokens.setSymbolTable(this._symbolTable);
 
-		return longestToken;
+			this.internSymbols(tokens, 0, tokens.getCount());
+		}
+
+		if (this._grammarTerminals != null)
+		{
+			tokens.setGrammarTerminals(this._grammarTerminals);
+
+			this.tagTerminals(tokens, 0, tokens.getCount());
+		}
+
+		return tokens;
+	}
+
+	private void parse(CharSequence source, int start, int end,
+		TokenBuffer tokens)
+	{
+		this.parse(source, start, end, tokens, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Parses the tokens from the specified part of the source, until the
+	 * buffer contains the specified count of the tokens.
+	 *
+	 * @return the offset, where the parsing is stopped
+	 */
+	private int parse(CharSequence source, int start, int end,
+		TokenBuffer tokens, int maxCount)
+	{
+		int offset = start;
+
+		while (tokens.getCount() < maxCount)
+		{
+			// Skip spaces.
+			offset = this._spaceCharacterSet.skip(source, offset, end);
+
+			if (offset == end)
+			{
+				break;
+			}
+
+			int tokenLength = this.processToken(source, offset, end, tokens);
+
+			if (tokenLength == 0)
+			{
+				tokens.add(TokenKind.Unknown, offset, 1);
+
+				tokenLength = 1;
+			}
+
+			offset += tokenLength;
+		}
+
+		return offset;
+	}
+
+	/**
+	 * Processes the token, that starts at the specified offset.
+	 *
+	 * @return the length of the token, or 0, if no token definition matches
+	 */
+	private int processToken(CharSequence source, int start, int end,
+		TokenBuffer tokens)
+	{
+		Dfa dfa = this.getDfa();
+
+		if (dfa == null)
+		{
+			return this.processTokenWithPatterns(source, start, end, tokens);
+		}
+
+		int state = dfa.getStartState();
+
+		int tokenState = -1;
+		int tokenLength = 0;
+
+		// The scan reads the character, that stops the match, or the end of
+		// the source.
+		int scanEnd = end + 1;
+
+		// Find the longest match in one pass.
+		for (int offset = start; offset < end; offset++)
+		{
+			state = dfa.getNextState(state, source.charAt(offset));
+
+			if (state < 0)
+			{
+				scanEnd = offset + 1;
+
+				break;
+			}
+
+			// The characters, that don't change the state, don't change the
+			// acceptance either, so the whole run is skipped at once.
+			offset = dfa.skipSelfLoop(state, source, offset + 1, end) - 1;
+
+			if (dfa.getAcceptId(state) >= 0)
+			{
+				tokenState = state;
+				tokenLength = offset - start + 1;
+			}
+		}
+
+		tokens.setScanLength(Math.max(tokens.getScanLength(), scanEnd - start));
+
+		if (tokenState < 0)
+		{
+			return 0;
+		}
+
+		TokenKind tokenKind = TokenKind.Keyword;
+
+		if (!dfa.isKeywordState(tokenState))
+		{
+			tokenKind =
+				this._tokenDefinitions.get(dfa.getAcceptId(tokenState))
+						.getKind();
+		}
+
+		tokens.add(tokenKind, start, tokenLength);
+
+		return tokenLength;
+	}
+
+	private int processTokenWithPatterns(CharSequence source, int start,
+		int end, TokenBuffer tokens)
+	{
+		TokenKind tokenKind = null;
+		int tokenLength = 0;
+
+		// The matchers can read any character up to the end of the source.
+		tokens.setScanLength(Math.max(tokens.getScanLength(), end + 1 - start));
+
+		for (TokenDefinition definition : this._tokenDefinitions)
+		{
+			Matcher matcher = definition.getRepresentation().matcher(source);
+
+			matcher.region(start, end);
+
+			if (!matcher.lookingAt())
+			{
+				continue;
+			}
+
+			// The first of the longest tokens wins.
+			if (tokenKind == null || matcher.end() - start > tokenLength)
+			{
+				tokenKind = definition.getKind();
+				tokenLength = matcher.end() - start;
+			}
+		}
+
+		if (tokenKind == null)
+		{
+			return 0;
+		}
+
+		if (this._keywordClassifier.classify(source, start, tokenLength) >= 0)
+		{
+			tokenKind = TokenKind.Keyword;
+		}
+
+		tokens.add(tokenKind, start, tokenLength);
+
+		return tokenLength;
+	}
+
+	/**
+	 * Tags the tokens from the specified range with the ids of the terminals
+	 * of the grammar terminals of the buffer.
+	 */
+	private void tagTerminals(TokenBuffer tokens, int fromIndex, int toIndex)
+	{
+		GrammarTerminals grammarTerminals = tokens.getGrammarTerminals();
+
+		if (grammarTerminals == null)
+		{
+			return;
+		}
+
+		for (int i = fromIndex; i < toIndex; i++)
+		{
+			tokens.setTerminalId(i, tokens.getTerminalId(i, grammarTerminals));
+		}
 	}
-}
\ No newline at end of file
+}
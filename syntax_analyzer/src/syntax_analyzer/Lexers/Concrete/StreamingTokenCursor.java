@@ -0,0 +1,603 @@
+package syntax_analyzer.Lexers.Concrete;
+
+import grammar_parser.Models.CharacterSet;
+import grammar_parser.Models.Dfa;
+import grammar_parser.Utils.Guard;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.KeywordClassifier;
+import syntax_analyzer.Models.Location;
+import syntax_analyzer.Models.SymbolTable;
+import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenDefinition;
+
+public class StreamingTokenCursor implements ITokenCursor
+{
+	private char[] _buffer;
+
+	private int _bufferOffset;
+
+	private final Dfa _dfa;
+
+	private long _expectedDefinitions;
+
+	private GrammarTerminals _grammarTerminals;
+
+	private final boolean _isContextual;
+
+	private boolean _isEndOfInput;
+
+	private final KeywordClassifier _keywordClassifier;
+
+	private int _limit;
+
+	private int _markPosition;
+
+	private int _position;
+
+	private final Reader _reader;
+
+	private final CharacterSet _spaceCharacters;
+
+	private final SymbolTable _symbolTable;
+
+	private long[] _terminalDefinitions;
+
+	private final List<TokenDefinition> _tokenDefinitions;
+
+	private TokenKind _tokenKind;
+
+	private int _tokenLength;
+
+	private int _tokenStart;
+
+	private int _tokenSymbolId;
+
+	private String _tokenValue;
+
+	/**
+	 * Instantiates a new streaming token cursor.
+	 *
+	 * @param reader
+	 *            the reader of the source
+	 * @param bufferSize
+	 *            the initial size of the buffer (it grows only for the
+	 *            tokens, that are longer than the buffer)
+	 * @param dfa
+	 *            the dfa, compiled from the token definitions and keywords,
+	 *            or null, if token definitions have to be matched one by one
+	 * @param tokenDefinitions
+	 *            the token definitions
+	 * @param keywordClassifier
+	 *            the keyword classifier
+	 * @param spaceCharacters
+	 *            the space characters
+	 * @param symbolTable
+	 *            the symbol table, that the values of the identifiers and
+	 *            numbers are interned into, or null, if the values should not
+	 *            be interned
+	 * @param isContextual
+	 *            true, if the expected terminals have to be used to choose
+	 *            the token definitions, false - otherwise
+	 */
+	public StreamingTokenCursor(Reader reader, int bufferSize, Dfa dfa,
+		Iterable<TokenDefinition> tokenDefinitions,
+		KeywordClassifier keywordClassifier,
+		Iterable<Character> spaceCharacters, SymbolTable symbolTable,
+		boolean isContextual)
+	{
+		Guard.notNull(reader, "reader");
+		Guard.moreThanZero(bufferSize, "bufferSize");
+		Guard.notNull(tokenDefinitions, "tokenDefinitions");
+		Guard.notNull(keywordClassifier, "keywordClassifier");
+		Guard.notNull(spaceCharacters, "spaceCharacters");
+
+		this._reader = reader;
+		this._buffer = new char[bufferSize];
+		this._dfa = dfa;
+
+		this._tokenDefinitions = new ArrayList<TokenDefinition>();
+
+		for (TokenDefinition tokenDefinition : tokenDefinitions)
+		{
+			this._tokenDefinitions.add(tokenDefinition);
+		}
+
+		this._keywordClassifier = keywordClassifier;
+
+		this._spaceCharacters = new CharacterSet(spaceCharacters);
+
+		this._symbolTable = symbolTable;
+
+		// The token definitions are selected with the accept masks of the
+		// dfa, so only the first 64 of them can be selected.
+		this._isContextual =
+			isContextual && dfa != null && this._tokenDefinitions.size() <= 64;
+
+		this._expectedDefinitions = -1L;
+		this._grammarTerminals = null;
+		this._terminalDefinitions = null;
+
+		this._bufferOffset = 0;
+		this._position = 0;
+		this._limit = 0;
+		this._markPosition = 0;
+		this._isEndOfInput = false;
+
+		this._tokenKind = null;
+		this._tokenStart = -1;
+		this._tokenSymbolId = -1;
+	}
+
+	@Override
+	public int classify(KeywordClassifier keywordClassifier)
+	{
+		this.checkToken();
+
+		Guard.notNull(keywordClassifier, "keywordClassifier");
+
+		if (this._tokenValue != null)
+		{
+			return keywordClassifier.classify(this._tokenValue, 0,
+				this._tokenValue.length());
+		}
+
+		return keywordClassifier.classify(CharBuffer.wrap(this._buffer),
+			this._tokenStart, this._tokenLength);
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		this._reader.close();
+	}
+
+	@Override
+	public TokenKind getKind()
+	{
+		this.checkToken();
+
+		return this._tokenKind;
+	}
+
+	@Override
+	public int getLength()
+	{
+		this.checkToken();
+
+		return this._tokenLength;
+	}
+
+	@Override
+	public int getOffset()
+	{
+		this.checkToken();
+
+		return this._bufferOffset + this._tokenStart;
+	}
+
+	@Override
+	public int getSymbolId()
+	{
+		this.checkToken();
+
+		return this._tokenSymbolId;
+	}
+
+	@Override
+	public int getTerminalId(GrammarTerminals grammarTerminals)
+	{
+		Guard.notNull(grammarTerminals, "grammarTerminals");
+
+		return grammarTerminals.getTerminalId(this.getKind(),
+			this.classify(grammarTerminals.getKeywordClassifier()));
+	}
+
+	@Override
+	public Token getToken()
+	{
+		return new Token(this.getKind(), this.getValue(), new Location(
+			this.getOffset(), this._tokenLength), this._tokenSymbolId);
+	}
+
+	@Override
+	public String getValue()
+	{
+		this.checkToken();
+
+		if (this._tokenValue == null)
+		{
+			this._tokenValue =
+				new String(this._buffer, this._tokenStart, this._tokenLength);
+		}
+
+		return this._tokenValue;
+	}
+
+	@Override
+	public boolean isContextual()
+	{
+		return this._isContextual;
+	}
+
+	@Override
+	public boolean moveNext() throws IOException
+	{
+		// Skip spaces.
+		while (true)
+		{
+			this._markPosition = this._position;
+
+			if (this._position == this._limit && !this.fillBuffer())
+			{
+				return false;
+			}
+
+			if (!this._spaceCharacters.contains(this._buffer[this._position]))
+			{
+				break;
+			}
+
+			this._position++;
+		}
+
+		this._tokenKind = null;
+		this._tokenStart = this._position;
+		this._tokenSymbolId = -1;
+		this._tokenValue = null;
+
+		this._markPosition = this._tokenStart;
+
+		if (this._dfa != null)
+		{
+			this.processToken();
+		}
+		else
+		{
+			this.processTokenWithPatterns();
+		}
+
+		if (this._tokenKind == null)
+		{
+			this._tokenKind = TokenKind.Unknown;
+			this._tokenLength = 1;
+		}
+
+		this._position = this._tokenStart + this._tokenLength;
+
+		if (this._symbolTable != null
+			&& (this._tokenKind == TokenKind.Identifier
+				|| this._tokenKind == TokenKind.Number))
+		{
+			this._tokenSymbolId =
+				this._symbolTable.intern(CharBuffer.wrap(this._buffer),
+					this._tokenStart, this._tokenLength);
+
+			// The interned value is shared by all the occurrences.
+			this._tokenValue = this._symbolTable.getSymbol(this._tokenSymbolId);
+		}
+
+		return true;
+	}
+
+	@Override
+	public void setExpectedTerminals(GrammarTerminals grammarTerminals,
+		BitSet terminalIds)
+	{
+		Guard.notNull(grammarTerminals, "grammarTerminals");
+
+		this._expectedDefinitions = -1L;
+
+		if (!this._isContextual || terminalIds == null)
+		{
+			return;
+		}
+
+		if (grammarTerminals != this._grammarTerminals)
+		{
+			this._terminalDefinitions =
+				new long[grammarTerminals.getTerminalsCount()];
+
+			for (int id = 0; id < this._terminalDefinitions.length; id++)
+			{
+				this._terminalDefinitions[id] =
+					this.getTerminalDefinitions(grammarTerminals, id);
+			}
+
+			this._grammarTerminals = grammarTerminals;
+		}
+
+		long expectedDefinitions = 0;
+
+		for (int id = terminalIds.nextSetBit(0); id >= 0
+			&& id < this._terminalDefinitions.length; id =
+			terminalIds.nextSetBit(id + 1))
+		{
+			expectedDefinitions |= this._terminalDefinitions[id];
+		}
+
+		// None of the expected terminals can be lexed, so the token is
+		// matched as usual.
+		if (expectedDefinitions != 0)
+		{
+			this._expectedDefinitions = expectedDefinitions;
+		}
+	}
+
+	private void checkToken()
+	{
+		if (this._tokenKind == null)
+		{
+			throw new IllegalStateException(
+				"Cursor is not positioned on a token.");
+		}
+	}
+
+	/**
+	 * Reads the next portion of the source into the buffer. The characters
+	 * before the mark position are discarded.
+	 *
+	 * @return true, if at least one character is read, false - if the end of
+	 *         input is reached
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private boolean fillBuffer() throws IOException
+	{
+		if (this._isEndOfInput)
+		{
+			return false;
+		}
+
+		int keepFrom = this._markPosition;
+
+		if (this._tokenKind != null && this._tokenValue == null
+			&& this._tokenStart < keepFrom)
+		{
+			// The characters of the current token are going to be overwritten.
+			this._tokenValue =
+				new String(this._buffer, this._tokenStart, this._tokenLength);
+		}
+
+		if (keepFrom > 0)
+		{
+			System.arraycopy(this._buffer, keepFrom, this._buffer, 0,
+				this._limit - keepFrom);
+
+			this._bufferOffset += keepFrom;
+			this._tokenStart -= keepFrom;
+			this._markPosition -= keepFrom;
+			this._position -= keepFrom;
+			this._limit -= keepFrom;
+		}
+
+		if (this._limit == this._buffer.length)
+		{
+			// The token is longer than the buffer.
+			this._buffer = Arrays.copyOf(this._buffer, this._buffer.length * 2);
+		}
+
+		int count;
+
+		do
+		{
+			count =
+				this._reader.read(this._buffer, this._limit,
+					this._buffer.length - this._limit);
+		}
+		while (count == 0);
+
+		if (count < 0)
+		{
+			this._isEndOfInput = true;
+
+			return false;
+		}
+
+		this._limit += count;
+
+		return true;
+	}
+
+	/**
+	 * Gets the mask of the token definitions, that can produce the terminal
+	 * with the specified id.
+	 */
+	private long getTerminalDefinitions(GrammarTerminals grammarTerminals,
+		int id)
+	{
+		long definitions = 0;
+
+		TokenKind specialKind = grammarTerminals.getSpecialKind(id);
+
+		if (specialKind != null)
+		{
+			for (int i = 0; i < this._tokenDefinitions.size(); i++)
+			{
+				if (this._tokenDefinitions.get(i).getKind() == specialKind)
+				{
+					definitions |= 1L << i;
+				}
+			}
+
+			return definitions;
+		}
+
+		String text = grammarTerminals.getTerminal(id).getText();
+
+		int state = this._dfa.getStartState();
+
+		for (int i = 0; i < text.length() && state >= 0; i++)
+		{
+			state = this._dfa.getNextState(state, text.charAt(i));
+		}
+
+		if (state >= 0)
+		{
+			definitions = this._dfa.getAcceptMask(state);
+		}
+
+		return definitions;
+	}
+
+	private void processToken() throws IOException
+	{
+		long expectedDefinitions = this._expectedDefinitions;
+
+		this.processToken(expectedDefinitions);
+
+		if (this._tokenKind == null && expectedDefinitions != -1L)
+		{
+			// The token is not expected, so it's matched as usual to be
+			// reported as the wrong one.
+			this.processToken(-1L);
+		}
+	}
+
+	/**
+	 * Finds the longest match of the token definitions from the specified
+	 * mask.
+	 *
+	 * @param definitions
+	 *            the mask of the token definitions, or -1, if all the token
+	 *            definitions have to be tried
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void processToken(long definitions) throws IOException
+	{
+		boolean isRestricted = definitions != -1L;
+
+		int state = this._dfa.getStartState();
+
+		int tokenState = -1;
+		int tokenLength = 0;
+
+		// Find the longest match in one pass.
+		for (int length = 0;; length++)
+		{
+			this._position = this._tokenStart + length;
+
+			if (this._position == this._limit && !this.fillBuffer())
+			{
+				break;
+			}
+
+			state =
+				this._dfa.getNextState(state, this._buffer[this._tokenStart
+					+ length]);
+
+			if (state < 0)
+			{
+				break;
+			}
+
+			if (isRestricted ? (this._dfa.getAcceptMask(state) & definitions) != 0
+				: this._dfa.getAcceptId(state) >= 0)
+			{
+				tokenState = state;
+				tokenLength = length + 1;
+			}
+
+			// None of the token definitions can be matched any further.
+			if (isRestricted
+				&& (this._dfa.getReachableAcceptMask(state) & definitions) == 0)
+			{
+				break;
+			}
+		}
+
+		if (tokenState < 0)
+		{
+			return;
+		}
+
+		this._tokenLength = tokenLength;
+
+		int acceptId = this._dfa.getAcceptId(tokenState);
+
+		if (isRestricted)
+		{
+			// The first of the token definitions, that are expected.
+			acceptId =
+				Long.numberOfTrailingZeros(this._dfa.getAcceptMask(tokenState)
+					& definitions);
+		}
+
+		if (this._dfa.isKeywordState(tokenState))
+		{
+			this._tokenKind = TokenKind.Keyword;
+		}
+		else
+		{
+			this._tokenKind = this._tokenDefinitions.get(acceptId).getKind();
+		}
+	}
+
+	private void processTokenWithPatterns() throws IOException
+	{
+		while (true)
+		{
+			CharBuffer matchSequence =
+				CharBuffer.wrap(this._buffer, this._tokenStart, this._limit
+					- this._tokenStart);
+
+			TokenKind tokenKind = null;
+			int tokenLength = 0;
+
+			boolean needsMoreInput = false;
+
+			for (TokenDefinition definition : this._tokenDefinitions)
+			{
+				Matcher matcher =
+					definition.getRepresentation().matcher(matchSequence);
+
+				boolean isFound = matcher.lookingAt();
+
+				if (matcher.hitEnd())
+				{
+					needsMoreInput = true;
+				}
+
+				if (isFound && (tokenKind == null || matcher.end() > tokenLength))
+				{
+					tokenKind = definition.getKind();
+					tokenLength = matcher.end();
+				}
+			}
+
+			if (needsMoreInput)
+			{
+				this._position = this._limit;
+
+				if (this.fillBuffer())
+				{
+					continue;
+				}
+			}
+
+			if (tokenKind != null
+				&& this._keywordClassifier.classify(matchSequence, 0,
+					tokenLength) >= 0)
+			{
+				tokenKind = TokenKind.Keyword;
+			}
+
+			this._tokenKind = tokenKind;
+			this._tokenLength = tokenLength;
+
+			return;
+		}
+	}
+}
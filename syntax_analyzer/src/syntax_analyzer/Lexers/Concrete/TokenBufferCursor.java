@@ -0,0 +1,143 @@
+package syntax_analyzer.Lexers.Concrete;
+
+import grammar_parser.Utils.Guard;
+
+import java.util.BitSet;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.KeywordClassifier;
+import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
+
+/**
+ * The token cursor over the tokens, that are already parsed into the token
+ * buffer.
+ */
+public class TokenBufferCursor implements ITokenCursor
+{
+	private int _index;
+
+	private final TokenBuffer _tokens;
+
+	/**
+	 * Instantiates a new token buffer cursor.
+	 *
+	 * @param tokens
+	 *            the tokens
+	 */
+	public TokenBufferCursor(TokenBuffer tokens)
+	{
+		Guard.notNull(tokens, "tokens");
+
+		this._tokens = tokens;
+
+		this._index = -1;
+	}
+
+	@Override
+	public int classify(KeywordClassifier keywordClassifier)
+	{
+		this.checkToken();
+
+		return this._tokens.classify(this._index, keywordClassifier);
+	}
+
+	@Override
+	public void close()
+	{
+	}
+
+	@Override
+	public TokenKind getKind()
+	{
+		this.checkToken();
+
+		return this._tokens.getKind(this._index);
+	}
+
+	@Override
+	public int getLength()
+	{
+		this.checkToken();
+
+		return this._tokens.getLength(this._index);
+	}
+
+	@Override
+	public int getOffset()
+	{
+		this.checkToken();
+
+		return this._tokens.getOffset(this._index);
+	}
+
+	@Override
+	public int getSymbolId()
+	{
+		this.checkToken();
+
+		return this._tokens.getSymbolId(this._index);
+	}
+
+	@Override
+	public int getTerminalId(GrammarTerminals grammarTerminals)
+	{
+		this.checkToken();
+
+		return this._tokens.getTerminalId(this._index, grammarTerminals);
+	}
+
+	@Override
+	public Token getToken()
+	{
+		this.checkToken();
+
+		return this._tokens.getToken(this._index);
+	}
+
+	@Override
+	public String getValue()
+	{
+		this.checkToken();
+
+		return this._tokens.getValue(this._index);
+	}
+
+	@Override
+	public boolean isContextual()
+	{
+		// The tokens are already parsed.
+		return false;
+	}
+
+	@Override
+	public boolean moveNext()
+	{
+		if (this._index + 1 >= this._tokens.getCount())
+		{
+			return false;
+		}
+
+		this._index++;
+
+		return true;
+	}
+
+	@Override
+	public void setExpectedTerminals(GrammarTerminals grammarTerminals,
+		BitSet terminalIds)
+	{
+		Guard.notNull(grammarTerminals, "grammarTerminals");
+	}
+
+	private void checkToken()
+	{
+		if (this._index < 0)
+		{
+			throw new IllegalStateException(
+				"Cursor is not positioned on a token.");
+		}
+	}
+}
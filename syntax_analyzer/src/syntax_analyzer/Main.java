@@ -26,15 +26,22 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import syntax_analyzer.Analyzers.Abstract.IGeneratedSyntaxAnalyzer;
 import syntax_analyzer.Analyzers.Abstract.ISyntaxAnalyzer;
 import syntax_analyzer.Analyzers.Concrete.SyntaxAnalyzer;
 import syntax_analyzer.Lexers.Abstract.IPrimitiveLanguageLexer;
 import syntax_analyzer.Lexers.Concrete.PrimitiveLanguageLexer;
+import syntax_analyzer.Models.CompiledControlTable;
 import syntax_analyzer.Models.SyntaxAnalyzerResult;
 import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
+import syntax_analyzer.Services.Abstract.ICompiledControlTableStorageService;
+import syntax_analyzer.Services.Concrete.CompiledControlTableStorageService;
 
 public class Main
 {
+	private static ICompiledControlTableStorageService _compiledControlTableStorageService;
+
 	private static IControlTableBuildingService _controlTableBuildingService;
 
 	private static IGrammarLexer _grammarLexer;
@@ -54,60 +61,75 @@ public class Main
 			// Read all lines from grammar file.
 			String source = Main.readAllLinesFromFile(args[0]);
 
-			// Parse the list of nodes from the source.
-			Main._grammarLexer.setSource(source);
-
-			List<Node> nodes = Main._grammarLexer.parse();
-
-			Main.printNodes(nodes);
-
-			// Parse the grammar from the list of nodes.
-			Main._grammarParser.setNodes(nodes);
-
-			Grammar grammar = Main._grammarParser.parse();
-
-			Main.printGrammar(grammar);
-
-			// Get the rightRecursiveRules.
-			Set<Rule> rightRecursiveRules =
-				Main._grammarService.getRightRecursiveRules(grammar);
+			// Create SyntaxAnalyzer
+			ISyntaxAnalyzer syntaxAnalyzer =
+				new SyntaxAnalyzer(Main._controlTableBuildingService,
+					Main._grammarService);
 
-			Main.printRightRecursiveRules(rightRecursiveRules);
+			// Load the compiledControlTable, that is saved by the previous run.
+			Path compiledControlTablePath =
+				Main._compiledControlTableStorageService
+						.getCompiledControlTablePath(Paths.get(args[0]));
 
-			// Get the firstSetDictionary.
-			Map<Node, Set<Word>> firstSetDictionary =
-				Main._grammarService.getFirstSetDictionary(grammar);
+			CompiledControlTable compiledControlTable =
+				Main._compiledControlTableStorageService.load(
+					compiledControlTablePath, source,
+					syntaxAnalyzer.getSpecialNodesMap());
 
-			Main.printFirstSetDictionary(firstSetDictionary);
+			if (compiledControlTable == null)
+			{
+				compiledControlTable =
+					Main.compileControlTable(source, syntaxAnalyzer);
 
-			// Get the followSetDictionary.
-			Map<Node, Set<Word>> followSetDictionary =
-				Main._grammarService.getFollowSetDictionary(grammar);
+				// The analysis doesn't need the saved table, so it goes on
+				// without it.
+				try
+				{
+					Main._compiledControlTableStorageService.save(
+						compiledControlTablePath, source, compiledControlTable);
+				}
+				catch (IOException exception)
+				{
+					System.err.println(String.format(
+						"Warning: compiledControlTable can't be saved to %1$s: %2$s",
+						compiledControlTablePath, exception));
+				}
+			}
+			else
+			{
+				System.out.println(String.format(
+					"----- Loaded from: %1$s -----", compiledControlTablePath));
+			}
 
-			Main.printFollowSetDictionary(followSetDictionary);
+			syntaxAnalyzer.setCompiledControlTable(compiledControlTable);
 
-			// Get the controlTable.
-			Map<ControlTableItem, Rule> controlTable =
-				Main._controlTableBuildingService.buildControlTable(grammar);
+			Main.printCompiledControlTable(compiledControlTable);
 
-			Main.printControlTable(controlTable);
+			// Run the generated SyntaxAnalyzer, which class is specified by the
+			// optional third argument, instead of the compiledControlTable.
+			if (args.length > 2)
+			{
+				syntaxAnalyzer.setGeneratedSyntaxAnalyzer(Class.forName(args[2])
+						.asSubclass(IGeneratedSyntaxAnalyzer.class)
+						.getDeclaredConstructor().newInstance());
 
-			// Read all lines from sourceCode file.
-			source = Main.readAllLinesFromFile(args[1]);
+				System.out.println(String.format(
+					"%1$s----- Generated SyntaxAnalyzer: %2$s -----",
+					System.getProperty("line.separator"), args[2]));
+			}
 
-			// Parse the list of tokens from the source.
-			Main._primitiveLanguageLexer.setSource(source);
+			// Tag the tokens with the ids of the terminals of the grammar.
+			Main._primitiveLanguageLexer.setGrammarTerminals(syntaxAnalyzer
+				.getGrammarTerminals());
 
-			List<Token> tokens = Main._primitiveLanguageLexer.parse();
+			// Parse the tokens from the memory-mapped sourceCode file.
+			TokenBuffer tokens =
+				Main._primitiveLanguageLexer.parse(Paths.get(args[1]),
+					StandardCharsets.UTF_8);
 
 			Main.printTokens(tokens);
 
-			// Create SyntaxAnalyzer
-			ISyntaxAnalyzer syntaxAnalyzer =
-				new SyntaxAnalyzer(Main._controlTableBuildingService);
-
-			syntaxAnalyzer.setGrammar(grammar);
-			syntaxAnalyzer.setTokens(tokens);
+			syntaxAnalyzer.setTokenBuffer(tokens);
 
 			// Run the SyntaxAnalyzer
 			SyntaxAnalyzerResult syntaxAnalyzerResult = syntaxAnalyzer.run();
@@ -121,6 +143,54 @@ public class Main
 		}
 	}
 
+	private static CompiledControlTable compileControlTable(String source,
+		ISyntaxAnalyzer syntaxAnalyzer) throws Exception
+	{
+		// Parse the list of nodes from the source.
+		Main._grammarLexer.setSource(source);
+
+		List<Node> nodes = Main._grammarLexer.parse();
+
+		Main.printNodes(nodes);
+
+		// Parse the grammar from the list of nodes.
+		Main._grammarParser.setNodes(nodes);
+
+		Grammar grammar = Main._grammarParser.parse();
+
+		Main.printGrammar(grammar);
+
+		// Get the rightRecursiveRules.
+		Set<Rule> rightRecursiveRules =
+			Main._grammarService.getRightRecursiveRules(grammar);
+
+		Main.printRightRecursiveRules(rightRecursiveRules);
+
+		// Get the firstSetDictionary.
+		Map<Node, Set<Word>> firstSetDictionary =
+			Main._grammarService.getFirstSetDictionary(grammar);
+
+		Main.printFirstSetDictionary(firstSetDictionary);
+
+		// Get the followSetDictionary.
+		Map<Node, Set<Word>> followSetDictionary =
+			Main._grammarService.getFollowSetDictionary(grammar);
+
+		Main.printFollowSetDictionary(followSetDictionary);
+
+		// Get the controlTable.
+		Map<ControlTableItem, Rule> controlTable =
+			Main._controlTableBuildingService.buildControlTable(grammar);
+
+		Main.printControlTable(controlTable);
+
+		syntaxAnalyzer.setGrammar(grammar);
+
+		// Compile the controlTable.
+		return new CompiledControlTable(grammar, controlTable,
+			syntaxAnalyzer.getGrammarTerminals());
+	}
+
 	private static void init() throws Exception
 	{
 		Main._grammarLexer = new GrammarLexer();
@@ -132,6 +202,9 @@ public class Main
 		Main._controlTableBuildingService =
 			new ControlTableBuildingService(Main._grammarService);
 
+		Main._compiledControlTableStorageService =
+			new CompiledControlTableStorageService();
+
 		Main._primitiveLanguageLexer = new PrimitiveLanguageLexer();
 	}
 
@@ -147,6 +220,33 @@ public class Main
 		return resultString;
 	}
 
+	private static void printCompiledControlTable(
+		CompiledControlTable compiledControlTable)
+	{
+		System.out.println(String.format(
+			"%1$s----- Compiled table: -----%1$s",
+			System.getProperty("line.separator")));
+
+		System.out.println(String.format("Nonterminals: %1$s, columns: %2$s",
+			compiledControlTable.getNonterminalsCount(),
+			compiledControlTable.getColumnsCount()));
+
+		System.out.println(String.format("Filled cells: %1$s of %2$s",
+			compiledControlTable.getCellsCount(),
+			compiledControlTable.getNonterminalsCount()
+				* compiledControlTable.getColumnsCount()));
+
+		System.out.println(String.format("Slots: %1$s",
+			compiledControlTable.getSlotsCount()));
+
+		System.out.println(String.format("Compression ratio: %1$.2f",
+			compiledControlTable.getCompressionRatio()));
+
+		// The base of the row, then the check and the rule of the slot, that
+		// lie next to each other.
+		System.out.println("Array loads per lookup: 3");
+	}
+
 	private static void printControlTable(
 		Map<ControlTableItem, Rule> controlTable)
 	{
@@ -274,23 +374,25 @@ public class Main
 				System.out
 						.println(String
 								.format(
-									"Error near the token with value \"%1$s\" and offset \"%2$s\".",
+									"Error near the token with value \"%1$s\" and offset \"%2$s\" (line %3$s, column %4$s).",
 									wrongToken.getValue(), wrongToken
-											.getLocation().getOffset()));
+											.getLocation().getOffset(),
+									syntaxAnalyzerResult.getWrongTokenLine(),
+									syntaxAnalyzerResult.getWrongTokenColumn()));
 			}
 		}
 
 	}
 
-	private static void printTokens(List<Token> tokens)
+	private static void printTokens(TokenBuffer tokens)
 	{
 		System.out.println(String.format("%1$s----- Tokens: -----%1$s",
 			System.getProperty("line.separator")));
 
-		for (Token token : tokens)
+		for (int i = 0, count = tokens.getCount(); i < count; i++)
 		{
-			System.out.println(String.format("%1$s (%2$s)", token.getValue(),
-				token.getKind().name()));
+			System.out.println(String.format("%1$s (%2$s)",
+				tokens.getValue(i), tokens.getKind(i).name()));
 		}
 	}
 
@@ -0,0 +1,123 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Utils.Guard;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The view of the ASCII bytes as the sequence of characters. The bytes are
+ * not copied: each byte is the character itself.
+ */
+public class AsciiCharSequence implements CharSequence
+{
+	private final ByteBuffer _bytes;
+
+	private final int _length;
+
+	private final int _offset;
+
+	public AsciiCharSequence(ByteBuffer bytes)
+	{
+		this(bytes, 0, AsciiCharSequence.checkBytes(bytes).limit());
+	}
+
+	private AsciiCharSequence(ByteBuffer bytes, int offset, int length)
+	{
+		this._bytes = bytes;
+		this._offset = offset;
+		this._length = length;
+	}
+
+	/**
+	 * Checks if all the bytes between the position and the limit of the
+	 * specified buffer are ASCII characters.
+	 *
+	 * @param bytes
+	 *            the bytes
+	 * @return true, if all the bytes are ASCII characters, false - otherwise
+	 */
+	public static boolean isAscii(ByteBuffer bytes)
+	{
+		Guard.notNull(bytes, "bytes");
+
+		int index = bytes.position();
+		int limit = bytes.limit();
+
+		// Check eight bytes at once.
+		for (; index + 8 <= limit; index += 8)
+		{
+			if ((bytes.getLong(index) & 0x8080808080808080L) != 0)
+			{
+				return false;
+			}
+		}
+
+		for (; index < limit; index++)
+		{
+			if (bytes.get(index) < 0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static ByteBuffer checkBytes(ByteBuffer bytes)
+	{
+		Guard.notNull(bytes, "bytes");
+
+		if (bytes.position() != 0)
+		{
+			throw new IllegalArgumentException(
+				"Position of argument 'bytes' must be 0.");
+		}
+
+		return bytes;
+	}
+
+	@Override
+	public char charAt(int index)
+	{
+		if (index < 0 || index >= this._length)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Index '%1$s' is out of bounds.", index));
+		}
+
+		return (char) this._bytes.get(this._offset + index);
+	}
+
+	@Override
+	public int length()
+	{
+		return this._length;
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end)
+	{
+		if (start < 0 || end > this._length || start > end)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Range [%1$s, %2$s) is out of bounds.", start, end));
+		}
+
+		return new AsciiCharSequence(this._bytes, this._offset + start, end
+			- start);
+	}
+
+	@Override
+	public String toString()
+	{
+		byte[] bytes = new byte[this._length];
+
+		ByteBuffer duplicate = this._bytes.duplicate();
+
+		duplicate.position(this._offset);
+		duplicate.get(bytes);
+
+		return new String(bytes, StandardCharsets.US_ASCII);
+	}
+}
@@ -0,0 +1,660 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Models.ControlTableItem;
+import grammar_parser.Models.Grammar;
+import grammar_parser.Models.Node;
+import grammar_parser.Models.Rule;
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The control table, which nonterminals, terminals and rules are numbered.
+ * The table is compressed by the row displacement: the rows are shifted
+ * against each other, until their filled cells fall into the free slots of
+ * one array, and each slot keeps the id of its row to check the lookup. So
+ * the large sparse tables take the space of their filled cells, and the rule
+ * is still found with three array loads. The bodies of the rules are kept as
+ * the reversed arrays of the symbols, so they are pushed onto the stack as
+ * is.
+ *
+ * The symbols are the ids of the terminals, followed by the ids of the
+ * nonterminals, that are shifted by the count of the terminals. The symbol
+ * -1 stands for the node, that can't be matched by any token.
+ */
+public class CompiledControlTable
+{
+	private final int[] _bases;
+
+	private final int _cellsCount;
+
+	private final int _columnsCount;
+
+	private final int[] _entries;
+
+	private final GrammarTerminals _grammarTerminals;
+
+	private final Map<Node, Integer> _nonterminalIds;
+
+	private final Node[] _nonterminals;
+
+	private final int[][] _reversedRuleBodies;
+
+	private final BitSet[] _rowsTerminalIds;
+
+	private final Rule[] _rules;
+
+	/**
+	 * Instantiates a new compiled control table. The head node of the head
+	 * rule of the grammar gets the id 0.
+	 *
+	 * @param grammar
+	 *            the grammar
+	 * @param controlTable
+	 *            the control table of the grammar
+	 * @param grammarTerminals
+	 *            the grammar terminals, which ids are the ids of the columns
+	 */
+	public CompiledControlTable(Grammar grammar,
+		Map<ControlTableItem, Rule> controlTable,
+		GrammarTerminals grammarTerminals)
+	{
+		Guard.notNull(grammar, "grammar");
+		Guard.notNull(controlTable, "controlTable");
+		Guard.notNull(grammarTerminals, "grammarTerminals");
+
+		if (grammar.getHeadRule() == null)
+		{
+			throw new IllegalArgumentException(
+				"Grammar's headRule can't be null.");
+		}
+
+		this._grammarTerminals = grammarTerminals;
+
+		// The empty word has the column after the columns of the terminals.
+		this._columnsCount = grammarTerminals.getTerminalsCount() + 1;
+
+		List<Node> nonterminals = new ArrayList<Node>();
+
+		this._nonterminalIds = new HashMap<Node, Integer>();
+
+		CompiledControlTable.addNonterminal(grammar.getHeadRule()
+				.getHeadNode(), nonterminals, this._nonterminalIds);
+
+		for (Node node : grammar.getRulesDictionary().keySet())
+		{
+			CompiledControlTable.addNonterminal(node, nonterminals,
+				this._nonterminalIds);
+		}
+
+		List<Rule> rules = new ArrayList<Rule>();
+
+		Map<Rule, Integer> ruleIds = new HashMap<Rule, Integer>();
+
+		for (Rule rule : controlTable.values())
+		{
+			if (!ruleIds.containsKey(rule))
+			{
+				ruleIds.put(rule, rules.size());
+
+				rules.add(rule);
+
+				CompiledControlTable.addNonterminal(rule.getHeadNode(),
+					nonterminals, this._nonterminalIds);
+
+				for (Node node : rule.getNodes())
+				{
+					if (node.getKind() == NodeKind.Nonterminal)
+					{
+						CompiledControlTable.addNonterminal(node,
+							nonterminals, this._nonterminalIds);
+					}
+				}
+			}
+		}
+
+		for (ControlTableItem item : controlTable.keySet())
+		{
+			CompiledControlTable.addNonterminal(item.getNode(), nonterminals,
+				this._nonterminalIds);
+		}
+
+		this._nonterminals =
+			nonterminals.toArray(new Node[nonterminals.size()]);
+		this._rules = rules.toArray(new Rule[rules.size()]);
+
+		this._reversedRuleBodies = this.getReversedRuleBodies();
+
+		int emptyWordId = this.getEmptyWordId();
+
+		// The filled cells of the table: the id of the nonterminal, the id of
+		// the column and the id of the rule.
+		List<int[]> cells = new ArrayList<int[]>();
+
+		for (Entry<ControlTableItem, Rule> entry : controlTable.entrySet())
+		{
+			List<Node> wordNodes = entry.getKey().getWord().getNodes();
+
+			int wordId = emptyWordId;
+
+			if (wordNodes.size() == 1)
+			{
+				wordId = grammarTerminals.getTerminalId(wordNodes.get(0));
+			}
+			else if (wordNodes.size() > 1)
+			{
+				wordId = -1;
+			}
+
+			// The word can't be matched by any token.
+			if (wordId < 0)
+			{
+				continue;
+			}
+
+			cells.add(new int[] {
+				this._nonterminalIds.get(entry.getKey().getNode()), wordId,
+				ruleIds.get(entry.getValue())
+			});
+		}
+
+		Collections.sort(cells, (first, second) -> first[0] != second[0]
+			? Integer.compare(first[0], second[0])
+			: Integer.compare(first[1], second[1]));
+
+		this._cellsCount = cells.size();
+
+		int[] rowStarts = new int[this._nonterminals.length + 1];
+
+		for (int[] cell : cells)
+		{
+			rowStarts[cell[0] + 1]++;
+		}
+
+		for (int id = 0; id < this._nonterminals.length; id++)
+		{
+			rowStarts[id + 1] += rowStarts[id];
+		}
+
+		// The rows are placed into the shared array of the slots, so that
+		// their filled cells don't collide. The fullest rows are placed
+		// first, while there is the most room for them.
+		List<Integer> rowsOrder = new ArrayList<Integer>();
+
+		for (int id = 0; id < this._nonterminals.length; id++)
+		{
+			rowsOrder.add(id);
+		}
+
+		Collections.sort(rowsOrder, (first, second) -> Integer.compare(
+			rowStarts[second + 1] - rowStarts[second], rowStarts[first + 1]
+				- rowStarts[first]));
+
+		this._bases = new int[this._nonterminals.length];
+
+		BitSet occupiedSlots = new BitSet();
+
+		int slotsCount = 0;
+
+		for (int id : rowsOrder)
+		{
+			int base = 0;
+
+			if (rowStarts[id] < rowStarts[id + 1])
+			{
+				base =
+					Math.max(0, occupiedSlots.nextClearBit(0)
+						- cells.get(rowStarts[id])[1]);
+
+				while (!CompiledControlTable.canBePlaced(cells,
+					rowStarts[id], rowStarts[id + 1], base, occupiedSlots))
+				{
+					base++;
+				}
+
+				for (int i = rowStarts[id]; i < rowStarts[id + 1]; i++)
+				{
+					occupiedSlots.set(base + cells.get(i)[1]);
+				}
+			}
+
+			this._bases[id] = base;
+
+			// Any column of the row can be looked up.
+			slotsCount = Math.max(slotsCount, base + this._columnsCount);
+		}
+
+		// Each slot keeps the id of the nonterminal, that owns it, followed
+		// by the id of the rule, so both are read from the same cache line.
+		this._entries = new int[2 * slotsCount];
+
+		Arrays.fill(this._entries, -1);
+
+		for (int[] cell : cells)
+		{
+			int index = 2 * (this._bases[cell[0]] + cell[1]);
+
+			this._entries[index] = cell[0];
+			this._entries[index + 1] = cell[2];
+		}
+
+		this._rowsTerminalIds = this.getRowsTerminalIds();
+	}
+
+	/**
+	 * Instantiates a new compiled control table from its parts, that are
+	 * returned by the getters of the other table.
+	 *
+	 * @param nonterminals
+	 *            the nonterminals in the order of their ids
+	 * @param rules
+	 *            the rules in the order of their ids
+	 * @param bases
+	 *            the bases of the rows
+	 * @param entries
+	 *            the slots of the table
+	 * @param grammarTerminals
+	 *            the grammar terminals, which ids are the ids of the columns
+	 */
+	public CompiledControlTable(Node[] nonterminals, Rule[] rules,
+		int[] bases, int[] entries, GrammarTerminals grammarTerminals)
+	{
+		Guard.notNull(nonterminals, "nonterminals");
+		Guard.notNull(rules, "rules");
+		Guard.notNull(bases, "bases");
+		Guard.notNull(entries, "entries");
+		Guard.notNull(grammarTerminals, "grammarTerminals");
+
+		if (nonterminals.length == 0 || bases.length != nonterminals.length)
+		{
+			throw new IllegalArgumentException(
+				"Each nonterminal must have the base of its row.");
+		}
+
+		this._grammarTerminals = grammarTerminals;
+
+		this._columnsCount = grammarTerminals.getTerminalsCount() + 1;
+
+		this._nonterminalIds = new HashMap<Node, Integer>();
+
+		for (int id = 0; id < nonterminals.length; id++)
+		{
+			Guard.notNull(nonterminals[id], "nonterminal");
+
+			this._nonterminalIds.put(nonterminals[id], id);
+		}
+
+		this._nonterminals = nonterminals.clone();
+		this._rules = rules.clone();
+
+		this._bases = bases.clone();
+		this._entries = entries.clone();
+
+		int cellsCount = 0;
+
+		for (int id = 0; id < this._nonterminals.length; id++)
+		{
+			int base = this._bases[id];
+
+			if (base < 0 || 2 * (base + this._columnsCount) > entries.length)
+			{
+				throw new IllegalArgumentException(String.format(
+					"Row of nonterminal with id '%1$s' is out of bounds.", id));
+			}
+
+			for (int column = 0; column < this._columnsCount; column++)
+			{
+				int index = 2 * (base + column);
+
+				if (this._entries[index] == id)
+				{
+					if (this._entries[index + 1] < 0
+						|| this._entries[index + 1] >= this._rules.length)
+					{
+						throw new IllegalArgumentException(String.format(
+							"Rule with id '%1$s' doesn't exist.",
+							this._entries[index + 1]));
+					}
+
+					cellsCount++;
+				}
+			}
+		}
+
+		this._cellsCount = cellsCount;
+
+		this._reversedRuleBodies = this.getReversedRuleBodies();
+		this._rowsTerminalIds = this.getRowsTerminalIds();
+	}
+
+	/**
+	 * Adds the ids of the terminals, that have the rules in the row of the
+	 * specified nonterminal, to the specified set.
+	 *
+	 * @param nonterminalId
+	 *            the id of the nonterminal
+	 * @param terminalIds
+	 *            the set of the ids of the terminals
+	 */
+	public void addRowTerminalIds(int nonterminalId, BitSet terminalIds)
+	{
+		Guard.notNull(terminalIds, "terminalIds");
+
+		this.checkNonterminalId(nonterminalId);
+
+		terminalIds.or(this._rowsTerminalIds[nonterminalId]);
+	}
+
+	/**
+	 * Gets the bases of the rows: the index of the slot of the first column
+	 * of each row. The array is shared, so it must not be changed.
+	 *
+	 * @return the bases of the rows
+	 */
+	public int[] getBases()
+	{
+		return this._bases;
+	}
+
+	/**
+	 * Gets the count of the filled cells of the table.
+	 *
+	 * @return the count of the filled cells
+	 */
+	public int getCellsCount()
+	{
+		return this._cellsCount;
+	}
+
+	/**
+	 * Gets the count of the columns: the terminals and the empty word.
+	 *
+	 * @return the count of the columns
+	 */
+	public int getColumnsCount()
+	{
+		return this._columnsCount;
+	}
+
+	/**
+	 * Gets the ratio of the size of the dense table to the size of the
+	 * compressed one (the bases and the slots).
+	 *
+	 * @return the compression ratio
+	 */
+	public double getCompressionRatio()
+	{
+		return (double) this._nonterminals.length * this._columnsCount
+			/ (this._bases.length + this._entries.length);
+	}
+
+	/**
+	 * Gets the id of the column of the empty word. It's the count of the
+	 * terminals.
+	 *
+	 * @return the id of the column of the empty word
+	 */
+	public int getEmptyWordId()
+	{
+		return this._columnsCount - 1;
+	}
+
+	/**
+	 * Gets the slots of the table. The slot of the column of the row starts
+	 * at the index 2 * (base + column), and keeps the id of the nonterminal,
+	 * that owns the slot, followed by the id of the rule. The array is
+	 * shared, so it must not be changed.
+	 *
+	 * @return the slots of the table
+	 */
+	public int[] getEntries()
+	{
+		return this._entries;
+	}
+
+	public GrammarTerminals getGrammarTerminals()
+	{
+		return this._grammarTerminals;
+	}
+
+	/**
+	 * Gets the nonterminal with the specified id.
+	 *
+	 * @param nonterminalId
+	 *            the id of the nonterminal
+	 * @return the nonterminal
+	 */
+	public Node getNonterminal(int nonterminalId)
+	{
+		this.checkNonterminalId(nonterminalId);
+
+		return this._nonterminals[nonterminalId];
+	}
+
+	/**
+	 * Gets the id of the specified nonterminal.
+	 *
+	 * @param nonterminal
+	 *            the nonterminal
+	 * @return the id of the nonterminal, or -1, if the nonterminal doesn't
+	 *         belong to the table
+	 */
+	public int getNonterminalId(Node nonterminal)
+	{
+		Guard.notNull(nonterminal, "nonterminal");
+
+		Integer id = this._nonterminalIds.get(nonterminal);
+
+		return id == null ? -1 : id;
+	}
+
+	public int getNonterminalsCount()
+	{
+		return this._nonterminals.length;
+	}
+
+	/**
+	 * Gets the symbols of the body of the rule with the specified id in the
+	 * reversed order. The array is shared, so it must not be changed.
+	 *
+	 * @param ruleId
+	 *            the id of the rule
+	 * @return the reversed symbols of the body of the rule
+	 */
+	public int[] getReversedRuleBody(int ruleId)
+	{
+		this.checkRuleId(ruleId);
+
+		return this._reversedRuleBodies[ruleId];
+	}
+
+	/**
+	 * Gets the rule with the specified id.
+	 *
+	 * @param ruleId
+	 *            the id of the rule
+	 * @return the rule
+	 */
+	public Rule getRule(int ruleId)
+	{
+		this.checkRuleId(ruleId);
+
+		return this._rules[ruleId];
+	}
+
+	/**
+	 * Gets the id of the rule for the specified nonterminal and terminal.
+	 *
+	 * @param nonterminalId
+	 *            the id of the nonterminal
+	 * @param terminalId
+	 *            the id of the terminal, or the id of the empty word
+	 * @return the id of the rule, or -1, if there is no such rule
+	 */
+	public int getRuleId(int nonterminalId, int terminalId)
+	{
+		this.checkNonterminalId(nonterminalId);
+
+		if (terminalId < 0 || terminalId >= this._columnsCount)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Terminal with id '%1$s' doesn't exist.", terminalId));
+		}
+
+		int index = 2 * (this._bases[nonterminalId] + terminalId);
+
+		return this._entries[index] == nonterminalId ? this._entries[index + 1]
+			: -1;
+	}
+
+	public int getRulesCount()
+	{
+		return this._rules.length;
+	}
+
+	/**
+	 * Gets the count of the slots, that the rows are placed into.
+	 *
+	 * @return the count of the slots
+	 */
+	public int getSlotsCount()
+	{
+		return this._entries.length / 2;
+	}
+
+	/**
+	 * Gets the symbol of the head node of the head rule of the grammar.
+	 *
+	 * @return the start symbol
+	 */
+	public int getStartSymbol()
+	{
+		return this._columnsCount - 1;
+	}
+
+	/**
+	 * Gets the symbol of the specified node.
+	 *
+	 * @param node
+	 *            the node
+	 * @return the symbol of the node, or -1, if the node can't be matched by
+	 *         any token
+	 */
+	public int getSymbol(Node node)
+	{
+		Guard.notNull(node, "node");
+
+		if (node.getKind() == NodeKind.Terminal)
+		{
+			return this._grammarTerminals.getTerminalId(node);
+		}
+
+		if (node.getKind() == NodeKind.Nonterminal)
+		{
+			int nonterminalId = this.getNonterminalId(node);
+
+			if (nonterminalId >= 0)
+			{
+				return this.getEmptyWordId() + nonterminalId;
+			}
+		}
+
+		return -1;
+	}
+
+	private static void addNonterminal(Node node, List<Node> nonterminals,
+		Map<Node, Integer> nonterminalIds)
+	{
+		if (!nonterminalIds.containsKey(node))
+		{
+			nonterminalIds.put(node, nonterminals.size());
+
+			nonterminals.add(node);
+		}
+	}
+
+	private static boolean canBePlaced(List<int[]> cells, int fromIndex,
+		int toIndex, int base, BitSet occupiedSlots)
+	{
+		for (int i = fromIndex; i < toIndex; i++)
+		{
+			if (occupiedSlots.get(base + cells.get(i)[1]))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private void checkNonterminalId(int nonterminalId)
+	{
+		if (nonterminalId < 0 || nonterminalId >= this._nonterminals.length)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Nonterminal with id '%1$s' doesn't exist.", nonterminalId));
+		}
+	}
+
+	private void checkRuleId(int ruleId)
+	{
+		if (ruleId < 0 || ruleId >= this._rules.length)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Rule with id '%1$s' doesn't exist.", ruleId));
+		}
+	}
+
+	private int[][] getReversedRuleBodies()
+	{
+		int[][] reversedRuleBodies = new int[this._rules.length][];
+
+		for (int ruleId = 0; ruleId < this._rules.length; ruleId++)
+		{
+			List<Node> nodes = this._rules[ruleId].getNodes();
+
+			int[] body = new int[nodes.size()];
+
+			for (int i = 0; i < body.length; i++)
+			{
+				body[body.length - 1 - i] = this.getSymbol(nodes.get(i));
+			}
+
+			reversedRuleBodies[ruleId] = body;
+		}
+
+		return reversedRuleBodies;
+	}
+
+	private BitSet[] getRowsTerminalIds()
+	{
+		int emptyWordId = this.getEmptyWordId();
+
+		BitSet[] rowsTerminalIds = new BitSet[this._nonterminals.length];
+
+		for (int id = 0; id < this._nonterminals.length; id++)
+		{
+			BitSet rowTerminalIds = new BitSet(emptyWordId);
+
+			for (int terminalId = 0; terminalId < emptyWordId; terminalId++)
+			{
+				if (this._entries[2 * (this._bases[id] + terminalId)] == id)
+				{
+					rowTerminalIds.set(terminalId);
+				}
+			}
+
+			rowsTerminalIds[id] = rowTerminalIds;
+		}
+
+		return rowsTerminalIds;
+	}
+}
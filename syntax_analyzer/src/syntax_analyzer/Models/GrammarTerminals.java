@@ -0,0 +1,261 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Models.Node;
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import syntax_analyzer.Enums.TokenKind;
+
+/**
+ * The numbered terminals of the grammar. The ids of the terminals, that can
+ * be matched by the values of the tokens, are the ids of the keyword
+ * classifier, so the token is tagged with the id of its terminal without
+ * building any strings. The special terminals (like "identifier") are matched
+ * by the kinds of the tokens, unless the value of the token matches the other
+ * terminal, so the words of the grammar, that the lexer reads as the
+ * identifiers, are still matched by their values.
+ */
+public class GrammarTerminals
+{
+	private final KeywordClassifier _keywordClassifier;
+
+	private final TokenKind[] _specialKinds;
+
+	private final int[] _specialTerminalIds;
+
+	private final Map<Node, Integer> _terminalIds;
+
+	private final Node[] _terminals;
+
+	/**
+	 * Instantiates a new grammar terminals.
+	 *
+	 * @param terminals
+	 *            the terminal nodes of the grammar
+	 * @param specialNodesMap
+	 *            the map of the special terminal nodes to the kinds of the
+	 *            tokens, that match them
+	 */
+	public GrammarTerminals(Iterable<Node> terminals,
+		Map<Node, TokenKind> specialNodesMap)
+	{
+		Guard.listAndElementsNotNull(terminals, "terminals");
+		Guard.notNull(specialNodesMap, "specialNodesMap");
+
+		Set<Node> terminalNodes = new LinkedHashSet<Node>();
+
+		for (Node terminal : terminals)
+		{
+			if (terminal.getKind() != NodeKind.Terminal)
+			{
+				throw new IllegalArgumentException(String.format(
+					"Node '%1$s' is not a terminal.", terminal.getText()));
+			}
+
+			terminalNodes.add(terminal);
+		}
+
+		terminalNodes.addAll(specialNodesMap.keySet());
+
+		List<String> texts = new ArrayList<String>();
+
+		for (Node terminal : terminalNodes)
+		{
+			texts.add(terminal.getText());
+		}
+
+		this._keywordClassifier = new KeywordClassifier(texts);
+
+		// The terminals, that can't be matched by the values of the tokens,
+		// are placed after the ones, that can.
+		List<Node> otherTerminals = new ArrayList<Node>();
+
+		this._terminals = new Node[terminalNodes.size()];
+
+		for (Node terminal : terminalNodes)
+		{
+			String text = terminal.getText();
+
+			int id = this._keywordClassifier.classify(text, 0, text.length());
+
+			if (id >= 0 && this._keywordClassifier.getKeyword(id).equals(text))
+			{
+				this._terminals[id] = terminal;
+			}
+			else
+			{
+				otherTerminals.add(terminal);
+			}
+		}
+
+		int id = this._keywordClassifier.getKeywordsCount();
+
+		for (Node terminal : otherTerminals)
+		{
+			this._terminals[id++] = terminal;
+		}
+
+		this._terminalIds = new HashMap<Node, Integer>();
+
+		for (id = 0; id < this._terminals.length; id++)
+		{
+			this._terminalIds.put(this._terminals[id], id);
+		}
+
+		this._specialTerminalIds = new int[TokenKind.values().length];
+		this._specialKinds = new TokenKind[this._terminals.length];
+
+		Arrays.fill(this._specialTerminalIds, -1);
+
+		for (Entry<Node, TokenKind> entry : specialNodesMap.entrySet())
+		{
+			Guard.notNull(entry.getValue(), "specialNodesMap.value");
+
+			int terminalId = this._terminalIds.get(entry.getKey());
+
+			this._specialTerminalIds[entry.getValue().ordinal()] = terminalId;
+			this._specialKinds[terminalId] = entry.getValue();
+		}
+	}
+
+	/**
+	 * Gets the id of the terminal, that matches the specified token.
+	 *
+	 * @param kind
+	 *            the kind of the token
+	 * @param source
+	 *            the source, that contains the token
+	 * @param offset
+	 *            the offset of the token
+	 * @param length
+	 *            the length of the token
+	 * @return the id of the terminal, or -1, if the token doesn't match any
+	 *         terminal
+	 */
+	public int classify(TokenKind kind, CharSequence source, int offset,
+		int length)
+	{
+		return this.getTerminalId(kind,
+			this._keywordClassifier.classify(source, offset, length));
+	}
+
+	/**
+	 * Gets the keyword classifier, which ids are the ids of the terminals.
+	 *
+	 * @return the keyword classifier
+	 */
+	public KeywordClassifier getKeywordClassifier()
+	{
+		return this._keywordClassifier;
+	}
+
+	/**
+	 * Gets the kind of the tokens, that match the special terminal with the
+	 * specified id.
+	 *
+	 * @param id
+	 *            the id of the terminal
+	 * @return the kind of the tokens, or null, if the terminal is not special
+	 */
+	public TokenKind getSpecialKind(int id)
+	{
+		this.checkId(id);
+
+		return this._specialKinds[id];
+	}
+
+	/**
+	 * Gets the id of the special terminal, that is matched by the tokens of
+	 * the specified kind.
+	 *
+	 * @param kind
+	 *            the kind of the tokens
+	 * @return the id of the terminal, or -1, if there is no such terminal
+	 */
+	public int getSpecialTerminalId(TokenKind kind)
+	{
+		Guard.notNull(kind, "kind");
+
+		return this._specialTerminalIds[kind.ordinal()];
+	}
+
+	/**
+	 * Gets the terminal with the specified id.
+	 *
+	 * @param id
+	 *            the id of the terminal
+	 * @return the terminal
+	 */
+	public Node getTerminal(int id)
+	{
+		this.checkId(id);
+
+		return this._terminals[id];
+	}
+
+	/**
+	 * Gets the id of the specified terminal.
+	 *
+	 * @param terminal
+	 *            the terminal
+	 * @return the id of the terminal, or -1, if the terminal doesn't belong
+	 *         to the grammar
+	 */
+	public int getTerminalId(Node terminal)
+	{
+		Guard.notNull(terminal, "terminal");
+
+		Integer id = this._terminalIds.get(terminal);
+
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Gets the id of the terminal, that matches the token of the specified
+	 * kind, which value is classified as the specified keyword. The terminal,
+	 * that is matched by the value, has the priority over the special
+	 * terminal of the kind.
+	 *
+	 * @param kind
+	 *            the kind of the token
+	 * @param keywordId
+	 *            the id of the keyword of the token value, or -1, if the value
+	 *            is not a keyword
+	 * @return the id of the terminal, or -1, if the token doesn't match any
+	 *         terminal
+	 */
+	public int getTerminalId(TokenKind kind, int keywordId)
+	{
+		if (keywordId >= 0 && this._specialKinds[keywordId] == null)
+		{
+			return keywordId;
+		}
+
+		int id = this.getSpecialTerminalId(kind);
+
+		return id >= 0 ? id : keywordId;
+	}
+
+	public int getTerminalsCount()
+	{
+		return this._terminals.length;
+	}
+
+	private void checkId(int id)
+	{
+		if (id < 0 || id >= this._terminals.length)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Terminal with id '%1$s' doesn't exist.", id));
+		}
+	}
+}
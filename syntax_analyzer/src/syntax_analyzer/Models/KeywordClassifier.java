@@ -0,0 +1,301 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The case-insensitive classifier of the keywords, that is based on the
+ * perfect hash. The character of the source matches the character of the
+ * keyword, if it turns into it after the conversion to lower case, so the
+ * keywords, that contain upper case characters, are never matched. If no
+ * seed of the perfect hash is found, the keywords are looked up in the hash
+ * map.
+ */
+public class KeywordClassifier
+{
+	private static final int _maxSeed = 4096;
+
+	private final char[][] _keywords;
+
+	private final Map<String, Integer> _keywordsMap;
+
+	private final int _mask;
+
+	private final int _seed;
+
+	private final int[] _table;
+
+	/**
+	 * Instantiates a new keyword classifier. The ids of the keywords are
+	 * their indices in the sorted list of the matchable keywords.
+	 *
+	 * @param keywords
+	 *            the keywords
+	 */
+	public KeywordClassifier(Iterable<String> keywords)
+	{
+		Guard.listAndElementsNotNull(keywords, "keywords");
+
+		TreeSet<String> sortedKeywords = new TreeSet<String>();
+
+		for (String keyword : keywords)
+		{
+			if (KeywordClassifier.isMatchable(keyword))
+			{
+				sortedKeywords.add(keyword);
+			}
+		}
+
+		this._keywords = new char[sortedKeywords.size()][];
+
+		int id = 0;
+
+		for (String keyword : sortedKeywords)
+		{
+			this._keywords[id++] = keyword.toCharArray();
+		}
+
+		// Search for the seed, that gives no collisions. The table is
+		// enlarged, if there is no such seed for the current size.
+		int tableSize = 1;
+
+		while (tableSize < 2 * this._keywords.length)
+		{
+			tableSize *= 2;
+		}
+
+		int seed = 1;
+
+		int[] table = this.buildTable(seed, tableSize - 1);
+
+		while (table == null && seed < KeywordClassifier._maxSeed)
+		{
+			seed++;
+
+			if (seed % 256 == 0)
+			{
+				tableSize *= 2;
+			}
+
+			table = this.buildTable(seed, tableSize - 1);
+		}
+
+		if (table == null)
+		{
+			this._keywordsMap = new HashMap<String, Integer>();
+
+			for (id = 0; id < this._keywords.length; id++)
+			{
+				this._keywordsMap.put(new String(this._keywords[id]), id);
+			}
+		}
+		else
+		{
+			this._keywordsMap = null;
+		}
+
+		this._seed = seed;
+		this._mask = tableSize - 1;
+		this._table = table;
+	}
+
+	/**
+	 * Gets the id of the keyword, that matches the specified part of the
+	 * source.
+	 *
+	 * @param source
+	 *            the source
+	 * @param offset
+	 *            the offset of the part
+	 * @param length
+	 *            the length of the part
+	 * @return the id of the keyword, or -1, if the part is not a keyword
+	 */
+	public int classify(CharSequence source, int offset, int length)
+	{
+		if (this._keywords.length == 0)
+		{
+			return -1;
+		}
+
+		if (this._keywordsMap != null)
+		{
+			return this.classifyByMap(source, offset, length);
+		}
+
+		int hash = this._seed;
+
+		for (int i = offset, end = offset + length; i < end; i++)
+		{
+			int c = KeywordClassifier.fold(source.charAt(i));
+
+			if (c < 0)
+			{
+				return -1;
+			}
+
+			hash = (hash ^ this._seed) * 31 + c;
+		}
+
+		int id = this._table[this.getIndex(hash, length)];
+
+		if (id < 0)
+		{
+			return -1;
+		}
+
+		char[] keyword = this._keywords[id];
+
+		if (keyword.length != length)
+		{
+			return -1;
+		}
+
+		for (int i = 0; i < length; i++)
+		{
+			if (KeywordClassifier.fold(source.charAt(offset + i)) != keyword[i])
+			{
+				return -1;
+			}
+		}
+
+		return id;
+	}
+
+	/**
+	 * Gets the keyword with the specified id.
+	 *
+	 * @param id
+	 *            the id of the keyword
+	 * @return the keyword
+	 */
+	public String getKeyword(int id)
+	{
+		if (id < 0 || id >= this._keywords.length)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Keyword with id '%1$s' doesn't exist.", id));
+		}
+
+		return new String(this._keywords[id]);
+	}
+
+	public List<String> getKeywords()
+	{
+		List<String> keywords = new ArrayList<String>();
+
+		for (char[] keyword : this._keywords)
+		{
+			keywords.add(new String(keyword));
+		}
+
+		return keywords;
+	}
+
+	public int getKeywordsCount()
+	{
+		return this._keywords.length;
+	}
+
+	private int[] buildTable(int seed, int mask)
+	{
+		int[] table = new int[mask + 1];
+
+		Arrays.fill(table, -1);
+
+		for (int id = 0; id < this._keywords.length; id++)
+		{
+			char[] keyword = this._keywords[id];
+
+			int hash = seed;
+
+			// The seed is mixed into each step, so the keywords of the same
+			// length, that collide under one seed, are separated by another.
+			for (char c : keyword)
+			{
+				hash = (hash ^ seed) * 31 + c;
+			}
+
+			int index = KeywordClassifier.mix(hash, keyword.length) & mask;
+
+			if (table[index] >= 0)
+			{
+				return null;
+			}
+
+			table[index] = id;
+		}
+
+		return table;
+	}
+
+	private int classifyByMap(CharSequence source, int offset, int length)
+	{
+		StringBuilder builder = new StringBuilder(length);
+
+		for (int i = offset, end = offset + length; i < end; i++)
+		{
+			int c = KeywordClassifier.fold(source.charAt(i));
+
+			if (c < 0)
+			{
+				return -1;
+			}
+
+			builder.append((char) c);
+		}
+
+		Integer id = this._keywordsMap.get(builder.toString());
+
+		return id == null ? -1 : id;
+	}
+
+	private static int fold(char c)
+	{
+		if (c < 128)
+		{
+			return (c >= 'A' && c <= 'Z') ? c + ('a' - 'A') : c;
+		}
+
+		// This character turns into two characters in lower case.
+		if (c == '\u0130')
+		{
+			return -1;
+		}
+
+		return Character.toLowerCase(c);
+	}
+
+	private int getIndex(int hash, int length)
+	{
+		return KeywordClassifier.mix(hash, length) & this._mask;
+	}
+
+	private static boolean isMatchable(String keyword)
+	{
+		for (int i = 0, length = keyword.length(); i < length; i++)
+		{
+			if (KeywordClassifier.fold(keyword.charAt(i)) != keyword.charAt(i))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static int mix(int hash, int length)
+	{
+		hash ^= length * 0x9E3779B9;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 16;
+
+		return hash;
+	}
+}
@@ -0,0 +1,156 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Models.CharacterSet;
+import grammar_parser.Models.Dfa;
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The compiled rules of the lexer: the token definitions, the keywords, the
+ * space characters and the DFA, that is built from them. The specification
+ * is immutable, so it's built once and shared by all the threads, and each
+ * lexer, that is created from it, skips compiling the rules again.
+ */
+public class LexerSpecification
+{
+	private final Dfa _dfa;
+
+	private final GrammarTerminals _grammarTerminals;
+
+	private final KeywordClassifier _keywordClassifier;
+
+	private final Set<String> _keywords;
+
+	private final CharacterSet _spaceCharacterSet;
+
+	private final List<Character> _spaceCharacters;
+
+	private final List<TokenDefinition> _tokenDefinitions;
+
+	/**
+	 * Instantiates a new lexer specification.
+	 *
+	 * @param tokenDefinitions
+	 *            the token definitions
+	 * @param keywords
+	 *            the keywords
+	 * @param spaceCharacters
+	 *            the space characters
+	 * @param dfa
+	 *            the DFA, that is built from the token definitions and the
+	 *            keywords, or null, if the token definitions are matched one
+	 *            by one
+	 * @param grammarTerminals
+	 *            the grammar terminals, which ids the tokens are tagged with,
+	 *            or null, if the tokens are not tagged
+	 */
+	public LexerSpecification(Iterable<TokenDefinition> tokenDefinitions,
+		Iterable<String> keywords, Iterable<Character> spaceCharacters,
+		Dfa dfa, GrammarTerminals grammarTerminals)
+	{
+		Guard.listAndElementsNotNull(tokenDefinitions, "tokenDefinitions");
+		Guard.listAndElementsNotNull(keywords, "keywords");
+		Guard.listAndElementsNotNull(spaceCharacters, "spaceCharacters");
+
+		List<TokenDefinition> tokenDefinitionsList =
+			new ArrayList<TokenDefinition>();
+
+		for (TokenDefinition tokenDefinition : tokenDefinitions)
+		{
+			tokenDefinitionsList.add(tokenDefinition);
+		}
+
+		Set<String> keywordsSet = new HashSet<String>();
+
+		for (String keyword : keywords)
+		{
+			keywordsSet.add(keyword);
+		}
+
+		List<Character> spaceCharactersList = new ArrayList<Character>();
+
+		for (Character spaceCharacter : spaceCharacters)
+		{
+			spaceCharactersList.add(spaceCharacter);
+		}
+
+		this._tokenDefinitions =
+			Collections.unmodifiableList(tokenDefinitionsList);
+		this._keywords = Collections.unmodifiableSet(keywordsSet);
+		this._spaceCharacters =
+			Collections.unmodifiableList(spaceCharactersList);
+
+		this._keywordClassifier = new KeywordClassifier(this._keywords);
+		this._spaceCharacterSet = new CharacterSet(this._spaceCharacters);
+
+		this._dfa = dfa;
+		this._grammarTerminals = grammarTerminals;
+	}
+
+	/**
+	 * Gets the DFA, that is built from the token definitions and the
+	 * keywords.
+	 *
+	 * @return the DFA, or null, if the token definitions are matched one by
+	 *         one
+	 */
+	public Dfa getDfa()
+	{
+		return this._dfa;
+	}
+
+	/**
+	 * Gets the grammar terminals, which ids the tokens are tagged with.
+	 *
+	 * @return the grammar terminals, or null, if the tokens are not tagged
+	 */
+	public GrammarTerminals getGrammarTerminals()
+	{
+		return this._grammarTerminals;
+	}
+
+	public KeywordClassifier getKeywordClassifier()
+	{
+		return this._keywordClassifier;
+	}
+
+	/**
+	 * Gets the keywords. The set can't be modified.
+	 *
+	 * @return the keywords
+	 */
+	public Set<String> getKeywords()
+	{
+		return this._keywords;
+	}
+
+	public CharacterSet getSpaceCharacterSet()
+	{
+		return this._spaceCharacterSet;
+	}
+
+	/**
+	 * Gets the space characters. The list can't be modified.
+	 *
+	 * @return the space characters
+	 */
+	public List<Character> getSpaceCharacters()
+	{
+		return this._spaceCharacters;
+	}
+
+	/**
+	 * Gets the token definitions. The list can't be modified.
+	 *
+	 * @return the token definitions
+	 */
+	public List<TokenDefinition> getTokenDefinitions()
+	{
+		return this._tokenDefinitions;
+	}
+}
@@ -0,0 +1,155 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Utils.Guard;
+
+import java.util.Arrays;
+
+/**
+ * The index of the starts of the lines of the source. The index is built on
+ * the first lookup, after that the line of the offset is found with the
+ * binary search. The lines are separated by "\n", "\r\n" or "\r"; the lines
+ * and the columns are numbered starting from one.
+ */
+public class LineIndex
+{
+	private int _linesCount;
+
+	private int[] _lineStarts;
+
+	private final CharSequence _source;
+
+	/**
+	 * Instantiates a new line index.
+	 *
+	 * @param source
+	 *            the source
+	 */
+	public LineIndex(CharSequence source)
+	{
+		Guard.notNull(source, "source");
+
+		this._source = source;
+
+		this._lineStarts = null;
+		this._linesCount = 0;
+	}
+
+	/**
+	 * Gets the column of the specified offset.
+	 *
+	 * @param offset
+	 *            the offset
+	 * @return the column of the offset
+	 */
+	public int getColumn(int offset)
+	{
+		int line = this.getLine(offset);
+
+		return offset - this._lineStarts[line - 1] + 1;
+	}
+
+	/**
+	 * Gets the line of the specified offset.
+	 *
+	 * @param offset
+	 *            the offset
+	 * @return the line of the offset
+	 */
+	public int getLine(int offset)
+	{
+		if (offset < 0 || offset > this._source.length())
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Offset '%1$s' is out of the source bounds.", offset));
+		}
+
+		this.ensureIsBuilt();
+
+		int low = 0;
+		int high = this._linesCount - 1;
+
+		// Find the last line, that starts at or before the offset.
+		while (low < high)
+		{
+			int middle = (low + high + 1) >>> 1;
+
+			if (this._lineStarts[middle] <= offset)
+			{
+				low = middle;
+			}
+			else
+			{
+				high = middle - 1;
+			}
+		}
+
+		return low + 1;
+	}
+
+	/**
+	 * Gets the offset of the start of the specified line.
+	 *
+	 * @param line
+	 *            the line
+	 * @return the offset of the start of the line
+	 */
+	public int getLineStart(int line)
+	{
+		this.ensureIsBuilt();
+
+		if (line < 1 || line > this._linesCount)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Line '%1$s' doesn't exist.", line));
+		}
+
+		return this._lineStarts[line - 1];
+	}
+
+	public int getLinesCount()
+	{
+		this.ensureIsBuilt();
+
+		return this._linesCount;
+	}
+
+	public CharSequence getSource()
+	{
+		return this._source;
+	}
+
+	private synchronized void ensureIsBuilt()
+	{
+		if (this._lineStarts != null)
+		{
+			return;
+		}
+
+		int[] lineStarts = new int[16];
+		int linesCount = 1;
+
+		for (int i = 0, length = this._source.length(); i < length; i++)
+		{
+			char c = this._source.charAt(i);
+
+			if (c == '\n' || c == '\r')
+			{
+				if (c == '\r' && i + 1 < length
+					&& this._source.charAt(i + 1) == '\n')
+				{
+					i++;
+				}
+
+				if (linesCount == lineStarts.length)
+				{
+					lineStarts = Arrays.copyOf(lineStarts, linesCount * 2);
+				}
+
+				lineStarts[linesCount++] = i + 1;
+			}
+		}
+
+		this._linesCount = linesCount;
+		this._lineStarts = lineStarts;
+	}
+}
@@ -0,0 +1,378 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Utils.Guard;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import syntax_analyzer.Enums.TokenKind;
+
+/**
+ * The list of tokens, that is kept outside of the heap. The kind, offset,
+ * length and terminal id of each token are written into the direct byte
+ * buffers, that are allocated in chunks of the same size, so the tokens are
+ * neither objects nor large arrays, that the garbage collector has to scan
+ * or copy. The memory of the chunks is freed by the garbage collector, when
+ * the chunks become unreachable: closing the buffer drops its references to
+ * the chunks, but doesn't free the memory itself, so the buffers, that are
+ * created often, can exhaust the limit of the direct memory
+ * (-XX:MaxDirectMemorySize) before the collector runs.
+ */
+public class OffHeapTokenBuffer implements Closeable
+{
+	private static final int _kindPosition = 8;
+
+	private static final int _lengthPosition = 4;
+
+	private static final int _offsetPosition = 0;
+
+	private static final int _terminalIdPosition = 12;
+
+	private static final int _tokenSize = 16;
+
+	private static final TokenKind[] _tokenKinds = TokenKind.values();
+
+	private final int _chunkCapacity;
+
+	private List<ByteBuffer> _chunks;
+
+	private final int _chunkShift;
+
+	private int _count;
+
+	private GrammarTerminals _grammarTerminals;
+
+	private LineIndex _lineIndex;
+
+	private final CharSequence _source;
+
+	/**
+	 * Instantiates a new off-heap token buffer with the chunks of 65536
+	 * tokens.
+	 *
+	 * @param source
+	 *            the source, that contains the tokens
+	 */
+	public OffHeapTokenBuffer(CharSequence source)
+	{
+		this(source, 1 << 16);
+	}
+
+	/**
+	 * Instantiates a new off-heap token buffer.
+	 *
+	 * @param source
+	 *            the source, that contains the tokens
+	 * @param chunkCapacity
+	 *            the count of the tokens in one chunk (it's rounded up to the
+	 *            power of two)
+	 */
+	public OffHeapTokenBuffer(CharSequence source, int chunkCapacity)
+	{
+		Guard.notNull(source, "source");
+		Guard.moreThanZero(chunkCapacity, "chunkCapacity");
+
+		this._source = source;
+
+		this._chunkShift =
+			32 - Integer.numberOfLeadingZeros(Math.max(chunkCapacity - 1, 1));
+		this._chunkCapacity = 1 << this._chunkShift;
+
+		this._chunks = new ArrayList<ByteBuffer>();
+		this._count = 0;
+
+		this._grammarTerminals = null;
+		this._lineIndex = null;
+	}
+
+	/**
+	 * Adds the token, that is located in the source. If the grammar terminals
+	 * are set, the token is tagged with the id of its terminal.
+	 *
+	 * @param kind
+	 *            the kind of the token
+	 * @param offset
+	 *            the offset of the token in the source
+	 * @param length
+	 *            the length of the token
+	 */
+	public void add(TokenKind kind, int offset, int length)
+	{
+		Guard.notNull(kind, "kind");
+		Guard.moreOrEqualToZero(offset, "offset");
+		Guard.moreOrEqualToZero(length, "length");
+
+		if (offset + length > this._source.length())
+		{
+			throw new IllegalArgumentException(
+				"Location of the token is out of the source bounds.");
+		}
+
+		int terminalId = -2;
+
+		if (this._grammarTerminals != null)
+		{
+			terminalId =
+				this._grammarTerminals.classify(kind, this._source, offset,
+					length);
+		}
+
+		this.addToken(kind, offset, length, terminalId);
+	}
+
+	/**
+	 * Adds all the tokens of the specified buffer, that is located in the
+	 * same source. If the grammar terminals are set, the tokens are tagged
+	 * with the ids of their terminals.
+	 *
+	 * @param tokens
+	 *            the tokens
+	 */
+	public void addAll(TokenBuffer tokens)
+	{
+		Guard.notNull(tokens, "tokens");
+
+		if (tokens.getSource() != this._source)
+		{
+			throw new IllegalArgumentException(
+				"Buffers must have the same source.");
+		}
+
+		for (int i = 0, count = tokens.getCount(); i < count; i++)
+		{
+			int terminalId = -2;
+
+			if (this._grammarTerminals != null)
+			{
+				// The tags of the buffer are used, if they are for the same
+				// terminals.
+				terminalId = tokens.getTerminalId(i, this._grammarTerminals);
+			}
+
+			this.addToken(tokens.getKind(i), tokens.getOffset(i),
+				tokens.getLength(i), terminalId);
+		}
+	}
+
+	/**
+	 * Gets the id of the keyword, that matches the value of the token with
+	 * the specified index. The value is not materialized.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @param keywordClassifier
+	 *            the keyword classifier
+	 * @return the id of the keyword, or -1, if the value is not a keyword
+	 */
+	public int classify(int index, KeywordClassifier keywordClassifier)
+	{
+		Guard.notNull(keywordClassifier, "keywordClassifier");
+
+		return keywordClassifier.classify(this._source, this.getOffset(index),
+			this.getLength(index));
+	}
+
+	/**
+	 * Drops the references to all the chunks of the buffer, so their memory
+	 * can be freed by the garbage collector. The buffer can't be used after
+	 * that.
+	 */
+	@Override
+	public void close()
+	{
+		this._chunks = null;
+		this._count = 0;
+	}
+
+	public int getChunkCapacity()
+	{
+		return this._chunkCapacity;
+	}
+
+	public int getCount()
+	{
+		return this._count;
+	}
+
+	/**
+	 * Gets the grammar terminals, which ids the tokens are tagged with.
+	 *
+	 * @return the grammar terminals, or null, if the tokens are not tagged
+	 */
+	public GrammarTerminals getGrammarTerminals()
+	{
+		return this._grammarTerminals;
+	}
+
+	public TokenKind getKind(int index)
+	{
+		return OffHeapTokenBuffer._tokenKinds[this.getField(index,
+			OffHeapTokenBuffer._kindPosition)];
+	}
+
+	public int getLength(int index)
+	{
+		return this.getField(index, OffHeapTokenBuffer._lengthPosition);
+	}
+
+	/**
+	 * Gets the line index of the source. The index is created on the first
+	 * call.
+	 *
+	 * @return the line index
+	 */
+	public LineIndex getLineIndex()
+	{
+		if (this._lineIndex == null)
+		{
+			this._lineIndex = new LineIndex(this._source);
+		}
+
+		return this._lineIndex;
+	}
+
+	public int getOffset(int index)
+	{
+		return this.getField(index, OffHeapTokenBuffer._offsetPosition);
+	}
+
+	public CharSequence getSource()
+	{
+		return this._source;
+	}
+
+	/**
+	 * Gets the id of the terminal, that matches the token with the specified
+	 * index. If the token is tagged with the id of the specified grammar
+	 * terminals, the id is returned without classifying the token.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @param grammarTerminals
+	 *            the grammar terminals
+	 * @return the id of the terminal, or -1, if the token doesn't match any
+	 *         terminal
+	 */
+	public int getTerminalId(int index, GrammarTerminals grammarTerminals)
+	{
+		Guard.notNull(grammarTerminals, "grammarTerminals");
+
+		if (grammarTerminals == this._grammarTerminals)
+		{
+			int terminalId =
+				this.getField(index, OffHeapTokenBuffer._terminalIdPosition);
+
+			if (terminalId != -2)
+			{
+				return terminalId;
+			}
+		}
+
+		return grammarTerminals.classify(this.getKind(index), this._source,
+			this.getOffset(index), this.getLength(index));
+	}
+
+	/**
+	 * Gets the token with the specified index. The token is created on each
+	 * call.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @return the token
+	 */
+	public Token getToken(int index)
+	{
+		return new Token(this.getKind(index), this._source,
+			this.getOffset(index), this.getLength(index));
+	}
+
+	/**
+	 * Gets the value of the token with the specified index.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @return the value of the token
+	 */
+	public String getValue(int index)
+	{
+		int offset = this.getOffset(index);
+
+		return this._source.subSequence(offset, offset + this.getLength(index))
+				.toString();
+	}
+
+	/**
+	 * Sets the grammar terminals, which ids the added tokens are tagged with.
+	 * The tokens, that are already added, are not tagged.
+	 *
+	 * @param grammarTerminals
+	 *            the new grammar terminals, or null, if the tokens should not
+	 *            be tagged
+	 */
+	public void setGrammarTerminals(GrammarTerminals grammarTerminals)
+	{
+		this.checkIsOpen();
+
+		if (this._count > 0)
+		{
+			throw new IllegalStateException(
+				"Grammar terminals can't be changed after the tokens are added.");
+		}
+
+		this._grammarTerminals = grammarTerminals;
+	}
+
+	private void addToken(TokenKind kind, int offset, int length,
+		int terminalId)
+	{
+		this.checkIsOpen();
+
+		int position = this._count & (this._chunkCapacity - 1);
+
+		if (position == 0)
+		{
+			this._chunks.add(ByteBuffer.allocateDirect(
+				this._chunkCapacity * OffHeapTokenBuffer._tokenSize).order(
+				ByteOrder.nativeOrder()));
+		}
+
+		ByteBuffer chunk = this._chunks.get(this._chunks.size() - 1);
+
+		position *= OffHeapTokenBuffer._tokenSize;
+
+		chunk.putInt(position + OffHeapTokenBuffer._offsetPosition, offset);
+		chunk.putInt(position + OffHeapTokenBuffer._lengthPosition, length);
+		chunk.putInt(position + OffHeapTokenBuffer._kindPosition, kind.ordinal());
+		chunk.putInt(position + OffHeapTokenBuffer._terminalIdPosition,
+			terminalId);
+
+		this._count++;
+	}
+
+	private void checkIsOpen()
+	{
+		if (this._chunks == null)
+		{
+			throw new IllegalStateException("Buffer is closed.");
+		}
+	}
+
+	private int getField(int index, int position)
+	{
+		this.checkIsOpen();
+
+		if (index < 0 || index >= this._count)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Index '%1$s' is out of bounds.", index));
+		}
+
+		ByteBuffer chunk = this._chunks.get(index >>> this._chunkShift);
+
+		return chunk.getInt((index & (this._chunkCapacity - 1))
+			* OffHeapTokenBuffer._tokenSize + position);
+	}
+}
@@ -0,0 +1,222 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Utils.Guard;
+
+import java.util.Arrays;
+
+/**
+ * The table of the interned symbols. Each distinct symbol is stored once and
+ * is identified by its id, so the symbols can be compared as integers. The
+ * ids are assigned in the order of interning, starting from zero.
+ */
+public class SymbolTable
+{
+	private int _count;
+
+	private int[] _hashes;
+
+	private int[] _slots;
+
+	private String[] _symbols;
+
+	/**
+	 * Instantiates a new empty symbol table.
+	 */
+	public SymbolTable()
+	{
+		this._count = 0;
+
+		this._symbols = new String[16];
+		this._hashes = new int[16];
+
+		this._slots = new int[32];
+
+		Arrays.fill(this._slots, -1);
+	}
+
+	/**
+	 * Gets the id of the symbol, that is equal to the specified part of the
+	 * source.
+	 *
+	 * @param source
+	 *            the source
+	 * @param offset
+	 *            the offset of the part
+	 * @param length
+	 *            the length of the part
+	 * @return the id of the symbol, or -1, if the symbol is not interned
+	 */
+	public synchronized int find(CharSequence source, int offset, int length)
+	{
+		this.checkBounds(source, offset, length);
+
+		int hash = SymbolTable.getHash(source, offset, length);
+
+		return this._slots[this.getSlot(hash, source, offset, length)];
+	}
+
+	public synchronized int getCount()
+	{
+		return this._count;
+	}
+
+	/**
+	 * Gets the symbol with the specified id.
+	 *
+	 * @param id
+	 *            the id of the symbol
+	 * @return the symbol
+	 */
+	public synchronized String getSymbol(int id)
+	{
+		if (id < 0 || id >= this._count)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Symbol with id '%1$s' doesn't exist.", id));
+		}
+
+		return this._symbols[id];
+	}
+
+	/**
+	 * Interns the symbol, that is equal to the specified part of the source.
+	 * The symbol is added to the table only if it isn't interned yet.
+	 *
+	 * @param source
+	 *            the source
+	 * @param offset
+	 *            the offset of the part
+	 * @param length
+	 *            the length of the part
+	 * @return the id of the symbol
+	 */
+	public synchronized int intern(CharSequence source, int offset, int length)
+	{
+		this.checkBounds(source, offset, length);
+
+		int hash = SymbolTable.getHash(source, offset, length);
+
+		int slot = this.getSlot(hash, source, offset, length);
+
+		if (this._slots[slot] >= 0)
+		{
+			return this._slots[slot];
+		}
+
+		int id = this._count;
+
+		if (id == this._symbols.length)
+		{
+			this._symbols = Arrays.copyOf(this._symbols, id * 2);
+			this._hashes = Arrays.copyOf(this._hashes, id * 2);
+		}
+
+		this._symbols[id] =
+			source.subSequence(offset, offset + length).toString();
+		this._hashes[id] = hash;
+
+		this._slots[slot] = id;
+
+		this._count++;
+
+		// The load factor of the table is kept below 1/2.
+		if (2 * this._count > this._slots.length)
+		{
+			this.rehash();
+		}
+
+		return id;
+	}
+
+	private void checkBounds(CharSequence source, int offset, int length)
+	{
+		Guard.notNull(source, "source");
+		Guard.moreOrEqualToZero(offset, "offset");
+		Guard.moreOrEqualToZero(length, "length");
+
+		if (offset + length > source.length())
+		{
+			throw new IllegalArgumentException(
+				"Symbol is out of the source bounds.");
+		}
+	}
+
+	private static int getHash(CharSequence source, int offset, int length)
+	{
+		int hash = 0;
+
+		for (int i = offset, end = offset + length; i < end; i++)
+		{
+			hash = hash * 31 + source.charAt(i);
+		}
+
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Gets the slot, that contains the id of the specified symbol, or the
+	 * empty slot, where the id has to be placed.
+	 */
+	private int getSlot(int hash, CharSequence source, int offset, int length)
+	{
+		int mask = this._slots.length - 1;
+
+		int slot = hash & mask;
+
+		while (this._slots[slot] >= 0)
+		{
+			int id = this._slots[slot];
+
+			if (this._hashes[id] == hash
+				&& SymbolTable.isEqual(this._symbols[id], source, offset,
+					length))
+			{
+				break;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		return slot;
+	}
+
+	private static boolean isEqual(String symbol, CharSequence source,
+		int offset, int length)
+	{
+		if (symbol.length() != length)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < length; i++)
+		{
+			if (symbol.charAt(i) != source.charAt(offset + i))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private void rehash()
+	{
+		this._slots = new int[this._slots.length * 2];
+
+		Arrays.fill(this._slots, -1);
+
+		int mask = this._slots.length - 1;
+
+		for (int id = 0; id < this._count; id++)
+		{
+			int slot = this._hashes[id] & mask;
+
+			while (this._slots[slot] >= 0)
+			{
+				slot = (slot + 1) & mask;
+			}
+
+			this._slots[slot] = id;
+		}
+	}
+}
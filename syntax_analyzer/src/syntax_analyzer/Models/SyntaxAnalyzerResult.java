@@ -4,12 +4,42 @@ public class SyntaxAnalyzerResult
 {
 	private final boolean _isSyntaxValid;
 
+	private final LineIndex _lineIndex;
+
 	private final Token _wrongToken;
 
 	public SyntaxAnalyzerResult(boolean isSyntaxValid, Token wrongToken)
+	{
+		this(isSyntaxValid, wrongToken, null);
+	}
+
+	/**
+	 * Instantiates a new syntax analyzer result.
+	 *
+	 * @param isSyntaxValid
+	 *            the flag, that indicates whether the syntax is valid
+	 * @param wrongToken
+	 *            the wrong token
+	 * @param lineIndex
+	 *            the line index of the source, or null, if the source is
+	 *            unknown
+	 */
+	public SyntaxAnalyzerResult(boolean isSyntaxValid, Token wrongToken,
+		LineIndex lineIndex)
 	{
 		this._isSyntaxValid = isSyntaxValid;
 		this._wrongToken = wrongToken;
+		this._lineIndex = lineIndex;
+	}
+
+	/**
+	 * Gets the line index of the source.
+	 *
+	 * @return the line index, or null, if the source is unknown
+	 */
+	public LineIndex getLineIndex()
+	{
+		return this._lineIndex;
 	}
 
 	public Token getWrongToken()
@@ -17,6 +47,40 @@ public class SyntaxAnalyzerResult
 		return this._wrongToken;
 	}
 
+	/**
+	 * Gets the column of the wrong token.
+	 *
+	 * @return the column of the wrong token, or -1, if there is no wrong
+	 *         token or the source is unknown
+	 */
+	public int getWrongTokenColumn()
+	{
+		if (this._wrongToken == null || this._lineIndex == null)
+		{
+			return -1;
+		}
+
+		return this._lineIndex.getColumn(this._wrongToken.getLocation()
+				.getOffset());
+	}
+
+	/**
+	 * Gets the line of the wrong token.
+	 *
+	 * @return the line of the wrong token, or -1, if there is no wrong token
+	 *         or the source is unknown
+	 */
+	public int getWrongTokenLine()
+	{
+		if (this._wrongToken == null || this._lineIndex == null)
+		{
+			return -1;
+		}
+
+		return this._lineIndex.getLine(this._wrongToken.getLocation()
+				.getOffset());
+	}
+
 	public boolean isSyntaxValid()
 	{
 		return this._isSyntaxValid;
@@ -0,0 +1,87 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Utils.Guard;
+
+public class TextEdit
+{
+	private final String _insertedText;
+
+	private final int _offset;
+
+	private final int _removedLength;
+
+	/**
+	 * Instantiates a new text edit.
+	 *
+	 * @param offset
+	 *            the offset of the edit
+	 * @param removedLength
+	 *            the length of the removed text
+	 * @param insertedText
+	 *            the inserted text
+	 */
+	public TextEdit(int offset, int removedLength, String insertedText)
+	{
+		Guard.moreOrEqualToZero(offset, "offset");
+		Guard.moreOrEqualToZero(removedLength, "removedLength");
+		Guard.notNull(insertedText, "insertedText");
+
+		this._offset = offset;
+		this._removedLength = removedLength;
+		this._insertedText = insertedText;
+	}
+
+	/**
+	 * Applies the edit to the specified text.
+	 *
+	 * @param text
+	 *            the text
+	 * @return the edited text
+	 */
+	public String applyTo(CharSequence text)
+	{
+		Guard.notNull(text, "text");
+
+		if (this._offset + this._removedLength > text.length())
+		{
+			throw new IllegalArgumentException(
+				"Edit is out of the text bounds.");
+		}
+
+		StringBuilder stringBuilder =
+			new StringBuilder(text.length() + this.getLengthDelta());
+
+		stringBuilder.append(text, 0, this._offset);
+		stringBuilder.append(this._insertedText);
+		stringBuilder.append(text, this._offset + this._removedLength,
+			text.length());
+
+		return stringBuilder.toString();
+	}
+
+	public String getInsertedText()
+	{
+		return this._insertedText;
+	}
+
+	/**
+	 * Gets the difference between the lengths of the edited and the
+	 * original texts.
+	 *
+	 * @return the length delta
+	 */
+	public int getLengthDelta()
+	{
+		return this._insertedText.length() - this._removedLength;
+	}
+
+	public int getOffset()
+	{
+		return this._offset;
+	}
+
+	public int getRemovedLength()
+	{
+		return this._removedLength;
+	}
+}
@@ -9,17 +9,79 @@ public class Token
 
 	private final Location location;
 
-	private final String value;
+	private final CharSequence source;
+
+	private final int symbolId;
+
+	private String value;
+
+	/**
+	 * Instantiates a new token, which value is materialized from the source
+	 * only when it is requested.
+	 *
+	 * @param kind
+	 *            the kind
+	 * @param source
+	 *            the source, that contains the token
+	 * @param offset
+	 *            the offset of the token in the source
+	 * @param length
+	 *            the length of the token
+	 */
+	public Token(TokenKind kind, CharSequence source, int offset, int length)
+	{
+		Guard.notNull(kind, "kind");
+		Guard.notNull(source, "source");
+
+		this.location = new Location(offset, length);
+
+		if (offset + length > source.length())
+		{
+			throw new IllegalArgumentException(
+				"Location of the token is out of the source bounds.");
+		}
+
+		this.source = source;
+		this.value = null;
+		this.kind = kind;
+		this.symbolId = -1;
+	}
 
 	public Token(TokenKind kind, String value, Location location)
+	{
+		this(kind, value, location, -1);
+	}
+
+	/**
+	 * Instantiates a new token, which value is interned in the symbol table.
+	 *
+	 * @param kind
+	 *            the kind
+	 * @param value
+	 *            the value
+	 * @param location
+	 *            the location
+	 * @param symbolId
+	 *            the id of the value in the symbol table, or -1, if the value
+	 *            is not interned
+	 */
+	public Token(TokenKind kind, String value, Location location, int symbolId)
 	{
 		Guard.notNull(value, "value");
 		Guard.notNull(kind, "kind");
 		Guard.notNull(location, "location");
 
+		if (symbolId < -1)
+		{
+			throw new IllegalArgumentException(String.format(
+				"Symbol id '%1$s' is invalid.", symbolId));
+		}
+
+		this.source = null;
 		this.value = value;
 		this.kind = kind;
 		this.location = location;
+		this.symbolId = symbolId;
 	}
 
 	@Override
@@ -53,14 +115,7 @@ public class Token
 		{
 			return false;
 		}
-		if (this.value == null)
-		{
-			if (other.value != null)
-			{
-				return false;
-			}
-		}
-		else if (!this.value.equals(other.value))
+		if (!this.getValue().equals(other.getValue()))
 		{
 			return false;
 		}
@@ -88,6 +143,17 @@ public class Token
 		return this.location;
 	}
 
+	/**
+	 * Gets symbol id
+	 *
+	 * @return the id of the value in the symbol table, or -1, if the value
+	 *         is not interned
+	 */
+	public int getSymbolId()
+	{
+		return this.symbolId;
+	}
+
 	/**
 	 * Gets value
 	 *
@@ -95,6 +161,15 @@ public class Token
 	 */
 	public String getValue()
 	{
+		if (this.value == null)
+		{
+			int offset = this.location.getOffset();
+
+			this.value =
+				this.source.subSequence(offset,
+					offset + this.location.getLength()).toString();
+		}
+
 		return this.value;
 	}
 
@@ -113,7 +188,7 @@ public class Token
 				+ ((this.location == null) ? 0 : this.location.hashCode());
 
 		result =
-			prime * result + ((this.value == null) ? 0 : this.value.hashCode());
+			prime * result + this.getValue().hashCode();
 
 		return result;
 	}
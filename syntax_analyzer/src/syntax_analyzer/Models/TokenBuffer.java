@@ -0,0 +1,738 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import syntax_analyzer.Enums.TokenKind;
+
+/**
+ * The compact list of tokens. The kinds, offsets and lengths of the tokens
+ * are kept in primitive arrays and the values are read from the source only
+ * when they are requested.
+ */
+public class TokenBuffer
+{
+	private static final TokenKind[] _tokenKinds = TokenKind.values();
+
+	private int _count;
+
+	private GrammarTerminals _grammarTerminals;
+
+	private byte[] _kinds;
+
+	private int[] _lengths;
+
+	private LineIndex _lineIndex;
+
+	private int[] _offsets;
+
+	private int _scanLength;
+
+	private final CharSequence _source;
+
+	private int[] _symbolIds;
+
+	private SymbolTable _symbolTable;
+
+	private int[] _terminalIds;
+
+	private String[] _values;
+
+	/**
+	 * Instantiates a new token buffer without the source. Only the tokens
+	 * with their own values can be added to it.
+	 */
+	public TokenBuffer()
+	{
+		this._source = null;
+
+		this.init();
+	}
+
+	/**
+	 * Instantiates a new token buffer.
+	 *
+	 * @param source
+	 *            the source, that contains the tokens
+	 */
+	public TokenBuffer(CharSequence source)
+	{
+		Guard.notNull(source, "source");
+
+		this._source = source;
+
+		this.init();
+	}
+
+	/**
+	 * Instantiates a new token buffer, that contains the specified tokens.
+	 *
+	 * @param tokens
+	 *            the tokens
+	 */
+	public TokenBuffer(Iterable<Token> tokens)
+	{
+		this();
+
+		Guard.notNull(tokens, "tokens");
+
+		for (Token token : tokens)
+		{
+			this.add(token);
+		}
+	}
+
+	/**
+	 * Adds the token, that is located in the source.
+	 *
+	 * @param kind
+	 *            the kind of the token
+	 * @param offset
+	 *            the offset of the token in the source
+	 * @param length
+	 *            the length of the token
+	 */
+	public void add(TokenKind kind, int offset, int length)
+	{
+		Guard.notNull(kind, "kind");
+		Guard.moreOrEqualToZero(offset, "offset");
+		Guard.moreOrEqualToZero(length, "length");
+
+		if (this._source == null)
+		{
+			throw new IllegalStateException(
+				"Token without the value can't be added to the buffer without the source.");
+		}
+
+		if (offset + length > this._source.length())
+		{
+			throw new IllegalArgumentException(
+				"Location of the token is out of the source bounds.");
+		}
+
+		this.addToken(kind, offset, length);
+	}
+
+	/**
+	 * Adds the token with its own value.
+	 *
+	 * @param token
+	 *            the token
+	 */
+	public void add(Token token)
+	{
+		Guard.notNull(token, "token");
+
+		Location location = token.getLocation();
+
+		this.addToken(token.getKind(), location.getOffset(),
+			location.getLength());
+
+		if (this._values == null)
+		{
+			this._values = new String[this._kinds.length];
+		}
+
+		this._values[this._count - 1] = token.getValue();
+
+		if (token.getSymbolId() >= 0)
+		{
+			this.setSymbolId(this._count - 1, token.getSymbolId());
+		}
+	}
+
+	/**
+	 * Adds all the tokens of the specified buffer. The buffers must have the
+	 * same source and, if the tokens have symbol ids or terminal ids, the same
+	 * symbol table or grammar terminals.
+	 *
+	 * @param tokens
+	 *            the tokens
+	 */
+	public void addAll(TokenBuffer tokens)
+	{
+		Guard.notNull(tokens, "tokens");
+
+		if (tokens._source != this._source)
+		{
+			throw new IllegalArgumentException(
+				"Buffers must have the same source.");
+		}
+
+		this.addRange(tokens, 0, tokens._count, 0);
+	}
+
+	/**
+	 * Adds the tokens of the specified buffer from the specified range. The
+	 * offsets of the tokens are shifted by the specified delta. If the tokens
+	 * have symbol ids or terminal ids, the buffers must have the same symbol
+	 * table or grammar terminals.
+	 *
+	 * @param tokens
+	 *            the tokens
+	 * @param fromIndex
+	 *            the index of the first token (inclusive)
+	 * @param toIndex
+	 *            the index of the last token (exclusive)
+	 * @param offsetDelta
+	 *            the delta of the offsets
+	 */
+	public void addRange(TokenBuffer tokens, int fromIndex, int toIndex,
+		int offsetDelta)
+	{
+		Guard.notNull(tokens, "tokens");
+
+		if (fromIndex < 0 || toIndex > tokens._count || fromIndex > toIndex)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Range [%1$s, %2$s) is out of bounds.", fromIndex, toIndex));
+		}
+
+		if (fromIndex == toIndex)
+		{
+			return;
+		}
+
+		if (tokens._offsets[fromIndex] + offsetDelta < 0
+			|| (this._source != null && tokens._offsets[toIndex - 1]
+				+ tokens._lengths[toIndex - 1] + offsetDelta > this._source
+					.length()))
+		{
+			throw new IllegalArgumentException(
+				"Location of the token is out of the source bounds.");
+		}
+
+		if (tokens._symbolIds != null
+			&& tokens._symbolTable != this._symbolTable)
+		{
+			throw new IllegalArgumentException(
+				"Buffers must have the same symbol table.");
+		}
+
+		if (tokens._terminalIds != null
+			&& tokens._grammarTerminals != this._grammarTerminals)
+		{
+			throw new IllegalArgumentException(
+				"Buffers must have the same grammar terminals.");
+		}
+
+		int count = this._count + toIndex - fromIndex;
+
+		this.ensureCapacity(count);
+
+		System.arraycopy(tokens._kinds, fromIndex, this._kinds, this._count,
+			toIndex - fromIndex);
+		System.arraycopy(tokens._lengths, fromIndex, this._lengths,
+			this._count, toIndex - fromIndex);
+
+		for (int i = fromIndex, j = this._count; i < toIndex; i++, j++)
+		{
+			this._offsets[j] = tokens._offsets[i] + offsetDelta;
+		}
+
+		if (tokens._values != null)
+		{
+			if (this._values == null)
+			{
+				this._values = new String[this._kinds.length];
+			}
+
+			System.arraycopy(tokens._values, fromIndex, this._values,
+				this._count, toIndex - fromIndex);
+		}
+
+		if (tokens._symbolIds != null)
+		{
+			this.ensureSymbolIds();
+
+			System.arraycopy(tokens._symbolIds, fromIndex, this._symbolIds,
+				this._count, toIndex - fromIndex);
+		}
+
+		if (tokens._terminalIds != null)
+		{
+			this.ensureTerminalIds();
+
+			System.arraycopy(tokens._terminalIds, fromIndex,
+				this._terminalIds, this._count, toIndex - fromIndex);
+		}
+
+		// The scan length stays unknown, if it's unknown for any part.
+		if (this._count == 0)
+		{
+			this._scanLength = tokens._scanLength;
+		}
+		else if (this._scanLength >= 0)
+		{
+			this._scanLength =
+				tokens._scanLength < 0 ? -1 : Math.max(this._scanLength,
+					tokens._scanLength);
+		}
+
+		this._count = count;
+	}
+
+	/**
+	 * Gets the id of the keyword, that matches the value of the token with
+	 * the specified index. The value is not materialized.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @param keywordClassifier
+	 *            the keyword classifier
+	 * @return the id of the keyword, or -1, if the value is not a keyword
+	 */
+	public int classify(int index, KeywordClassifier keywordClassifier)
+	{
+		this.checkIndex(index);
+
+		Guard.notNull(keywordClassifier, "keywordClassifier");
+
+		if (this._values != null && this._values[index] != null)
+		{
+			return keywordClassifier.classify(this._values[index], 0,
+				this._values[index].length());
+		}
+
+		return keywordClassifier.classify(this._source, this._offsets[index],
+			this._lengths[index]);
+	}
+
+	/**
+	 * Removes all the tokens from the buffer.
+	 */
+	public void clear()
+	{
+		this._count = 0;
+		this._scanLength = -1;
+
+		if (this._values != null)
+		{
+			Arrays.fill(this._values, null);
+		}
+
+		if (this._symbolIds != null)
+		{
+			Arrays.fill(this._symbolIds, -1);
+		}
+
+		if (this._terminalIds != null)
+		{
+			Arrays.fill(this._terminalIds, -2);
+		}
+	}
+
+	public int getCount()
+	{
+		return this._count;
+	}
+
+	/**
+	 * Gets the grammar terminals, which ids the tokens are tagged with.
+	 *
+	 * @return the grammar terminals, or null, if the tokens are not tagged
+	 */
+	public GrammarTerminals getGrammarTerminals()
+	{
+		return this._grammarTerminals;
+	}
+
+	public TokenKind getKind(int index)
+	{
+		this.checkIndex(index);
+
+		return TokenBuffer._tokenKinds[this._kinds[index]];
+	}
+
+	/**
+	 * Gets the line index of the source. The index is created on the first
+	 * call.
+	 *
+	 * @return the line index, or null, if the buffer doesn't have the source
+	 */
+	public LineIndex getLineIndex()
+	{
+		if (this._lineIndex == null && this._source != null)
+		{
+			this._lineIndex = new LineIndex(this._source);
+		}
+
+		return this._lineIndex;
+	}
+
+	public int getLength(int index)
+	{
+		this.checkIndex(index);
+
+		return this._lengths[index];
+	}
+
+	public int getOffset(int index)
+	{
+		this.checkIndex(index);
+
+		return this._offsets[index];
+	}
+
+	/**
+	 * Gets the length of the longest part of the source, that the lexer has
+	 * read to find one token, counting from the start of the token. The end
+	 * of the source counts as one more character, if it's reached.
+	 *
+	 * @return the scan length, or -1, if it's unknown
+	 */
+	public int getScanLength()
+	{
+		return this._scanLength;
+	}
+
+	/**
+	 * Gets the source.
+	 *
+	 * @return the source, or null, if the buffer doesn't have the source
+	 */
+	public CharSequence getSource()
+	{
+		return this._source;
+	}
+
+	/**
+	 * Gets the id of the interned value of the token with the specified
+	 * index.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @return the id of the value in the symbol table, or -1, if the value
+	 *         is not interned
+	 */
+	public int getSymbolId(int index)
+	{
+		this.checkIndex(index);
+
+		return this._symbolIds == null ? -1 : this._symbolIds[index];
+	}
+
+	/**
+	 * Gets the symbol table, that contains the interned values of the
+	 * tokens.
+	 *
+	 * @return the symbol table, or null, if the buffer doesn't have the
+	 *         symbol table
+	 */
+	public SymbolTable getSymbolTable()
+	{
+		return this._symbolTable;
+	}
+
+	/**
+	 * Gets the id of the terminal, that matches the token with the specified
+	 * index. If the token is tagged with the id of the specified grammar
+	 * terminals, the id is returned without classifying the token.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @param grammarTerminals
+	 *            the grammar terminals
+	 * @return the id of the terminal, or -1, if the token doesn't match any
+	 *         terminal
+	 */
+	public int getTerminalId(int index, GrammarTerminals grammarTerminals)
+	{
+		this.checkIndex(index);
+
+		Guard.notNull(grammarTerminals, "grammarTerminals");
+
+		if (grammarTerminals == this._grammarTerminals
+			&& this._terminalIds != null && this._terminalIds[index] != -2)
+		{
+			return this._terminalIds[index];
+		}
+
+		return grammarTerminals.getTerminalId(this.getKind(index), this
+			.classify(index, grammarTerminals.getKeywordClassifier()));
+	}
+
+	/**
+	 * Gets the token with the specified index. The token is created on each
+	 * call.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @return the token
+	 */
+	public Token getToken(int index)
+	{
+		this.checkIndex(index);
+
+		int symbolId = this.getSymbolId(index);
+
+		if (symbolId >= 0
+			|| (this._values != null && this._values[index] != null))
+		{
+			return new Token(this.getKind(index), this.getValue(index),
+				new Location(this._offsets[index], this._lengths[index]),
+				symbolId);
+		}
+
+		return new Token(this.getKind(index), this._source,
+			this._offsets[index], this._lengths[index]);
+	}
+
+	/**
+	 * Gets the value of the token with the specified index.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @return the value of the token
+	 */
+	public String getValue(int index)
+	{
+		this.checkIndex(index);
+
+		if (this._values != null && this._values[index] != null)
+		{
+			return this._values[index];
+		}
+
+		if (this._symbolTable != null && this.getSymbolId(index) >= 0)
+		{
+			// The interned value is shared by all the occurrences.
+			return this._symbolTable.getSymbol(this._symbolIds[index]);
+		}
+
+		int offset = this._offsets[index];
+
+		return this._source.subSequence(offset,
+			offset + this._lengths[index]).toString();
+	}
+
+	/**
+	 * Sets the grammar terminals, which ids the tokens are tagged with. The
+	 * tags of the tokens are reset.
+	 *
+	 * @param grammarTerminals
+	 *            the new grammar terminals
+	 */
+	public void setGrammarTerminals(GrammarTerminals grammarTerminals)
+	{
+		Guard.notNull(grammarTerminals, "grammarTerminals");
+
+		this._grammarTerminals = grammarTerminals;
+
+		if (this._terminalIds != null)
+		{
+			Arrays.fill(this._terminalIds, -2);
+		}
+	}
+
+	/**
+	 * Sets the length of the longest part of the source, that the lexer has
+	 * read to find one token.
+	 *
+	 * @param scanLength
+	 *            the scan length, or -1, if it's unknown
+	 */
+	public void setScanLength(int scanLength)
+	{
+		if (scanLength < -1)
+		{
+			throw new IllegalArgumentException(String.format(
+				"Scan length '%1$s' is invalid.", scanLength));
+		}
+
+		this._scanLength = scanLength;
+	}
+
+	/**
+	 * Sets the id of the interned value of the token with the specified
+	 * index.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @param symbolId
+	 *            the id of the value in the symbol table, or -1, if the value
+	 *            is not interned
+	 */
+	public void setSymbolId(int index, int symbolId)
+	{
+		this.checkIndex(index);
+
+		if (symbolId < -1)
+		{
+			throw new IllegalArgumentException(String.format(
+				"Symbol id '%1$s' is invalid.", symbolId));
+		}
+
+		this.ensureSymbolIds();
+
+		this._symbolIds[index] = symbolId;
+	}
+
+	/**
+	 * Sets the symbol table, that contains the interned values of the
+	 * tokens.
+	 *
+	 * @param symbolTable
+	 *            the new symbol table
+	 */
+	public void setSymbolTable(SymbolTable symbolTable)
+	{
+		Guard.notNull(symbolTable, "symbolTable");
+
+		this._symbolTable = symbolTable;
+	}
+
+	/**
+	 * Tags the token with the specified index with the id of the terminal,
+	 * that matches it.
+	 *
+	 * @param index
+	 *            the index of the token
+	 * @param terminalId
+	 *            the id of the terminal of the grammar terminals of the
+	 *            buffer, or -1, if the token doesn't match any terminal
+	 */
+	public void setTerminalId(int index, int terminalId)
+	{
+		this.checkIndex(index);
+
+		if (this._grammarTerminals == null)
+		{
+			throw new IllegalStateException(
+				"Grammar terminals of the buffer are not set.");
+		}
+
+		if (terminalId < -1
+			|| terminalId >= this._grammarTerminals.getTerminalsCount())
+		{
+			throw new IllegalArgumentException(String.format(
+				"Terminal id '%1$s' is invalid.", terminalId));
+		}
+
+		this.ensureTerminalIds();
+
+		this._terminalIds[index] = terminalId;
+	}
+
+	/**
+	 * Creates the list of tokens, that are contained in the buffer.
+	 *
+	 * @return the list of tokens
+	 */
+	public List<Token> toList()
+	{
+		List<Token> tokens = new ArrayList<Token>(this._count);
+
+		for (int i = 0; i < this._count; i++)
+		{
+			tokens.add(this.getToken(i));
+		}
+
+		return tokens;
+	}
+
+	private void addToken(TokenKind kind, int offset, int length)
+	{
+		this.ensureCapacity(this._count + 1);
+
+		this._kinds[this._count] = (byte) kind.ordinal();
+		this._offsets[this._count] = offset;
+		this._lengths[this._count] = length;
+
+		this._count++;
+	}
+
+	private void checkIndex(int index)
+	{
+		if (index < 0 || index >= this._count)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+				"Index '%1$s' is out of bounds.", index));
+		}
+	}
+
+	private void ensureCapacity(int count)
+	{
+		if (count <= this._kinds.length)
+		{
+			return;
+		}
+
+		int capacity = Math.max(count, this._kinds.length * 2);
+
+		this._kinds = Arrays.copyOf(this._kinds, capacity);
+		this._offsets = Arrays.copyOf(this._offsets, capacity);
+		this._lengths = Arrays.copyOf(this._lengths, capacity);
+
+		if (this._values != null)
+		{
+			this._values = Arrays.copyOf(this._values, capacity);
+		}
+
+		if (this._symbolIds != null)
+		{
+			int length = this._symbolIds.length;
+
+			this._symbolIds = Arrays.copyOf(this._symbolIds, capacity);
+
+			Arrays.fill(this._symbolIds, length, capacity, -1);
+		}
+
+		if (this._terminalIds != null)
+		{
+			int length = this._terminalIds.length;
+
+			this._terminalIds = Arrays.copyOf(this._terminalIds, capacity);
+
+			Arrays.fill(this._terminalIds, length, capacity, -2);
+		}
+	}
+
+	private void ensureSymbolIds()
+	{
+		if (this._symbolIds == null)
+		{
+			this._symbolIds = new int[this._kinds.length];
+
+			Arrays.fill(this._symbolIds, -1);
+		}
+	}
+
+	/**
+	 * Creates the array of the terminal ids. The tokens, that are not tagged
+	 * yet, have the id -2.
+	 */
+	private void ensureTerminalIds()
+	{
+		if (this._terminalIds == null)
+		{
+			this._terminalIds = new int[this._kinds.length];
+
+			Arrays.fill(this._terminalIds, -2);
+		}
+	}
+
+	private void init()
+	{
+		this._count = 0;
+
+		this._kinds = new byte[16];
+		this._offsets = new int[16];
+		this._lengths = new int[16];
+
+		this._scanLength = -1;
+
+		this._values = null;
+
+		this._symbolIds = null;
+		this._symbolTable = null;
+
+		this._terminalIds = null;
+		this._grammarTerminals = null;
+
+		this._lineIndex = null;
+	}
+}
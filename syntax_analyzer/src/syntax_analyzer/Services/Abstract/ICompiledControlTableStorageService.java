@@ -0,0 +1,60 @@
+package syntax_analyzer.Services.Abstract;
+
+import grammar_parser.Models.Node;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Models.CompiledControlTable;
+
+public interface ICompiledControlTableStorageService
+{
+	/**
+	 * Gets the path of the file of the compiled control table, that is
+	 * placed next to the file of the grammar.
+	 *
+	 * @param grammarPath
+	 *            the path of the file of the grammar
+	 * @return the path of the file of the compiled control table
+	 */
+	Path getCompiledControlTablePath(Path grammarPath);
+
+	/**
+	 * Loads the compiled control table, that is built from the specified
+	 * grammar text. The file is mapped into memory and the arrays of the
+	 * table are taken from it as is.
+	 *
+	 * @param path
+	 *            the path of the file of the compiled control table
+	 * @param grammarText
+	 *            the text of the grammar
+	 * @param specialNodesMap
+	 *            the special nodes map, that the table must be built with
+	 * @return the compiled control table, or null, if the file doesn't exist
+	 *         or it's written for the other text of the grammar, the other
+	 *         special nodes or the other version of the format
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	CompiledControlTable load(Path path, String grammarText,
+		Map<Node, TokenKind> specialNodesMap) throws IOException;
+
+	/**
+	 * Saves the compiled control table, that is built from the specified
+	 * grammar text. The file is replaced at once, so the readers never see
+	 * it partially written.
+	 *
+	 * @param path
+	 *            the path of the file of the compiled control table
+	 * @param grammarText
+	 *            the text of the grammar
+	 * @param compiledControlTable
+	 *            the compiled control table
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	void save(Path path, String grammarText,
+		CompiledControlTable compiledControlTable) throws IOException;
+}
@@ -0,0 +1,33 @@
+package syntax_analyzer.Services.Abstract;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import syntax_analyzer.Models.TokenDefinition;
+
+public interface IPrimitiveLanguageLexerGeneratingService
+{
+	/**
+	 * Generates the source code of the primitive language lexer, that is
+	 * specialized for the specified token definitions, keywords and space
+	 * characters. The generated class extends Lexer and implements ILexer,
+	 * so it can be used instead of the PrimitiveLanguageLexer with the same
+	 * specification.
+	 *
+	 * @param packageName
+	 *            the package name of the lexer (can be empty)
+	 * @param className
+	 *            the class name of the lexer
+	 * @param tokenDefinitions
+	 *            the token definitions
+	 * @param keywords
+	 *            the keywords
+	 * @param spaceCharacters
+	 *            the space characters
+	 * @return the source code of the lexer
+	 * @throws PatternIsNotSupportedException
+	 *             if one of the patterns can't be compiled into the dfa
+	 */
+	String generateLexer(String packageName, String className,
+		Iterable<TokenDefinition> tokenDefinitions, Iterable<String> keywords,
+		Iterable<Character> spaceCharacters)
+		throws PatternIsNotSupportedException;
+}
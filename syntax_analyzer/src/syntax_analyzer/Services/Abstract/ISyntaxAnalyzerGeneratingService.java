@@ -0,0 +1,43 @@
+package syntax_analyzer.Services.Abstract;
+
+import grammar_parser.Exceptions.GrammarIsNotLLOneGrammarException;
+import grammar_parser.Models.Grammar;
+import grammar_parser.Models.Node;
+
+import java.util.Map;
+
+import syntax_analyzer.Enums.TokenKind;
+
+public interface ISyntaxAnalyzerGeneratingService
+{
+	/**
+	 * Generates the source code of the recursive descent syntax analyzer,
+	 * that is specialized for the specified grammar. The generated class
+	 * extends RecursiveDescentSyntaxAnalyzer, so it analyzes the tokens like
+	 * the SyntaxAnalyzer with the same grammar. Each nonterminal is compiled
+	 * into the method, that switches on the id of the terminal of the
+	 * current token. The nonterminals, that are nested in the source, are
+	 * parsed by the nested calls, so the source, that is nested too deeply
+	 * for the Java stack of the thread, is rejected with the
+	 * SyntaxAnalyzerErrorException, while the SyntaxAnalyzer accepts it.
+	 *
+	 * @param packageName
+	 *            the package name of the syntax analyzer (can be empty)
+	 * @param className
+	 *            the simple class name of the syntax analyzer
+	 * @param grammar
+	 *            the grammar
+	 * @param specialNodesMap
+	 *            the map of the special terminal nodes to the kinds of the
+	 *            tokens, that match them
+	 * @return the source code of the syntax analyzer
+	 * @throws IllegalArgumentException
+	 *             if the package name or the class name is not a valid Java
+	 *             name
+	 * @throws GrammarIsNotLLOneGrammarException
+	 *             if the control table can't be built for the grammar
+	 */
+	String generateSyntaxAnalyzer(String packageName, String className,
+		Grammar grammar, Map<Node, TokenKind> specialNodesMap)
+		throws Exception;
+}
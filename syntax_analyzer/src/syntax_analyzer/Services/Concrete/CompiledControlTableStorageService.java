@@ -0,0 +1,383 @@
+package syntax_analyzer.Services.Concrete;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Models.Node;
+import grammar_parser.Models.Rule;
+import grammar_parser.Utils.Guard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Models.CompiledControlTable;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Services.Abstract.ICompiledControlTableStorageService;
+
+/**
+ * The storage of the compiled control tables in the binary files. The file
+ * starts with the magic number, the version of the format and the SHA-256
+ * hash of the grammar text, so the stale file is detected before it's read.
+ * Then the texts of the terminals (with the kinds of the special ones) and
+ * the nonterminals, the bodies of the rules, the bases and the slots of the
+ * table follow. The numbers are written as big-endian ints, the texts as
+ * the lengths followed by the UTF-16 characters.
+ */
+public class CompiledControlTableStorageService implements
+		ICompiledControlTableStorageService
+{
+	private static final int _magic = 0x53414354;
+
+	private static final int _version = 1;
+
+	@Override
+	public Path getCompiledControlTablePath(Path grammarPath)
+	{
+		Guard.notNull(grammarPath, "grammarPath");
+
+		return grammarPath.resolveSibling(grammarPath.getFileName()
+			+ ".compiled");
+	}
+
+	@Override
+	public CompiledControlTable load(Path path, String grammarText,
+		Map<Node, TokenKind> specialNodesMap) throws IOException
+	{
+		Guard.notNull(path, "path");
+		Guard.notNull(grammarText, "grammarText");
+		Guard.notNull(specialNodesMap, "specialNodesMap");
+
+		if (!Files.isRegularFile(path))
+		{
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			ByteBuffer buffer =
+				channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			try
+			{
+				return this.read(buffer, grammarText, specialNodesMap);
+			}
+			catch (BufferUnderflowException | IllegalArgumentException
+				| IndexOutOfBoundsException e)
+			{
+				// The file is truncated or damaged, so it's built again.
+				return null;
+			}
+		}
+	}
+
+	@Override
+	public void save(Path path, String grammarText,
+		CompiledControlTable compiledControlTable) throws IOException
+	{
+		Guard.notNull(path, "path");
+		Guard.notNull(grammarText, "grammarText");
+		Guard.notNull(compiledControlTable, "compiledControlTable");
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (DataOutputStream output = new DataOutputStream(bytes))
+		{
+			this.write(output, grammarText, compiledControlTable);
+		}
+
+		// The file is written aside and then moved in place, so the readers
+		// see either the old file or the new one.
+		Path temporaryPath = this.createTemporaryFile(path);
+
+		try
+		{
+			Files.write(temporaryPath, bytes.toByteArray());
+
+			Files.move(temporaryPath, path,
+				StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally
+		{
+			Files.deleteIfExists(temporaryPath);
+		}
+	}
+
+	/**
+	 * Creates the empty temporary file next to the specified file. Unlike
+	 * Files.createTempFile, the file gets the default permissions, so the
+	 * file, that is moved in place, can be read by the other users.
+	 */
+	private Path createTemporaryFile(Path path) throws IOException
+	{
+		Path absolutePath = path.toAbsolutePath();
+
+		while (true)
+		{
+			Path temporaryPath =
+				absolutePath.resolveSibling(String.format("%1$s.%2$s.tmp",
+					absolutePath.getFileName(),
+					Long.toUnsignedString(ThreadLocalRandom.current()
+							.nextLong(), 36)));
+
+			try
+			{
+				return Files.createFile(temporaryPath);
+			}
+			catch (FileAlreadyExistsException e)
+			{
+				// The name is taken, so another one is tried.
+			}
+		}
+	}
+
+	private byte[] getHash(String grammarText)
+	{
+		try
+		{
+			return MessageDigest.getInstance("SHA-256").digest(
+				grammarText.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// Every Java platform supports SHA-256.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private CompiledControlTable read(ByteBuffer buffer, String grammarText,
+		Map<Node, TokenKind> specialNodesMap)
+	{
+		if (buffer.getInt() != CompiledControlTableStorageService._magic
+			|| buffer.getInt() != CompiledControlTableStorageService._version)
+		{
+			return null;
+		}
+
+		byte[] hash = new byte[32];
+
+		buffer.get(hash);
+
+		if (!Arrays.equals(hash, this.getHash(grammarText)))
+		{
+			return null;
+		}
+
+		TokenKind[] tokenKinds = TokenKind.values();
+
+		// Each terminal takes at least its kind and its length.
+		int terminalsCount = this.readCount(buffer, 8);
+
+		List<Node> terminals = new ArrayList<Node>();
+
+		Map<Node, TokenKind> terminalsSpecialNodesMap =
+			new HashMap<Node, TokenKind>();
+
+		for (int i = 0; i < terminalsCount; i++)
+		{
+			int kind = buffer.getInt();
+
+			Node terminal =
+				new Node(NodeKind.Terminal, this.readString(buffer));
+
+			terminals.add(terminal);
+
+			if (kind >= 0)
+			{
+				terminalsSpecialNodesMap.put(terminal, tokenKinds[kind]);
+			}
+		}
+
+		if (!terminalsSpecialNodesMap.equals(specialNodesMap))
+		{
+			return null;
+		}
+
+		GrammarTerminals grammarTerminals =
+			new GrammarTerminals(terminals, terminalsSpecialNodesMap);
+
+		// The ids of the terminals are the columns of the table.
+		for (int i = 0; i < terminalsCount; i++)
+		{
+			if (!grammarTerminals.getTerminal(i).equals(terminals.get(i)))
+			{
+				return null;
+			}
+		}
+
+		Node[] nonterminals = new Node[this.readCount(buffer, 4)];
+
+		for (int i = 0; i < nonterminals.length; i++)
+		{
+			nonterminals[i] =
+				new Node(NodeKind.Nonterminal, this.readString(buffer));
+		}
+
+		Rule[] rules = new Rule[this.readCount(buffer, 8)];
+
+		for (int i = 0; i < rules.length; i++)
+		{
+			rules[i] = new Rule(nonterminals[buffer.getInt()]);
+
+			for (int symbol : this.readInts(buffer))
+			{
+				Node node = new Node(NodeKind.Unknown, "");
+
+				if (symbol >= terminalsCount)
+				{
+					node = nonterminals[symbol - terminalsCount];
+				}
+				else if (symbol >= 0)
+				{
+					node = grammarTerminals.getTerminal(symbol);
+				}
+
+				rules[i].addNode(node);
+			}
+		}
+
+		int[] bases = this.readInts(buffer);
+		int[] entries = this.readInts(buffer);
+
+		return new CompiledControlTable(nonterminals, rules, bases, entries,
+			grammarTerminals);
+	}
+
+	/**
+	 * Reads the count of the elements, that follow it. The count of the
+	 * damaged file can be negative or exceed the rest of the file.
+	 *
+	 * @param elementSize
+	 *            the minimum size of one element in bytes
+	 * @throws BufferUnderflowException
+	 *             if the elements can't fit in the rest of the buffer
+	 */
+	private int readCount(ByteBuffer buffer, int elementSize)
+	{
+		int count = buffer.getInt();
+
+		if (count < 0 || count > buffer.remaining() / elementSize)
+		{
+			throw new BufferUnderflowException();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Reads the array of the ints, that is preceded by its length, with one
+	 * bulk copy.
+	 */
+	private int[] readInts(ByteBuffer buffer)
+	{
+		int length = this.readCount(buffer, 4);
+
+		int[] values = new int[length];
+
+		buffer.asIntBuffer().get(values);
+
+		buffer.position(buffer.position() + 4 * length);
+
+		return values;
+	}
+
+	private String readString(ByteBuffer buffer)
+	{
+		int length = this.readCount(buffer, 2);
+
+		char[] characters = new char[length];
+
+		buffer.asCharBuffer().get(characters);
+
+		buffer.position(buffer.position() + 2 * length);
+
+		return new String(characters);
+	}
+
+	private void write(DataOutputStream output, String grammarText,
+		CompiledControlTable compiledControlTable) throws IOException
+	{
+		output.writeInt(CompiledControlTableStorageService._magic);
+		output.writeInt(CompiledControlTableStorageService._version);
+		output.write(this.getHash(grammarText));
+
+		GrammarTerminals grammarTerminals =
+			compiledControlTable.getGrammarTerminals();
+
+		int terminalsCount = grammarTerminals.getTerminalsCount();
+
+		output.writeInt(terminalsCount);
+
+		for (int i = 0; i < terminalsCount; i++)
+		{
+			TokenKind kind = grammarTerminals.getSpecialKind(i);
+
+			output.writeInt(kind != null ? kind.ordinal() : -1);
+
+			this.writeString(output, grammarTerminals.getTerminal(i).getText());
+		}
+
+		output.writeInt(compiledControlTable.getNonterminalsCount());
+
+		for (int i = 0; i < compiledControlTable.getNonterminalsCount(); i++)
+		{
+			this.writeString(output, compiledControlTable.getNonterminal(i)
+					.getText());
+		}
+
+		output.writeInt(compiledControlTable.getRulesCount());
+
+		for (int i = 0; i < compiledControlTable.getRulesCount(); i++)
+		{
+			output.writeInt(compiledControlTable.getNonterminalId(compiledControlTable
+					.getRule(i).getHeadNode()));
+
+			int[] body = compiledControlTable.getReversedRuleBody(i);
+
+			output.writeInt(body.length);
+
+			for (int j = body.length - 1; j >= 0; j--)
+			{
+				output.writeInt(body[j]);
+			}
+		}
+
+		this.writeInts(output, compiledControlTable.getBases());
+		this.writeInts(output, compiledControlTable.getEntries());
+	}
+
+	private void writeInts(DataOutputStream output, int[] values)
+		throws IOException
+	{
+		output.writeInt(values.length);
+
+		for (int value : values)
+		{
+			output.writeInt(value);
+		}
+	}
+
+	private void writeString(DataOutputStream output, String value)
+		throws IOException
+	{
+		output.writeInt(value.length());
+		output.writeChars(value);
+	}
+}
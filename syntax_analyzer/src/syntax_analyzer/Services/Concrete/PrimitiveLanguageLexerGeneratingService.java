@@ -0,0 +1,78 @@
+package syntax_analyzer.Services.Concrete;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Services.Abstract.IDfaBuildingService;
+import grammar_parser.Services.Abstract.LexerGeneratingService;
+import grammar_parser.Services.Concrete.DfaBuildingService;
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenDefinition;
+import syntax_analyzer.Services.Abstract.IPrimitiveLanguageLexerGeneratingService;
+
+public class PrimitiveLanguageLexerGeneratingService extends
+		LexerGeneratingService<Token, TokenKind> implements
+		IPrimitiveLanguageLexerGeneratingService
+{
+	public PrimitiveLanguageLexerGeneratingService()
+	{
+		this(new DfaBuildingService());
+	}
+
+	public PrimitiveLanguageLexerGeneratingService(
+		IDfaBuildingService dfaBuildingService)
+	{
+		super(dfaBuildingService);
+	}
+
+	@Override
+	public String generateLexer(String packageName, String className,
+		Iterable<TokenDefinition> tokenDefinitions, Iterable<String> keywords,
+		Iterable<Character> spaceCharacters)
+		throws PatternIsNotSupportedException
+	{
+		Guard.listAndElementsNotNull(tokenDefinitions, "tokenDefinitions");
+
+		List<Pattern> patterns = new ArrayList<Pattern>();
+		List<TokenKind> kinds = new ArrayList<TokenKind>();
+
+		for (TokenDefinition tokenDefinition : tokenDefinitions)
+		{
+			patterns.add(tokenDefinition.getRepresentation());
+			kinds.add(tokenDefinition.getKind());
+		}
+
+		return this.generateLexer(packageName, className, patterns, kinds,
+			keywords, spaceCharacters);
+	}
+
+	@Override
+	protected void appendElementCreation(StringBuilder code)
+	{
+		code.append(String.format(
+			"\t\t\telements.add(new Token(kind, source, offset, tokenLength));%n"));
+	}
+
+	@Override
+	protected Class<Token> getElementClass()
+	{
+		return Token.class;
+	}
+
+	@Override
+	protected TokenKind getKeywordKind()
+	{
+		return TokenKind.Keyword;
+	}
+
+	@Override
+	protected TokenKind getUnknownKind()
+	{
+		return TokenKind.Unknown;
+	}
+}
@@ -0,0 +1,422 @@
+package syntax_analyzer.Services.Concrete;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Models.ControlTableItem;
+import grammar_parser.Models.Grammar;
+import grammar_parser.Models.Node;
+import grammar_parser.Models.Rule;
+import grammar_parser.Services.Abstract.IControlTableBuildingService;
+import grammar_parser.Services.Abstract.IGrammarService;
+import grammar_parser.Services.Concrete.GrammarService;
+import grammar_parser.Utils.Guard;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.lang.model.SourceVersion;
+
+import syntax_analyzer.Analyzers.Abstract.RecursiveDescentSyntaxAnalyzer;
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Exceptions.GrammarIsInvalidException;
+import syntax_analyzer.Models.CompiledControlTable;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Services.Abstract.ISyntaxAnalyzerGeneratingService;
+
+/**
+ * The service, that generates the source code of the recursive descent
+ * syntax analyzers. The control table of the grammar is built and compiled
+ * first, then each row of it becomes the switch statement of the method of
+ * its nonterminal. The rule, that is chosen by the empty word, is the
+ * default branch of the switch, as the SyntaxAnalyzer falls back to it,
+ * when the current token doesn't choose any rule. The rules, that end with
+ * their own nonterminal, are compiled into the loops, so the lists don't
+ * grow the Java stack, but the other nested nonterminals do: the source,
+ * that is nested deeper than the stack allows, is rejected.
+ */
+public class SyntaxAnalyzerGeneratingService implements
+		ISyntaxAnalyzerGeneratingService
+{
+	private final IControlTableBuildingService _controlTableBuildingService;
+
+	private final IGrammarService _grammarService;
+
+	public SyntaxAnalyzerGeneratingService(
+		IControlTableBuildingService controlTableBuildingService)
+	{
+		this(controlTableBuildingService, new GrammarService());
+	}
+
+	public SyntaxAnalyzerGeneratingService(
+		IControlTableBuildingService controlTableBuildingService,
+		IGrammarService grammarService)
+	{
+		Guard.notNull(controlTableBuildingService,
+			"controlTableBuildingService");
+		Guard.notNull(grammarService, "grammarService");
+
+		this._controlTableBuildingService = controlTableBuildingService;
+		this._grammarService = grammarService;
+	}
+
+	@Override
+	public String generateSyntaxAnalyzer(String packageName,
+		String className, Grammar grammar, Map<Node, TokenKind> specialNodesMap)
+		throws Exception
+	{
+		Guard.notNull(packageName, "packageName");
+		Guard.notNull(className, "className");
+		Guard.notNull(grammar, "grammar");
+		Guard.notNull(specialNodesMap, "specialNodesMap");
+
+		if (!packageName.isEmpty() && !SourceVersion.isName(packageName))
+		{
+			throw new IllegalArgumentException(String.format(
+				"Package name '%1$s' is invalid.", packageName));
+		}
+
+		// The class name is the simple name, that is not a keyword.
+		if (!SourceVersion.isName(className) || className.indexOf('.') >= 0)
+		{
+			throw new IllegalArgumentException(String.format(
+				"Class name '%1$s' is invalid.", className));
+		}
+
+		if (grammar.getRulesDictionary().size() == 0)
+		{
+			throw new GrammarIsInvalidException("Grammar can't be empty.");
+		}
+
+		if (grammar.getHeadRule() == null)
+		{
+			throw new GrammarIsInvalidException(
+				"Grammar's headRule can't be null.");
+		}
+
+		Map<ControlTableItem, Rule> controlTable =
+			this._controlTableBuildingService.buildControlTable(grammar);
+
+		GrammarTerminals grammarTerminals =
+			new GrammarTerminals(this._grammarService.getTerminalNodes(grammar),
+				specialNodesMap);
+
+		CompiledControlTable compiledControlTable =
+			new CompiledControlTable(grammar, controlTable, grammarTerminals);
+
+		StringBuilder code = new StringBuilder();
+
+		if (!packageName.isEmpty())
+		{
+			code.append(String.format("package %1$s;%n%n", packageName));
+		}
+
+		code.append(String.format("import java.io.IOException;%n%n"));
+
+		code.append(String.format("import %1$s;%n",
+			RecursiveDescentSyntaxAnalyzer.class.getName()));
+		code.append(String.format("import %1$s;%n", TokenKind.class.getName()));
+
+		code.append(String.format("%n/**%n"));
+		code.append(String.format(" * The generated syntax analyzer. Don't edit it manually.%n"));
+		code.append(String.format(" */%n"));
+		code.append(String.format(
+			"public class %1$s extends RecursiveDescentSyntaxAnalyzer%n{%n",
+			className));
+
+		this.appendConstructor(code, className, grammarTerminals);
+
+		code.append(String.format("\t@Override%n"));
+		code.append(String.format("\tprotected boolean parse() throws IOException%n\t{%n"));
+		code.append(String.format("\t\treturn this.parse0();%n"));
+		code.append(String.format("\t}%n"));
+
+		for (int id = 0; id < compiledControlTable.getNonterminalsCount(); id++)
+		{
+			code.append(String.format("%n"));
+
+			this.appendParseMethod(code, compiledControlTable, id);
+		}
+
+		code.append(String.format("}%n"));
+
+		return code.toString();
+	}
+
+	private void appendConstructor(StringBuilder code, String className,
+		GrammarTerminals grammarTerminals)
+	{
+		int terminalsCount = grammarTerminals.getTerminalsCount();
+
+		code.append(String.format("\tpublic %1$s()%n\t{%n", className));
+		code.append(String.format("\t\tsuper(new String[] {%n"));
+
+		for (int id = 0; id < terminalsCount; id++)
+		{
+			code.append(String.format("\t\t\t%1$s%2$s%n",
+				this.toStringLiteral(grammarTerminals.getTerminal(id)
+						.getText()), id < terminalsCount - 1 ? "," : ""));
+		}
+
+		code.append(String.format("\t\t}, new TokenKind[] {%n"));
+
+		for (int id = 0; id < terminalsCount; id++)
+		{
+			TokenKind kind = grammarTerminals.getSpecialKind(id);
+
+			code.append(String.format("\t\t\t%1$s%2$s%n",
+				kind != null ? "TokenKind." + kind.name() : "null",
+				id < terminalsCount - 1 ? "," : ""));
+		}
+
+		code.append(String.format("\t\t});%n"));
+		code.append(String.format("\t}%n%n"));
+	}
+
+	private void appendParseMethod(StringBuilder code,
+		CompiledControlTable compiledControlTable, int nonterminalId)
+	{
+		GrammarTerminals grammarTerminals =
+			compiledControlTable.getGrammarTerminals();
+
+		int emptyWordId = compiledControlTable.getEmptyWordId();
+
+		int defaultRuleId =
+			compiledControlTable.getRuleId(nonterminalId, emptyWordId);
+
+		// The terminals, that choose the same rule, share the branch.
+		Map<Integer, List<Integer>> ruleTerminalIds =
+			new LinkedHashMap<Integer, List<Integer>>();
+
+		boolean isLoop = this.isSelfTailRule(compiledControlTable,
+			nonterminalId, defaultRuleId);
+
+		for (int terminalId = 0; terminalId < emptyWordId; terminalId++)
+		{
+			int ruleId =
+				compiledControlTable.getRuleId(nonterminalId, terminalId);
+
+			if (ruleId < 0 || ruleId == defaultRuleId)
+			{
+				continue;
+			}
+
+			if (!ruleTerminalIds.containsKey(ruleId))
+			{
+				ruleTerminalIds.put(ruleId, new ArrayList<Integer>());
+
+				isLoop |= this.isSelfTailRule(compiledControlTable,
+					nonterminalId, ruleId);
+			}
+
+			ruleTerminalIds.get(ruleId).add(terminalId);
+		}
+
+		String indent = isLoop ? "\t\t\t" : "\t\t";
+
+		code.append(String.format("\t// %1$s%n", this.toComment(compiledControlTable
+				.getNonterminal(nonterminalId).getText())));
+		code.append(String.format(
+			"\tprivate boolean parse%1$s() throws IOException%n\t{%n",
+			nonterminalId));
+
+		if (isLoop)
+		{
+			code.append(String.format("\t\twhile (true)%n\t\t{%n"));
+		}
+
+		code.append(String.format("%1$sswitch (this.getTerminalId())%n%1$s{%n",
+			indent));
+
+		for (Entry<Integer, List<Integer>> entry : ruleTerminalIds.entrySet())
+		{
+			for (int terminalId : entry.getValue())
+			{
+				code.append(String.format("%1$s\tcase %2$s: // %3$s%n", indent,
+					terminalId, this.toComment(grammarTerminals.getTerminal(
+						terminalId).getText())));
+			}
+
+			this.appendRuleBranch(code, compiledControlTable, nonterminalId,
+				entry.getKey(), indent + "\t\t");
+		}
+
+		code.append(String.format("%1$s\tdefault:%n", indent));
+
+		if (defaultRuleId >= 0)
+		{
+			this.appendRuleBranch(code, compiledControlTable, nonterminalId,
+				defaultRuleId, indent + "\t\t");
+		}
+		else
+		{
+			code.append(String.format("%1$s\t\treturn false;%n", indent));
+		}
+
+		code.append(String.format("%1$s}%n", indent));
+
+		if (isLoop)
+		{
+			code.append(String.format("\t\t}%n"));
+		}
+
+		code.append(String.format("\t}%n"));
+	}
+
+	private void appendRuleBranch(StringBuilder code,
+		CompiledControlTable compiledControlTable, int nonterminalId,
+		int ruleId, String indent)
+	{
+		code.append(String.format("%1$s// %2$s%n", indent,
+			this.toComment(this.ruleToString(compiledControlTable
+					.getRule(ruleId)))));
+
+		int[] reversedRuleBody =
+			compiledControlTable.getReversedRuleBody(ruleId);
+
+		boolean isSelfTail =
+			this.isSelfTailRule(compiledControlTable, nonterminalId, ruleId);
+
+		// The own nonterminal at the end of the rule is parsed by the next
+		// iteration of the loop.
+		int end = isSelfTail ? 1 : 0;
+
+		List<String> calls = new ArrayList<String>();
+
+		for (int i = reversedRuleBody.length - 1; i >= end; i--)
+		{
+			int symbol = reversedRuleBody[i];
+
+			if (symbol >= compiledControlTable.getEmptyWordId())
+			{
+				calls.add(String.format("this.parse%1$s()", symbol
+					- compiledControlTable.getEmptyWordId()));
+			}
+			else
+			{
+				calls.add(String.format("this.match(%1$s)", symbol));
+			}
+		}
+
+		if (!isSelfTail)
+		{
+			code.append(String.format("%1$sreturn %2$s;%n", indent,
+				calls.isEmpty() ? "true" : String.join(" && ", calls)));
+
+			return;
+		}
+
+		if (!calls.isEmpty())
+		{
+			code.append(String.format("%1$sif (!(%2$s))%n", indent,
+				String.join(" && ", calls)));
+			code.append(String.format("%1$s{%n%1$s\treturn false;%n%1$s}%n%n",
+				indent));
+		}
+
+		code.append(String.format("%1$scontinue;%n", indent));
+	}
+
+	private boolean isSelfTailRule(CompiledControlTable compiledControlTable,
+		int nonterminalId, int ruleId)
+	{
+		if (ruleId < 0)
+		{
+			return false;
+		}
+
+		int[] reversedRuleBody =
+			compiledControlTable.getReversedRuleBody(ruleId);
+
+		return reversedRuleBody.length > 0
+			&& reversedRuleBody[0] == compiledControlTable.getEmptyWordId()
+				+ nonterminalId;
+	}
+
+	private String ruleToString(Rule rule)
+	{
+		StringBuilder stringBuilder = new StringBuilder();
+
+		stringBuilder.append(rule.getHeadNode().getText());
+		stringBuilder.append(" =");
+
+		boolean isFirstNode = true;
+
+		for (Node node : rule.getNodes())
+		{
+			if (!isFirstNode)
+			{
+				stringBuilder.append(",");
+			}
+			else
+			{
+				isFirstNode = false;
+			}
+
+			stringBuilder.append(" ");
+
+			if (node.getKind() == NodeKind.Terminal)
+			{
+				stringBuilder.append(String.format("\"%1$s\"", node.getText()));
+			}
+			else
+			{
+				stringBuilder.append(node.getText());
+			}
+		}
+
+		stringBuilder.append(" .");
+
+		return stringBuilder.toString();
+	}
+
+	/**
+	 * Converts the text to the text of the line comment. The characters,
+	 * that can end the comment or start the unicode escape, are replaced.
+	 */
+	private String toComment(String text)
+	{
+		StringBuilder stringBuilder = new StringBuilder();
+
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+
+			stringBuilder.append(c >= 0x20 && c < 0x7F && c != '\\' ? c : '?');
+		}
+
+		return stringBuilder.toString();
+	}
+
+	private String toStringLiteral(String text)
+	{
+		StringBuilder stringBuilder = new StringBuilder("\"");
+
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+
+			if (c == '"' || c == '\\')
+			{
+				stringBuilder.append('\\').append(c);
+			}
+			else if (c < 0x20)
+			{
+				// The unicode escapes of the line terminators are translated
+				// before the literal is parsed, so the octal ones are used.
+				stringBuilder.append(String.format("\\%1$03o", (int) c));
+			}
+			else if (c < 0x7F)
+			{
+				stringBuilder.append(c);
+			}
+			else
+			{
+				stringBuilder.append(String.format("\\u%1$04X", (int) c));
+			}
+		}
+
+		return stringBuilder.append('"').toString();
+	}
+}
@@ -0,0 +1,237 @@
+package syntax_analyzer.Analyzers.Concrete;
+
+import grammar_parser.Lexers.Abstract.IGrammarLexer;
+import grammar_parser.Lexers.Concrete.GrammarLexer;
+import grammar_parser.Parsers.Abstract.IGrammarParser;
+import grammar_parser.Parsers.Concrete.GrammarParser;
+import grammar_parser.Services.Concrete.ControlTableBuildingService;
+import grammar_parser.Services.Concrete.GrammarService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import syntax_analyzer.Analyzers.Abstract.ICompiledParser;
+import syntax_analyzer.Lexers.Abstract.IPrimitiveLanguageLexer;
+import syntax_analyzer.Lexers.Concrete.PrimitiveLanguageLexer;
+import syntax_analyzer.Models.SyntaxAnalyzerResult;
+import syntax_analyzer.Models.TokenBuffer;
+
+public class CompiledParserTests
+{
+	private String[] _sources;
+
+	private SyntaxAnalyzer _syntaxAnalyzer;
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_CompiledControlTableIsNull_ThrowsIllegalArgumentException()
+	{
+		// Act & Assert
+		new CompiledParser(null, false);
+	}
+
+	@Test
+	public void parse_ParserIsSpecializedAndSourceIsNestedDeeply_ReturnsResultIsValid()
+		throws Exception
+	{
+		// Arrange
+		ICompiledParser target =
+			new CompiledParser(this._syntaxAnalyzer.compile()
+					.getCompiledControlTable(), true);
+
+		StringBuilder source = new StringBuilder("begin ");
+
+		for (int i = 0; i < 1000000; i++)
+		{
+			source.append("(");
+		}
+
+		source.append("x");
+
+		for (int i = 0; i < 1000000; i++)
+		{
+			source.append(")");
+		}
+
+		source.append(" end");
+
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		primitiveLanguageLexer.setSource(source.toString());
+
+		// Act
+		SyntaxAnalyzerResult result =
+			target.parse(primitiveLanguageLexer.parseToTokenBuffer());
+
+		// Assert
+		Assert.assertEquals(true, result.isSyntaxValid());
+	}
+
+	@Test
+	public void parse_ParserIsSpecialized_ReturnsTheSameResultsAsNotSpecialized()
+		throws Exception
+	{
+		// Arrange
+		ICompiledParser compiledParser = this._syntaxAnalyzer.compile();
+
+		ICompiledParser target =
+			new CompiledParser(compiledParser.getCompiledControlTable(), true);
+
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		for (String source : this._sources)
+		{
+			primitiveLanguageLexer.setSource(source);
+
+			TokenBuffer tokenBuffer =
+				primitiveLanguageLexer.parseToTokenBuffer();
+
+			// Act
+			SyntaxAnalyzerResult expected = compiledParser.parse(tokenBuffer);
+			SyntaxAnalyzerResult result = target.parse(tokenBuffer);
+
+			// Assert
+			Assert.assertEquals(true, target.isSpecialized());
+			Assert.assertEquals(source, expected.isSyntaxValid(),
+				result.isSyntaxValid());
+			Assert.assertEquals(source, expected.getWrongToken(),
+				result.getWrongToken());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parse_TokenBufferIsNull_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		ICompiledParser target = this._syntaxAnalyzer.compile();
+
+		// Act & Assert
+		target.parse((TokenBuffer) null);
+	}
+
+	@Test
+	public void parse_TokensAreParsedConcurrently_ReturnsTheSameResultsAsSyntaxAnalyzer()
+		throws Exception
+	{
+		// Arrange
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		List<TokenBuffer> tokenBuffers = new ArrayList<TokenBuffer>();
+		List<SyntaxAnalyzerResult> expectedResults =
+			new ArrayList<SyntaxAnalyzerResult>();
+
+		for (String source : this._sources)
+		{
+			primitiveLanguageLexer.setSource(source);
+
+			TokenBuffer tokenBuffer =
+				primitiveLanguageLexer.parseToTokenBuffer();
+
+			// The line index is built lazily, so it's built before sharing.
+			tokenBuffer.getLineIndex();
+
+			this._syntaxAnalyzer.setTokenBuffer(tokenBuffer);
+
+			tokenBuffers.add(tokenBuffer);
+			expectedResults.add(this._syntaxAnalyzer.run());
+		}
+
+		ICompiledParser target = this._syntaxAnalyzer.compile();
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+		List<Future<List<SyntaxAnalyzerResult>>> futures =
+			new ArrayList<Future<List<SyntaxAnalyzerResult>>>();
+
+		// Act
+		try
+		{
+			for (int i = 0; i < 4; i++)
+			{
+				Callable<List<SyntaxAnalyzerResult>> task = () -> {
+					List<SyntaxAnalyzerResult> results = null;
+
+					for (int j = 0; j < 100; j++)
+					{
+						results = new ArrayList<SyntaxAnalyzerResult>();
+
+						for (TokenBuffer tokenBuffer : tokenBuffers)
+						{
+							results.add(target.parse(tokenBuffer));
+						}
+					}
+
+					return results;
+				};
+
+				futures.add(executorService.submit(task));
+			}
+
+			// Assert
+			for (Future<List<SyntaxAnalyzerResult>> future : futures)
+			{
+				List<SyntaxAnalyzerResult> results = future.get();
+
+				for (int i = 0; i < this._sources.length; i++)
+				{
+					SyntaxAnalyzerResult expected = expectedResults.get(i);
+					SyntaxAnalyzerResult result = results.get(i);
+
+					Assert.assertEquals(this._sources[i],
+						expected.isSyntaxValid(), result.isSyntaxValid());
+					Assert.assertEquals(this._sources[i],
+						expected.getWrongToken(), result.getWrongToken());
+					Assert.assertEquals(this._sources[i],
+						expected.getWrongTokenLine(),
+						result.getWrongTokenLine());
+					Assert.assertEquals(this._sources[i],
+						expected.getWrongTokenColumn(),
+						result.getWrongTokenColumn());
+				}
+			}
+		}
+		finally
+		{
+			executorService.shutdown();
+		}
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this._sources =
+			new String[] {
+				"begin x end", "begin x, (y, (z)), w end",
+				"begin x, (y z), w end", "begin x, (y, z", "begin end",
+				"begin x end end", "begin x end ,", ""
+			};
+
+		// The list, that ends with its own nonterminal, and the nested lists.
+		IGrammarLexer grammarLexer = new GrammarLexer();
+
+		grammarLexer.setSource("S = \"begin\", L, \"end\" ."
+			+ " L = I, C ." + " C = \",\", I, C | ."
+			+ " I = \"identifier\" | \"(\", L, \")\" .");
+
+		IGrammarParser grammarParser = new GrammarParser();
+
+		grammarParser.setNodes(grammarLexer.parse());
+
+		this._syntaxAnalyzer =
+			new SyntaxAnalyzer(new ControlTableBuildingService(
+				new GrammarService()));
+
+		this._syntaxAnalyzer.setGrammar(grammarParser.parse());
+	}
+}
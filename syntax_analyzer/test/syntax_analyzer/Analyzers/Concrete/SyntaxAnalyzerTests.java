@@ -2,13 +2,20 @@ package syntax_analyzer.Analyzers.Concrete;
 
 import grammar_parser.Enums.NodeKind;
 import grammar_parser.Exceptions.GrammarIsNotLLOneGrammarException;
+import grammar_parser.Lexers.Abstract.IGrammarLexer;
+import grammar_parser.Lexers.Concrete.GrammarLexer;
 import grammar_parser.Models.ControlTableItem;
 import grammar_parser.Models.Grammar;
 import grammar_parser.Models.Node;
 import grammar_parser.Models.Rule;
 import grammar_parser.Models.Word;
+import grammar_parser.Parsers.Abstract.IGrammarParser;
+import grammar_parser.Parsers.Concrete.GrammarParser;
 import grammar_parser.Services.Abstract.IControlTableBuildingService;
+import grammar_parser.Services.Concrete.ControlTableBuildingService;
+import grammar_parser.Services.Concrete.GrammarService;
 
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -20,19 +27,236 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import syntax_analyzer.Analyzers.Abstract.ICompiledParser;
+import syntax_analyzer.Analyzers.Abstract.IGeneratedSyntaxAnalyzer;
 import syntax_analyzer.Analyzers.Abstract.ISyntaxAnalyzer;
 import syntax_analyzer.Enums.TokenKind;
 import syntax_analyzer.Exceptions.GrammarIsInvalidException;
 import syntax_analyzer.Exceptions.GrammarIsNotSetException;
 import syntax_analyzer.Exceptions.SyntaxAnalyzerErrorException;
+import syntax_analyzer.Lexers.Abstract.IPrimitiveLanguageLexer;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Lexers.Concrete.PrimitiveLanguageLexer;
+import syntax_analyzer.Models.CompiledControlTable;
+import syntax_analyzer.Models.GrammarTerminals;
 import syntax_analyzer.Models.Location;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
 import syntax_analyzer.Models.SyntaxAnalyzerResult;
 import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
+import syntax_analyzer.Models.TokenDefinition;
 
 public class SyntaxAnalyzerTests
 {
 	private IControlTableBuildingService _controlTableBuildingServiceMock;
 
+	/**
+	 * Creates the syntax analyzer of the list, that ends with its own
+	 * nonterminal, and of the nested lists.
+	 */
+	private ISyntaxAnalyzer createListSyntaxAnalyzer() throws Exception
+	{
+		IGrammarLexer grammarLexer = new GrammarLexer();
+
+		grammarLexer.setSource("S = \"begin\", L, \"end\" ."
+			+ " L = I, C ." + " C = \",\", I, C | ."
+			+ " I = \"identifier\" | \"(\", L, \")\" .");
+
+		IGrammarParser grammarParser = new GrammarParser();
+
+		grammarParser.setNodes(grammarLexer.parse());
+
+		ISyntaxAnalyzer syntaxAnalyzer =
+			new SyntaxAnalyzer(new ControlTableBuildingService(
+				new GrammarService()));
+
+		syntaxAnalyzer.setGrammar(grammarParser.parse());
+
+		return syntaxAnalyzer;
+	}
+
+	@Test
+	public void compile_GrammarIsNotChanged_ReturnsTheSameCompiledParser()
+		throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+
+		// S = .
+		Rule ruleOne = new Rule(nodeS);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - mock controlTableBuildingService
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, Word.getEmptyWord()),
+			ruleOne);
+
+		Mockito.when(
+			this._controlTableBuildingServiceMock.buildControlTable(grammar))
+				.thenReturn(controlTable);
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setGrammar(grammar);
+
+		// Act
+		ICompiledParser compiledParser = target.compile();
+
+		target.run();
+
+		// Assert
+		Assert.assertSame(compiledParser, target.compile());
+		Assert.assertSame(target.getCompiledControlTable(),
+			compiledParser.getCompiledControlTable());
+		Assert.assertEquals(false, compiledParser.isSpecialized());
+		Assert.assertEquals(true,
+			compiledParser.parse(new ArrayList<Token>()).isSyntaxValid());
+
+		Mockito.verify(this._controlTableBuildingServiceMock,
+			Mockito.times(1)).buildControlTable(grammar);
+	}
+
+	@Test(expected = GrammarIsNotSetException.class)
+	public void compile_GrammarIsNotSet_ThrowsGrammarIsNotSetException()
+		throws Exception
+	{
+		// Arrange
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		// Act & Assert
+		target.compile();
+	}
+
+	@Test
+	public void getGrammarTerminals_GrammarIsNotSet_ReturnsNull()
+		throws Exception
+	{
+		// Arrange
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		// Act & Assert
+		Assert.assertNull(target.getGrammarTerminals());
+	}
+
+	@Test
+	public void getGrammarTerminals_GrammarIsSet_ReturnsTerminalsOfGrammarAndSpecialNodes()
+		throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+		Node nodeOne = new Node(NodeKind.Terminal, "begin");
+		Node nodeTwo = new Node(NodeKind.Terminal, "identifier");
+
+		Rule ruleOne = new Rule(nodeS);
+
+		// S = "begin", "identifier" .
+		ruleOne.addNode(nodeOne);
+		ruleOne.addNode(nodeTwo);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setGrammar(grammar);
+
+		// Act
+		GrammarTerminals grammarTerminals = target.getGrammarTerminals();
+
+		// Assert
+		Assert.assertEquals(3, grammarTerminals.getTerminalsCount());
+		Assert.assertNotEquals(-1, grammarTerminals.getTerminalId(nodeOne));
+		Assert.assertEquals(grammarTerminals.getTerminalId(nodeTwo),
+			grammarTerminals.getSpecialTerminalId(TokenKind.Identifier));
+		Assert.assertEquals(grammarTerminals.getTerminalId(new Node(
+			NodeKind.Terminal, "number")), grammarTerminals
+			.getSpecialTerminalId(TokenKind.Number));
+		Assert.assertSame(grammarTerminals, target.getGrammarTerminals());
+	}
+
+	@Test
+	public void run_CompiledControlTableIsSet_ReturnsResultIsValid()
+		throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+		Node nodeA = new Node(NodeKind.Nonterminal, "A");
+		Node nodeB = new Node(NodeKind.Terminal, "b");
+		Node nodeC = new Node(NodeKind.Terminal, "c");
+
+		Rule ruleOne = new Rule(nodeS);
+
+		// S = A, "b" .
+		ruleOne.addNode(nodeA);
+		ruleOne.addNode(nodeB);
+
+		Rule ruleTwo = new Rule(nodeA);
+
+		// A = "c" .
+		ruleTwo.addNode(nodeC);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.addRule(ruleTwo);
+
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - create compiledControlTable
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeC)), ruleOne);
+		controlTable.put(new ControlTableItem(nodeA, new Word(nodeC)), ruleTwo);
+
+		CompiledControlTable compiledControlTable =
+			new CompiledControlTable(grammar, controlTable,
+				new GrammarTerminals(Arrays.asList(nodeB, nodeC),
+					new HashMap<Node, TokenKind>()));
+
+		// Arrange - create tokens
+		List<Token> tokens =
+			Arrays.asList(new Token[] {
+				new Token(TokenKind.Keyword, nodeC.getText(),
+					new Location(0, 1)),
+				new Token(TokenKind.Keyword, nodeB.getText(),
+					new Location(1, 1))
+			});
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setCompiledControlTable(compiledControlTable);
+		target.setTokens(tokens);
+
+		// Act
+		SyntaxAnalyzerResult result = target.run();
+
+		// Assert
+		Assert.assertEquals(true, result.isSyntaxValid());
+		Assert.assertEquals(null, target.getGrammar());
+		Assert.assertSame(compiledControlTable.getGrammarTerminals(),
+			target.getGrammarTerminals());
+
+		Mockito.verify(this._controlTableBuildingServiceMock, Mockito.never())
+				.buildControlTable(Mockito.any(Grammar.class));
+	}
+
 	@Test
 	public void run_ControlTableBuildingServiceReturnsEmptyMap_ReturnsResultWithErrorOnFirstToken()
 		throws Exception
@@ -131,7 +355,680 @@ public class SyntaxAnalyzerTests
 		// Arrange - mock controlTableBuildingService
 		Mockito.when(
 			this._controlTableBuildingServiceMock.buildControlTable(grammar))
-				.thenThrow(new GrammarIsNotLLOneGrammarException());
+				.thenThrow(new GrammarIsNotLLOneGrammarException());
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setGrammar(grammar);
+
+		// Act & Assert
+		target.run();
+	}
+
+	@Test
+	public void run_GeneratedSyntaxAnalyzerIsSet_RunsGeneratedSyntaxAnalyzerOnTokens()
+		throws Exception
+	{
+		// Arrange
+		IGeneratedSyntaxAnalyzer generatedSyntaxAnalyzerMock =
+			Mockito.mock(IGeneratedSyntaxAnalyzer.class);
+
+		SyntaxAnalyzerResult expected = new SyntaxAnalyzerResult(true, null);
+
+		Mockito.when(generatedSyntaxAnalyzerMock.run()).thenReturn(expected);
+
+		ISyntaxAnalyzer target = this.createListSyntaxAnalyzer();
+
+		target.setGeneratedSyntaxAnalyzer(generatedSyntaxAnalyzerMock);
+
+		TokenBuffer tokens = new TokenBuffer();
+
+		target.setTokenBuffer(tokens);
+
+		// Act
+		SyntaxAnalyzerResult result = target.run();
+
+		// Assert
+		Assert.assertSame(expected, result);
+		Assert.assertNull(target.getGrammar());
+		Assert.assertNull(target.getCompiledControlTable());
+
+		Mockito.verify(generatedSyntaxAnalyzerMock).setTokenBuffer(tokens);
+	}
+
+	@Test
+	public void run_GrammarHasTerminalThatLexerReadsAsIdentifier_ReturnsResultIsValid()
+		throws Exception
+	{
+		// Arrange
+		IGrammarLexer grammarLexer = new GrammarLexer();
+
+		grammarLexer.setSource("program = \"begin\", \"print\", name, \".\" ."
+			+ " name = \"identifier\" .");
+
+		IGrammarParser grammarParser = new GrammarParser();
+
+		grammarParser.setNodes(grammarLexer.parse());
+
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(new ControlTableBuildingService(
+				new GrammarService()));
+
+		target.setGrammar(grammarParser.parse());
+
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		primitiveLanguageLexer.setSource("begin print x .");
+
+		target.setTokens(primitiveLanguageLexer.parse());
+
+		// Act
+		SyntaxAnalyzerResult result = target.run();
+
+		// Assert
+		Assert.assertEquals(true, result.isSyntaxValid());
+	}
+
+	@Test
+	public void run_GrammarIsNotSet_ThrowsGrammarIsNotSetException()
+		throws Exception
+	{
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		boolean exceptionIsThrown = false;
+
+		// Act
+		try
+		{
+			target.run();
+		}
+		catch (GrammarIsNotSetException e)
+		{
+			exceptionIsThrown = true;
+		}
+
+		// Assert
+		Assert.assertEquals(true, exceptionIsThrown);
+	}
+
+	@Test
+	public void run_GrammarIsSetAgain_BuildsControlTableAgain()
+		throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+
+		// S = .
+		Rule ruleOne = new Rule(nodeS);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - mock controlTableBuildingService
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, Word.getEmptyWord()),
+			ruleOne);
+
+		Mockito.when(
+			this._controlTableBuildingServiceMock.buildControlTable(grammar))
+				.thenReturn(controlTable);
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setGrammar(grammar);
+		target.setTokens(new ArrayList<Token>());
+
+		// Act
+		target.run();
+		target.run();
+
+		CompiledControlTable compiledControlTable =
+			target.getCompiledControlTable();
+
+		target.setGrammar(grammar);
+
+		SyntaxAnalyzerResult result = target.run();
+
+		// Assert
+		Assert.assertEquals(true, result.isSyntaxValid());
+		Assert.assertNotNull(compiledControlTable);
+		Assert.assertNotSame(compiledControlTable,
+			target.getCompiledControlTable());
+		Assert.assertSame(grammar, target.getGrammar());
+
+		Mockito.verify(this._controlTableBuildingServiceMock,
+			Mockito.times(2)).buildControlTable(grammar);
+	}
+
+	@Test
+	public void run_OffHeapTokenBufferIsSet_ReturnsResultWithWrongTokenFromSource()
+		throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+		Node nodeOne = new Node(NodeKind.Terminal, "identifier");
+		Node nodeTwo = new Node(NodeKind.Terminal, "begin");
+
+		Rule ruleOne = new Rule(nodeS);
+
+		// S = "identifier", "begin" .
+		ruleOne.addNode(nodeOne);
+		ruleOne.addNode(nodeTwo);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - mock controlTableBuildingService
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeOne)),
+			ruleOne);
+
+		Mockito.when(
+			this._controlTableBuildingServiceMock.buildControlTable(grammar))
+				.thenReturn(controlTable);
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setGrammar(grammar);
+
+		// Arrange - create tokens
+		try (OffHeapTokenBuffer tokens = new OffHeapTokenBuffer("x\nBEGIN;"))
+		{
+			tokens.setGrammarTerminals(target.getGrammarTerminals());
+
+			tokens.add(TokenKind.Identifier, 0, 1);
+			tokens.add(TokenKind.Keyword, 2, 5);
+			tokens.add(TokenKind.Punctuator, 7, 1);
+
+			target.setOffHeapTokenBuffer(tokens);
+
+			// Act
+			SyntaxAnalyzerResult result = target.run();
+
+			// Assert
+			Assert.assertEquals(false, result.isSyntaxValid());
+			Assert.assertEquals(new Token(TokenKind.Punctuator, ";",
+				new Location(7, 1)), result.getWrongToken());
+			Assert.assertEquals(2, result.getWrongTokenLine());
+			Assert.assertEquals(6, result.getWrongTokenColumn());
+		}
+	}
+
+	@Test
+	public void run_SyntaxAnalyzerIsSpecializedAndListIsLong_ReturnsResultIsValid()
+		throws Exception
+	{
+		// Arrange
+		ISyntaxAnalyzer target = this.createListSyntaxAnalyzer();
+
+		target.setSpecialized(true);
+
+		StringBuilder source = new StringBuilder("begin x");
+
+		for (int i = 0; i < 100000; i++)
+		{
+			source.append(", x");
+		}
+
+		source.append(" end");
+
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		primitiveLanguageLexer.setSource(source.toString());
+
+		target.setTokenBuffer(primitiveLanguageLexer.parseToTokenBuffer());
+
+		// Act
+		SyntaxAnalyzerResult result = target.run();
+
+		// Assert
+		Assert.assertEquals(true, result.isSyntaxValid());
+	}
+
+	@Test
+	public void run_SyntaxAnalyzerIsSpecialized_ReturnsTheSameResultsAsNotSpecialized()
+		throws Exception
+	{
+		// Arrange
+		String[] sources =
+			{
+				"begin x end", "begin x, (y, (z)), w end",
+				"begin x, (y z), w end", "begin x, (y, z", "begin end",
+				"begin x end end", "begin x end ,", ""
+			};
+
+		ISyntaxAnalyzer syntaxAnalyzer = this.createListSyntaxAnalyzer();
+
+		ISyntaxAnalyzer target = this.createListSyntaxAnalyzer();
+
+		target.setSpecialized(true);
+
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		for (String source : sources)
+		{
+			primitiveLanguageLexer.setSource(source);
+
+			syntaxAnalyzer.setTokens(primitiveLanguageLexer.parse());
+			target.setTokens(primitiveLanguageLexer.parse());
+
+			// Act
+			SyntaxAnalyzerResult expected = syntaxAnalyzer.run();
+			SyntaxAnalyzerResult result = target.run();
+
+			// Assert
+			Assert.assertEquals(true, target.isSpecialized());
+			Assert.assertEquals(source, expected.isSyntaxValid(),
+				result.isSyntaxValid());
+			Assert.assertEquals(source, expected.getWrongToken(),
+				result.getWrongToken());
+			Assert.assertEquals(source, expected.getWrongTokenLine(),
+				result.getWrongTokenLine());
+			Assert.assertEquals(source, expected.getWrongTokenColumn(),
+				result.getWrongTokenColumn());
+		}
+	}
+
+	@Test
+	public void run_SyntaxIsInvalid_ReturnsResultIsInvalid() throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+		Node nodeA = new Node(NodeKind.Terminal, "a");
+		Node nodeB = new Node(NodeKind.Terminal, "b");
+
+		Rule ruleOne = new Rule(nodeS);
+
+		// S = "a", "b" .
+		ruleOne.addNode(nodeA);
+		ruleOne.addNode(nodeB);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - mock controlTableBuildingService
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeA)), ruleOne);
+
+		Mockito.when(
+			this._controlTableBuildingServiceMock.buildControlTable(grammar))
+				.thenReturn(controlTable);
+
+		// Arrange - create tokens
+		List<Token> tokens = Arrays.asList(new Token[] {
+			new Token(TokenKind.Keyword, nodeA.getText(), new Location(0, 1))
+		});
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setGrammar(grammar);
+		target.setTokens(tokens);
+
+		// Act
+		SyntaxAnalyzerResult result = target.run();
+
+		// Assert
+		Assert.assertEquals(false, result.isSyntaxValid());
+		Assert.assertEquals(tokens.get(0), result.getWrongToken());
+
+		Mockito.verify(this._controlTableBuildingServiceMock)
+				.buildControlTable(grammar);
+	}
+
+	@Test
+	public void run_SyntaxIsSimple_ReturnsResultIsValid() throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+		Node nodeA = new Node(NodeKind.Nonterminal, "A");
+		Node nodeB = new Node(NodeKind.Terminal, "b");
+		Node nodeC = new Node(NodeKind.Terminal, "c");
+
+		Rule ruleOne = new Rule(nodeS);
+
+		// S = A, "b" .
+		ruleOne.addNode(nodeA);
+		ruleOne.addNode(nodeB);
+
+		Rule ruleTwo = new Rule(nodeA);
+
+		// A = "c" .
+		ruleTwo.addNode(nodeC);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.addRule(ruleTwo);
+
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - mock controlTableBuildingService
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeC)), ruleOne);
+		controlTable.put(new ControlTableItem(nodeA, new Word(nodeC)), ruleTwo);
+
+		Mockito.when(
+			this._controlTableBuildingServiceMock.buildControlTable(grammar))
+				.thenReturn(controlTable);
+
+		// Arrange - create tokens
+		List<Token> tokens =
+			Arrays.asList(new Token[] {
+				new Token(TokenKind.Keyword, nodeC.getText(),
+					new Location(0, 1)),
+				new Token(TokenKind.Keyword, nodeB.getText(),
+					new Location(1, 1))
+			});
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setGrammar(grammar);
+		target.setTokens(tokens);
+
+		// Act
+		SyntaxAnalyzerResult result = target.run();
+
+		// Assert
+		Assert.assertEquals(true, result.isSyntaxValid());
+		Assert.assertEquals(null, result.getWrongToken());
+
+		Mockito.verify(this._controlTableBuildingServiceMock)
+				.buildControlTable(grammar);
+	}
+
+	@Test
+	public void run_SyntaxWithCycle_ReturnsResultIsValid() throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+		Node nodeA = new Node(NodeKind.Nonterminal, "A");
+		Node nodeB = new Node(NodeKind.Terminal, "b");
+		Node nodeC = new Node(NodeKind.Terminal, "c");
+
+		Rule ruleOne = new Rule(nodeS);
+
+		// S = A .
+		ruleOne.addNode(nodeA);
+
+		Rule ruleTwo = new Rule(nodeA);
+
+		// A = "b", A .
+		ruleTwo.addNode(nodeB);
+		ruleTwo.addNode(nodeA);
+
+		Rule ruleThree = new Rule(nodeA);
+
+		// A = "c" .
+		ruleThree.addNode(nodeC);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.addRule(ruleTwo);
+		grammar.addRule(ruleThree);
+
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - mock controlTableBuildingService
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeB)), ruleOne);
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeC)), ruleOne);
+		controlTable.put(new ControlTableItem(nodeA, new Word(nodeB)), ruleTwo);
+		controlTable.put(new ControlTableItem(nodeA, new Word(nodeC)),
+			ruleThree);
+
+		Mockito.when(
+			this._controlTableBuildingServiceMock.buildControlTable(grammar))
+				.thenReturn(controlTable);
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setGrammar(grammar);
+
+		// Arrange - create tokens
+		List<List<Token>> tokensList = new ArrayList<List<Token>>();
+
+		// Tokens: c
+		tokensList.add(Arrays.asList(new Token[] {
+			new Token(TokenKind.Keyword, nodeC.getText(), new Location(0, 1))
+		}));
+
+		// Tokens: b, c
+		tokensList.add(Arrays.asList(new Token[] {
+			new Token(TokenKind.Keyword, nodeB.getText(), new Location(0, 1)),
+			new Token(TokenKind.Keyword, nodeC.getText(), new Location(1, 1))
+		}));
+
+		// Tokens: b, b, c
+		tokensList.add(Arrays.asList(new Token[] {
+			new Token(TokenKind.Keyword, nodeB.getText(), new Location(0, 1)),
+			new Token(TokenKind.Keyword, nodeB.getText(), new Location(1, 1)),
+			new Token(TokenKind.Keyword, nodeC.getText(), new Location(2, 1))
+		}));
+
+		for (List<Token> tokens : tokensList)
+		{
+			target.setTokens(tokens);
+
+			// Act
+			SyntaxAnalyzerResult result = target.run();
+
+			// Assert
+			Assert.assertEquals(true, result.isSyntaxValid());
+			Assert.assertEquals(null, result.getWrongToken());
+
+			Mockito.verify(this._controlTableBuildingServiceMock,
+				Mockito.times(1)).buildControlTable(grammar);
+		}
+	}
+
+	@Test
+	public void run_SyntaxWithOptionalPart_ReturnsResultIsValid()
+		throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+		Node nodeA = new Node(NodeKind.Nonterminal, "A");
+		Node nodeB = new Node(NodeKind.Terminal, "b");
+		Node nodeC = new Node(NodeKind.Terminal, "c");
+
+		Rule ruleOne = new Rule(nodeS);
+
+		// S = A, "b" .
+		ruleOne.addNode(nodeA);
+		ruleOne.addNode(nodeB);
+
+		Rule ruleTwo = new Rule(nodeA);
+
+		// A = "c" .
+		ruleTwo.addNode(nodeC);
+
+		// A = .
+		Rule ruleThree = new Rule(nodeA);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.addRule(ruleTwo);
+		grammar.addRule(ruleThree);
+
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - mock controlTableBuildingService
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeC)), ruleOne);
+		controlTable.put(new ControlTableItem(nodeS, Word.getEmptyWord()),
+			ruleOne);
+		controlTable.put(new ControlTableItem(nodeA, new Word(nodeC)), ruleTwo);
+		controlTable.put(new ControlTableItem(nodeA, Word.getEmptyWord()),
+			ruleThree);
+
+		Mockito.when(
+			this._controlTableBuildingServiceMock.buildControlTable(grammar))
+				.thenReturn(controlTable);
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setGrammar(grammar);
+
+		// Arrange - create tokens
+		List<List<Token>> tokensList = new ArrayList<List<Token>>();
+
+		// Tokens: b
+		tokensList.add(Arrays.asList(new Token[] {
+			new Token(TokenKind.Keyword, nodeB.getText(), new Location(0, 1)),
+		}));
+
+		// Tokens: c, b
+		tokensList.add(Arrays.asList(new Token[] {
+			new Token(TokenKind.Keyword, nodeC.getText(), new Location(0, 1)),
+			new Token(TokenKind.Keyword, nodeB.getText(), new Location(1, 1))
+		}));
+
+		for (List<Token> tokens : tokensList)
+		{
+			target.setTokens(tokens);
+
+			// Act
+			SyntaxAnalyzerResult result = target.run();
+
+			// Assert
+			Assert.assertEquals(true, result.isSyntaxValid());
+			Assert.assertEquals(null, result.getWrongToken());
+
+			Mockito.verify(this._controlTableBuildingServiceMock,
+				Mockito.times(1)).buildControlTable(grammar);
+		}
+	}
+
+	@Test
+	public void run_SyntaxWithSpecialNodesIsInvalid_ReturnsResultIsInvalid()
+		throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+		Node nodeOne = new Node(NodeKind.Terminal, "identifier");
+		Node nodeTwo = new Node(NodeKind.Terminal, "number");
+
+		Rule ruleOne = new Rule(nodeS);
+
+		// S = "identifier", "number" .
+		ruleOne.addNode(nodeOne);
+		ruleOne.addNode(nodeTwo);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - mock controlTableBuildingService
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeOne)),
+			ruleOne);
+
+		Mockito.when(
+			this._controlTableBuildingServiceMock.buildControlTable(grammar))
+				.thenReturn(controlTable);
+
+		// Arrange - create target
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+
+		target.setGrammar(grammar);
+
+		// Arrange - create tokens
+		List<Token> tokens =
+			Arrays.asList(new Token[] {
+				new Token(TokenKind.Identifier, "x", new Location(0, 1)),
+				new Token(TokenKind.Punctuator, ";", new Location(1, 1)),
+			});
+
+		target.setTokens(tokens);
+
+		// Act
+		SyntaxAnalyzerResult result = target.run();
+
+		// Assert
+		Assert.assertEquals(false, result.isSyntaxValid());
+		Assert.assertEquals(tokens.get(tokens.size() - 1), result.getWrongToken());
+
+		Mockito.verify(this._controlTableBuildingServiceMock)
+				.buildControlTable(grammar);
+	}
+
+	@Test
+	public void run_SyntaxWithSpecialNodes_ReturnsResultIsValid()
+		throws Exception
+	{
+		// Arrange - create Grammar
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+		Node nodeOne = new Node(NodeKind.Terminal, "identifier");
+		Node nodeTwo = new Node(NodeKind.Terminal, ":=");
+		Node nodeThree = new Node(NodeKind.Terminal, "number");
+		Node nodeFour = new Node(NodeKind.Terminal, ";");
+
+		Rule ruleOne = new Rule(nodeS);
+
+		// S = "identifier", ":=", "number", ";".
+		ruleOne.addNode(nodeOne);
+		ruleOne.addNode(nodeTwo);
+		ruleOne.addNode(nodeThree);
+		ruleOne.addNode(nodeFour);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.setHeadRule(ruleOne);
+
+		// Arrange - mock controlTableBuildingService
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeOne)),
+			ruleOne);
+
+		Mockito.when(
+			this._controlTableBuildingServiceMock.buildControlTable(grammar))
+				.thenReturn(controlTable);
 
 		// Arrange - create target
 		ISyntaxAnalyzer target =
@@ -139,47 +1036,42 @@ public class SyntaxAnalyzerTests
 
 		target.setGrammar(grammar);
 
-		// Act & Assert
-		target.run();
-	}
-
-	@Test
-	public void run_GrammarIsNotSet_ThrowsGrammarIsNotSetException()
-		throws Exception
-	{
-		// Arrange - create target
-		ISyntaxAnalyzer target =
-			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
+		// Arrange - create tokens
+		List<Token> tokens =
+			Arrays.asList(new Token[] {
+				new Token(TokenKind.Identifier, "x", new Location(0, 1)),
+				new Token(TokenKind.Operator, ":=", new Location(1, 2)),
+				new Token(TokenKind.Number, "2", new Location(3, 1)),
+				new Token(TokenKind.Punctuator, ";", new Location(4, 1))
+			});
 
-		boolean exceptionIsThrown = false;
+		target.setTokens(tokens);
 
 		// Act
-		try
-		{
-			target.run();
-		}
-		catch (GrammarIsNotSetException e)
-		{
-			exceptionIsThrown = true;
-		}
+		SyntaxAnalyzerResult result = target.run();
 
 		// Assert
-		Assert.assertEquals(true, exceptionIsThrown);
+		Assert.assertEquals(true, result.isSyntaxValid());
+		Assert.assertEquals(null, result.getWrongToken());
+
+		Mockito.verify(this._controlTableBuildingServiceMock)
+				.buildControlTable(grammar);
 	}
 
 	@Test
-	public void run_SyntaxIsInvalid_ReturnsResultIsInvalid() throws Exception
+	public void run_TokenBufferIsSet_ReturnsResultWithLineAndColumnOfWrongToken()
+		throws Exception
 	{
 		// Arrange - create Grammar
 		Node nodeS = new Node(NodeKind.Nonterminal, "S");
-		Node nodeA = new Node(NodeKind.Terminal, "a");
-		Node nodeB = new Node(NodeKind.Terminal, "b");
+		Node nodeOne = new Node(NodeKind.Terminal, "identifier");
+		Node nodeTwo = new Node(NodeKind.Terminal, "begin");
 
 		Rule ruleOne = new Rule(nodeS);
 
-		// S = "a", "b" .
-		ruleOne.addNode(nodeA);
-		ruleOne.addNode(nodeB);
+		// S = "identifier", "begin" .
+		ruleOne.addNode(nodeOne);
+		ruleOne.addNode(nodeTwo);
 
 		Grammar grammar = new Grammar();
 
@@ -190,125 +1082,121 @@ public class SyntaxAnalyzerTests
 		Map<ControlTableItem, Rule> controlTable =
 			new HashMap<ControlTableItem, Rule>();
 
-		controlTable.put(new ControlTableItem(nodeS, new Word(nodeA)), ruleOne);
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeOne)),
+			ruleOne);
 
 		Mockito.when(
 			this._controlTableBuildingServiceMock.buildControlTable(grammar))
 				.thenReturn(controlTable);
 
 		// Arrange - create tokens
-		List<Token> tokens = Arrays.asList(new Token[] {
-			new Token(TokenKind.Keyword, nodeA.getText(), new Location(0, 1))
-		});
+		TokenBuffer tokens = new TokenBuffer("x\nBEGIN\r\n  ;");
+
+		tokens.add(TokenKind.Identifier, 0, 1);
+		tokens.add(TokenKind.Keyword, 2, 5);
+		tokens.add(TokenKind.Punctuator, 11, 1);
 
 		// Arrange - create target
 		ISyntaxAnalyzer target =
 			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
 
 		target.setGrammar(grammar);
-		target.setTokens(tokens);
+		target.setTokenBuffer(tokens);
 
 		// Act
 		SyntaxAnalyzerResult result = target.run();
 
 		// Assert
 		Assert.assertEquals(false, result.isSyntaxValid());
-		Assert.assertEquals(tokens.get(0), result.getWrongToken());
-
-		Mockito.verify(this._controlTableBuildingServiceMock)
-				.buildControlTable(grammar);
+		Assert.assertEquals(3, result.getWrongTokenLine());
+		Assert.assertEquals(3, result.getWrongTokenColumn());
+		Assert.assertSame(tokens.getLineIndex(), result.getLineIndex());
 	}
 
 	@Test
-	public void run_SyntaxIsSimple_ReturnsResultIsValid() throws Exception
+	public void run_TokenBufferIsSet_ReturnsResultWithWrongTokenFromSource()
+		throws Exception
 	{
 		// Arrange - create Grammar
 		Node nodeS = new Node(NodeKind.Nonterminal, "S");
-		Node nodeA = new Node(NodeKind.Nonterminal, "A");
-		Node nodeB = new Node(NodeKind.Terminal, "b");
-		Node nodeC = new Node(NodeKind.Terminal, "c");
+		Node nodeOne = new Node(NodeKind.Terminal, "identifier");
+		Node nodeTwo = new Node(NodeKind.Terminal, "begin");
 
 		Rule ruleOne = new Rule(nodeS);
 
-		// S = A, "b" .
-		ruleOne.addNode(nodeA);
-		ruleOne.addNode(nodeB);
-
-		Rule ruleTwo = new Rule(nodeA);
-
-		// A = "c" .
-		ruleTwo.addNode(nodeC);
+		// S = "identifier", "begin" .
+		ruleOne.addNode(nodeOne);
+		ruleOne.addNode(nodeTwo);
 
 		Grammar grammar = new Grammar();
 
 		grammar.addRule(ruleOne);
-		grammar.addRule(ruleTwo);
-
 		grammar.setHeadRule(ruleOne);
 
 		// Arrange - mock controlTableBuildingService
 		Map<ControlTableItem, Rule> controlTable =
 			new HashMap<ControlTableItem, Rule>();
 
-		controlTable.put(new ControlTableItem(nodeS, new Word(nodeC)), ruleOne);
-		controlTable.put(new ControlTableItem(nodeA, new Word(nodeC)), ruleTwo);
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeOne)),
+			ruleOne);
 
 		Mockito.when(
 			this._controlTableBuildingServiceMock.buildControlTable(grammar))
 				.thenReturn(controlTable);
 
 		// Arrange - create tokens
-		List<Token> tokens =
-			Arrays.asList(new Token[] {
-				new Token(TokenKind.Keyword, nodeC.getText(),
-					new Location(0, 1)),
-				new Token(TokenKind.Keyword, nodeB.getText(),
-					new Location(1, 1))
-			});
+		TokenBuffer tokens = new TokenBuffer("x BEGIN;");
+
+		tokens.add(TokenKind.Identifier, 0, 1);
+		tokens.add(TokenKind.Keyword, 2, 5);
+		tokens.add(TokenKind.Punctuator, 7, 1);
 
 		// Arrange - create target
 		ISyntaxAnalyzer target =
 			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
 
 		target.setGrammar(grammar);
-		target.setTokens(tokens);
+		target.setTokenBuffer(tokens);
 
 		// Act
 		SyntaxAnalyzerResult result = target.run();
 
 		// Assert
-		Assert.assertEquals(true, result.isSyntaxValid());
-		Assert.assertEquals(null, result.getWrongToken());
+		Assert.assertEquals(false, result.isSyntaxValid());
+		Assert.assertEquals(new Token(TokenKind.Punctuator, ";",
+			new Location(7, 1)), result.getWrongToken());
 
 		Mockito.verify(this._controlTableBuildingServiceMock)
 				.buildControlTable(grammar);
 	}
 
 	@Test
-	public void run_SyntaxWithCycle_ReturnsResultIsValid() throws Exception
+	public void run_TokenBufferIsTaggedWithGrammarTerminals_ReturnsResultIsValid()
+		throws Exception
 	{
 		// Arrange - create Grammar
 		Node nodeS = new Node(NodeKind.Nonterminal, "S");
 		Node nodeA = new Node(NodeKind.Nonterminal, "A");
-		Node nodeB = new Node(NodeKind.Terminal, "b");
-		Node nodeC = new Node(NodeKind.Terminal, "c");
+		Node nodeOne = new Node(NodeKind.Terminal, "begin");
+		Node nodeTwo = new Node(NodeKind.Terminal, "identifier");
+		Node nodeThree = new Node(NodeKind.Terminal, "end");
 
 		Rule ruleOne = new Rule(nodeS);
 
-		// S = A .
+		// S = "begin", A, "end" .
+		ruleOne.addNode(nodeOne);
 		ruleOne.addNode(nodeA);
+		ruleOne.addNode(nodeThree);
 
 		Rule ruleTwo = new Rule(nodeA);
 
-		// A = "b", A .
-		ruleTwo.addNode(nodeB);
+		// A = "identifier", A .
+		ruleTwo.addNode(nodeTwo);
 		ruleTwo.addNode(nodeA);
 
+		// A = .
 		Rule ruleThree = new Rule(nodeA);
 
-		// A = "c" .
-		ruleThree.addNode(nodeC);
-
 		Grammar grammar = new Grammar();
 
 		grammar.addRule(ruleOne);
@@ -321,10 +1209,11 @@ public class SyntaxAnalyzerTests
 		Map<ControlTableItem, Rule> controlTable =
 			new HashMap<ControlTableItem, Rule>();
 
-		controlTable.put(new ControlTableItem(nodeS, new Word(nodeB)), ruleOne);
-		controlTable.put(new ControlTableItem(nodeS, new Word(nodeC)), ruleOne);
-		controlTable.put(new ControlTableItem(nodeA, new Word(nodeB)), ruleTwo);
-		controlTable.put(new ControlTableItem(nodeA, new Word(nodeC)),
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeOne)),
+			ruleOne);
+		controlTable.put(new ControlTableItem(nodeA, new Word(nodeTwo)),
+			ruleTwo);
+		controlTable.put(new ControlTableItem(nodeA, new Word(nodeThree)),
 			ruleThree);
 
 		Mockito.when(
@@ -338,88 +1227,50 @@ public class SyntaxAnalyzerTests
 		target.setGrammar(grammar);
 
 		// Arrange - create tokens
-		List<List<Token>> tokensList = new ArrayList<List<Token>>();
-
-		// Tokens: c
-		tokensList.add(Arrays.asList(new Token[] {
-			new Token(TokenKind.Keyword, nodeC.getText(), new Location(0, 1))
-		}));
-
-		// Tokens: b, c
-		tokensList.add(Arrays.asList(new Token[] {
-			new Token(TokenKind.Keyword, nodeB.getText(), new Location(0, 1)),
-			new Token(TokenKind.Keyword, nodeC.getText(), new Location(1, 1))
-		}));
-
-		// Tokens: b, b, c
-		tokensList.add(Arrays.asList(new Token[] {
-			new Token(TokenKind.Keyword, nodeB.getText(), new Location(0, 1)),
-			new Token(TokenKind.Keyword, nodeB.getText(), new Location(1, 1)),
-			new Token(TokenKind.Keyword, nodeC.getText(), new Location(2, 1))
-		}));
-
-		int numberOfInvocations = 0;
+		PrimitiveLanguageLexer lexer = new PrimitiveLanguageLexer();
 
-		for (List<Token> tokens : tokensList)
-		{
-			numberOfInvocations++;
+		lexer.setGrammarTerminals(target.getGrammarTerminals());
+		lexer.setSource("BEGIN x y z END");
 
-			target.setTokens(tokens);
+		TokenBuffer tokens = lexer.parseToTokenBuffer();
 
-			// Act
-			SyntaxAnalyzerResult result = target.run();
+		target.setTokenBuffer(tokens);
 
-			// Assert
-			Assert.assertEquals(true, result.isSyntaxValid());
-			Assert.assertEquals(null, result.getWrongToken());
+		// Act
+		SyntaxAnalyzerResult result = target.run();
 
-			Mockito.verify(this._controlTableBuildingServiceMock,
-				Mockito.times(numberOfInvocations)).buildControlTable(grammar);
-		}
+		// Assert
+		Assert.assertEquals(true, result.isSyntaxValid());
+		Assert.assertSame(target.getGrammarTerminals(),
+			tokens.getGrammarTerminals());
 	}
 
 	@Test
-	public void run_SyntaxWithOptionalPart_ReturnsResultIsValid()
+	public void run_TokenCursorIsContextual_MatchesTokensAgainstExpectedTerminals()
 		throws Exception
 	{
 		// Arrange - create Grammar
 		Node nodeS = new Node(NodeKind.Nonterminal, "S");
-		Node nodeA = new Node(NodeKind.Nonterminal, "A");
-		Node nodeB = new Node(NodeKind.Terminal, "b");
-		Node nodeC = new Node(NodeKind.Terminal, "c");
+		Node nodeOne = new Node(NodeKind.Terminal, "identifier");
+		Node nodeTwo = new Node(NodeKind.Terminal, "number");
 
 		Rule ruleOne = new Rule(nodeS);
 
-		// S = A, "b" .
-		ruleOne.addNode(nodeA);
-		ruleOne.addNode(nodeB);
-
-		Rule ruleTwo = new Rule(nodeA);
-
-		// A = "c" .
-		ruleTwo.addNode(nodeC);
-
-		// A = .
-		Rule ruleThree = new Rule(nodeA);
+		// S = "identifier", "number" .
+		ruleOne.addNode(nodeOne);
+		ruleOne.addNode(nodeTwo);
 
 		Grammar grammar = new Grammar();
 
 		grammar.addRule(ruleOne);
-		grammar.addRule(ruleTwo);
-		grammar.addRule(ruleThree);
-
 		grammar.setHeadRule(ruleOne);
 
 		// Arrange - mock controlTableBuildingService
 		Map<ControlTableItem, Rule> controlTable =
 			new HashMap<ControlTableItem, Rule>();
 
-		controlTable.put(new ControlTableItem(nodeS, new Word(nodeC)), ruleOne);
-		controlTable.put(new ControlTableItem(nodeS, Word.getEmptyWord()),
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeOne)),
 			ruleOne);
-		controlTable.put(new ControlTableItem(nodeA, new Word(nodeC)), ruleTwo);
-		controlTable.put(new ControlTableItem(nodeA, Word.getEmptyWord()),
-			ruleThree);
 
 		Mockito.when(
 			this._controlTableBuildingServiceMock.buildControlTable(grammar))
@@ -431,42 +1282,41 @@ public class SyntaxAnalyzerTests
 
 		target.setGrammar(grammar);
 
-		// Arrange - create tokens
-		List<List<Token>> tokensList = new ArrayList<List<Token>>();
-
-		// Tokens: b
-		tokensList.add(Arrays.asList(new Token[] {
-			new Token(TokenKind.Keyword, nodeB.getText(), new Location(0, 1)),
-		}));
+		// Arrange - create lexer, which numbers are hexadecimal
+		IPrimitiveLanguageLexer lexer = new PrimitiveLanguageLexer();
 
-		// Tokens: c, b
-		tokensList.add(Arrays.asList(new Token[] {
-			new Token(TokenKind.Keyword, nodeC.getText(), new Location(0, 1)),
-			new Token(TokenKind.Keyword, nodeB.getText(), new Location(1, 1))
-		}));
+		lexer.setTokenDefinitions(Arrays.asList(new TokenDefinition(
+			"[a-z][a-z0-9]*", TokenKind.Identifier), new TokenDefinition(
+			"[0-9a-f]+", TokenKind.Number)));
 
-		int numberOfInvocations = 0;
+		// Act
+		SyntaxAnalyzerResult result =
+			target.run(lexer.getTokenCursor(new StringReader("abc def")));
 
-		for (List<Token> tokens : tokensList)
-		{
-			numberOfInvocations++;
+		lexer.setContextualLexing(true);
 
-			target.setTokens(tokens);
+		SyntaxAnalyzerResult contextualResult =
+			target.run(lexer.getTokenCursor(new StringReader("abc def")));
 
-			// Act
-			SyntaxAnalyzerResult result = target.run();
+		// Assert
+		Assert.assertEquals(false, result.isSyntaxValid());
+		Assert.assertEquals(true, contextualResult.isSyntaxValid());
+	}
 
-			// Assert
-			Assert.assertEquals(true, result.isSyntaxValid());
-			Assert.assertEquals(null, result.getWrongToken());
+	@Test(expected = IllegalArgumentException.class)
+	public void run_TokenCursorIsNull_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(this._controlTableBuildingServiceMock);
 
-			Mockito.verify(this._controlTableBuildingServiceMock,
-				Mockito.times(numberOfInvocations)).buildControlTable(grammar);
-		}
+		// Act & Assert
+		target.run(null);
 	}
 
 	@Test
-	public void run_SyntaxWithSpecialNodes_ReturnsResultIsValid()
+	public void run_TokenCursorIsSpecifiedAndSyntaxIsInvalid_StopsPullingTokensAfterWrongToken()
 		throws Exception
 	{
 		// Arrange - create Grammar
@@ -474,15 +1324,13 @@ public class SyntaxAnalyzerTests
 		Node nodeOne = new Node(NodeKind.Terminal, "identifier");
 		Node nodeTwo = new Node(NodeKind.Terminal, ":=");
 		Node nodeThree = new Node(NodeKind.Terminal, "number");
-		Node nodeFour = new Node(NodeKind.Terminal, ";");
 
 		Rule ruleOne = new Rule(nodeS);
 
-		// S = "identifier", ":=", "number", ";".
+		// S = "identifier", ":=", "number" .
 		ruleOne.addNode(nodeOne);
 		ruleOne.addNode(nodeTwo);
 		ruleOne.addNode(nodeThree);
-		ruleOne.addNode(nodeFour);
 
 		Grammar grammar = new Grammar();
 
@@ -506,42 +1354,40 @@ public class SyntaxAnalyzerTests
 
 		target.setGrammar(grammar);
 
-		// Arrange - create tokens
-		List<Token> tokens =
-			Arrays.asList(new Token[] {
-				new Token(TokenKind.Identifier, "x", new Location(0, 1)),
-				new Token(TokenKind.Operator, ":=", new Location(1, 2)),
-				new Token(TokenKind.Number, "2", new Location(3, 1)),
-				new Token(TokenKind.Punctuator, ";", new Location(4, 1))
-			});
+		// Arrange - create cursor
+		IPrimitiveLanguageLexer lexer = new PrimitiveLanguageLexer();
 
-		target.setTokens(tokens);
+		ITokenCursor tokenCursor =
+			Mockito.spy(lexer.getTokenCursor(new StringReader(
+				"x ; y := 1; z := 2;")));
 
 		// Act
-		SyntaxAnalyzerResult result = target.run();
+		SyntaxAnalyzerResult result = target.run(tokenCursor);
 
 		// Assert
-		Assert.assertEquals(true, result.isSyntaxValid());
-		Assert.assertEquals(null, result.getWrongToken());
+		Assert.assertEquals(false, result.isSyntaxValid());
+		Assert.assertEquals(new Token(TokenKind.Punctuator, ";",
+			new Location(2, 1)), result.getWrongToken());
 
-		Mockito.verify(this._controlTableBuildingServiceMock)
-				.buildControlTable(grammar);
+		Mockito.verify(tokenCursor, Mockito.times(2)).moveNext();
 	}
 
 	@Test
-	public void run_SyntaxWithSpecialNodesIsInvalid_ReturnsResultIsInvalid()
+	public void run_TokenCursorIsSpecified_ReturnsResultIsValid()
 		throws Exception
 	{
 		// Arrange - create Grammar
 		Node nodeS = new Node(NodeKind.Nonterminal, "S");
 		Node nodeOne = new Node(NodeKind.Terminal, "identifier");
-		Node nodeTwo = new Node(NodeKind.Terminal, "number");
+		Node nodeTwo = new Node(NodeKind.Terminal, ":=");
+		Node nodeThree = new Node(NodeKind.Terminal, "number");
 
 		Rule ruleOne = new Rule(nodeS);
 
-		// S = "identifier", "number" .
+		// S = "identifier", ":=", "number" .
 		ruleOne.addNode(nodeOne);
 		ruleOne.addNode(nodeTwo);
+		ruleOne.addNode(nodeThree);
 
 		Grammar grammar = new Grammar();
 
@@ -565,24 +1411,18 @@ public class SyntaxAnalyzerTests
 
 		target.setGrammar(grammar);
 
-		// Arrange - create tokens
-		List<Token> tokens =
-			Arrays.asList(new Token[] {
-				new Token(TokenKind.Identifier, "x", new Location(0, 1)),
-				new Token(TokenKind.Punctuator, ";", new Location(1, 1)),
-			});
+		// Arrange - create cursor
+		IPrimitiveLanguageLexer lexer = new PrimitiveLanguageLexer();
 
-		target.setTokens(tokens);
+		ITokenCursor tokenCursor =
+			lexer.getTokenCursor(new StringReader("x := 12"));
 
 		// Act
-		SyntaxAnalyzerResult result = target.run();
+		SyntaxAnalyzerResult result = target.run(tokenCursor);
 
 		// Assert
-		Assert.assertEquals(false, result.isSyntaxValid());
-		Assert.assertEquals(tokens.get(tokens.size() - 1), result.getWrongToken());
-
-		Mockito.verify(this._controlTableBuildingServiceMock)
-				.buildControlTable(grammar);
+		Assert.assertEquals(true, result.isSyntaxValid());
+		Assert.assertEquals(null, result.getWrongToken());
 	}
 
 	@Test
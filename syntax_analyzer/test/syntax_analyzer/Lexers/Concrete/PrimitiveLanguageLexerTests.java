@@ -1,22 +1,934 @@
 package syntax_analyzer.Lexers.Concrete;
 
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Models.Node;
+import grammar_parser.Services.Abstract.IDfaBuildingService;
+import grammar_parser.Services.Concrete.DfaBuildingService;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
 
 import syntax_analyzer.Enums.TokenKind;
 import syntax_analyzer.Lexers.Abstract.IPrimitiveLanguageLexer;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Models.LexerSpecification;
+import syntax_analyzer.Models.LineIndex;
 import syntax_analyzer.Models.Location;
+import syntax_analyzer.Models.OffHeapTokenBuffer;
+import syntax_analyzer.Models.SymbolTable;
+import syntax_analyzer.Models.TextEdit;
 import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
+import syntax_analyzer.Models.TokenDefinition;
 
 public class PrimitiveLanguageLexerTests
 {
 	private IPrimitiveLanguageLexer _primitiveLanguageLexer;
 
+	@Test
+	public void getLineIndex_FileIsParsed_ReturnsIndexOfFile()
+		throws Exception
+	{
+		// Arrange
+		Path path = Files.createTempFile("source", ".txt");
+
+		try
+		{
+			Files.write(path,
+				"begin\n\nx := 1\nend".getBytes(StandardCharsets.UTF_8));
+
+			this._primitiveLanguageLexer.setSource("begin end");
+
+			// Act
+			TokenBuffer tokens =
+				this._primitiveLanguageLexer.parse(path, StandardCharsets.UTF_8);
+
+			LineIndex lineIndex = this._primitiveLanguageLexer.getLineIndex();
+
+			// Assert
+			Assert.assertEquals(4, lineIndex.getLinesCount());
+			Assert.assertEquals(3, lineIndex.getLine(tokens.getOffset(1)));
+			Assert.assertEquals("begin end",
+				this._primitiveLanguageLexer.getSource());
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void getLineIndex_SourceIsChanged_ReturnsIndexOfNewSource()
+		throws Exception
+	{
+		// Arrange
+		this._primitiveLanguageLexer.setSource("begin\nend");
+
+		LineIndex lineIndex = this._primitiveLanguageLexer.getLineIndex();
+
+		// Act
+		this._primitiveLanguageLexer.setSource("begin\n\nend");
+
+		LineIndex newLineIndex = this._primitiveLanguageLexer.getLineIndex();
+
+		// Assert
+		Assert.assertEquals(2, lineIndex.getLinesCount());
+		Assert.assertEquals(3, newLineIndex.getLinesCount());
+		Assert.assertSame(newLineIndex,
+			this._primitiveLanguageLexer.getLineIndex());
+	}
+
+	@Test
+	public void getSpecification_LexersAreCreatedFromSpecification_BuildsDfaOnce()
+		throws Exception
+	{
+		// Arrange
+		IDfaBuildingService dfaBuildingServiceSpy =
+			Mockito.spy(new DfaBuildingService());
+
+		IPrimitiveLanguageLexer lexer =
+			new PrimitiveLanguageLexer(dfaBuildingServiceSpy);
+
+		// Act
+		LexerSpecification specification = lexer.getSpecification();
+
+		for (int i = 0; i < 3; i++)
+		{
+			IPrimitiveLanguageLexer target =
+				new PrimitiveLanguageLexer(specification);
+
+			target.setSource("BEGIN x := " + i + " END");
+
+			target.parse();
+		}
+
+		// Assert
+		Mockito.verify(dfaBuildingServiceSpy, Mockito.times(1)).buildDfa(
+			Matchers.anyListOf(Pattern.class),
+			Matchers.anySetOf(String.class));
+	}
+
+	@Test
+	public void getSpecification_LexersAreUsedConcurrently_ReturnTheSameTokensAsParse()
+		throws Exception
+	{
+		// Arrange
+		List<String> sources = new ArrayList<String>();
+
+		for (int i = 0; i < 32; i++)
+		{
+			StringBuilder source = new StringBuilder();
+
+			for (int j = 0; j <= i; j++)
+			{
+				source.append("IF x").append(j).append(" >= ").append(i);
+				source.append(" THEN x := x / 2; ");
+			}
+
+			sources.add(source.toString());
+		}
+
+		this._primitiveLanguageLexer.setKeywords(Arrays.asList("if", "then"));
+
+		LexerSpecification specification =
+			this._primitiveLanguageLexer.getSpecification();
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		List<Future<List<Token>>> futures = new ArrayList<Future<List<Token>>>();
+
+		// Act
+		try
+		{
+			for (String source : sources)
+			{
+				futures.add(executor.submit(() -> {
+					IPrimitiveLanguageLexer target =
+						new PrimitiveLanguageLexer(specification);
+
+					target.setSource(source);
+
+					return target.parse();
+				}));
+			}
+
+			// Assert
+			for (int i = 0; i < sources.size(); i++)
+			{
+				this._primitiveLanguageLexer.setSource(sources.get(i));
+
+				Assert.assertEquals(this._primitiveLanguageLexer.parse(),
+					futures.get(i).get());
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void getTokenCursor_BufferIsSmallerThanTokens_ReturnsTheSameTokensAsParse()
+		throws Exception
+	{
+		// Arrange
+		String source =
+			"CONST m = 7; VAR longIdentifierName; BEGIN longIdentifierName := m * 1234567890; END. \\ ?!";
+
+		this._primitiveLanguageLexer.setSource(source);
+		this._primitiveLanguageLexer.setBufferSize(3);
+
+		List<Token> tokens = new ArrayList<Token>();
+
+		// Act
+		try (ITokenCursor cursor =
+			this._primitiveLanguageLexer.getTokenCursor(new StringReader(
+				source)))
+		{
+			while (cursor.moveNext())
+			{
+				tokens.add(cursor.getToken());
+			}
+		}
+
+		// Assert
+		Assert.assertEquals(this._primitiveLanguageLexer.parse(), tokens);
+	}
+
+	@Test
+	public void getTokenCursor_ChannelIsSpecified_ReturnsValidTokens()
+		throws Exception
+	{
+		// Arrange
+		String source = "begin x := \u00e9 end";
+
+		List<Token> tokens = new ArrayList<Token>();
+
+		// Act
+		try (ITokenCursor cursor =
+			this._primitiveLanguageLexer.getTokenCursor(Channels
+					.newChannel(new ByteArrayInputStream(source
+							.getBytes(StandardCharsets.UTF_8))),
+				StandardCharsets.UTF_8))
+		{
+			while (cursor.moveNext())
+			{
+				tokens.add(cursor.getToken());
+			}
+		}
+
+		// Assert
+		Assert.assertEquals(Arrays.asList(new Token(TokenKind.Keyword,
+			"begin", new Location(0, 5)), new Token(TokenKind.Identifier, "x",
+			new Location(6, 1)), new Token(TokenKind.Operator, ":=",
+			new Location(8, 2)), new Token(TokenKind.Unknown, "\u00e9",
+			new Location(11, 1)), new Token(TokenKind.Keyword, "end",
+			new Location(13, 3))), tokens);
+	}
+
+	@Test
+	public void getTokenCursor_ContextualLexingIsSet_ReturnsTokensOfExpectedTerminals()
+		throws Exception
+	{
+		// Arrange
+		this._primitiveLanguageLexer.setTokenDefinitions(Arrays.asList(
+			new TokenDefinition("[a-z][a-z0-9]*", TokenKind.Identifier),
+			new TokenDefinition("[0-9a-f]+", TokenKind.Number)));
+
+		this._primitiveLanguageLexer.setContextualLexing(true);
+
+		Map<Node, TokenKind> specialNodesMap = new HashMap<Node, TokenKind>();
+
+		specialNodesMap.put(new Node(NodeKind.Terminal, "identifier"),
+			TokenKind.Identifier);
+		specialNodesMap.put(new Node(NodeKind.Terminal, "number"),
+			TokenKind.Number);
+
+		GrammarTerminals grammarTerminals =
+			new GrammarTerminals(new ArrayList<Node>(), specialNodesMap);
+
+		BitSet numberIds = new BitSet();
+
+		numberIds.set(grammarTerminals.getSpecialTerminalId(TokenKind.Number));
+
+		List<TokenKind> kinds = new ArrayList<TokenKind>();
+
+		// Act
+		try (ITokenCursor cursor =
+			this._primitiveLanguageLexer.getTokenCursor(new StringReader(
+				"abc abc xyz")))
+		{
+			cursor.moveNext();
+
+			kinds.add(cursor.getKind());
+
+			cursor.setExpectedTerminals(grammarTerminals, numberIds);
+			cursor.moveNext();
+
+			kinds.add(cursor.getKind());
+
+			cursor.setExpectedTerminals(grammarTerminals, numberIds);
+			cursor.moveNext();
+
+			kinds.add(cursor.getKind());
+
+			Assert.assertTrue(cursor.isContextual());
+		}
+
+		// Assert
+		Assert.assertEquals(Arrays.asList(TokenKind.Identifier,
+			TokenKind.Number, TokenKind.Identifier), kinds);
+	}
+
+	@Test
+	public void getTokenCursor_NoMoreTokens_CursorStaysOnLastToken()
+		throws Exception
+	{
+		// Arrange
+		this._primitiveLanguageLexer.setBufferSize(2);
+
+		try (ITokenCursor cursor =
+			this._primitiveLanguageLexer.getTokenCursor(new StringReader(
+				"x1 end   ")))
+		{
+			cursor.moveNext();
+			cursor.moveNext();
+
+			// Act
+			boolean isMoved = cursor.moveNext();
+
+			// Assert
+			Assert.assertFalse(isMoved);
+
+			Assert.assertEquals(new Token(TokenKind.Keyword, "end",
+				new Location(3, 3)), cursor.getToken());
+		}
+	}
+
+	@Test
+	public void getTokenCursor_SymbolTableIsSet_ReturnsTheSameSymbolIdsAsParseToTokenBuffer()
+		throws Exception
+	{
+		// Arrange
+		String source = "VAR x, y; BEGIN x := 12; y := x + 12 END.";
+
+		this._primitiveLanguageLexer.setSource(source);
+		this._primitiveLanguageLexer.setSymbolTable(new SymbolTable());
+		this._primitiveLanguageLexer.setBufferSize(3);
+
+		TokenBuffer tokens = this._primitiveLanguageLexer.parseToTokenBuffer();
+
+		List<Integer> symbolIds = new ArrayList<Integer>();
+
+		// Act
+		try (ITokenCursor cursor =
+			this._primitiveLanguageLexer.getTokenCursor(new StringReader(
+				source)))
+		{
+			while (cursor.moveNext())
+			{
+				symbolIds.add(cursor.getSymbolId());
+			}
+		}
+
+		// Assert
+		Assert.assertEquals(tokens.getCount(), symbolIds.size());
+
+		for (int i = 0; i < tokens.getCount(); i++)
+		{
+			Assert.assertEquals(tokens.getSymbolId(i), (int) symbolIds.get(i));
+		}
+	}
+
+	@Test
+	public void getTokenCursor_TokenDefinitionIsNotSupportedByDfa_ReturnsTheSameTokensAsParse()
+		throws Exception
+	{
+		// Arrange
+		String source = "ab;cd abc;; d";
+
+		this._primitiveLanguageLexer.setTokenDefinitions(Arrays.asList(
+			new TokenDefinition("[a-z]+(?=;)", TokenKind.Identifier),
+			new TokenDefinition("[a-z;]", TokenKind.Punctuator)));
+
+		this._primitiveLanguageLexer.setSource(source);
+		this._primitiveLanguageLexer.setBufferSize(2);
+
+		List<Token> tokens = new ArrayList<Token>();
+
+		// Act
+		try (ITokenCursor cursor =
+			this._primitiveLanguageLexer.getTokenCursor(new StringReader(
+				source)))
+		{
+			while (cursor.moveNext())
+			{
+				tokens.add(cursor.getToken());
+			}
+		}
+
+		// Assert
+		Assert.assertEquals(this._primitiveLanguageLexer.parse(), tokens);
+	}
+
+	@Test
+	public void parseIncrementally_EditsAreApplied_ReturnsTheSameTokensAsParse()
+		throws Exception
+	{
+		// Arrange
+		String source =
+			"CONST m = 7; VAR x; BEGIN x := m * 2; IF x >= 10 THEN x := x / 2 END.";
+
+		TextEdit[] edits =
+			{
+				new TextEdit(0, 0, "VAR y; "),
+				new TextEdit(17, 0, "12"),
+				new TextEdit(40, 1, ""),
+				new TextEdit(40, 0, "="),
+				new TextEdit(30, 0, " "),
+				new TextEdit(12, 5, "BEGIN  END"),
+				new TextEdit(0, 3, "CON"),
+				new TextEdit(5, 10, ""),
+				new TextEdit(67, 0, ";"),
+				new TextEdit(0, 0, "\\")
+			};
+
+		this._primitiveLanguageLexer.setSource(source);
+
+		TokenBuffer tokens = this._primitiveLanguageLexer.parseToTokenBuffer();
+
+		for (TextEdit edit : edits)
+		{
+			source = edit.applyTo(source);
+
+			// Act
+			tokens =
+				this._primitiveLanguageLexer.parseIncrementally(tokens, edit);
+
+			// Assert
+			this._primitiveLanguageLexer.setSource(source);
+
+			Assert.assertEquals(this._primitiveLanguageLexer.parse(),
+				tokens.toList());
+		}
+	}
+
+	@Test
+	public void parseIncrementally_SymbolTableIsSet_InternsChangedTokens()
+		throws Exception
+	{
+		// Arrange
+		SymbolTable symbolTable = new SymbolTable();
+
+		this._primitiveLanguageLexer.setSymbolTable(symbolTable);
+		this._primitiveLanguageLexer.setSource("x := y + x");
+
+		TokenBuffer tokens = this._primitiveLanguageLexer.parseToTokenBuffer();
+
+		// Act
+		TokenBuffer newTokens =
+			this._primitiveLanguageLexer.parseIncrementally(tokens,
+				new TextEdit(5, 1, "z"));
+
+		// Assert
+		Assert.assertEquals(0, newTokens.getSymbolId(0));
+		Assert.assertEquals(2, newTokens.getSymbolId(2));
+		Assert.assertEquals(0, newTokens.getSymbolId(4));
+		Assert.assertEquals("z", symbolTable.getSymbol(2));
+		Assert.assertSame(symbolTable, newTokens.getSymbolTable());
+	}
+
+	@Test
+	public void parseIncrementally_TokenDefinitionIsNotSupportedByDfa_ReturnsTheSameTokensAsParse()
+		throws Exception
+	{
+		// Arrange
+		this._primitiveLanguageLexer.setTokenDefinitions(Arrays.asList(
+			new TokenDefinition("[a-z]+(?=;)", TokenKind.Identifier),
+			new TokenDefinition("[a-z;]", TokenKind.Punctuator)));
+
+		String source = "abc de";
+
+		TextEdit[] edits =
+			{
+				new TextEdit(3, 0, ";"),
+				new TextEdit(7, 0, ";"),
+				new TextEdit(3, 1, "")
+			};
+
+		this._primitiveLanguageLexer.setSource(source);
+
+		TokenBuffer tokens = this._primitiveLanguageLexer.parseToTokenBuffer();
+
+		for (TextEdit edit : edits)
+		{
+			source = edit.applyTo(source);
+
+			// Act
+			tokens =
+				this._primitiveLanguageLexer.parseIncrementally(tokens, edit);
+
+			// Assert
+			this._primitiveLanguageLexer.setSource(source);
+
+			Assert.assertEquals(source, this._primitiveLanguageLexer.parse(),
+				tokens.toList());
+		}
+	}
+
+	@Test
+	public void parseIncrementally_TokenDefinitionsReadSeveralCharactersAhead_ReturnsTheSameTokensAsParse()
+		throws Exception
+	{
+		// Arrange
+		this._primitiveLanguageLexer.setTokenDefinitions(Arrays.asList(
+			new TokenDefinition("a+b", TokenKind.Identifier),
+			new TokenDefinition("abcd", TokenKind.Number),
+			new TokenDefinition("[a-z]", TokenKind.Punctuator)));
+
+		String source = "aaaa abcx";
+
+		TextEdit[] edits =
+			{
+				new TextEdit(4, 0, "b"),
+				new TextEdit(9, 1, "d"),
+				new TextEdit(4, 1, ""),
+				new TextEdit(3, 0, "ab"),
+				new TextEdit(10, 0, "aaab")
+			};
+
+		this._primitiveLanguageLexer.setSource(source);
+
+		TokenBuffer tokens = this._primitiveLanguageLexer.parseToTokenBuffer();
+
+		for (TextEdit edit : edits)
+		{
+			source = edit.applyTo(source);
+
+			// Act
+			tokens =
+				this._primitiveLanguageLexer.parseIncrementally(tokens, edit);
+
+			// Assert
+			this._primitiveLanguageLexer.setSource(source);
+
+			Assert.assertEquals(source, this._primitiveLanguageLexer.parse(),
+				tokens.toList());
+		}
+	}
+
+	@Test
+	public void parseIncrementally_TokenIsChanged_ShiftsFollowingTokens()
+		throws Exception
+	{
+		// Arrange
+		this._primitiveLanguageLexer.setSource("x := y + 1;");
+
+		TokenBuffer tokens = this._primitiveLanguageLexer.parseToTokenBuffer();
+
+		// Act
+		TokenBuffer newTokens =
+			this._primitiveLanguageLexer.parseIncrementally(tokens,
+				new TextEdit(5, 1, "yz"));
+
+		// Assert
+		Assert.assertEquals(Arrays.asList(new Token(TokenKind.Identifier, "x",
+			new Location(0, 1)), new Token(TokenKind.Operator, ":=",
+			new Location(2, 2)), new Token(TokenKind.Identifier, "yz",
+			new Location(5, 2)), new Token(TokenKind.Operator, "+",
+			new Location(8, 1)), new Token(TokenKind.Number, "1",
+			new Location(10, 1)), new Token(TokenKind.Punctuator, ";",
+			new Location(11, 1))), newTokens.toList());
+	}
+
+	@Test
+	public void parseToOffHeapTokenBuffer_TokensDoNotFitInOneChunk_ReturnsTheSameTokensAsParseToTokenBuffer()
+		throws Exception
+	{
+		// Arrange
+		StringBuilder source = new StringBuilder();
+
+		for (int i = 0; i < 14000; i++)
+		{
+			source.append("x").append(i % 11).append(" := y + 1;\n");
+		}
+
+		Map<Node, TokenKind> specialNodesMap = new HashMap<Node, TokenKind>();
+
+		specialNodesMap.put(new Node(NodeKind.Terminal, "identifier"),
+			TokenKind.Identifier);
+
+		GrammarTerminals grammarTerminals =
+			new GrammarTerminals(Arrays.asList(new Node(NodeKind.Terminal,
+				":="), new Node(NodeKind.Terminal, ";")), specialNodesMap);
+
+		this._primitiveLanguageLexer.setSource(source.toString());
+		this._primitiveLanguageLexer.setGrammarTerminals(grammarTerminals);
+
+		TokenBuffer expectedTokens =
+			this._primitiveLanguageLexer.parseToTokenBuffer();
+
+		// Act
+		try (OffHeapTokenBuffer tokens =
+			this._primitiveLanguageLexer.parseToOffHeapTokenBuffer())
+		{
+			// Assert
+			Assert.assertEquals(expectedTokens.getCount(), tokens.getCount());
+			Assert.assertTrue(tokens.getCount() > tokens.getChunkCapacity());
+
+			for (int i = 0; i < tokens.getCount(); i++)
+			{
+				Assert.assertEquals(expectedTokens.getKind(i), tokens.getKind(i));
+				Assert.assertEquals(expectedTokens.getOffset(i),
+					tokens.getOffset(i));
+				Assert.assertEquals(expectedTokens.getLength(i),
+					tokens.getLength(i));
+				Assert.assertEquals(
+					expectedTokens.getTerminalId(i, grammarTerminals),
+					tokens.getTerminalId(i, grammarTerminals));
+			}
+		}
+	}
+
+	@Test
+	public void parseToTokenBuffer_GrammarTerminalsAreSetAndPoolIsSpecified_ReturnsTokensTaggedWithTerminalIds()
+		throws Exception
+	{
+		// Arrange
+		StringBuilder source = new StringBuilder();
+
+		for (int i = 0; i < 100; i++)
+		{
+			source.append("BEGIN x").append(i % 7).append(" := y * ");
+			source.append(i).append(" END; ");
+		}
+
+		Map<Node, TokenKind> specialNodesMap = new HashMap<Node, TokenKind>();
+
+		specialNodesMap.put(new Node(NodeKind.Terminal, "identifier"),
+			TokenKind.Identifier);
+
+		GrammarTerminals grammarTerminals =
+			new GrammarTerminals(Arrays.asList(new Node(NodeKind.Terminal,
+				"begin"), new Node(NodeKind.Terminal, "end"), new Node(
+				NodeKind.Terminal, ":=")), specialNodesMap);
+
+		this._primitiveLanguageLexer.setSource(source.toString());
+		this._primitiveLanguageLexer.setParallelChunkSize(5);
+		this._primitiveLanguageLexer.setGrammarTerminals(grammarTerminals);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		// Act
+		TokenBuffer tokens;
+
+		try
+		{
+			tokens = this._primitiveLanguageLexer.parseToTokenBuffer(pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		// Assert
+		Assert.assertSame(grammarTerminals, tokens.getGrammarTerminals());
+
+		for (int i = 0; i < tokens.getCount(); i++)
+		{
+			Assert.assertEquals(grammarTerminals.classify(tokens.getKind(i),
+				source, tokens.getOffset(i), tokens.getLength(i)), tokens
+				.getTerminalId(i, grammarTerminals));
+		}
+	}
+
+	@Test
+	public void parseToTokenBuffer_PoolIsSpecified_ReturnsTheSameTokensAsParse()
+		throws Exception
+	{
+		// Arrange
+		StringBuilder source = new StringBuilder();
+
+		for (int i = 0; i < 200; i++)
+		{
+			source.append("BEGIN x").append(i).append(" := x * 12;\n\t");
+			source.append("IF x >= 10 THEN x := x / 2 END; \\ ?!");
+		}
+
+		this._primitiveLanguageLexer.setSource(source.toString());
+		this._primitiveLanguageLexer.setParallelChunkSize(7);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		// Act
+		TokenBuffer tokens;
+
+		try
+		{
+			tokens = this._primitiveLanguageLexer.parseToTokenBuffer(pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		// Assert
+		Assert.assertEquals(this._primitiveLanguageLexer.parse(),
+			tokens.toList());
+	}
+
+	@Test
+	public void parseToTokenBuffer_ReturnsTheSameTokensAsParse()
+		throws Exception
+	{
+		// Arrange
+		this._primitiveLanguageLexer
+				.setSource("CONST m = 7; VAR x; BEGIN x := m * 2; IF x >= 10 THEN x := x / 2 END. \\ ?!");
+
+		// Act
+		TokenBuffer tokens = this._primitiveLanguageLexer.parseToTokenBuffer();
+
+		// Assert
+		Assert.assertEquals(this._primitiveLanguageLexer.parse(),
+			tokens.toList());
+	}
+
+	@Test
+	public void parseToTokenBuffer_SymbolTableIsSetAndPoolIsSpecified_ReturnsTheSameSymbolIdsAsSequentialParsing()
+		throws Exception
+	{
+		// Arrange
+		StringBuilder source = new StringBuilder();
+
+		for (int i = 0; i < 100; i++)
+		{
+			source.append("BEGIN x").append(i % 7).append(" := y * ");
+			source.append(i).append(" END; ");
+		}
+
+		this._primitiveLanguageLexer.setSource(source.toString());
+		this._primitiveLanguageLexer.setParallelChunkSize(5);
+		this._primitiveLanguageLexer.setSymbolTable(new SymbolTable());
+
+		TokenBuffer expectedTokens =
+			this._primitiveLanguageLexer.parseToTokenBuffer();
+
+		this._primitiveLanguageLexer.setSymbolTable(new SymbolTable());
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		// Act
+		TokenBuffer tokens;
+
+		try
+		{
+			tokens = this._primitiveLanguageLexer.parseToTokenBuffer(pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		// Assert
+		Assert.assertEquals(expectedTokens.getCount(), tokens.getCount());
+
+		for (int i = 0; i < tokens.getCount(); i++)
+		{
+			Assert.assertEquals(expectedTokens.getSymbolId(i),
+				tokens.getSymbolId(i));
+		}
+	}
+
+	@Test
+	public void parseToTokenBuffer_SymbolTableIsSet_ReturnsTokensWithSymbolIds()
+		throws Exception
+	{
+		// Arrange
+		SymbolTable symbolTable = new SymbolTable();
+
+		this._primitiveLanguageLexer.setSymbolTable(symbolTable);
+		this._primitiveLanguageLexer
+				.setSource("BEGIN x := y + 12; y := x * 12 END");
+
+		// Act
+		TokenBuffer tokens = this._primitiveLanguageLexer.parseToTokenBuffer();
+
+		// Assert
+		Assert.assertEquals(-1, tokens.getSymbolId(0));
+		Assert.assertEquals(0, tokens.getSymbolId(1));
+		Assert.assertEquals(-1, tokens.getSymbolId(2));
+		Assert.assertEquals(1, tokens.getSymbolId(3));
+		Assert.assertEquals(2, tokens.getSymbolId(5));
+		Assert.assertEquals(1, tokens.getSymbolId(7));
+		Assert.assertEquals(0, tokens.getSymbolId(9));
+		Assert.assertEquals(2, tokens.getSymbolId(11));
+		Assert.assertEquals(3, symbolTable.getCount());
+		Assert.assertSame(tokens.getValue(1), tokens.getValue(9));
+	}
+
+	@Test
+	public void parseToTokenBuffer_TokenCanContainSpaces_ReturnsTheSameTokensAsParse()
+		throws Exception
+	{
+		// Arrange
+		this._primitiveLanguageLexer.setTokenDefinitions(Arrays.asList(
+			new TokenDefinition("'[^']*'", TokenKind.Identifier),
+			new TokenDefinition("[a-z]+", TokenKind.Identifier)));
+
+		this._primitiveLanguageLexer
+				.setSource("abc 'a b c d e f' de 'g h' 'i j k l m n o p' q");
+		this._primitiveLanguageLexer.setParallelChunkSize(2);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		// Act
+		TokenBuffer tokens;
+
+		try
+		{
+			tokens = this._primitiveLanguageLexer.parseToTokenBuffer(pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		// Assert
+		Assert.assertEquals(this._primitiveLanguageLexer.parse(),
+			tokens.toList());
+		Assert.assertEquals(6, tokens.getCount());
+	}
+
+	@Test
+	public void parse_DfaCanNotBeBuilt_ReturnsTheSameTokensAsDfa()
+		throws Exception
+	{
+		// Arrange
+		String source =
+			"CONST m = 7; VAR x; BEGIN x := m * 2; IF x >= 10 THEN x := x / 2 END. \\ ?!";
+
+		IDfaBuildingService dfaBuildingServiceMock =
+			Mockito.mock(IDfaBuildingService.class);
+
+		Mockito.when(
+			dfaBuildingServiceMock.buildDfa(Matchers.anyListOf(Pattern.class),
+				Matchers.anySetOf(String.class))).thenThrow(
+			new PatternIsNotSupportedException());
+
+		IPrimitiveLanguageLexer target =
+			new PrimitiveLanguageLexer(dfaBuildingServiceMock);
+
+		target.setSource(source);
+
+		this._primitiveLanguageLexer.setSource(source);
+
+		// Act
+		List<Token> tokens = target.parse();
+
+		// Assert
+		Assert.assertEquals(this._primitiveLanguageLexer.parse(), tokens);
+	}
+
+	@Test
+	public void parse_FileContainsNonAsciiCharacters_ReturnsValidTokens()
+		throws Exception
+	{
+		// Arrange
+		Path path = Files.createTempFile("source", ".txt");
+
+		try
+		{
+			Files.write(path,
+				"x \u00e9 begin".getBytes(StandardCharsets.UTF_8));
+
+			// Act
+			List<Token> tokens =
+				this._primitiveLanguageLexer.parse(path,
+					StandardCharsets.UTF_8).toList();
+
+			// Assert
+			Assert.assertEquals(Arrays.asList(new Token(TokenKind.Identifier,
+				"x", new Location(0, 1)), new Token(TokenKind.Unknown,
+				"\u00e9", new Location(2, 1)), new Token(TokenKind.Keyword,
+				"begin", new Location(4, 5))), tokens);
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void parse_FileIsAscii_ReturnsTheSameTokensAsParseOfSource()
+		throws Exception
+	{
+		// Arrange
+		String source =
+			"CONST m = 7;\r\nVAR x;\nBEGIN x := m * 2; IF x >= 10 THEN x := x / 2 END. \\ ?!\n";
+
+		Path path = Files.createTempFile("source", ".txt");
+
+		try
+		{
+			Files.write(path, source.getBytes(StandardCharsets.US_ASCII));
+
+			this._primitiveLanguageLexer.setSource(source);
+
+			// Act
+			List<Token> tokens =
+				this._primitiveLanguageLexer.parse(path,
+					StandardCharsets.UTF_8).toList();
+
+			// Assert
+			Assert.assertEquals(this._primitiveLanguageLexer.parse(), tokens);
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void parse_KeywordsAreChanged_ReturnsTokensWithNewKeywords()
+	{
+		// Arrange
+		this._primitiveLanguageLexer.setKeywords(Arrays.asList("x", "loop"));
+
+		this._primitiveLanguageLexer.setSource("LOOP begin x");
+
+		// Act
+		List<Token> tokens = this._primitiveLanguageLexer.parse();
+
+		// Assert
+		Assert.assertEquals(Arrays.asList(new Token(TokenKind.Keyword,
+			"LOOP", new Location(0, 4)), new Token(TokenKind.Identifier,
+			"begin", new Location(5, 5)), new Token(TokenKind.Keyword, "x",
+			new Location(11, 1))), tokens);
+	}
+
 	@Test
 	public void parse_MethodIsIdempotent()
 	{
@@ -276,6 +1188,50 @@ public class PrimitiveLanguageLexerTests
 		Assert.assertEquals(0, tokens.size());
 	}
 
+	@Test
+	public void parse_TokenDefinitionHasAlternativesWithTheSamePrefix_ReturnsTokensOfTheFirstMatchingAlternative()
+		throws Exception
+	{
+		// Arrange
+		this._primitiveLanguageLexer.setTokenDefinitions(Arrays.asList(
+			new TokenDefinition("a|ab", TokenKind.Identifier),
+			new TokenDefinition("x|xy|xyz", TokenKind.Number)));
+
+		this._primitiveLanguageLexer.setSource("aab xy");
+
+		// Act
+		List<Token> tokens = this._primitiveLanguageLexer.parse();
+
+		// Assert
+		Assert.assertEquals(Arrays.asList(new Token(TokenKind.Identifier,
+			"a", new Location(0, 1)), new Token(TokenKind.Identifier, "a",
+			new Location(1, 1)), new Token(TokenKind.Unknown, "b",
+			new Location(2, 1)), new Token(TokenKind.Number, "x",
+			new Location(4, 1)), new Token(TokenKind.Unknown, "y",
+			new Location(5, 1))), tokens);
+	}
+
+	@Test
+	public void parse_TokenDefinitionIsNotSupportedByDfa_ReturnsValidTokens()
+	{
+		// Arrange
+		this._primitiveLanguageLexer.setTokenDefinitions(Arrays.asList(
+			new TokenDefinition("[a-z]+(?=;)", TokenKind.Identifier),
+			new TokenDefinition("[a-z;]", TokenKind.Punctuator)));
+
+		this._primitiveLanguageLexer.setSource("ab;cd");
+
+		// Act
+		List<Token> tokens = this._primitiveLanguageLexer.parse();
+
+		// Assert
+		Assert.assertEquals(Arrays.asList(new Token(TokenKind.Identifier,
+			"ab", new Location(0, 2)), new Token(TokenKind.Punctuator, ";",
+			new Location(2, 1)), new Token(TokenKind.Punctuator, "c",
+			new Location(3, 1)), new Token(TokenKind.Punctuator, "d",
+			new Location(4, 1))), tokens);
+	}
+
 	@Before
 	public void setUp() throws Exception
 	{
@@ -0,0 +1,64 @@
+package syntax_analyzer.Lexers.Concrete;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Models.KeywordClassifier;
+import syntax_analyzer.Models.Location;
+import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenBuffer;
+
+public class TokenBufferCursorTests
+{
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_TokensIsNull_ThrowsIllegalArgumentException()
+	{
+		// Act & Assert
+		new TokenBufferCursor(null);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void getToken_CursorIsNotMoved_ThrowsIllegalStateException()
+		throws Exception
+	{
+		// Arrange
+		ITokenCursor target = new TokenBufferCursor(new TokenBuffer("x"));
+
+		// Act & Assert
+		target.getToken();
+	}
+
+	@Test
+	public void moveNext_NoMoreTokens_CursorStaysOnLastToken()
+		throws Exception
+	{
+		// Arrange
+		TokenBuffer tokens = new TokenBuffer("x BEGIN");
+
+		tokens.add(TokenKind.Identifier, 0, 1);
+		tokens.add(TokenKind.Keyword, 2, 5);
+
+		KeywordClassifier keywordClassifier =
+			new KeywordClassifier(Arrays.asList("begin"));
+
+		ITokenCursor target = new TokenBufferCursor(tokens);
+
+		// Act & Assert
+		Assert.assertTrue(target.moveNext());
+		Assert.assertEquals("x", target.getValue());
+		Assert.assertEquals(-1, target.classify(keywordClassifier));
+
+		Assert.assertTrue(target.moveNext());
+		Assert.assertFalse(target.moveNext());
+
+		Assert.assertEquals(new Token(TokenKind.Keyword, "BEGIN",
+			new Location(2, 5)), target.getToken());
+		Assert.assertEquals(0, target.classify(keywordClassifier));
+		Assert.assertEquals(2, target.getOffset());
+		Assert.assertEquals(5, target.getLength());
+	}
+}
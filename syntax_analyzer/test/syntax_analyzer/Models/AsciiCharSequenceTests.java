@@ -0,0 +1,80 @@
+package syntax_analyzer.Models;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsciiCharSequenceTests
+{
+	@Test
+	public void charAt_ReturnsValidCharacters() throws Exception
+	{
+		// Arrange
+		AsciiCharSequence target =
+			new AsciiCharSequence(ByteBuffer.wrap("begin".getBytes(
+				StandardCharsets.US_ASCII)));
+
+		// Act
+		char firstChar = target.charAt(0);
+		char lastChar = target.charAt(4);
+
+		// Assert
+		Assert.assertEquals('b', firstChar);
+		Assert.assertEquals('n', lastChar);
+	}
+
+	@Test
+	public void isAscii_BytesAreAscii_ReturnsTrue() throws Exception
+	{
+		// Arrange
+		ByteBuffer bytes =
+			ByteBuffer.wrap("begin x := 1; end.\r\n".getBytes(
+				StandardCharsets.US_ASCII));
+
+		// Act
+		boolean result = AsciiCharSequence.isAscii(bytes);
+
+		// Assert
+		Assert.assertEquals(true, result);
+	}
+
+	@Test
+	public void isAscii_BytesContainNonAsciiCharacter_ReturnsFalse()
+		throws Exception
+	{
+		// Arrange
+		ByteBuffer bytesOne =
+			ByteBuffer.wrap("begin x := \u00e9; end.".getBytes(
+				StandardCharsets.UTF_8));
+		ByteBuffer bytesTwo =
+			ByteBuffer.wrap("begin x := 1; end.\u00e9".getBytes(
+				StandardCharsets.UTF_8));
+
+		// Act
+		boolean resultOne = AsciiCharSequence.isAscii(bytesOne);
+		boolean resultTwo = AsciiCharSequence.isAscii(bytesTwo);
+
+		// Assert
+		Assert.assertEquals(false, resultOne);
+		Assert.assertEquals(false, resultTwo);
+	}
+
+	@Test
+	public void subSequence_ReturnsValidSequence() throws Exception
+	{
+		// Arrange
+		AsciiCharSequence target =
+			new AsciiCharSequence(ByteBuffer.wrap("x := abc;".getBytes(
+				StandardCharsets.US_ASCII)));
+
+		// Act
+		CharSequence subSequence = target.subSequence(5, 8);
+
+		// Assert
+		Assert.assertEquals(3, subSequence.length());
+		Assert.assertEquals("abc", subSequence.toString());
+		Assert.assertEquals("b", subSequence.subSequence(1, 2).toString());
+	}
+}
@@ -0,0 +1,293 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Models.ControlTableItem;
+import grammar_parser.Models.Grammar;
+import grammar_parser.Models.Node;
+import grammar_parser.Models.Rule;
+import grammar_parser.Models.Word;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import syntax_analyzer.Enums.TokenKind;
+
+public class CompiledControlTableTests
+{
+	private Map<ControlTableItem, Rule> _controlTable;
+
+	private Grammar _grammar;
+
+	private GrammarTerminals _grammarTerminals;
+
+	private Node _nodeA;
+
+	private Node _nodeBegin;
+
+	private Node _nodeEnd;
+
+	private Node _nodeIdentifier;
+
+	private Node _nodeS;
+
+	private Rule _ruleOne;
+
+	private Rule _ruleThree;
+
+	private Rule _ruleTwo;
+
+	@Test
+	public void addRowTerminalIds_AddsTerminalsOfRulesOfNonterminal()
+		throws Exception
+	{
+		// Arrange
+		CompiledControlTable target =
+			new CompiledControlTable(this._grammar, this._controlTable,
+				this._grammarTerminals);
+
+		BitSet terminalIds = new BitSet();
+
+		// Act
+		target.addRowTerminalIds(target.getNonterminalId(this._nodeA),
+			terminalIds);
+
+		// Assert
+		BitSet expectedTerminalIds = new BitSet();
+
+		expectedTerminalIds.set(this._grammarTerminals
+				.getTerminalId(this._nodeIdentifier));
+		expectedTerminalIds.set(this._grammarTerminals
+				.getTerminalId(this._nodeEnd));
+
+		Assert.assertEquals(expectedTerminalIds, terminalIds);
+	}
+
+	@Test
+	public void constructor_ControlTableIsValid_ReturnsTableOfRuleIds()
+		throws Exception
+	{
+		// Act
+		CompiledControlTable target =
+			new CompiledControlTable(this._grammar, this._controlTable,
+				this._grammarTerminals);
+
+		// Assert
+		int nonterminalS = target.getNonterminalId(this._nodeS);
+		int nonterminalA = target.getNonterminalId(this._nodeA);
+
+		int terminalBegin = this._grammarTerminals.getTerminalId(this._nodeBegin);
+		int terminalEnd = this._grammarTerminals.getTerminalId(this._nodeEnd);
+		int terminalIdentifier =
+			this._grammarTerminals.getTerminalId(this._nodeIdentifier);
+
+		Assert.assertEquals(0, nonterminalS);
+		Assert.assertEquals(2, target.getNonterminalsCount());
+		Assert.assertEquals(3, target.getRulesCount());
+		Assert.assertEquals(this._grammarTerminals.getTerminalsCount(),
+			target.getEmptyWordId());
+		Assert.assertEquals(target.getSymbol(this._nodeS),
+			target.getStartSymbol());
+
+		Assert.assertSame(this._ruleOne,
+			target.getRule(target.getRuleId(nonterminalS, terminalBegin)));
+		Assert.assertSame(this._ruleTwo, target.getRule(target.getRuleId(
+			nonterminalA, terminalIdentifier)));
+		Assert.assertSame(this._ruleThree,
+			target.getRule(target.getRuleId(nonterminalA, terminalEnd)));
+		Assert.assertEquals(-1, target.getRuleId(nonterminalS, terminalEnd));
+		Assert.assertEquals(-1,
+			target.getRuleId(nonterminalA, target.getEmptyWordId()));
+	}
+
+	@Test
+	public void constructor_TableIsSparse_CompressesTableAndKeepsRuleIds()
+		throws Exception
+	{
+		// Arrange
+		List<Node> terminals = new ArrayList<Node>();
+
+		for (int i = 0; i < 100; i++)
+		{
+			terminals.add(new Node(NodeKind.Terminal, "t" + i));
+		}
+
+		Grammar grammar = new Grammar();
+
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		for (int i = 0; i < 300; i++)
+		{
+			Node nonterminal = new Node(NodeKind.Nonterminal, "N" + i);
+
+			// Ni = "t(i % 100)" .
+			Rule rule = new Rule(nonterminal);
+
+			rule.addNode(terminals.get(i % 100));
+
+			grammar.addRule(rule);
+
+			if (i == 0)
+			{
+				grammar.setHeadRule(rule);
+			}
+
+			controlTable.put(new ControlTableItem(nonterminal, new Word(
+				terminals.get(i % 100))), rule);
+			controlTable.put(new ControlTableItem(nonterminal, new Word(
+				terminals.get(i * 7 % 100))), rule);
+		}
+
+		GrammarTerminals grammarTerminals =
+			new GrammarTerminals(terminals, new HashMap<Node, TokenKind>());
+
+		// Act
+		CompiledControlTable target =
+			new CompiledControlTable(grammar, controlTable, grammarTerminals);
+
+		// Assert
+		Assert.assertTrue(target.getCompressionRatio() > 10);
+		Assert.assertTrue(target.getSlotsCount() < 2 * target.getCellsCount()
+			+ target.getColumnsCount());
+
+		for (int nonterminalId = 0; nonterminalId < target
+				.getNonterminalsCount(); nonterminalId++)
+		{
+			for (int column = 0; column < target.getColumnsCount(); column++)
+			{
+				Rule expectedRule = null;
+
+				if (column < target.getEmptyWordId())
+				{
+					expectedRule =
+						controlTable.get(new ControlTableItem(
+							target.getNonterminal(nonterminalId), new Word(
+								grammarTerminals.getTerminal(column))));
+				}
+
+				int ruleId = target.getRuleId(nonterminalId, column);
+
+				Assert.assertSame(expectedRule,
+					ruleId < 0 ? null : target.getRule(ruleId));
+			}
+		}
+	}
+
+	@Test
+	public void getReversedRuleBody_ReturnsSymbolsOfRuleInReversedOrder()
+		throws Exception
+	{
+		// Arrange
+		CompiledControlTable target =
+			new CompiledControlTable(this._grammar, this._controlTable,
+				this._grammarTerminals);
+
+		int ruleId =
+			target.getRuleId(target.getNonterminalId(this._nodeS),
+				this._grammarTerminals.getTerminalId(this._nodeBegin));
+
+		// Act
+		int[] ruleBody = target.getReversedRuleBody(ruleId);
+
+		// Assert
+		Assert.assertArrayEquals(new int[] {
+			target.getSymbol(this._nodeEnd), target.getSymbol(this._nodeA),
+			target.getSymbol(this._nodeBegin)
+		}, ruleBody);
+		Assert.assertEquals(0, target.getReversedRuleBody(target.getRuleId(
+			target.getNonterminalId(this._nodeA),
+			this._grammarTerminals.getTerminalId(this._nodeEnd))).length);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getRuleId_NonterminalIdIsOutOfBounds_ThrowsIndexOutOfBoundsException()
+		throws Exception
+	{
+		// Arrange
+		CompiledControlTable target =
+			new CompiledControlTable(this._grammar, this._controlTable,
+				this._grammarTerminals);
+
+		// Act & Assert
+		target.getRuleId(target.getNonterminalsCount(), 0);
+	}
+
+	@Test
+	public void getSymbol_NodeCanNotBeMatchedByToken_ReturnsMinusOne()
+		throws Exception
+	{
+		// Arrange
+		CompiledControlTable target =
+			new CompiledControlTable(this._grammar, this._controlTable,
+				this._grammarTerminals);
+
+		// Act
+		int delimiterSymbol =
+			target.getSymbol(new Node(NodeKind.Delimiter, ","));
+		int terminalSymbol =
+			target.getSymbol(new Node(NodeKind.Terminal, "while"));
+
+		// Assert
+		Assert.assertEquals(-1, delimiterSymbol);
+		Assert.assertEquals(-1, terminalSymbol);
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this._nodeS = new Node(NodeKind.Nonterminal, "S");
+		this._nodeA = new Node(NodeKind.Nonterminal, "A");
+		this._nodeBegin = new Node(NodeKind.Terminal, "begin");
+		this._nodeIdentifier = new Node(NodeKind.Terminal, "identifier");
+		this._nodeEnd = new Node(NodeKind.Terminal, "end");
+
+		// S = "begin", A, "end" .
+		this._ruleOne = new Rule(this._nodeS);
+
+		this._ruleOne.addNode(this._nodeBegin);
+		this._ruleOne.addNode(this._nodeA);
+		this._ruleOne.addNode(this._nodeEnd);
+
+		// A = "identifier", A .
+		this._ruleTwo = new Rule(this._nodeA);
+
+		this._ruleTwo.addNode(this._nodeIdentifier);
+		this._ruleTwo.addNode(this._nodeA);
+
+		// A = .
+		this._ruleThree = new Rule(this._nodeA);
+
+		this._grammar = new Grammar();
+
+		this._grammar.addRule(this._ruleOne);
+		this._grammar.addRule(this._ruleTwo);
+		this._grammar.addRule(this._ruleThree);
+
+		this._grammar.setHeadRule(this._ruleOne);
+
+		this._controlTable = new HashMap<ControlTableItem, Rule>();
+
+		this._controlTable.put(new ControlTableItem(this._nodeS, new Word(
+			this._nodeBegin)), this._ruleOne);
+		this._controlTable.put(new ControlTableItem(this._nodeA, new Word(
+			this._nodeIdentifier)), this._ruleTwo);
+		this._controlTable.put(new ControlTableItem(this._nodeA, new Word(
+			this._nodeEnd)), this._ruleThree);
+
+		Map<Node, TokenKind> specialNodesMap = new HashMap<Node, TokenKind>();
+
+		specialNodesMap.put(this._nodeIdentifier, TokenKind.Identifier);
+
+		this._grammarTerminals =
+			new GrammarTerminals(Arrays.asList(this._nodeBegin, this._nodeEnd),
+				specialNodesMap);
+	}
+}
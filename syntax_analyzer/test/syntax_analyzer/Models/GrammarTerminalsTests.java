@@ -0,0 +1,160 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Models.Node;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import syntax_analyzer.Enums.TokenKind;
+
+public class GrammarTerminalsTests
+{
+	@Test
+	public void classify_TokenHasSpecialKindAndValueIsTerminal_ReturnsIdOfTerminal()
+		throws Exception
+	{
+		// Arrange
+		GrammarTerminals target =
+			this.createGrammarTerminals(new Node(NodeKind.Terminal,
+				"identifier"), TokenKind.Identifier);
+
+		// Act
+		int id = target.classify(TokenKind.Identifier, "begin", 0, 5);
+
+		// Assert
+		Assert.assertEquals(
+			target.getTerminalId(new Node(NodeKind.Terminal, "begin")), id);
+	}
+
+	@Test
+	public void classify_TokenHasSpecialKind_ReturnsIdOfSpecialTerminal()
+		throws Exception
+	{
+		// Arrange
+		Node identifier = new Node(NodeKind.Terminal, "identifier");
+
+		GrammarTerminals target =
+			this.createGrammarTerminals(identifier, TokenKind.Identifier);
+
+		// Act
+		int id = target.classify(TokenKind.Identifier, "x", 0, 1);
+
+		// Assert
+		Assert.assertEquals(target.getTerminalId(identifier), id);
+	}
+
+	@Test
+	public void classify_TokenValueIsNotTerminal_ReturnsMinusOne()
+		throws Exception
+	{
+		// Arrange
+		GrammarTerminals target =
+			this.createGrammarTerminals(new Node(NodeKind.Terminal,
+				"identifier"), TokenKind.Identifier);
+
+		// Act
+		int id = target.classify(TokenKind.Keyword, "while", 0, 5);
+
+		// Assert
+		Assert.assertEquals(-1, id);
+	}
+
+	@Test
+	public void classify_TokenValueIsTerminal_ReturnsIdOfTerminal()
+		throws Exception
+	{
+		// Arrange
+		GrammarTerminals target =
+			this.createGrammarTerminals(new Node(NodeKind.Terminal,
+				"identifier"), TokenKind.Identifier);
+
+		// Act
+		int id = target.classify(TokenKind.Keyword, "x := BEGIN", 5, 5);
+
+		// Assert
+		Assert.assertEquals(
+			target.getTerminalId(new Node(NodeKind.Terminal, "begin")), id);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_NodeIsNotTerminal_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Act & Assert
+		new GrammarTerminals(Arrays.asList(new Node(NodeKind.Nonterminal,
+			"S")), new HashMap<Node, TokenKind>());
+	}
+
+	@Test
+	public void getSpecialKind_ReturnsKindOfSpecialTerminalOnly()
+		throws Exception
+	{
+		// Arrange
+		Node identifier = new Node(NodeKind.Terminal, "identifier");
+
+		GrammarTerminals target =
+			this.createGrammarTerminals(identifier, TokenKind.Identifier);
+
+		// Act
+		TokenKind specialKind =
+			target.getSpecialKind(target.getTerminalId(identifier));
+		TokenKind otherKind =
+			target.getSpecialKind(target.getTerminalId(new Node(
+				NodeKind.Terminal, "begin")));
+
+		// Assert
+		Assert.assertEquals(TokenKind.Identifier, specialKind);
+		Assert.assertNull(otherKind);
+	}
+
+	@Test
+	public void getTerminalId_NodeIsNotTerminalOfGrammar_ReturnsMinusOne()
+		throws Exception
+	{
+		// Arrange
+		GrammarTerminals target =
+			this.createGrammarTerminals(new Node(NodeKind.Terminal,
+				"identifier"), TokenKind.Identifier);
+
+		// Act
+		int id = target.getTerminalId(new Node(NodeKind.Terminal, "while"));
+
+		// Assert
+		Assert.assertEquals(-1, id);
+	}
+
+	@Test
+	public void getTerminal_ReturnsTerminalWithSpecifiedId() throws Exception
+	{
+		// Arrange
+		GrammarTerminals target =
+			this.createGrammarTerminals(new Node(NodeKind.Terminal,
+				"identifier"), TokenKind.Identifier);
+
+		// Act & Assert
+		Assert.assertEquals(4, target.getTerminalsCount());
+
+		for (int id = 0; id < target.getTerminalsCount(); id++)
+		{
+			Assert.assertEquals(id,
+				target.getTerminalId(target.getTerminal(id)));
+		}
+	}
+
+	private GrammarTerminals createGrammarTerminals(Node specialNode,
+		TokenKind specialKind)
+	{
+		Map<Node, TokenKind> specialNodesMap = new HashMap<Node, TokenKind>();
+
+		specialNodesMap.put(specialNode, specialKind);
+
+		return new GrammarTerminals(Arrays.asList(new Node(NodeKind.Terminal,
+			"begin"), new Node(NodeKind.Terminal, "end"), new Node(
+			NodeKind.Terminal, ":=")), specialNodesMap);
+	}
+}
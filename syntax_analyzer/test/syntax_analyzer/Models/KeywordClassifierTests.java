@@ -0,0 +1,125 @@
+package syntax_analyzer.Models;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeywordClassifierTests
+{
+	@Test
+	public void classify_KeywordContainsUpperCaseCharacters_ReturnsMinusOne()
+		throws Exception
+	{
+		// Arrange
+		KeywordClassifier target =
+			new KeywordClassifier(Arrays.asList("Begin", "end"));
+
+		// Act
+		int id = target.classify("begin", 0, 5);
+
+		// Assert
+		Assert.assertEquals(-1, id);
+		Assert.assertEquals(Arrays.asList("end"), target.getKeywords());
+	}
+
+	@Test
+	public void classify_KeywordsListIsEmpty_ReturnsMinusOne()
+		throws Exception
+	{
+		// Arrange
+		KeywordClassifier target =
+			new KeywordClassifier(Arrays.<String> asList());
+
+		// Act
+		int id = target.classify("begin", 0, 5);
+
+		// Assert
+		Assert.assertEquals(-1, id);
+	}
+
+	@Test
+	public void classify_PartIsKeywordInAnyCase_ReturnsIdOfKeyword()
+		throws Exception
+	{
+		// Arrange
+		KeywordClassifier target =
+			new KeywordClassifier(Arrays.asList("while", "begin", "end",
+				":=", "\u00e9t\u00e9"));
+
+		// Act
+		int idOne = target.classify("x BEGIN y", 2, 5);
+		int idTwo = target.classify("WhIlE", 0, 5);
+		int idThree = target.classify("x:=1", 1, 2);
+		int idFour = target.classify("\u00c9T\u00c9", 0, 3);
+
+		// Assert
+		Assert.assertEquals("begin", target.getKeyword(idOne));
+		Assert.assertEquals("while", target.getKeyword(idTwo));
+		Assert.assertEquals(":=", target.getKeyword(idThree));
+		Assert.assertEquals("\u00e9t\u00e9", target.getKeyword(idFour));
+	}
+
+	@Test
+	public void classify_PartIsNotKeyword_ReturnsMinusOne() throws Exception
+	{
+		// Arrange
+		KeywordClassifier target =
+			new KeywordClassifier(Arrays.asList("begin", "end", "if"));
+
+		// Act
+		int idOne = target.classify("beginx", 0, 6);
+		int idTwo = target.classify("en", 0, 2);
+		int idThree = target.classify("\u0130f", 0, 2);
+
+		// Assert
+		Assert.assertEquals(-1, idOne);
+		Assert.assertEquals(-1, idTwo);
+		Assert.assertEquals(-1, idThree);
+	}
+
+	@Test(timeout = 10000)
+	public void constructor_KeywordsHaveTheSameHashWithoutSeed_ClassifiesAllKeywords()
+		throws Exception
+	{
+		// Arrange
+		// The keywords have the same base-31 hash.
+		KeywordClassifier target =
+			new KeywordClassifier(Arrays.asList("a]", "b>"));
+
+		// Act
+		int idOne = target.classify("A]", 0, 2);
+		int idTwo = target.classify("b>", 0, 2);
+
+		// Assert
+		Assert.assertEquals("a]", target.getKeyword(idOne));
+		Assert.assertEquals("b>", target.getKeyword(idTwo));
+	}
+
+	@Test
+	public void constructor_KeywordsCountIsLarge_ClassifiesAllKeywords()
+		throws Exception
+	{
+		// Arrange
+		String[] keywords = new String[200];
+
+		for (int i = 0; i < keywords.length; i++)
+		{
+			keywords[i] = "k" + i;
+		}
+
+		// Act
+		KeywordClassifier target =
+			new KeywordClassifier(Arrays.asList(keywords));
+
+		// Assert
+		Assert.assertEquals(keywords.length, target.getKeywordsCount());
+
+		for (String keyword : keywords)
+		{
+			int id = target.classify(keyword.toUpperCase(), 0, keyword.length());
+
+			Assert.assertEquals(keyword, target.getKeyword(id));
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package syntax_analyzer.Models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import syntax_analyzer.Enums.TokenKind;
+
+public class LexerSpecificationTests
+{
+	@Test
+	public void constructor_ListsAreChangedAfterwards_SpecificationIsNotChanged()
+		throws Exception
+	{
+		// Arrange
+		List<TokenDefinition> tokenDefinitions =
+			new ArrayList<TokenDefinition>(Arrays.asList(new TokenDefinition(
+				"[a-z]+", TokenKind.Identifier)));
+
+		List<String> keywords = new ArrayList<String>(Arrays.asList("begin"));
+
+		LexerSpecification target =
+			new LexerSpecification(tokenDefinitions, keywords, Arrays.asList(
+				' ', '\n'), null, null);
+
+		// Act
+		tokenDefinitions.clear();
+		keywords.add("end");
+
+		// Assert
+		Assert.assertEquals(1, target.getTokenDefinitions().size());
+		Assert.assertEquals(1, target.getKeywords().size());
+		Assert.assertEquals(0,
+			target.getKeywordClassifier().classify("begin", 0, 5));
+		Assert.assertEquals(-1,
+			target.getKeywordClassifier().classify("end", 0, 3));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_TokenDefinitionsListIsNull_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Act & Assert
+		new LexerSpecification(null, Arrays.asList("begin"),
+			Arrays.asList(' '), null, null);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void getTokenDefinitions_ListIsModified_ThrowsUnsupportedOperationException()
+		throws Exception
+	{
+		// Arrange
+		LexerSpecification target =
+			new LexerSpecification(Arrays.asList(new TokenDefinition("[0-9]+",
+				TokenKind.Number)), Arrays.<String> asList(),
+				Arrays.asList(' '), null, null);
+
+		// Act & Assert
+		target.getTokenDefinitions().clear();
+	}
+}
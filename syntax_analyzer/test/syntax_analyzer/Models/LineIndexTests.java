@@ -0,0 +1,105 @@
+package syntax_analyzer.Models;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LineIndexTests
+{
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_SourceIsNull_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Act & Assert
+		new LineIndex(null);
+	}
+
+	@Test
+	public void getColumn_OffsetIsInLine_ReturnsColumnFromOne()
+		throws Exception
+	{
+		// Arrange
+		LineIndex target = new LineIndex("begin\n  x := 1\n end");
+
+		// Act
+		int columnOne = target.getColumn(0);
+		int columnTwo = target.getColumn(8);
+		int columnThree = target.getColumn(19);
+
+		// Assert
+		Assert.assertEquals(1, columnOne);
+		Assert.assertEquals(3, columnTwo);
+		Assert.assertEquals(5, columnThree);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getLineStart_LineDoesNotExist_ThrowsIndexOutOfBoundsException()
+		throws Exception
+	{
+		// Arrange
+		LineIndex target = new LineIndex("a\nb");
+
+		// Act & Assert
+		target.getLineStart(3);
+	}
+
+	@Test
+	public void getLine_LinesAreSeparatedByDifferentLineBreaks_ReturnsValidLines()
+		throws Exception
+	{
+		// Arrange
+		LineIndex target = new LineIndex("a\nb\r\nc\rd\n");
+
+		// Act & Assert
+		Assert.assertEquals(5, target.getLinesCount());
+
+		Assert.assertEquals(1, target.getLine(0));
+		Assert.assertEquals(1, target.getLine(1));
+		Assert.assertEquals(2, target.getLine(2));
+		Assert.assertEquals(2, target.getLine(4));
+		Assert.assertEquals(3, target.getLine(5));
+		Assert.assertEquals(4, target.getLine(7));
+		Assert.assertEquals(5, target.getLine(9));
+
+		Assert.assertEquals(5, target.getLineStart(3));
+		Assert.assertEquals(9, target.getLineStart(5));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getLine_OffsetIsOutOfSourceBounds_ThrowsIndexOutOfBoundsException()
+		throws Exception
+	{
+		// Arrange
+		LineIndex target = new LineIndex("begin");
+
+		// Act & Assert
+		target.getLine(6);
+	}
+
+	@Test
+	public void getLine_SourceContainsManyLines_ReturnsValidLines()
+		throws Exception
+	{
+		// Arrange
+		StringBuilder source = new StringBuilder();
+
+		for (int i = 0; i < 1000; i++)
+		{
+			source.append("x := ").append(i).append(";\n");
+		}
+
+		LineIndex target = new LineIndex(source);
+
+		// Act & Assert
+		int line = 1;
+
+		for (int offset = 0; offset < source.length(); offset++)
+		{
+			Assert.assertEquals(line, target.getLine(offset));
+
+			if (source.charAt(offset) == '\n')
+			{
+				line++;
+			}
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Models.Node;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import syntax_analyzer.Enums.TokenKind;
+
+public class OffHeapTokenBufferTests
+{
+	@Test
+	public void addAll_BuffersHaveDifferentSources_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		try (OffHeapTokenBuffer target = new OffHeapTokenBuffer("begin end"))
+		{
+			TokenBuffer tokens = new TokenBuffer("begin");
+
+			tokens.add(TokenKind.Keyword, 0, 5);
+
+			// Act & Assert
+			try
+			{
+				target.addAll(tokens);
+
+				Assert.fail();
+			}
+			catch (IllegalArgumentException e)
+			{
+			}
+		}
+	}
+
+	@Test
+	public void addAll_GrammarTerminalsAreSet_TagsTokensWithTerminalIds()
+		throws Exception
+	{
+		// Arrange
+		String source = "begin x end";
+
+		Map<Node, TokenKind> specialNodesMap = new HashMap<Node, TokenKind>();
+
+		specialNodesMap.put(new Node(NodeKind.Terminal, "identifier"),
+			TokenKind.Identifier);
+
+		GrammarTerminals grammarTerminals =
+			new GrammarTerminals(Arrays.asList(new Node(NodeKind.Terminal,
+				"begin"), new Node(NodeKind.Terminal, "end")), specialNodesMap);
+
+		TokenBuffer tokens = new TokenBuffer(source);
+
+		tokens.add(TokenKind.Keyword, 0, 5);
+		tokens.add(TokenKind.Identifier, 6, 1);
+		tokens.add(TokenKind.Keyword, 8, 3);
+
+		try (OffHeapTokenBuffer target = new OffHeapTokenBuffer(source))
+		{
+			target.setGrammarTerminals(grammarTerminals);
+
+			// Act
+			target.addAll(tokens);
+
+			// Assert
+			Assert.assertEquals(3, target.getCount());
+
+			for (int i = 0; i < tokens.getCount(); i++)
+			{
+				Assert.assertEquals(
+					tokens.getTerminalId(i, grammarTerminals),
+					target.getTerminalId(i, grammarTerminals));
+			}
+		}
+	}
+
+	@Test
+	public void add_TokensCountExceedsChunkCapacity_KeepsAllTokens()
+		throws Exception
+	{
+		// Arrange
+		StringBuilder source = new StringBuilder();
+
+		for (int i = 0; i < 10; i++)
+		{
+			source.append("x").append(i).append(" ");
+		}
+
+		try (OffHeapTokenBuffer target = new OffHeapTokenBuffer(source, 3))
+		{
+			// Act
+			for (int i = 0; i < 10; i++)
+			{
+				target.add(TokenKind.Identifier, 3 * i, 2);
+			}
+
+			// Assert
+			Assert.assertEquals(4, target.getChunkCapacity());
+			Assert.assertEquals(10, target.getCount());
+
+			for (int i = 0; i < 10; i++)
+			{
+				Assert.assertEquals(TokenKind.Identifier, target.getKind(i));
+				Assert.assertEquals(3 * i, target.getOffset(i));
+				Assert.assertEquals(2, target.getLength(i));
+				Assert.assertEquals("x" + i, target.getValue(i));
+			}
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void getKind_BufferIsClosed_ThrowsIllegalStateException()
+		throws Exception
+	{
+		// Arrange
+		OffHeapTokenBuffer target = new OffHeapTokenBuffer("begin");
+
+		target.add(TokenKind.Keyword, 0, 5);
+
+		target.close();
+
+		// Act & Assert
+		target.getKind(0);
+	}
+
+	@Test
+	public void getToken_ReturnsValidToken() throws Exception
+	{
+		// Arrange
+		try (OffHeapTokenBuffer target = new OffHeapTokenBuffer("x := 12"))
+		{
+			target.add(TokenKind.Operator, 2, 2);
+
+			// Act
+			Token token = target.getToken(0);
+
+			// Assert
+			Assert.assertEquals(new Token(TokenKind.Operator, ":=",
+				new Location(2, 2)), token);
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getValue_IndexIsOutOfBounds_ThrowsIndexOutOfBoundsException()
+		throws Exception
+	{
+		// Arrange
+		try (OffHeapTokenBuffer target = new OffHeapTokenBuffer("begin"))
+		{
+			target.add(TokenKind.Keyword, 0, 5);
+
+			// Act & Assert
+			target.getValue(1);
+		}
+	}
+}
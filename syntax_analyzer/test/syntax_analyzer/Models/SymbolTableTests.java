@@ -0,0 +1,108 @@
+package syntax_analyzer.Models;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SymbolTableTests
+{
+	@Test
+	public void find_SymbolIsInterned_ReturnsIdOfSymbol() throws Exception
+	{
+		// Arrange
+		SymbolTable target = new SymbolTable();
+
+		int id = target.intern("x := count", 5, 5);
+
+		// Act
+		int foundId = target.find("count", 0, 5);
+
+		// Assert
+		Assert.assertEquals(id, foundId);
+	}
+
+	@Test
+	public void find_SymbolIsNotInterned_ReturnsMinusOne() throws Exception
+	{
+		// Arrange
+		SymbolTable target = new SymbolTable();
+
+		target.intern("count", 0, 5);
+
+		// Act
+		int idOne = target.find("Count", 0, 5);
+		int idTwo = target.find("count", 0, 4);
+
+		// Assert
+		Assert.assertEquals(-1, idOne);
+		Assert.assertEquals(-1, idTwo);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getSymbol_IdIsOutOfBounds_ThrowsIndexOutOfBoundsException()
+		throws Exception
+	{
+		// Arrange
+		SymbolTable target = new SymbolTable();
+
+		target.intern("x", 0, 1);
+
+		// Act & Assert
+		target.getSymbol(1);
+	}
+
+	@Test
+	public void intern_ManySymbolsAreInterned_ReturnsSequentialIds()
+		throws Exception
+	{
+		// Arrange
+		SymbolTable target = new SymbolTable();
+
+		// Act & Assert
+		for (int i = 0; i < 1000; i++)
+		{
+			Assert.assertEquals(i, target.intern("x" + i, 0,
+				Integer.toString(i).length() + 1));
+		}
+
+		for (int i = 0; i < 1000; i++)
+		{
+			Assert.assertEquals(i, target.intern("x" + i, 0,
+				Integer.toString(i).length() + 1));
+			Assert.assertEquals("x" + i, target.getSymbol(i));
+		}
+
+		Assert.assertEquals(1000, target.getCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void intern_SymbolIsOutOfSourceBounds_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		SymbolTable target = new SymbolTable();
+
+		// Act & Assert
+		target.intern("begin", 3, 3);
+	}
+
+	@Test
+	public void intern_TheSameSymbolIsInternedTwice_ReturnsTheSameIdAndStoresSymbolOnce()
+		throws Exception
+	{
+		// Arrange
+		SymbolTable target = new SymbolTable();
+
+		// Act
+		int idOne = target.intern("x := x + y", 0, 1);
+		int idTwo = target.intern("x := x + y", 9, 1);
+		int idThree = target.intern("x := x + y", 5, 1);
+
+		// Assert
+		Assert.assertEquals(0, idOne);
+		Assert.assertEquals(1, idTwo);
+		Assert.assertEquals(idOne, idThree);
+		Assert.assertEquals(2, target.getCount());
+		Assert.assertEquals("x", target.getSymbol(idOne));
+		Assert.assertEquals("y", target.getSymbol(idTwo));
+	}
+}
@@ -0,0 +1,251 @@
+package syntax_analyzer.Models;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Models.Node;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import syntax_analyzer.Enums.TokenKind;
+
+public class TokenBufferTests
+{
+	@Test(expected = IllegalArgumentException.class)
+	public void addAll_BuffersHaveDifferentSources_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		TokenBuffer target = new TokenBuffer("begin");
+
+		// Act & Assert
+		target.addAll(new TokenBuffer("end"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void addAll_BuffersHaveDifferentSymbolTables_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		String source = "x";
+
+		TokenBuffer target = new TokenBuffer(source);
+		TokenBuffer tokens = new TokenBuffer(source);
+
+		target.setSymbolTable(new SymbolTable());
+		tokens.setSymbolTable(new SymbolTable());
+
+		tokens.add(TokenKind.Identifier, 0, 1);
+		tokens.setSymbolId(0, 0);
+
+		// Act & Assert
+		target.addAll(tokens);
+	}
+
+	@Test
+	public void addAll_BuffersHaveTheSameSource_AppendsTokens()
+		throws Exception
+	{
+		// Arrange
+		String source = "begin x end";
+
+		TokenBuffer target = new TokenBuffer(source);
+		TokenBuffer tokens = new TokenBuffer(source);
+
+		target.add(TokenKind.Keyword, 0, 5);
+		tokens.add(TokenKind.Identifier, 6, 1);
+		tokens.add(TokenKind.Keyword, 8, 3);
+
+		// Act
+		target.addAll(tokens);
+
+		// Assert
+		Assert.assertEquals(Arrays.asList(new Token(TokenKind.Keyword,
+			"begin", new Location(0, 5)), new Token(TokenKind.Identifier, "x",
+			new Location(6, 1)), new Token(TokenKind.Keyword, "end",
+			new Location(8, 3))), target.toList());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void add_LocationIsOutOfSourceBounds_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		TokenBuffer target = new TokenBuffer("abc");
+
+		// Act & Assert
+		target.add(TokenKind.Identifier, 2, 2);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void add_SourceIsNotSet_ThrowsIllegalStateException()
+		throws Exception
+	{
+		// Arrange
+		TokenBuffer target = new TokenBuffer();
+
+		// Act & Assert
+		target.add(TokenKind.Identifier, 0, 1);
+	}
+
+	@Test
+	public void add_TokensCountExceedsCapacity_KeepsAllTokens()
+		throws Exception
+	{
+		// Arrange
+		StringBuilder source = new StringBuilder();
+
+		for (int i = 0; i < 100; i++)
+		{
+			source.append("x;");
+		}
+
+		TokenBuffer target = new TokenBuffer(source);
+
+		// Act
+		for (int i = 0; i < 100; i++)
+		{
+			target.add(TokenKind.Identifier, 2 * i, 1);
+			target.add(TokenKind.Punctuator, 2 * i + 1, 1);
+		}
+
+		// Assert
+		Assert.assertEquals(200, target.getCount());
+
+		Assert.assertEquals(TokenKind.Punctuator, target.getKind(199));
+		Assert.assertEquals(198, target.getOffset(198));
+		Assert.assertEquals(1, target.getLength(198));
+		Assert.assertEquals("x", target.getValue(198));
+	}
+
+	@Test
+	public void getTerminalId_TokensAreTaggedWithOtherGrammarTerminals_ClassifiesTokens()
+		throws Exception
+	{
+		// Arrange
+		Map<Node, TokenKind> specialNodesMap = new HashMap<Node, TokenKind>();
+
+		specialNodesMap.put(new Node(NodeKind.Terminal, "identifier"),
+			TokenKind.Identifier);
+
+		List<Node> terminals =
+			Arrays.asList(new Node(NodeKind.Terminal, "begin"), new Node(
+				NodeKind.Terminal, "end"));
+
+		GrammarTerminals grammarTerminals =
+			new GrammarTerminals(terminals, specialNodesMap);
+		GrammarTerminals otherGrammarTerminals =
+			new GrammarTerminals(terminals, specialNodesMap);
+
+		TokenBuffer target = new TokenBuffer("begin x end");
+
+		target.setGrammarTerminals(grammarTerminals);
+
+		target.add(TokenKind.Keyword, 0, 5);
+		target.add(TokenKind.Identifier, 6, 1);
+		target.add(TokenKind.Keyword, 8, 3);
+
+		// The tag of the first token is wrong on purpose.
+		target.setTerminalId(0, grammarTerminals.getTerminalId(terminals
+			.get(1)));
+
+		// Act
+		int taggedId = target.getTerminalId(0, grammarTerminals);
+		int classifiedId = target.getTerminalId(0, otherGrammarTerminals);
+		int notTaggedId = target.getTerminalId(1, grammarTerminals);
+
+		// Assert
+		Assert.assertEquals(grammarTerminals.getTerminalId(terminals.get(1)),
+			taggedId);
+		Assert.assertEquals(
+			otherGrammarTerminals.getTerminalId(terminals.get(0)),
+			classifiedId);
+		Assert.assertEquals(
+			grammarTerminals.getTerminalId(new Node(NodeKind.Terminal,
+				"identifier")), notTaggedId);
+	}
+
+	@Test
+	public void getToken_ReturnsValidToken() throws Exception
+	{
+		// Arrange
+		TokenBuffer target = new TokenBuffer("begin x := 10;");
+
+		target.add(TokenKind.Keyword, 0, 5);
+		target.add(TokenKind.Number, 11, 2);
+
+		// Act
+		Token token = target.getToken(1);
+
+		// Assert
+		Assert.assertEquals(new Token(TokenKind.Number, "10", new Location(11,
+			2)), token);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getValue_IndexIsOutOfBounds_ThrowsIndexOutOfBoundsException()
+		throws Exception
+	{
+		// Arrange
+		TokenBuffer target = new TokenBuffer("begin");
+
+		target.add(TokenKind.Keyword, 0, 5);
+
+		// Act & Assert
+		target.getValue(1);
+	}
+
+	@Test
+	public void getValue_SymbolIdIsSet_ReturnsSymbolFromSymbolTable()
+		throws Exception
+	{
+		// Arrange
+		String source = "x := x";
+
+		SymbolTable symbolTable = new SymbolTable();
+
+		TokenBuffer target = new TokenBuffer(source);
+
+		target.setSymbolTable(symbolTable);
+
+		target.add(TokenKind.Identifier, 0, 1);
+		target.add(TokenKind.Operator, 2, 2);
+		target.add(TokenKind.Identifier, 5, 1);
+
+		target.setSymbolId(0, symbolTable.intern(source, 0, 1));
+		target.setSymbolId(2, symbolTable.intern(source, 5, 1));
+
+		// Act
+		String valueOne = target.getValue(0);
+		String valueTwo = target.getValue(2);
+
+		// Assert
+		Assert.assertSame(valueOne, valueTwo);
+		Assert.assertEquals("x", valueOne);
+		Assert.assertEquals(-1, target.getSymbolId(1));
+		Assert.assertEquals(0, target.getToken(2).getSymbolId());
+	}
+
+	@Test
+	public void toList_BufferIsCreatedFromTokens_ReturnsTheSameTokens()
+		throws Exception
+	{
+		// Arrange
+		List<Token> tokens =
+			Arrays.asList(new Token(TokenKind.Keyword, "begin", new Location(
+				0, 1)), new Token(TokenKind.Identifier, "x",
+				new Location(0, 1)));
+
+		TokenBuffer target = new TokenBuffer(tokens);
+
+		// Act
+		List<Token> result = target.toList();
+
+		// Assert
+		Assert.assertEquals(tokens, result);
+	}
+}
@@ -7,6 +7,30 @@ import syntax_analyzer.Enums.TokenKind;
 
 public class TokenTests
 {
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_LocationIsOutOfSourceBounds_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Act & Assert
+		new Token(TokenKind.Identifier, "abc", 2, 2);
+	}
+
+	@Test
+	public void equals_TokenIsCreatedFromSource_ReturnsTrueForTokenWithTheSameValue()
+		throws Exception
+	{
+		// Arrange
+		Token tokenOne = new Token(TokenKind.Identifier, "x := abc", 5, 3);
+		Token tokenTwo =
+			new Token(TokenKind.Identifier, "abc", new Location(5, 3));
+
+		// Act
+		boolean result = tokenOne.equals(tokenTwo);
+
+		// Assert
+		Assert.assertEquals(true, result);
+	}
+
 	@Test
 	public void equals_TwoTokensHaveDifferentKindAndValueAndLocationFields_ReturnsFalse()
 		throws Exception
@@ -42,6 +66,20 @@ public class TokenTests
 		Assert.assertEquals(true, result);
 	}
 
+	@Test
+	public void getValue_TokenIsCreatedFromSource_ReturnsPartOfSource()
+		throws Exception
+	{
+		// Arrange
+		Token token = new Token(TokenKind.Identifier, "x := abc;", 5, 3);
+
+		// Act
+		String value = token.getValue();
+
+		// Assert
+		Assert.assertEquals("abc", value);
+	}
+
 	@Test
 	public void hashCode_TwoTokensHaveDifferentKindAndValueAndLocationFields_ReturnsDifferentHashCodes()
 		throws Exception
@@ -77,4 +115,4 @@ public class TokenTests
 		// Assert
 		Assert.assertEquals(hashCodeOne, hashCodeTwo);
 	}
-}
+}
\ No newline at end of file
@@ -0,0 +1,367 @@
+package syntax_analyzer.Services.Concrete;
+
+import grammar_parser.Enums.NodeKind;
+import grammar_parser.Models.ControlTableItem;
+import grammar_parser.Models.Grammar;
+import grammar_parser.Models.Node;
+import grammar_parser.Models.Rule;
+import grammar_parser.Models.Word;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Models.CompiledControlTable;
+import syntax_analyzer.Models.GrammarTerminals;
+import syntax_analyzer.Services.Abstract.ICompiledControlTableStorageService;
+
+public class CompiledControlTableStorageServiceTests
+{
+	private CompiledControlTable _compiledControlTable;
+
+	private ICompiledControlTableStorageService _compiledControlTableStorageService;
+
+	private String _grammarText;
+
+	private Map<Node, TokenKind> _specialNodesMap;
+
+	@Test
+	public void getCompiledControlTablePath_ReturnsPathNextToGrammarFile()
+	{
+		// Act
+		Path path =
+			this._compiledControlTableStorageService
+					.getCompiledControlTablePath(Paths.get("grammars",
+						"grammar.txt"));
+
+		// Assert
+		Assert.assertEquals(Paths.get("grammars", "grammar.txt.compiled"),
+			path);
+	}
+
+	@Test
+	public void load_FileDoesNotExist_ReturnsNull() throws Exception
+	{
+		// Arrange
+		Path directory = Files.createTempDirectory("table");
+
+		try
+		{
+			// Act
+			CompiledControlTable compiledControlTable =
+				this._compiledControlTableStorageService.load(
+					directory.resolve("grammar.txt.compiled"),
+					this._grammarText, this._specialNodesMap);
+
+			// Assert
+			Assert.assertNull(compiledControlTable);
+		}
+		finally
+		{
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void load_CountsAreNegative_ReturnsNull() throws Exception
+	{
+		// Arrange
+		Path path = Files.createTempFile("grammar", ".compiled");
+
+		try
+		{
+			this._compiledControlTableStorageService.save(path,
+				this._grammarText, this._compiledControlTable);
+
+			byte[] bytes = Files.readAllBytes(path);
+
+			GrammarTerminals grammarTerminals =
+				this._compiledControlTable.getGrammarTerminals();
+
+			// The magic number, the version and the hash are followed by the
+			// terminals, the nonterminals and the rules.
+			int nonterminalsCountOffset = 44;
+
+			for (int i = 0; i < grammarTerminals.getTerminalsCount(); i++)
+			{
+				nonterminalsCountOffset +=
+					8 + 2 * grammarTerminals.getTerminal(i).getText().length();
+			}
+
+			int rulesCountOffset = nonterminalsCountOffset + 4;
+
+			for (int i = 0; i < this._compiledControlTable
+					.getNonterminalsCount(); i++)
+			{
+				rulesCountOffset +=
+					4 + 2 * this._compiledControlTable.getNonterminal(i)
+							.getText().length();
+			}
+
+			for (int offset : new int[] {
+				40, nonterminalsCountOffset, rulesCountOffset
+			})
+			{
+				byte[] damagedBytes = bytes.clone();
+
+				ByteBuffer.wrap(damagedBytes).putInt(offset, -1);
+
+				Files.write(path, damagedBytes);
+
+				// Act
+				CompiledControlTable compiledControlTable =
+					this._compiledControlTableStorageService.load(path,
+						this._grammarText, this._specialNodesMap);
+
+				// Assert
+				Assert.assertNull(compiledControlTable);
+			}
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void load_FileIsTruncated_ReturnsNull() throws Exception
+	{
+		// Arrange
+		Path path = Files.createTempFile("grammar", ".compiled");
+
+		try
+		{
+			this._compiledControlTableStorageService.save(path,
+				this._grammarText, this._compiledControlTable);
+
+			byte[] bytes = Files.readAllBytes(path);
+
+			Files.write(path, Arrays.copyOf(bytes, bytes.length - 5));
+
+			// Act
+			CompiledControlTable compiledControlTable =
+				this._compiledControlTableStorageService.load(path,
+					this._grammarText, this._specialNodesMap);
+
+			// Assert
+			Assert.assertNull(compiledControlTable);
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void load_GrammarTextIsChanged_ReturnsNull() throws Exception
+	{
+		// Arrange
+		Path path = Files.createTempFile("grammar", ".compiled");
+
+		try
+		{
+			this._compiledControlTableStorageService.save(path,
+				this._grammarText, this._compiledControlTable);
+
+			// Act
+			CompiledControlTable compiledControlTable =
+				this._compiledControlTableStorageService.load(path,
+					this._grammarText + " A = \"end\" .", this._specialNodesMap);
+
+			// Assert
+			Assert.assertNull(compiledControlTable);
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void load_SpecialNodesMapIsChanged_ReturnsNull() throws Exception
+	{
+		// Arrange
+		Path path = Files.createTempFile("grammar", ".compiled");
+
+		try
+		{
+			this._compiledControlTableStorageService.save(path,
+				this._grammarText, this._compiledControlTable);
+
+			Map<Node, TokenKind> specialNodesMap =
+				new HashMap<Node, TokenKind>(this._specialNodesMap);
+
+			specialNodesMap.put(new Node(NodeKind.Terminal, "number"),
+				TokenKind.Number);
+
+			// Act
+			CompiledControlTable compiledControlTable =
+				this._compiledControlTableStorageService.load(path,
+					this._grammarText, specialNodesMap);
+
+			// Assert
+			Assert.assertNull(compiledControlTable);
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void save_FileIsSaved_HasDefaultPermissions() throws Exception
+	{
+		// Arrange
+		Path directory = Files.createTempDirectory("grammar");
+
+		Assume.assumeTrue(Files.getFileStore(directory)
+				.supportsFileAttributeView("posix"));
+
+		Path expectedPath = directory.resolve("expected");
+		Path path = directory.resolve("grammar.txt.compiled");
+
+		try
+		{
+			Files.createFile(expectedPath);
+
+			// Act
+			this._compiledControlTableStorageService.save(path,
+				this._grammarText, this._compiledControlTable);
+
+			// Assert
+			Assert.assertEquals(Files.getPosixFilePermissions(expectedPath),
+				Files.getPosixFilePermissions(path));
+		}
+		finally
+		{
+			Files.deleteIfExists(expectedPath);
+			Files.deleteIfExists(path);
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void save_TableIsLoaded_ReturnsTheSameTable() throws Exception
+	{
+		// Arrange
+		Path path = Files.createTempFile("grammar", ".compiled");
+
+		try
+		{
+			// Act
+			this._compiledControlTableStorageService.save(path,
+				this._grammarText, this._compiledControlTable);
+
+			CompiledControlTable compiledControlTable =
+				this._compiledControlTableStorageService.load(path,
+					this._grammarText, this._specialNodesMap);
+
+			// Assert
+			CompiledControlTable expected = this._compiledControlTable;
+
+			Assert.assertNotNull(compiledControlTable);
+
+			Assert.assertArrayEquals(expected.getBases(),
+				compiledControlTable.getBases());
+			Assert.assertArrayEquals(expected.getEntries(),
+				compiledControlTable.getEntries());
+			Assert.assertEquals(expected.getCellsCount(),
+				compiledControlTable.getCellsCount());
+			Assert.assertEquals(expected.getStartSymbol(),
+				compiledControlTable.getStartSymbol());
+
+			for (int i = 0; i < expected.getNonterminalsCount(); i++)
+			{
+				Assert.assertEquals(expected.getNonterminal(i),
+					compiledControlTable.getNonterminal(i));
+			}
+
+			for (int i = 0; i < expected.getColumnsCount() - 1; i++)
+			{
+				Assert.assertEquals(expected.getGrammarTerminals()
+						.getTerminal(i), compiledControlTable
+						.getGrammarTerminals().getTerminal(i));
+			}
+
+			for (int i = 0; i < expected.getRulesCount(); i++)
+			{
+				Assert.assertEquals(expected.getRule(i),
+					compiledControlTable.getRule(i));
+				Assert.assertArrayEquals(expected.getReversedRuleBody(i),
+					compiledControlTable.getReversedRuleBody(i));
+			}
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this._compiledControlTableStorageService =
+			new CompiledControlTableStorageService();
+
+		Node nodeS = new Node(NodeKind.Nonterminal, "S");
+		Node nodeA = new Node(NodeKind.Nonterminal, "A");
+		Node nodeBegin = new Node(NodeKind.Terminal, "begin");
+		Node nodeIdentifier = new Node(NodeKind.Terminal, "identifier");
+		Node nodeEnd = new Node(NodeKind.Terminal, "end");
+
+		this._grammarText =
+			"S = \"begin\", A, \"end\" . A = \"identifier\", A . A = .";
+
+		Rule ruleOne = new Rule(nodeS);
+
+		ruleOne.addNode(nodeBegin);
+		ruleOne.addNode(nodeA);
+		ruleOne.addNode(nodeEnd);
+
+		Rule ruleTwo = new Rule(nodeA);
+
+		ruleTwo.addNode(nodeIdentifier);
+		ruleTwo.addNode(nodeA);
+
+		Rule ruleThree = new Rule(nodeA);
+
+		Grammar grammar = new Grammar();
+
+		grammar.addRule(ruleOne);
+		grammar.addRule(ruleTwo);
+		grammar.addRule(ruleThree);
+
+		grammar.setHeadRule(ruleOne);
+
+		Map<ControlTableItem, Rule> controlTable =
+			new HashMap<ControlTableItem, Rule>();
+
+		controlTable.put(new ControlTableItem(nodeS, new Word(nodeBegin)),
+			ruleOne);
+		controlTable.put(new ControlTableItem(nodeA, new Word(nodeIdentifier)),
+			ruleTwo);
+		controlTable.put(new ControlTableItem(nodeA, new Word(nodeEnd)),
+			ruleThree);
+
+		this._specialNodesMap = new HashMap<Node, TokenKind>();
+
+		this._specialNodesMap.put(nodeIdentifier, TokenKind.Identifier);
+
+		GrammarTerminals grammarTerminals =
+			new GrammarTerminals(Arrays.asList(nodeBegin, nodeEnd),
+				this._specialNodesMap);
+
+		this._compiledControlTable =
+			new CompiledControlTable(grammar, controlTable, grammarTerminals);
+	}
+}
@@ -0,0 +1,170 @@
+package syntax_analyzer.Services.Concrete;
+
+import grammar_parser.Exceptions.PatternIsNotSupportedException;
+import grammar_parser.Lexers.Abstract.ILexer;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import syntax_analyzer.Enums.TokenKind;
+import syntax_analyzer.Lexers.Abstract.IPrimitiveLanguageLexer;
+import syntax_analyzer.Lexers.Concrete.PrimitiveLanguageLexer;
+import syntax_analyzer.Models.Token;
+import syntax_analyzer.Models.TokenDefinition;
+import syntax_analyzer.Services.Abstract.IPrimitiveLanguageLexerGeneratingService;
+
+public class PrimitiveLanguageLexerGeneratingServiceTests
+{
+	private IPrimitiveLanguageLexerGeneratingService _primitiveLanguageLexerGeneratingService;
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_DfaBuildingServiceIsNull_ThrowsIllegalArgumentException()
+	{
+		// Act & Assert
+		new PrimitiveLanguageLexerGeneratingService(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void generateLexer_KeywordsListIsNull_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		// Act & Assert
+		this._primitiveLanguageLexerGeneratingService.generateLexer("",
+			"Lexer", primitiveLanguageLexer.getTokenDefinitions(), null,
+			primitiveLanguageLexer.getSpaceCharacters());
+	}
+
+	@Test(expected = PatternIsNotSupportedException.class)
+	public void generateLexer_PatternIsNotSupported_ThrowsPatternIsNotSupportedException()
+		throws Exception
+	{
+		// Arrange
+		TokenDefinition tokenDefinition =
+			new TokenDefinition("(a)\\1", TokenKind.Identifier);
+
+		// Act & Assert
+		this._primitiveLanguageLexerGeneratingService.generateLexer("",
+			"Lexer", Arrays.asList(tokenDefinition), new ArrayList<String>(),
+			Arrays.asList(' '));
+	}
+
+	@Test
+	public void generateLexer_SpaceCharactersAreChanged_ReturnsLexerThatUsesNewSpaceCharacters()
+		throws Exception
+	{
+		// Arrange
+		String source = "a;b c";
+
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		String code =
+			this._primitiveLanguageLexerGeneratingService.generateLexer("",
+				"SpacesLexer", primitiveLanguageLexer.getTokenDefinitions(),
+				primitiveLanguageLexer.getKeywords(),
+				primitiveLanguageLexer.getSpaceCharacters());
+
+		ILexer<Token> generatedLexer = this.compileLexer(code, "SpacesLexer");
+
+		primitiveLanguageLexer.setSource(source);
+		primitiveLanguageLexer.setSpaceCharacters(Arrays.asList(';'));
+
+		// Act
+		generatedLexer.setSource(source);
+		generatedLexer.setSpaceCharacters(Arrays.asList(';'));
+
+		// Assert
+		Assert.assertEquals(primitiveLanguageLexer.parse(),
+			generatedLexer.parse());
+	}
+
+	@Test
+	public void generateLexer_ValidArguments_ReturnsLexerThatParsesTheSameTokensAsPrimitiveLanguageLexer()
+		throws Exception
+	{
+		// Arrange
+		String source =
+			"CONST m = 7, n = 85;\r\nVAR x, y_1;\n\tPROCEDURE multiply; BEGIN x := m; "
+				+ "IF x >= y_1 THEN CALL multiply; WHILE #x <= 10 DO x := x + 1 END. "
+				+ "\\ $ \u00e9 Begin\u0130 odd";
+
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		primitiveLanguageLexer.setSource(source);
+
+		// Act
+		String code =
+			this._primitiveLanguageLexerGeneratingService.generateLexer(
+				"generated.primitive", "GeneratedPrimitiveLanguageLexer",
+				primitiveLanguageLexer.getTokenDefinitions(),
+				primitiveLanguageLexer.getKeywords(),
+				primitiveLanguageLexer.getSpaceCharacters());
+
+		ILexer<Token> generatedLexer =
+			this.compileLexer(code,
+				"generated.primitive.GeneratedPrimitiveLanguageLexer");
+
+		generatedLexer.setSource(source);
+
+		// Assert
+		Assert.assertEquals(primitiveLanguageLexer.parse(),
+			generatedLexer.parse());
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this._primitiveLanguageLexerGeneratingService =
+			new PrimitiveLanguageLexerGeneratingService();
+	}
+
+	@SuppressWarnings("unchecked")
+	private ILexer<Token> compileLexer(String code, String className)
+		throws Exception
+	{
+		Path directory = Files.createTempDirectory("lexer");
+
+		Path sourceFile =
+			directory.resolve(className.replace('.', File.separatorChar)
+				+ ".java");
+
+		Files.createDirectories(sourceFile.getParent());
+
+		Files.write(sourceFile, code.getBytes(StandardCharsets.UTF_8));
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		int result =
+			compiler.run(null, null, null, "-classpath",
+				System.getProperty("java.class.path"), "-d",
+				directory.toString(), sourceFile.toString());
+
+		Assert.assertEquals(0, result);
+
+		URLClassLoader classLoader =
+			new URLClassLoader(new URL[] {
+				directory.toUri().toURL()
+			}, this.getClass().getClassLoader());
+
+		return (ILexer<Token>) classLoader.loadClass(className)
+				.getDeclaredConstructor().newInstance();
+	}
+}
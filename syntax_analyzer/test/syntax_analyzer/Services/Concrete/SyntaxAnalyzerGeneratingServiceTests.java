@@ -0,0 +1,390 @@
+package syntax_analyzer.Services.Concrete;
+
+import grammar_parser.Exceptions.GrammarIsNotLLOneGrammarException;
+import grammar_parser.Lexers.Abstract.IGrammarLexer;
+import grammar_parser.Lexers.Concrete.GrammarLexer;
+import grammar_parser.Models.Grammar;
+import grammar_parser.Parsers.Abstract.IGrammarParser;
+import grammar_parser.Parsers.Concrete.GrammarParser;
+import grammar_parser.Services.Abstract.IControlTableBuildingService;
+import grammar_parser.Services.Concrete.ControlTableBuildingService;
+import grammar_parser.Services.Concrete.GrammarService;
+
+import java.io.File;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import syntax_analyzer.Analyzers.Abstract.IGeneratedSyntaxAnalyzer;
+import syntax_analyzer.Analyzers.Abstract.ISyntaxAnalyzer;
+import syntax_analyzer.Analyzers.Concrete.SyntaxAnalyzer;
+import syntax_analyzer.Exceptions.GrammarIsInvalidException;
+import syntax_analyzer.Lexers.Abstract.IPrimitiveLanguageLexer;
+import syntax_analyzer.Lexers.Abstract.ITokenCursor;
+import syntax_analyzer.Lexers.Concrete.PrimitiveLanguageLexer;
+import syntax_analyzer.Models.SyntaxAnalyzerResult;
+import syntax_analyzer.Services.Abstract.ISyntaxAnalyzerGeneratingService;
+
+public class SyntaxAnalyzerGeneratingServiceTests
+{
+	private Grammar _grammar;
+
+	private SyntaxAnalyzer _syntaxAnalyzer;
+
+	private ISyntaxAnalyzerGeneratingService _syntaxAnalyzerGeneratingService;
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_ControlTableBuildingServiceIsNull_ThrowsIllegalArgumentException()
+	{
+		// Act & Assert
+		new SyntaxAnalyzerGeneratingService(null);
+	}
+
+	@Test
+	public void generateSyntaxAnalyzer_ClassNameIsInvalid_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		String[] classNames =
+			new String[] {
+				"Syntax-Analyzer", "class", "int", "_",
+				"generated.SyntaxAnalyzer", ""
+			};
+
+		for (String className : classNames)
+		{
+			boolean exceptionIsThrown = false;
+
+			// Act
+			try
+			{
+				this._syntaxAnalyzerGeneratingService.generateSyntaxAnalyzer(
+					"", className, this._grammar,
+					this._syntaxAnalyzer.getSpecialNodesMap());
+			}
+			catch (IllegalArgumentException e)
+			{
+				exceptionIsThrown = true;
+			}
+
+			// Assert
+			Assert.assertTrue(className, exceptionIsThrown);
+		}
+	}
+
+	@Test
+	public void generateSyntaxAnalyzer_GeneratedSyntaxAnalyzerIsSetToSyntaxAnalyzer_ReturnsTheSameResultsAsGrammar()
+		throws Exception
+	{
+		// Arrange
+		String[] sources =
+			{
+				"begin x, (y, (z)), w end", "begin x, (y z), w end",
+				"begin end", ""
+			};
+
+		String code =
+			this._syntaxAnalyzerGeneratingService.generateSyntaxAnalyzer("",
+				"BackendSyntaxAnalyzer", this._grammar,
+				this._syntaxAnalyzer.getSpecialNodesMap());
+
+		ISyntaxAnalyzer target =
+			new SyntaxAnalyzer(new ControlTableBuildingService(
+				new GrammarService()));
+
+		// Act
+		target.setGeneratedSyntaxAnalyzer(this.compileSyntaxAnalyzer(code,
+			"BackendSyntaxAnalyzer"));
+
+		// Assert
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		primitiveLanguageLexer.setGrammarTerminals(target
+				.getGrammarTerminals());
+
+		for (String source : sources)
+		{
+			primitiveLanguageLexer.setSource(source);
+
+			this._syntaxAnalyzer.setTokenBuffer(primitiveLanguageLexer
+					.parseToTokenBuffer());
+			target.setTokenBuffer(primitiveLanguageLexer.parseToTokenBuffer());
+
+			SyntaxAnalyzerResult expected = this._syntaxAnalyzer.run();
+			SyntaxAnalyzerResult result = target.run();
+
+			Assert.assertEquals(source, expected.isSyntaxValid(),
+				result.isSyntaxValid());
+			Assert.assertEquals(source, expected.getWrongToken(),
+				result.getWrongToken());
+			Assert.assertEquals(source, expected.getWrongTokenLine(),
+				result.getWrongTokenLine());
+			Assert.assertEquals(source, expected.getWrongTokenColumn(),
+				result.getWrongTokenColumn());
+		}
+	}
+
+	@Test(expected = GrammarIsInvalidException.class)
+	public void generateSyntaxAnalyzer_GrammarIsEmpty_ThrowsGrammarIsInvalidException()
+		throws Exception
+	{
+		// Act & Assert
+		this._syntaxAnalyzerGeneratingService.generateSyntaxAnalyzer("",
+			"SyntaxAnalyzer", new Grammar(),
+			this._syntaxAnalyzer.getSpecialNodesMap());
+	}
+
+	@Test(expected = GrammarIsNotLLOneGrammarException.class)
+	public void generateSyntaxAnalyzer_GrammarIsNotLLOneGrammar_ForwardsException()
+		throws Exception
+	{
+		// Arrange
+		IControlTableBuildingService controlTableBuildingServiceMock =
+			Mockito.mock(IControlTableBuildingService.class);
+
+		Mockito.when(
+			controlTableBuildingServiceMock.buildControlTable(this._grammar))
+				.thenThrow(new GrammarIsNotLLOneGrammarException());
+
+		ISyntaxAnalyzerGeneratingService target =
+			new SyntaxAnalyzerGeneratingService(
+				controlTableBuildingServiceMock);
+
+		// Act & Assert
+		target.generateSyntaxAnalyzer("", "SyntaxAnalyzer", this._grammar,
+			this._syntaxAnalyzer.getSpecialNodesMap());
+	}
+
+	@Test
+	public void generateSyntaxAnalyzer_GrammarIsValid_ReturnsTheSameResultsAsSyntaxAnalyzer()
+		throws Exception
+	{
+		// Arrange
+		String[] sources =
+			{
+				"begin x end", "begin x, (y, (z)), w end",
+				"begin x, (y z), w end", "begin x, (y, z", "begin end",
+				"begin x end end", "begin x end ,", ""
+			};
+
+		// Act
+		String code =
+			this._syntaxAnalyzerGeneratingService.generateSyntaxAnalyzer(
+				"generated.primitive", "GeneratedSyntaxAnalyzer",
+				this._grammar, this._syntaxAnalyzer.getSpecialNodesMap());
+
+		IGeneratedSyntaxAnalyzer generatedSyntaxAnalyzer =
+			this.compileSyntaxAnalyzer(code,
+				"generated.primitive.GeneratedSyntaxAnalyzer");
+
+		// Assert
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		for (String source : sources)
+		{
+			primitiveLanguageLexer.setSource(source);
+
+			this._syntaxAnalyzer.setTokens(primitiveLanguageLexer.parse());
+			generatedSyntaxAnalyzer.setTokens(primitiveLanguageLexer.parse());
+
+			SyntaxAnalyzerResult expected = this._syntaxAnalyzer.run();
+			SyntaxAnalyzerResult result = generatedSyntaxAnalyzer.run();
+
+			Assert.assertEquals(source, expected.isSyntaxValid(),
+				result.isSyntaxValid());
+			Assert.assertEquals(source, expected.getWrongToken(),
+				result.getWrongToken());
+			Assert.assertEquals(source, expected.getWrongTokenLine(),
+				result.getWrongTokenLine());
+			Assert.assertEquals(source, expected.getWrongTokenColumn(),
+				result.getWrongTokenColumn());
+		}
+	}
+
+	@Test
+	public void generateSyntaxAnalyzer_ListIsLong_ReturnsResultIsValid()
+		throws Exception
+	{
+		// Arrange
+		StringBuilder source = new StringBuilder("begin x");
+
+		for (int i = 0; i < 100000; i++)
+		{
+			source.append(", x");
+		}
+
+		source.append(" end");
+
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		primitiveLanguageLexer.setSource(source.toString());
+
+		// Act
+		String code =
+			this._syntaxAnalyzerGeneratingService.generateSyntaxAnalyzer("",
+				"ListSyntaxAnalyzer", this._grammar,
+				this._syntaxAnalyzer.getSpecialNodesMap());
+
+		IGeneratedSyntaxAnalyzer generatedSyntaxAnalyzer =
+			this.compileSyntaxAnalyzer(code, "ListSyntaxAnalyzer");
+
+		generatedSyntaxAnalyzer.setTokenBuffer(primitiveLanguageLexer
+				.parseToTokenBuffer());
+
+		SyntaxAnalyzerResult result = generatedSyntaxAnalyzer.run();
+
+		// Assert
+		Assert.assertEquals(true, result.isSyntaxValid());
+	}
+
+	@Test
+	public void generateSyntaxAnalyzer_PackageNameIsInvalid_ThrowsIllegalArgumentException()
+		throws Exception
+	{
+		// Arrange
+		String[] packageNames =
+			new String[] {
+				"generated.", "generated..primitive", "generated.int",
+				"generated;class", "1generated"
+			};
+
+		for (String packageName : packageNames)
+		{
+			boolean exceptionIsThrown = false;
+
+			// Act
+			try
+			{
+				this._syntaxAnalyzerGeneratingService.generateSyntaxAnalyzer(
+					packageName, "SyntaxAnalyzer", this._grammar,
+					this._syntaxAnalyzer.getSpecialNodesMap());
+			}
+			catch (IllegalArgumentException e)
+			{
+				exceptionIsThrown = true;
+			}
+
+			// Assert
+			Assert.assertTrue(packageName, exceptionIsThrown);
+		}
+	}
+
+	@Test
+	public void generateSyntaxAnalyzer_TokensArePulledFromCursor_ReturnsTheSameResultsAsSyntaxAnalyzer()
+		throws Exception
+	{
+		// Arrange
+		String[] sources =
+			{
+				"begin x, (y, (z)), w end", "begin x, (y z), w end", ""
+			};
+
+		// Act
+		String code =
+			this._syntaxAnalyzerGeneratingService.generateSyntaxAnalyzer("",
+				"CursorSyntaxAnalyzer", this._grammar,
+				this._syntaxAnalyzer.getSpecialNodesMap());
+
+		IGeneratedSyntaxAnalyzer generatedSyntaxAnalyzer =
+			this.compileSyntaxAnalyzer(code, "CursorSyntaxAnalyzer");
+
+		// Assert
+		IPrimitiveLanguageLexer primitiveLanguageLexer =
+			new PrimitiveLanguageLexer();
+
+		for (String source : sources)
+		{
+			SyntaxAnalyzerResult expected;
+			SyntaxAnalyzerResult result;
+
+			try (ITokenCursor cursor =
+				primitiveLanguageLexer.getTokenCursor(new StringReader(source)))
+			{
+				expected = this._syntaxAnalyzer.run(cursor);
+			}
+
+			try (ITokenCursor cursor =
+				primitiveLanguageLexer.getTokenCursor(new StringReader(source)))
+			{
+				result = generatedSyntaxAnalyzer.run(cursor);
+			}
+
+			Assert.assertEquals(source, expected.isSyntaxValid(),
+				result.isSyntaxValid());
+			Assert.assertEquals(source, expected.getWrongToken(),
+				result.getWrongToken());
+		}
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		ControlTableBuildingService controlTableBuildingService =
+			new ControlTableBuildingService(new GrammarService());
+
+		this._syntaxAnalyzerGeneratingService =
+			new SyntaxAnalyzerGeneratingService(controlTableBuildingService);
+
+		// The list, that ends with its own nonterminal, and the nested lists.
+		IGrammarLexer grammarLexer = new GrammarLexer();
+
+		grammarLexer.setSource("S = \"begin\", L, \"end\" ."
+			+ " L = I, C ." + " C = \",\", I, C | ."
+			+ " I = \"identifier\" | \"(\", L, \")\" .");
+
+		IGrammarParser grammarParser = new GrammarParser();
+
+		grammarParser.setNodes(grammarLexer.parse());
+
+		this._grammar = grammarParser.parse();
+
+		this._syntaxAnalyzer = new SyntaxAnalyzer(controlTableBuildingService);
+
+		this._syntaxAnalyzer.setGrammar(this._grammar);
+	}
+
+	private IGeneratedSyntaxAnalyzer compileSyntaxAnalyzer(String code, String className)
+		throws Exception
+	{
+		Path directory = Files.createTempDirectory("syntax_analyzer");
+
+		Path sourceFile =
+			directory.resolve(className.replace('.', File.separatorChar)
+				+ ".java");
+
+		Files.createDirectories(sourceFile.getParent());
+
+		Files.write(sourceFile, code.getBytes(StandardCharsets.UTF_8));
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		int result =
+			compiler.run(null, null, null, "-classpath",
+				System.getProperty("java.class.path"), "-d",
+				directory.toString(), sourceFile.toString());
+
+		Assert.assertEquals(0, result);
+
+		URLClassLoader classLoader =
+			new URLClassLoader(new URL[] {
+				directory.toUri().toURL()
+			}, this.getClass().getClassLoader());
+
+		return (IGeneratedSyntaxAnalyzer) classLoader.loadClass(className)
+				.getDeclaredConstructor().newInstance();
+	}
+}